@@ -0,0 +1,94 @@
+package benchmark;
+
+import cache.CachingMarkRepository;
+import cache.CachingStudentRepository;
+import group.Group;
+import group.GroupName;
+import jdbc.Database;
+import jdbc.JdbcMarkRepository;
+import jdbc.JdbcModuleRepository;
+import jdbc.JdbcStudentRepository;
+import mark.Mark;
+import mark.MarkRepository;
+import module.Module;
+import module.ModuleName;
+import org.openjdk.jmh.annotations.*;
+import student.Student;
+import student.StudentRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// hot lookups on the database with and without the caching decorators, over 10^4 students
+// of which the `hotStudents` first get nine reads out of ten
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachingRepositoryBenchmark {
+    private static final int STUDENTS = 10_000;
+    private static final int CACHE_SIZE = 1000;
+
+    @Param({"100", "5000"})
+    int hotStudents;
+
+    @Param({"false", "true"})
+    boolean cached;
+
+    private Database database;
+    private StudentRepository studentRepository;
+    private MarkRepository markRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = Database.inMemory(UUID.randomUUID().toString());
+        Group group = new Group(GroupName.MIAD);
+        List<Student> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Student(i, "Student " + i, LocalDate.of(2000, 1, 1), group));
+        }
+        JdbcStudentRepository jdbcStudents = new JdbcStudentRepository(database);
+        jdbcStudents.saveAll(students);
+        JdbcModuleRepository modules = new JdbcModuleRepository(database);
+        for (ModuleName name : ModuleName.values()) {
+            modules.saveModule(name, name.toString(), 30);
+        }
+        JdbcMarkRepository jdbcMarks = new JdbcMarkRepository(database);
+        List<Mark> marks = new ArrayList<>();
+        for (Student student : students) {
+            for (ModuleName name : ModuleName.values()) {
+                marks.add(new Mark(student, 12, modules.findByModuleName(name)));
+            }
+        }
+        jdbcMarks.createMarks(marks);
+
+        studentRepository = cached ? new CachingStudentRepository(jdbcStudents, CACHE_SIZE) : jdbcStudents;
+        markRepository = cached ? new CachingMarkRepository(jdbcMarks, CACHE_SIZE) : jdbcMarks;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    private int nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return random.nextInt(10) < 9 ? random.nextInt(hotStudents) : random.nextInt(STUDENTS);
+    }
+
+    @Benchmark
+    public Student findById() {
+        return studentRepository.findById(nextId());
+    }
+
+    @Benchmark
+    public List<Mark> findMarksByStudent() {
+        return markRepository.findMarksByStudent(nextId());
+    }
+}
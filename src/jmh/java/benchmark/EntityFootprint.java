@@ -0,0 +1,106 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import group.GroupRecord;
+import mark.Mark;
+import mark.MarkRecord;
+import module.Module;
+import module.ModuleName;
+import module.ModuleRecord;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import student.Student;
+import student.StudentRecord;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherRecord;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+// heap of each entity class against its record, measured with JOL on `size` entities built the
+// way the services hold them: the groups and modules are shared, the marks point at the students
+// run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=benchmark.EntityFootprint -Djmh.args=100000
+public class EntityFootprint {
+    private static final GroupName[] GROUP_NAMES = GroupName.values();
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+
+    public static void main(String[] args) {
+        // Unsafe refuses the field offsets of records, JOL then finds them by itself
+        System.setProperty("jol.magicFieldOffset", "true");
+        int size = args.length > 0 && !args[0].equals(".*") ? Integer.parseInt(args[0]) : 100_000;
+
+        Group[] groups = new Group[GROUP_NAMES.length];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = new Group(GROUP_NAMES[i]);
+            groups[i].setNumberStudent(size / groups.length);
+        }
+        Module[] modules = new Module[MODULE_NAMES.length];
+        for (int i = 0; i < modules.length; i++) {
+            modules[i] = new Module(MODULE_NAMES[i], MODULE_NAMES[i].toString(), 30 + i);
+        }
+
+        Student[] students = new Student[size];
+        StudentRecord[] studentRecords = new StudentRecord[size];
+        Mark[] marks = new Mark[size];
+        MarkRecord[] markRecords = new MarkRecord[size];
+        Teacher[] teachers = new Teacher[size / 100];
+        TeacherRecord[] teacherRecords = new TeacherRecord[size / 100];
+        for (int i = 0; i < size; i++) {
+            LocalDate birth = LocalDate.of(1990 + i % 10, 1 + i % 12, 1 + i % 28);
+            students[i] = new Student(i, "Student " + i, birth, groups[i % groups.length]);
+            studentRecords[i] = StudentRecord.from(students[i]);
+            marks[i] = new Mark(students[i], 5 + i % 16, modules[i % modules.length]);
+            markRecords[i] = MarkRecord.from(marks[i]);
+        }
+        for (int i = 0; i < teachers.length; i++) {
+            teachers[i] = new Teacher(100_000 + i, "Teacher " + i, Grade.MCA,
+                    List.of(modules[i % modules.length], modules[(i + 1) % modules.length]),
+                    List.of(groups[i % groups.length]));
+            teacherRecords[i] = TeacherRecord.from(teachers[i]);
+        }
+        ModuleRecord[] moduleRecords = new ModuleRecord[modules.length];
+        for (int i = 0; i < modules.length; i++) {
+            moduleRecords[i] = ModuleRecord.from(modules[i]);
+        }
+        GroupRecord[] groupRecords = new GroupRecord[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            groupRecords[i] = GroupRecord.from(groups[i]);
+        }
+
+        System.out.println(ClassLayout.parseClass(Student.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(StudentRecord.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(Mark.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(MarkRecord.class).toPrintable());
+
+        System.out.println("bytes per entity, counting what each one alone keeps alive");
+        // the strings and dates are the same objects on both sides
+        print("Student", students.length,
+                GraphLayout.parseInstance((Object) students).subtract(GraphLayout.parseInstance((Object) groups)),
+                GraphLayout.parseInstance((Object) studentRecords));
+        // a Mark keeps its Student alive, the record only its id
+        print("Mark", marks.length,
+                GraphLayout.parseInstance((Object) marks).subtract(GraphLayout.parseInstance((Object) modules)),
+                GraphLayout.parseInstance((Object) markRecords));
+        print("Mark without its student", marks.length,
+                GraphLayout.parseInstance((Object) marks).subtract(GraphLayout.parseInstance((Object) students))
+                        .subtract(GraphLayout.parseInstance((Object) modules)),
+                GraphLayout.parseInstance((Object) markRecords));
+        print("Teacher", teachers.length,
+                GraphLayout.parseInstance((Object) teachers).subtract(GraphLayout.parseInstance((Object) modules))
+                        .subtract(GraphLayout.parseInstance((Object) groups)),
+                GraphLayout.parseInstance((Object) teacherRecords));
+        print("Module", modules.length, GraphLayout.parseInstance((Object) modules),
+                GraphLayout.parseInstance((Object) moduleRecords));
+        print("Group", groups.length, GraphLayout.parseInstance((Object) groups),
+                GraphLayout.parseInstance((Object) groupRecords));
+    }
+
+    private static void print(String entity, int count, GraphLayout classes, GraphLayout records) {
+        System.out.printf(Locale.ROOT, "%-26s %8.1f -> %8.1f  (%+.0f%%)%n", entity,
+                (double) classes.totalSize() / count, (double) records.totalSize() / count,
+                100.0 * (records.totalSize() - classes.totalSize()) / classes.totalSize());
+    }
+}
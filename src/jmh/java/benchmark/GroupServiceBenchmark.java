@@ -0,0 +1,59 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import group.GroupService;
+import org.openjdk.jmh.annotations.*;
+import student.Student;
+import student.StudentService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// full recount of the group head-counts against the incremental update done on each student event
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupServiceBenchmark {
+    private static final LocalDate DATE = LocalDate.of(2000, 1, 1);
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    private GroupService groupService;
+    private StudentService studentService;
+    private List<Student> students;
+    private Group[] groups;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        groupService = new GroupService();
+        for (GroupName name : GroupName.values()) {
+            groupService.saveGroup(name);
+        }
+        groups = groupService.allGroups().toArray(new Group[0]);
+        studentService = new StudentService();
+        studentService.addListener(groupService);
+        for (int i = 0; i < size; i++) {
+            studentService.saveStudent(i, "Student " + i, DATE, groups[i % groups.length]);
+        }
+        students = studentService.allStudents();
+    }
+
+    @Benchmark
+    public void updateNumberOfStudent() {
+        groupService.updateNumberOfStudent(students);
+    }
+
+    // moves a student to another group, which updates both head-counts through the listener
+    @Benchmark
+    public void updateStudentGroup_incremental() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        studentService.updateStudent(random.nextInt(size), "Student", DATE, groups[random.nextInt(groups.length)]);
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import jdbc.Database;
+import jdbc.JdbcMarkRepository;
+import jdbc.JdbcModuleRepository;
+import jdbc.JdbcStudentRepository;
+import mark.Mark;
+import mark.MarkRepository;
+import mark.MarkService;
+import module.Module;
+import module.ModuleName;
+import org.openjdk.jmh.annotations.*;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// queries pushed down into the embedded database against the in-memory indexes, on `size` marks
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcMarkBenchmark {
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+    private static final int BATCH = 1000;
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"MarkService", "JdbcMarkRepository"})
+    String implementation;
+
+    private Database database;
+    private MarkRepository markRepository;
+    private Student[] students;
+    private Module[] modules;
+    private List<Mark> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Group group = new Group(GroupName.MIAD);
+        students = new Student[1000];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student(i, "Student " + i, LocalDate.of(2000, 1, 1), group);
+        }
+        modules = new Module[MODULE_NAMES.length];
+        for (int i = 0; i < modules.length; i++) {
+            modules[i] = new Module(MODULE_NAMES[i], MODULE_NAMES[i].toString(), 30);
+        }
+        if (implementation.equals("JdbcMarkRepository")) {
+            database = Database.inMemory(UUID.randomUUID().toString());
+            JdbcStudentRepository studentRepository = new JdbcStudentRepository(database);
+            studentRepository.saveAll(List.of(students));
+            JdbcModuleRepository moduleRepository = new JdbcModuleRepository(database);
+            for (Module module : modules) {
+                moduleRepository.saveModule(module.getReference(), module.getName(), module.getNumberHours());
+            }
+            markRepository = new JdbcMarkRepository(database);
+        } else {
+            markRepository = new MarkService();
+        }
+
+        for (int done = 0; done < size; done += BATCH) {
+            markRepository.createMarks(randomMarks(Math.min(BATCH, size - done)));
+        }
+        batch = randomMarks(BATCH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    private List<Mark> randomMarks(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Mark> marks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            marks.add(new Mark(students[random.nextInt(students.length)], 5 + random.nextInt(16),
+                    modules[random.nextInt(modules.length)]));
+        }
+        return marks;
+    }
+
+    private Module randomModule() {
+        return modules[ThreadLocalRandom.current().nextInt(modules.length)];
+    }
+
+    @Benchmark
+    public Student bestMarkByModule() {
+        return markRepository.bestMarkByModule(randomModule());
+    }
+
+    @Benchmark
+    public List<Mark> findMarkByModule() {
+        return markRepository.findMarkByModule(randomModule());
+    }
+
+    @Benchmark
+    public List<Mark> findMarksByStudent() {
+        return markRepository.findMarksByStudent(ThreadLocalRandom.current().nextInt(students.length));
+    }
+
+    // the store keeps growing during the measurement, each call adds one batch of marks
+    @Benchmark
+    public void createMarks() {
+        markRepository.createMarks(batch);
+    }
+}
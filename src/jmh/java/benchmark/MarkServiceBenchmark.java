@@ -0,0 +1,110 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import mark.ColumnarMarkService;
+import mark.ConcurrentMarkService;
+import mark.Mark;
+import mark.MarkRepository;
+import mark.MarkService;
+import module.Module;
+import module.ModuleName;
+import org.openjdk.jmh.annotations.*;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// hot paths of every MarkRepository implementation, on a store already holding `size` marks
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkServiceBenchmark {
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    @Param({"MarkService", "ColumnarMarkService", "ConcurrentMarkService"})
+    String implementation;
+
+    private MarkRepository markService;
+    private Student[] students;
+    private Module[] modules;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        markService = newRepository(implementation);
+        Group group = new Group(GroupName.MIAD);
+        students = new Student[1000];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student(i, "Student " + i, LocalDate.of(2000, 1, 1), group);
+        }
+        modules = new Module[MODULE_NAMES.length];
+        for (int i = 0; i < modules.length; i++) {
+            modules[i] = new Module(MODULE_NAMES[i], MODULE_NAMES[i].toString(), 30);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            markService.createMark(students[random.nextInt(students.length)],
+                    5 + random.nextInt(16), modules[random.nextInt(modules.length)]);
+        }
+    }
+
+    static MarkRepository newRepository(String implementation) {
+        switch (implementation) {
+            case "ColumnarMarkService":
+                return new ColumnarMarkService();
+            case "ConcurrentMarkService":
+                return new ConcurrentMarkService();
+            default:
+                return new MarkService();
+        }
+    }
+
+    private Module randomModule() {
+        return modules[ThreadLocalRandom.current().nextInt(modules.length)];
+    }
+
+    // the store keeps growing during the measurement, each call adds one mark
+    @Benchmark
+    public void createMark() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        markService.createMark(students[random.nextInt(students.length)], 5 + random.nextInt(16), randomModule());
+    }
+
+    @Benchmark
+    public List<Mark> findMarkByModule() {
+        return markService.findMarkByModule(randomModule());
+    }
+
+    @Benchmark
+    public Student bestMarkByModule() {
+        return markService.bestMarkByModule(randomModule());
+    }
+
+    @Benchmark
+    public List<Mark> findMarksByStudent() {
+        return markService.findMarksByStudent(ThreadLocalRandom.current().nextInt(students.length));
+    }
+
+    // deletes the marks of one student and creates them again, the store keeps its size
+    @Benchmark
+    public List<Mark> deleteMarksOfOneStudent() {
+        int id = ThreadLocalRandom.current().nextInt(students.length);
+        List<Mark> deleted = markService.deleteMarksByStudents(Collections.singletonList(id));
+        List<Mark> created = new ArrayList<>(deleted.size());
+        for (Mark mark : deleted) {
+            created.add(new Mark(mark.getStudent(), mark.getMark(), mark.getModule()));
+        }
+        markService.createMarks(created);
+        return deleted;
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import mark.MarkRepository;
+import mark.MarkService;
+import metrics.MeteredMarkRepository;
+import metrics.MeteredStudentRepository;
+import metrics.MetricRegistry;
+import module.Module;
+import module.ModuleName;
+import org.openjdk.jmh.annotations.*;
+import student.Student;
+import student.StudentRepository;
+import student.StudentService;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// cost of the metrics decorators on two hot read paths, with and without the decorator
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeteredRepositoryBenchmark {
+    private static final LocalDate DATE = LocalDate.of(2000, 1, 1);
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    private StudentRepository students;
+    private StudentRepository meteredStudents;
+    private MarkRepository marks;
+    private MarkRepository meteredMarks;
+    private Module module;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        students = new StudentService();
+        marks = new MarkService();
+        module = new Module(ModuleName.BDA, "base de donnees", 30);
+        Group group = new Group(GroupName.MSIR);
+        for (int i = 0; i < size; i++) {
+            students.saveStudent(i, "Student " + i, DATE, group);
+            marks.createMark(students.findById(i), 5 + i % 16, module);
+        }
+        MetricRegistry registry = new MetricRegistry();
+        meteredStudents = new MeteredStudentRepository(students, registry);
+        meteredMarks = new MeteredMarkRepository(marks, registry);
+    }
+
+    @Benchmark
+    public Student findById() {
+        return students.findById(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public Student findById_metered() {
+        return meteredStudents.findById(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public Student bestMarkByModule() {
+        return marks.bestMarkByModule(module);
+    }
+
+    @Benchmark
+    public Student bestMarkByModule_metered() {
+        return meteredMarks.bestMarkByModule(module);
+    }
+}
@@ -0,0 +1,147 @@
+package benchmark;
+
+import async.AsyncRepositories;
+import group.ConcurrentGroupService;
+import group.Group;
+import group.GroupName;
+import mark.ConcurrentMarkService;
+import mark.Mark;
+import module.ConcurrentModuleService;
+import module.Module;
+import module.ModuleName;
+import org.openjdk.jmh.annotations.*;
+import student.ConcurrentStudentService;
+import student.Student;
+import teacher.ConcurrentTeacherService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Latency of one student page: its transcript, the roster of its group and the marks of a module.
+ * The three parts run one after the other, then fanned out on virtual threads through
+ * AsyncRepositories. latencyMicros adds a wait to each part, as a remote store would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageAssemblyBenchmark {
+    private static final LocalDate DATE = LocalDate.of(2000, 1, 1);
+    private static final int MARKS_PER_STUDENT = 4;
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    @Param({"0", "500"})
+    long latencyMicros;
+
+    private ConcurrentStudentService studentService;
+    private ConcurrentMarkService markService;
+    private Module[] modules;
+    private AsyncRepositories async;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConcurrentGroupService groupService = new ConcurrentGroupService();
+        for (GroupName name : GroupName.values()) {
+            groupService.saveGroup(name);
+        }
+        Group[] groups = groupService.allGroups().toArray(new Group[0]);
+        ConcurrentModuleService moduleService = new ConcurrentModuleService();
+        for (ModuleName name : ModuleName.values()) {
+            moduleService.saveModule(name, "Module " + name, 10 + name.ordinal());
+        }
+        modules = moduleService.allModules().toArray(new Module[0]);
+        studentService = new ConcurrentStudentService();
+        markService = new ConcurrentMarkService();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            studentService.saveStudent(i, "Student " + i, DATE, groups[i % groups.length]);
+            Student student = studentService.findById(i);
+            for (int j = 0; j < MARKS_PER_STUDENT; j++) {
+                markService.createMark(student, 5 + random.nextInt(16), modules[random.nextInt(modules.length)]);
+            }
+        }
+        async = new AsyncRepositories(studentService, markService, groupService, moduleService,
+                new ConcurrentTeacherService());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        async.close();
+    }
+
+    @Benchmark
+    public Page sequential() {
+        Student student = randomStudent();
+        Module module = modules[ThreadLocalRandom.current().nextInt(modules.length)];
+        return new Page(transcript(student, markService.findMarksByStudent(student.getId())),
+                roster(student, studentService.allStudents()),
+                moduleStats(markService.findMarkByModule(module), markService.bestMarkByModule(module)));
+    }
+
+    @Benchmark
+    public Page fanOut() {
+        Student student = randomStudent();
+        Module module = modules[ThreadLocalRandom.current().nextInt(modules.length)];
+        CompletableFuture<String> transcript = async.marks().findMarksByStudent(student.getId())
+                .thenApply(marks -> transcript(student, marks));
+        CompletableFuture<List<Student>> roster = async.students().allStudents()
+                .thenApply(students -> roster(student, students));
+        CompletableFuture<String> moduleStats = async.marks().findMarkByModule(module)
+                .thenCombine(async.marks().bestMarkByModule(module), this::moduleStats);
+        return new Page(transcript.join(), roster.join(), moduleStats.join());
+    }
+
+    private Student randomStudent() {
+        return studentService.findById(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    private String transcript(Student student, List<Mark> marks) {
+        waitForStore();
+        StringBuilder out = new StringBuilder("Student ").append(student.getId()).append('\n');
+        for (Mark mark : marks) {
+            out.append("  ").append(mark.getModule().getReference()).append(' ').append(mark.getMark()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private List<Student> roster(Student student, List<Student> students) {
+        waitForStore();
+        return students.stream()
+                .filter(other -> other.getGroup() == student.getGroup())
+                .collect(Collectors.toList());
+    }
+
+    private String moduleStats(List<Mark> marks, Student best) {
+        waitForStore();
+        double mean = marks.stream().mapToInt(Mark::getMark).average().orElse(Double.NaN);
+        return marks.size() + " marks, mean " + mean + ", best " + (best != null ? best.getId() : null);
+    }
+
+    private void waitForStore() {
+        if (latencyMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        }
+    }
+
+    public static class Page {
+        final String transcript;
+        final List<Student> roster;
+        final String moduleStats;
+
+        Page(String transcript, List<Student> roster, String moduleStats) {
+            this.transcript = transcript;
+            this.roster = roster;
+            this.moduleStats = moduleStats;
+        }
+    }
+}
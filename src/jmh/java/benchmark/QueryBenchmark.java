@@ -0,0 +1,84 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import mark.ColumnarMarkService;
+import mark.Mark;
+import mark.MarkRepository;
+import mark.MarkService;
+import module.Module;
+import module.ModuleName;
+import org.openjdk.jmh.annotations.*;
+import query.MarkIndex;
+import query.MarkQuery;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// the marks in CRY of MIAD between 10 and 14 read by MarkQuery from the source each `plan` leads
+// it to, against a plain filter over streamMarks()
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"findMarkByModule", "MarkIndex", "columnScan"})
+    String plan;
+
+    private MarkRepository repository;
+    private MarkIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ModuleName[] names = ModuleName.values();
+        Module[] modules = new Module[names.length];
+        for (int i = 0; i < names.length; i++) {
+            modules[i] = new Module(names[i], names[i].toString(), 30);
+        }
+        GroupName[] groups = GroupName.values();
+        Random random = new Random(42);
+        List<Mark> marks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Student student = new Student(i / 5, "Student " + i / 5, LocalDate.of(2000, 1, 1),
+                    new Group(groups[(i / 5) % groups.length]));
+            marks.add(new Mark(student, 5 + random.nextInt(16), modules[random.nextInt(modules.length)]));
+        }
+        repository = plan.equals("columnScan") ? new ColumnarMarkService() : new MarkService();
+        repository.createMarks(marks);
+        index = MarkIndex.attach(repository);
+    }
+
+    private MarkQuery query() {
+        MarkQuery query = MarkQuery.from(repository).module(ModuleName.CRY).group(GroupName.MIAD).between(10, 14);
+        return plan.equals("MarkIndex") ? query.using(index) : query;
+    }
+
+    @Benchmark
+    public List<Mark> scan() {
+        return repository.streamMarks()
+                .filter(mark -> mark.getModule().getReference() == ModuleName.CRY
+                        && mark.getMark() >= 10 && mark.getMark() <= 14
+                        && mark.getStudent().getGroup().getReference() == GroupName.MIAD)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long count() {
+        return query().count();
+    }
+
+    @Benchmark
+    public List<Mark> list() {
+        return query().list();
+    }
+}
@@ -0,0 +1,106 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import mark.CohortReport;
+import mark.ColumnarMarkService;
+import mark.Mark;
+import mark.MarkRepository;
+import mark.MarkService;
+import mark.ReportEngine;
+import module.Module;
+import module.ModuleName;
+import org.openjdk.jmh.annotations.*;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// average and failed marks by group and module, with ReportEngine on a pool of `parallelism`
+// threads against one loop over allMarks(), five marks per student
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ReportBenchmark {
+    private static final int MODULES = ModuleName.values().length;
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    @Param({"MarkService", "ColumnarMarkService"})
+    String store;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private MarkRepository repository;
+    private ForkJoinPool pool;
+    private ReportEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ModuleName[] names = ModuleName.values();
+        Module[] modules = new Module[names.length];
+        for (int i = 0; i < names.length; i++) {
+            modules[i] = new Module(names[i], names[i].toString(), 30);
+        }
+        GroupName[] groups = GroupName.values();
+        Random random = new Random(42);
+        List<Mark> marks = new ArrayList<>(size);
+        Student student = null;
+        for (int i = 0; i < size; i++) {
+            if (i % 5 == 0) {
+                student = new Student(i / 5, "Student " + i / 5, LocalDate.of(2000, 1, 1),
+                        new Group(groups[(i / 5) % groups.length]));
+            }
+            marks.add(new Mark(student, 5 + random.nextInt(16), modules[random.nextInt(modules.length)]));
+        }
+        repository = store.equals("ColumnarMarkService") ? new ColumnarMarkService(size) : new MarkService();
+        repository.createMarks(marks);
+        pool = new ForkJoinPool(parallelism);
+        engine = new ReportEngine(pool, 1 << 16);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public CohortReport engine() {
+        return engine.report(repository);
+    }
+
+    // what the reports did before: one thread over a copy of the marks, the sums of each
+    // student kept in a map to count the failing ones
+    @Benchmark
+    public long[] loop() {
+        int groups = GroupName.values().length;
+        long[] totals = new long[groups * MODULES * 3 + groups];
+        Map<Integer, long[]> students = new HashMap<>();
+        for (Mark mark : repository.allMarks()) {
+            int group = mark.getStudent().getGroup().getReference().ordinal();
+            int index = 3 * (group * MODULES + mark.getModule().getReference().ordinal());
+            totals[index]++;
+            totals[index + 1] += mark.getMark();
+            totals[index + 2] += mark.getMark() < 10 ? 1 : 0;
+            long[] student = students.computeIfAbsent(mark.getStudent().getId(), id -> new long[3]);
+            student[0] += mark.getMark();
+            student[1]++;
+            student[2] = group;
+        }
+        for (long[] student : students.values()) {
+            totals[groups * MODULES * 3 + (int) student[2]] += student[0] < 10 * student[1] ? 1 : 0;
+        }
+        return totals;
+    }
+}
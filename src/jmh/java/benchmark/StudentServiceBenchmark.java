@@ -0,0 +1,126 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import org.openjdk.jmh.annotations.*;
+import student.Student;
+import student.StudentService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// compares the id-indexed StudentService with the linear scan it replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentServiceBenchmark {
+    private static final LocalDate DATE = LocalDate.of(2000, 1, 1);
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    private StudentService studentService;
+    private ScanStudentList scanList;
+    private Group group;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        group = new Group(GroupName.MIAD);
+        studentService = new StudentService();
+        scanList = new ScanStudentList();
+        for (int i = 0; i < size; i++) {
+            studentService.saveStudent(i, "Student " + i, DATE, group);
+            scanList.save(new Student(i, "Student " + i, DATE, group));
+        }
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(size);
+    }
+
+    @Benchmark
+    public Student findById_indexed() {
+        return studentService.findById(randomId());
+    }
+
+    @Benchmark
+    public Student findById_scan() {
+        return scanList.findById(randomId());
+    }
+
+    @Benchmark
+    public void updateStudent_indexed() {
+        studentService.updateStudent(randomId(), "Updated", DATE, group);
+    }
+
+    @Benchmark
+    public void updateStudent_scan() {
+        scanList.update(randomId(), "Updated", DATE, group);
+    }
+
+    @Benchmark
+    public void deleteAndSave_indexed() {
+        Integer id = randomId();
+        studentService.deleteStudent(id);
+        studentService.saveStudent(id, "Student " + id, DATE, group);
+    }
+
+    @Benchmark
+    public void deleteAndSave_scan() {
+        Integer id = randomId();
+        scanList.delete(id);
+        scanList.save(new Student(id, "Student " + id, DATE, group));
+    }
+
+    // the ArrayList scan StudentService used before the id index
+    static class ScanStudentList {
+        private final List<Student> listStudent = new ArrayList<>();
+
+        void save(Student student) {
+            listStudent.add(student);
+        }
+
+        Student findById(Integer id) {
+            for (Student student : listStudent) {
+                if (student.getId().equals(id)) {
+                    return student;
+                }
+            }
+            throw new IndexOutOfBoundsException("Student with ID " + id + " not found");
+        }
+
+        Integer findIndexById(Integer id) {
+            for (int i = 0; i < listStudent.size(); i++) {
+                if (listStudent.get(i).getId().equals(id)) {
+                    return i;
+                }
+            }
+            return null;
+        }
+
+        void update(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+            Student student = findById(id);
+            student.setGroup(group);
+            student.setDateBirth(dateOfBirth);
+            student.setFullName(fullName);
+            Integer index = findIndexById(id);
+            if (index != null) {
+                listStudent.set(index, student);
+            }
+        }
+
+        void delete(Integer id) {
+            Integer index = findIndexById(id);
+            if (index == null) {
+                throw new IndexOutOfBoundsException("Student with ID " + id + " not found");
+            }
+            listStudent.remove(index.intValue());
+        }
+    }
+}
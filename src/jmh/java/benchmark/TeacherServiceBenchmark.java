@@ -0,0 +1,44 @@
+package benchmark;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+import org.openjdk.jmh.annotations.*;
+import teacher.Grade;
+import teacher.TeacherService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// saveTeacher on a service already holding `size` teachers, the teacher is deleted again to keep the size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeacherServiceBenchmark {
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    private TeacherService teacherService;
+    private List<Module> modules;
+    private List<Group> groups;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modules = List.of(new Module(ModuleName.CRY, "cryptographie", 35));
+        groups = List.of(new Group(GroupName.MIAD));
+        teacherService = new TeacherService();
+        for (int i = 0; i < size; i++) {
+            teacherService.saveTeacher(i, "Teacher " + i, Grade.MCA, modules, groups);
+        }
+    }
+
+    @Benchmark
+    public void saveTeacher() {
+        teacherService.saveTeacher(size, "New teacher", Grade.MCB, modules, groups);
+        teacherService.deleteTeacher(size);
+    }
+}
@@ -2,6 +2,7 @@ import group.Group;
 import group.GroupService;
 import group.GroupName;
 import mark.Mark;
+import mark.MarkCascade;
 import mark.MarkService;
 import module.Module;
 import module.ModuleName;
@@ -41,8 +42,7 @@ public class Main {
         System.out.println("listStudents " );
         showStudents(listStudents);
 
-        //updating number of students in each group
-        groupService.updateNumberOfStudent(listStudents);
+        //number of students in each group is updated by groupService on every save
         System.out.println("listGroups after adding students" );
         showGroup(groupService.allGroups());
 
@@ -72,11 +72,12 @@ public class Main {
         ModuleName[] refModule ={ModuleName.BDA, ModuleName.CRY, ModuleName.CRY};
         Integer[] notes={15,11,10};
         markService =new MarkService();
+        MarkCascade.attach(studentService, markService);
         for (int i = 0; i < idStudent.length; i++) {
             //-1 because the index list  starts from 0
             Integer idx=idStudent[i];
             Student student=studentService.findById(idx);
-            Module module=moduleService.findByReference(refModule[i].toString());
+            Module module=moduleService.findByModuleName(refModule[i]);
             markService.createMark(student,notes[i],module);
 
         }
@@ -93,7 +94,7 @@ public class Main {
             List<Group>listGroups=new ArrayList();
             Integer length=nameGroup[i].length;
             for (int j = 0; j <length ; j++) {
-                 Group group=groupService.findByReference(nameGroup[i][j].toString());
+                 Group group=groupService.findByGroupName(nameGroup[i][j]);
                  listGroups.add(group);
 
             }
@@ -101,7 +102,7 @@ public class Main {
             length=moduleName[i].length;
             for (int j = 0; j <length ; j++) {
 
-                    Module module=moduleService.findByReference(moduleName[i][j].toString());
+                    Module module=moduleService.findByModuleName(moduleName[i][j]);
                     listModules.add(module);
 
             }
@@ -154,8 +155,9 @@ public class Main {
         GroupName[] nameGroup ={GroupName.MIAD, GroupName.MSIA
                 , GroupName.MIAD,GroupName.MSIR};
         studentService=new StudentService();
+        studentService.addListener(groupService);
         for (int i = 0; i < fullNames.length; i++) {
-            Group group=groupService.findByReference(nameGroup[i].toString());
+            Group group=groupService.findByGroupName(nameGroup[i]);
             studentService.saveStudent(i+1,fullNames[i],dateOfBirth[i],group);
         }
 
@@ -0,0 +1,41 @@
+package async;
+
+import group.Group;
+import group.GroupName;
+import group.GroupRepository;
+import student.Student;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// GroupRepository calls run on the executor, the futures complete with their result or exception
+public class AsyncGroupRepository {
+    private final GroupRepository repository;
+    private final Executor executor;
+
+    AsyncGroupRepository(GroupRepository repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Void> saveGroup(GroupName group) {
+        return CompletableFuture.runAsync(() -> repository.saveGroup(group), executor);
+    }
+
+    public CompletableFuture<List<Group>> allGroups() {
+        return CompletableFuture.supplyAsync(repository::allGroups, executor);
+    }
+
+    public CompletableFuture<Group> findByReference(String reference) {
+        return CompletableFuture.supplyAsync(() -> repository.findByReference(reference), executor);
+    }
+
+    public CompletableFuture<Group> findByGroupName(GroupName reference) {
+        return CompletableFuture.supplyAsync(() -> repository.findByGroupName(reference), executor);
+    }
+
+    public CompletableFuture<Void> updateNumberOfStudent(List<Student> students) {
+        return CompletableFuture.runAsync(() -> repository.updateNumberOfStudent(students), executor);
+    }
+}
@@ -0,0 +1,50 @@
+package async;
+
+import mark.Mark;
+import mark.MarkRepository;
+import module.Module;
+import student.Student;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// MarkRepository calls run on the executor, the futures complete with their result or exception
+public class AsyncMarkRepository {
+    private final MarkRepository repository;
+    private final Executor executor;
+
+    AsyncMarkRepository(MarkRepository repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Void> createMark(Student student, Integer mark, Module module) {
+        return CompletableFuture.runAsync(() -> repository.createMark(student, mark, module), executor);
+    }
+
+    public CompletableFuture<Void> createMarks(Collection<Mark> marks) {
+        return CompletableFuture.runAsync(() -> repository.createMarks(marks), executor);
+    }
+
+    public CompletableFuture<List<Mark>> allMarks() {
+        return CompletableFuture.supplyAsync(repository::allMarks, executor);
+    }
+
+    public CompletableFuture<List<Mark>> findMarkByModule(Module module) {
+        return CompletableFuture.supplyAsync(() -> repository.findMarkByModule(module), executor);
+    }
+
+    public CompletableFuture<Student> bestMarkByModule(Module module) {
+        return CompletableFuture.supplyAsync(() -> repository.bestMarkByModule(module), executor);
+    }
+
+    public CompletableFuture<List<Mark>> findMarksByStudent(Integer studentId) {
+        return CompletableFuture.supplyAsync(() -> repository.findMarksByStudent(studentId), executor);
+    }
+
+    public CompletableFuture<List<Mark>> deleteMarksByStudents(Collection<Integer> studentIds) {
+        return CompletableFuture.supplyAsync(() -> repository.deleteMarksByStudents(studentIds), executor);
+    }
+}
@@ -0,0 +1,45 @@
+package async;
+
+import module.Module;
+import module.ModuleName;
+import module.ModuleRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// ModuleRepository calls run on the executor, the futures complete with their result or exception
+public class AsyncModuleRepository {
+    private final ModuleRepository repository;
+    private final Executor executor;
+
+    AsyncModuleRepository(ModuleRepository repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Void> saveModule(ModuleName reference, String name, Integer numberHours) {
+        return CompletableFuture.runAsync(() -> repository.saveModule(reference, name, numberHours), executor);
+    }
+
+    public CompletableFuture<Void> saveAll(Collection<Module> modules) {
+        return CompletableFuture.runAsync(() -> repository.saveAll(modules), executor);
+    }
+
+    public CompletableFuture<List<Module>> allModules() {
+        return CompletableFuture.supplyAsync(repository::allModules, executor);
+    }
+
+    public CompletableFuture<Module> findByReference(String reference) {
+        return CompletableFuture.supplyAsync(() -> repository.findByReference(reference), executor);
+    }
+
+    public CompletableFuture<Module> findByModuleName(ModuleName reference) {
+        return CompletableFuture.supplyAsync(() -> repository.findByModuleName(reference), executor);
+    }
+
+    public CompletableFuture<Void> updateNumberHours(ModuleName reference, Integer numberHours) {
+        return CompletableFuture.runAsync(() -> repository.updateNumberHours(reference, numberHours), executor);
+    }
+}
@@ -0,0 +1,94 @@
+package async;
+
+import group.GroupRepository;
+import mark.MarkRepository;
+import module.ModuleRepository;
+import student.StudentRepository;
+import teacher.TeacherRepository;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * CompletableFuture facade over the five repositories, every call runs as a task of one
+ * executor, a new virtual thread per call by default. The queries of a page can be started
+ * together and joined once, e.g.
+ * <pre>
+ * CompletableFuture&lt;List&lt;Mark&gt;&gt; transcript = async.marks().findMarksByStudent(id);
+ * CompletableFuture&lt;List&lt;Student&gt;&gt; students = async.students().allStudents();
+ * CompletableFuture.allOf(transcript, students).join();
+ * </pre>
+ * The calls run at the same time, so give it the concurrent repositories as soon as some of
+ * them write. Closing it waits for the running calls and closes the executor it created.
+ */
+public class AsyncRepositories implements AutoCloseable {
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final AsyncStudentRepository students;
+    private final AsyncMarkRepository marks;
+    private final AsyncGroupRepository groups;
+    private final AsyncModuleRepository modules;
+    private final AsyncTeacherRepository teachers;
+
+    public AsyncRepositories(StudentRepository studentRepository, MarkRepository markRepository,
+                             GroupRepository groupRepository, ModuleRepository moduleRepository,
+                             TeacherRepository teacherRepository) {
+        this(studentRepository, markRepository, groupRepository, moduleRepository, teacherRepository,
+                Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    // runs the calls on the given executor, which is left open by close()
+    public AsyncRepositories(StudentRepository studentRepository, MarkRepository markRepository,
+                             GroupRepository groupRepository, ModuleRepository moduleRepository,
+                             TeacherRepository teacherRepository, ExecutorService executor) {
+        this(studentRepository, markRepository, groupRepository, moduleRepository, teacherRepository,
+                executor, false);
+    }
+
+    private AsyncRepositories(StudentRepository studentRepository, MarkRepository markRepository,
+                              GroupRepository groupRepository, ModuleRepository moduleRepository,
+                              TeacherRepository teacherRepository, ExecutorService executor,
+                              boolean ownsExecutor) {
+        if (studentRepository == null || markRepository == null || groupRepository == null
+                || moduleRepository == null || teacherRepository == null) {
+            throw new IllegalArgumentException("Repositories cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.students = new AsyncStudentRepository(studentRepository, executor);
+        this.marks = new AsyncMarkRepository(markRepository, executor);
+        this.groups = new AsyncGroupRepository(groupRepository, executor);
+        this.modules = new AsyncModuleRepository(moduleRepository, executor);
+        this.teachers = new AsyncTeacherRepository(teacherRepository, executor);
+    }
+
+    public AsyncStudentRepository students() {
+        return students;
+    }
+
+    public AsyncMarkRepository marks() {
+        return marks;
+    }
+
+    public AsyncGroupRepository groups() {
+        return groups;
+    }
+
+    public AsyncModuleRepository modules() {
+        return modules;
+    }
+
+    public AsyncTeacherRepository teachers() {
+        return teachers;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.close();
+        }
+    }
+}
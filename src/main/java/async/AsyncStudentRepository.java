@@ -0,0 +1,50 @@
+package async;
+
+import group.Group;
+import student.Student;
+import student.StudentRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// StudentRepository calls run on the executor, the futures complete with their result or exception
+public class AsyncStudentRepository {
+    private final StudentRepository repository;
+    private final Executor executor;
+
+    AsyncStudentRepository(StudentRepository repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Void> saveStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        return CompletableFuture.runAsync(() -> repository.saveStudent(id, fullName, dateOfBirth, group), executor);
+    }
+
+    public CompletableFuture<Void> saveAll(Collection<Student> students) {
+        return CompletableFuture.runAsync(() -> repository.saveAll(students), executor);
+    }
+
+    public CompletableFuture<Void> deleteStudent(Integer id) {
+        return CompletableFuture.runAsync(() -> repository.deleteStudent(id), executor);
+    }
+
+    public CompletableFuture<Void> deleteAll(Collection<Integer> ids) {
+        return CompletableFuture.runAsync(() -> repository.deleteAll(ids), executor);
+    }
+
+    public CompletableFuture<Student> findById(Integer id) {
+        return CompletableFuture.supplyAsync(() -> repository.findById(id), executor);
+    }
+
+    public CompletableFuture<Void> updateStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        return CompletableFuture.runAsync(() -> repository.updateStudent(id, fullName, dateOfBirth, group), executor);
+    }
+
+    public CompletableFuture<List<Student>> allStudents() {
+        return CompletableFuture.supplyAsync(repository::allStudents, executor);
+    }
+}
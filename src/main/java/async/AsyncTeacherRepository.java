@@ -0,0 +1,58 @@
+package async;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// TeacherRepository calls run on the executor, the futures complete with their result or exception
+public class AsyncTeacherRepository {
+    private final TeacherRepository repository;
+    private final Executor executor;
+
+    AsyncTeacherRepository(TeacherRepository repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Void> saveTeacher(Integer id, String fullName, Grade grade,
+                                               List<Module> modules, List<Group> groups) {
+        return CompletableFuture.runAsync(() -> repository.saveTeacher(id, fullName, grade, modules, groups), executor);
+    }
+
+    public CompletableFuture<Void> saveAll(Collection<Teacher> teachers) {
+        return CompletableFuture.runAsync(() -> repository.saveAll(teachers), executor);
+    }
+
+    public CompletableFuture<List<Teacher>> allTeachers() {
+        return CompletableFuture.supplyAsync(repository::allTeachers, executor);
+    }
+
+    public CompletableFuture<Teacher> findById(Integer id) {
+        return CompletableFuture.supplyAsync(() -> repository.findById(id), executor);
+    }
+
+    public CompletableFuture<List<Teacher>> findByModule(ModuleName module) {
+        return CompletableFuture.supplyAsync(() -> repository.findByModule(module), executor);
+    }
+
+    public CompletableFuture<List<Teacher>> findByGroup(GroupName group) {
+        return CompletableFuture.supplyAsync(() -> repository.findByGroup(group), executor);
+    }
+
+    public CompletableFuture<List<Teacher>> findByModuleAndGroup(ModuleName module, GroupName group) {
+        return CompletableFuture.supplyAsync(() -> repository.findByModuleAndGroup(module, group), executor);
+    }
+
+    public CompletableFuture<Void> deleteTeacher(Integer id) {
+        return CompletableFuture.runAsync(() -> repository.deleteTeacher(id), executor);
+    }
+}
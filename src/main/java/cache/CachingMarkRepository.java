@@ -0,0 +1,167 @@
+package cache;
+
+import mark.Mark;
+import mark.MarkListener;
+import mark.MarkRepository;
+import module.Module;
+import module.ModuleName;
+import group.Group;
+import student.Student;
+import student.StudentListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MarkRepository answering findMarkByModule and findMarksByStudent from two LruCaches, keyed by
+ * module name and by student id. Each call returns its own copy of the cached list, as the
+ * repositories do. createMark and createMarks drop the module and student of each new mark,
+ * deleteMarksByStudents the students and every module.
+ * Marks are only dropped through this repository: attach MarkCascade to it rather than to the
+ * one it wraps, so student deletes reach the cache.
+ * The cached marks keep the Student objects they were read with. Registered as a StudentListener
+ * it drops the entries of a student whose group changes or who is deleted. A change of name or
+ * date of birth is not told to the listeners, so the cached marks keep the previous ones until
+ * their entry is dropped. The in-memory repositories share and update their Student objects,
+ * only the jdbc ones give stale students back.
+ */
+public class CachingMarkRepository implements MarkRepository, StudentListener {
+    private final MarkRepository repository;
+    private final LruCache<ModuleName, List<Mark>> findMarkByModule;
+    private final LruCache<Integer, List<Mark>> findMarksByStudent;
+
+    public CachingMarkRepository(MarkRepository repository, int maxSize) {
+        if (repository == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        this.repository = repository;
+        this.findMarkByModule = new LruCache<>(maxSize);
+        this.findMarksByStudent = new LruCache<>(maxSize);
+    }
+
+    public LruCache<ModuleName, List<Mark>> findMarkByModuleCache() {
+        return findMarkByModule;
+    }
+
+    public LruCache<Integer, List<Mark>> findMarksByStudentCache() {
+        return findMarksByStudent;
+    }
+
+    @Override
+    public void createMark(Student student, Integer mark, Module module) {
+        try {
+            repository.createMark(student, mark, module);
+        } finally {
+            invalidate(student, module);
+        }
+    }
+
+    @Override
+    public void createMarks(Collection<Mark> marks) {
+        try {
+            repository.createMarks(marks);
+        } finally {
+            if (marks != null) {
+                for (Mark mark : marks) {
+                    if (mark != null) {
+                        invalidate(mark.getStudent(), mark.getModule());
+                    }
+                }
+            }
+        }
+    }
+
+    private void invalidate(Student student, Module module) {
+        if (student != null && student.getId() != null) {
+            findMarksByStudent.invalidate(student.getId());
+        }
+        if (module != null && module.getReference() != null) {
+            findMarkByModule.invalidate(module.getReference());
+        }
+    }
+
+    @Override
+    public List<Mark> allMarks() {
+        return repository.allMarks();
+    }
+
+    @Override
+    public Stream<Mark> streamMarks() {
+        return repository.streamMarks();
+    }
+
+    @Override
+    public List<Mark> findMarkByModule(Module module) {
+        if (module == null || module.getReference() == null) {
+            return repository.findMarkByModule(module);
+        }
+        return new ArrayList<>(findMarkByModule.get(module.getReference(),
+                reference -> repository.findMarkByModule(module)));
+    }
+
+    @Override
+    public Student bestMarkByModule(Module module) {
+        return repository.bestMarkByModule(module);
+    }
+
+    @Override
+    public List<Mark> findMarksByStudent(Integer studentId) {
+        if (studentId == null) {
+            return repository.findMarksByStudent(null);
+        }
+        return new ArrayList<>(findMarksByStudent.get(studentId, repository::findMarksByStudent));
+    }
+
+    // every module entry is dropped: behind a database cascade the marks are already gone
+    // and the returned list is empty, yet the modules they were in have changed
+    @Override
+    public List<Mark> deleteMarksByStudents(Collection<Integer> studentIds) {
+        try {
+            return repository.deleteMarksByStudents(studentIds);
+        } finally {
+            if (studentIds != null && !studentIds.isEmpty()) {
+                for (Integer id : studentIds) {
+                    findMarksByStudent.invalidate(id);
+                }
+                findMarkByModule.invalidateAll();
+            }
+        }
+    }
+
+    @Override
+    public void studentSaved(Student student) {
+        // a new student has no mark yet
+    }
+
+    @Override
+    public void studentGroupChanged(Student student, Group previousGroup) {
+        dropStudents(List.of(student));
+    }
+
+    @Override
+    public void studentDeleted(Student student) {
+        dropStudents(List.of(student));
+    }
+
+    @Override
+    public void studentsDeleted(List<Student> students) {
+        dropStudents(students);
+    }
+
+    // the module entries hold the students too, they are all dropped
+    private void dropStudents(List<Student> students) {
+        for (Student student : students) {
+            if (student.getId() != null) {
+                findMarksByStudent.invalidate(student.getId());
+            }
+        }
+        findMarkByModule.invalidateAll();
+    }
+
+    @Override
+    public void addListener(MarkListener listener) {
+        repository.addListener(listener);
+    }
+}
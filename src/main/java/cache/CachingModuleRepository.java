@@ -0,0 +1,86 @@
+package cache;
+
+import module.Module;
+import module.ModuleListener;
+import module.ModuleName;
+import module.ModuleRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// ModuleRepository answering findByReference and findByModuleName from one LruCache keyed by
+// the module name, so "bda" and "BDA" share an entry; updateNumberHours drops its module
+public class CachingModuleRepository implements ModuleRepository {
+    private final ModuleRepository repository;
+    private final LruCache<ModuleName, Module> findByReference;
+
+    public CachingModuleRepository(ModuleRepository repository, int maxSize) {
+        if (repository == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        this.repository = repository;
+        this.findByReference = new LruCache<>(maxSize);
+    }
+
+    public LruCache<ModuleName, Module> findByReferenceCache() {
+        return findByReference;
+    }
+
+    @Override
+    public void saveModule(ModuleName reference, String name, Integer numberHours) {
+        try {
+            repository.saveModule(reference, name, numberHours);
+        } finally {
+            if (reference != null) {
+                findByReference.invalidate(reference);
+            }
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Module> modules) {
+        try {
+            repository.saveAll(modules);
+        } finally {
+            findByReference.invalidateAll();
+        }
+    }
+
+    @Override
+    public List<Module> allModules() {
+        return repository.allModules();
+    }
+
+    @Override
+    public Stream<Module> streamModules() {
+        return repository.streamModules();
+    }
+
+    @Override
+    public Module findByReference(String reference) {
+        ModuleName name = ModuleName.fromReference(reference);
+        return name != null ? findByReference.get(name, repository::findByModuleName) : null;
+    }
+
+    @Override
+    public Module findByModuleName(ModuleName reference) {
+        return reference != null ? findByReference.get(reference, repository::findByModuleName) : null;
+    }
+
+    @Override
+    public void updateNumberHours(ModuleName reference, Integer numberHours) {
+        try {
+            repository.updateNumberHours(reference, numberHours);
+        } finally {
+            if (reference != null) {
+                findByReference.invalidate(reference);
+            }
+        }
+    }
+
+    @Override
+    public void addListener(ModuleListener listener) {
+        repository.addListener(listener);
+    }
+}
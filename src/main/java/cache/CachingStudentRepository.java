@@ -0,0 +1,91 @@
+package cache;
+
+import group.Group;
+import student.Student;
+import student.StudentListener;
+import student.StudentRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// StudentRepository answering findById from an LruCache, the writes go to the repository
+// then drop the students they changed; an unknown id is never cached and still throws
+public class CachingStudentRepository implements StudentRepository {
+    private final StudentRepository repository;
+    private final LruCache<Integer, Student> findById;
+
+    public CachingStudentRepository(StudentRepository repository, int maxSize) {
+        if (repository == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        this.repository = repository;
+        this.findById = new LruCache<>(maxSize);
+    }
+
+    public LruCache<Integer, Student> findByIdCache() {
+        return findById;
+    }
+
+    @Override
+    public void saveStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        repository.saveStudent(id, fullName, dateOfBirth, group);
+    }
+
+    @Override
+    public void saveAll(Collection<Student> students) {
+        repository.saveAll(students);
+    }
+
+    @Override
+    public void deleteStudent(Integer idStudent) {
+        try {
+            repository.deleteStudent(idStudent);
+        } finally {
+            findById.invalidate(idStudent);
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<Integer> ids) {
+        try {
+            repository.deleteAll(ids);
+        } finally {
+            if (ids != null) {
+                for (Integer id : ids) {
+                    findById.invalidate(id);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Student findById(Integer id) {
+        return findById.get(id, repository::findById);
+    }
+
+    @Override
+    public void updateStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        try {
+            repository.updateStudent(id, fullName, dateOfBirth, group);
+        } finally {
+            findById.invalidate(id);
+        }
+    }
+
+    @Override
+    public List<Student> allStudents() {
+        return repository.allStudents();
+    }
+
+    @Override
+    public Stream<Student> streamStudents() {
+        return repository.streamStudents();
+    }
+
+    @Override
+    public void addListener(StudentListener listener) {
+        repository.addListener(listener);
+    }
+}
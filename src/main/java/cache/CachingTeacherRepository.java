@@ -0,0 +1,80 @@
+package cache;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// TeacherRepository answering findById from an LruCache, deleteTeacher drops its teacher
+public class CachingTeacherRepository implements TeacherRepository {
+    private final TeacherRepository repository;
+    private final LruCache<Integer, Teacher> findById;
+
+    public CachingTeacherRepository(TeacherRepository repository, int maxSize) {
+        if (repository == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        this.repository = repository;
+        this.findById = new LruCache<>(maxSize);
+    }
+
+    public LruCache<Integer, Teacher> findByIdCache() {
+        return findById;
+    }
+
+    @Override
+    public void saveTeacher(Integer id, String fullName, Grade grade, List<Module> listModules, List<Group> listGroup) {
+        repository.saveTeacher(id, fullName, grade, listModules, listGroup);
+    }
+
+    @Override
+    public void saveAll(Collection<Teacher> teachers) {
+        repository.saveAll(teachers);
+    }
+
+    @Override
+    public List<Teacher> allTeachers() {
+        return repository.allTeachers();
+    }
+
+    @Override
+    public Stream<Teacher> streamTeachers() {
+        return repository.streamTeachers();
+    }
+
+    @Override
+    public Teacher findById(Integer id) {
+        return findById.get(id, repository::findById);
+    }
+
+    @Override
+    public List<Teacher> findByModule(ModuleName module) {
+        return repository.findByModule(module);
+    }
+
+    @Override
+    public List<Teacher> findByGroup(GroupName group) {
+        return repository.findByGroup(group);
+    }
+
+    @Override
+    public List<Teacher> findByModuleAndGroup(ModuleName module, GroupName group) {
+        return repository.findByModuleAndGroup(module, group);
+    }
+
+    @Override
+    public void deleteTeacher(Integer id) {
+        try {
+            repository.deleteTeacher(id);
+        } finally {
+            findById.invalidate(id);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package exception;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// thrown by the batch operations when at least one row is invalid, nothing of the batch is saved
+public class BatchException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private static final int ROWS_IN_MESSAGE = 10;
+
+    // a TreeMap, so the rows serialize with the exception
+    private final TreeMap<Integer, String> rejectedRows;
+
+    public BatchException(Map<Integer, String> rejectedRows, int batchSize) {
+        super(message(rejectedRows, batchSize));
+        this.rejectedRows = new TreeMap<>(rejectedRows);
+    }
+
+    // position of each rejected row in the batch, with the reason it was rejected
+    public Map<Integer, String> getRejectedRows() {
+        return Collections.unmodifiableMap(rejectedRows);
+    }
+
+    private static String message(Map<Integer, String> rejectedRows, int batchSize) {
+        StringBuilder message = new StringBuilder()
+                .append(rejectedRows.size()).append(" of ").append(batchSize).append(" rows rejected");
+        int shown = 0;
+        for (Map.Entry<Integer, String> row : new TreeMap<>(rejectedRows).entrySet()) {
+            if (shown++ == ROWS_IN_MESSAGE) {
+                message.append(", ...");
+                break;
+            }
+            message.append(shown == 1 ? ": " : ", ")
+                    .append("row ").append(row.getKey()).append(" (").append(row.getValue()).append(')');
+        }
+        return message.toString();
+    }
+}
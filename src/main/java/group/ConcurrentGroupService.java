@@ -0,0 +1,115 @@
+package group;
+
+import student.Student;
+import student.StudentListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe GroupRepository. Groups are kept in a copy-on-write list and the
+ * head-count of each reference in an atomic counter indexed by the GroupName ordinal.
+ */
+public class ConcurrentGroupService implements GroupRepository, StudentListener {
+    private final List<Group> listGroups;
+    // first group saved with each reference
+    private final ConcurrentMap<GroupName, Group> groupsByReference;
+    private final AtomicIntegerArray numberStudents;
+
+    public ConcurrentGroupService() {
+        this.listGroups = new CopyOnWriteArrayList<>();
+        this.groupsByReference = new ConcurrentHashMap<>();
+        this.numberStudents = new AtomicIntegerArray(GroupName.values().length);
+    }
+
+    @Override
+    public void saveGroup(GroupName reference) {
+        if (reference == null) {
+            throw new IllegalArgumentException("Group reference cannot be null");
+        }
+        Group group = new Group(reference);
+        listGroups.add(group);
+        groupsByReference.putIfAbsent(reference, group);
+        publishCount(group);
+    }
+
+    @Override
+    public List<Group> allGroups() {
+        return new ArrayList<>(listGroups);
+    }
+
+    @Override
+    public Stream<Group> streamGroups() {
+        return listGroups.stream();
+    }
+
+    @Override
+    public Group findByReference(String reference) {
+        GroupName name = GroupName.fromReference(reference);
+        return name != null ? groupsByReference.get(name) : null;
+    }
+
+    @Override
+    public Group findByGroupName(GroupName reference) {
+        return reference != null ? groupsByReference.get(reference) : null;
+    }
+
+    @Override
+    public synchronized void updateNumberOfStudent(List<Student> listStudents) {
+        int[] counts = new int[numberStudents.length()];
+        if (listStudents != null) {
+            for (Student student : listStudents) {
+                if (student.getGroup() != null && student.getGroup().getReference() != null) {
+                    counts[student.getGroup().getReference().ordinal()]++;
+                }
+            }
+        }
+        for (int i = 0; i < counts.length; i++) {
+            numberStudents.set(i, counts[i]);
+        }
+        for (Group group : listGroups) {
+            publishCount(group);
+        }
+    }
+
+    @Override
+    public void studentSaved(Student student) {
+        addToCount(student.getGroup(), 1);
+    }
+
+    @Override
+    public void studentGroupChanged(Student student, Group previousGroup) {
+        addToCount(previousGroup, -1);
+        addToCount(student.getGroup(), 1);
+    }
+
+    @Override
+    public void studentDeleted(Student student) {
+        addToCount(student.getGroup(), -1);
+    }
+
+    private void addToCount(Group group, int delta) {
+        if (group == null || group.getReference() == null) {
+            return;
+        }
+        numberStudents.addAndGet(group.getReference().ordinal(), delta);
+        publishCount(group);
+        for (Group saved : listGroups) {
+            if (saved.getReference() == group.getReference()) {
+                publishCount(saved);
+            }
+        }
+    }
+
+    // reads the counter under the group lock so that the last write always holds the latest count
+    private void publishCount(Group group) {
+        synchronized (group) {
+            group.setNumberStudent(numberStudents.get(group.getReference().ordinal()));
+        }
+    }
+}
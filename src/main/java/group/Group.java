@@ -1,7 +1,7 @@
 package group;
 public class Group {
     private final GroupName reference;
-    private Integer numberStudent;
+    private volatile Integer numberStudent;
     public Group(GroupName reference) {
         this.reference = reference;
         numberStudent=0;
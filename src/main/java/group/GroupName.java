@@ -1,4 +1,22 @@
 package group;
+
+import java.util.Map;
+import java.util.TreeMap;
+
 public enum GroupName {
-    MSIR,MIAD,MSIA
+    MSIR,MIAD,MSIA;
+
+    // case-insensitive name table, looked up without allocating
+    private static final Map<String, GroupName> BY_REFERENCE = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        for (GroupName name : values()) {
+            BY_REFERENCE.put(name.name(), name);
+        }
+    }
+
+    // returns the group name matching the reference whatever its case, or null if there is none
+    public static GroupName fromReference(String reference) {
+        return reference != null ? BY_REFERENCE.get(reference) : null;
+    }
 }
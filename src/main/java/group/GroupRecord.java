@@ -0,0 +1,39 @@
+package group;
+
+/**
+ * Immutable head-count of a group at one point in time, equal to any record of the same
+ * reference. The hash is the ordinal of the reference.
+ */
+public record GroupRecord(GroupName reference, int numberStudent) {
+
+    public GroupRecord {
+        if (reference == null) {
+            throw new IllegalArgumentException("Group reference cannot be null");
+        }
+        if (numberStudent < 0) {
+            throw new IllegalArgumentException("Number of students cannot be negative");
+        }
+    }
+
+    public static GroupRecord from(Group group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group cannot be null");
+        }
+        Integer numberStudent = group.getNumberStudent();
+        return new GroupRecord(group.getReference(), numberStudent != null ? numberStudent : 0);
+    }
+
+    public GroupRecord withNumberStudent(int numberStudent) {
+        return new GroupRecord(reference, numberStudent);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof GroupRecord group && group.reference == reference;
+    }
+
+    @Override
+    public int hashCode() {
+        return reference.ordinal();
+    }
+}
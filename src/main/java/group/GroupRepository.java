@@ -2,10 +2,14 @@ package group;
 
 import student.Student;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface GroupRepository {
     void saveGroup(GroupName group);
     List<Group> allGroups();
+    // reads the groups in place, without copying them into a new list
+    Stream<Group> streamGroups();
     Group findByReference(String reference);
+    Group findByGroupName(GroupName reference);
     void updateNumberOfStudent (List<Student>listStudents);
 }
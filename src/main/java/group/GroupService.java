@@ -1,15 +1,25 @@
 package group;
 
 import student.Student;
+import student.StudentListener;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
-public class GroupService implements GroupRepository {
+public class GroupService implements GroupRepository, StudentListener {
     List<Group> listGroups;
+    // first group saved with each reference
+    private Map<GroupName, Group> groupsByReference;
+    // number of students of each group reference, kept up to date by the StudentListener events
+    private Map<GroupName, Integer> numberStudents;
 
     public GroupService() {
         this.listGroups = new ArrayList<>();
+        this.groupsByReference = new EnumMap<>(GroupName.class);
+        this.numberStudents = new EnumMap<>(GroupName.class);
     }
 
     @Override
@@ -18,7 +28,9 @@ public class GroupService implements GroupRepository {
             throw new IllegalArgumentException("Group reference cannot be null");
         }
         Group group = new Group(reference);
+        group.setNumberStudent(numberStudents.getOrDefault(reference, 0));
         listGroups.add(group);
+        groupsByReference.putIfAbsent(reference, group);
     }
 
     @Override
@@ -26,46 +38,69 @@ public class GroupService implements GroupRepository {
         return new ArrayList<>(listGroups); // Return a copy of the list
     }
 
+    @Override
+    public Stream<Group> streamGroups() {
+        return listGroups.stream();
+    }
+
     @Override
     public Group findByReference(String reference) {
-        Integer index = findIndex(reference);
-        if (index != null)
-            return listGroups.get(index);
-        else return null;
+        GroupName name = GroupName.fromReference(reference);
+        return name != null ? groupsByReference.get(name) : null;
+    }
+
+    @Override
+    public Group findByGroupName(GroupName reference) {
+        return reference != null ? groupsByReference.get(reference) : null;
     }
 
     @Override
     public void updateNumberOfStudent(List<Student> listStudents) {
-        // If listStudents is null, set all groups' student count to 0
-        if (listStudents == null) {
-            for (Group group : listGroups) {
-                group.setNumberStudent(0);
-            }
-            return;
-        }
+        numberStudents.clear();
 
-        // Original logic for non-null list
-        for (int i = 0; i < listGroups.size(); i++) {
-            int count = 0;
-            String ref = listGroups.get(i).getReference().toString();
-            Integer index = findIndex(ref);
+        // If listStudents is null, set all groups' student count to 0
+        if (listStudents != null) {
             for (Student student : listStudents) {
                 // Check if student's group is not null before accessing
-                if (student.getGroup() != null &&
-                        ref.equalsIgnoreCase(student.getGroup().getReference().toString())) {
-                    count++;
+                if (student.getGroup() != null && student.getGroup().getReference() != null) {
+                    numberStudents.merge(student.getGroup().getReference(), 1, Integer::sum);
                 }
             }
-            listGroups.get(index).setNumberStudent(count);
+        }
+
+        for (Group group : listGroups) {
+            group.setNumberStudent(numberStudents.getOrDefault(group.getReference(), 0));
         }
     }
 
-    private Integer findIndex(String reference) {
-        for (int i = 0; i < listGroups.size(); i++) {
-            if (listGroups.get(i).getReference().toString().equalsIgnoreCase(reference))
-                return i;
+    @Override
+    public void studentSaved(Student student) {
+        addToCount(student.getGroup(), 1);
+    }
+
+    @Override
+    public void studentGroupChanged(Student student, Group previousGroup) {
+        addToCount(previousGroup, -1);
+        addToCount(student.getGroup(), 1);
+    }
+
+    @Override
+    public void studentDeleted(Student student) {
+        addToCount(student.getGroup(), -1);
+    }
+
+    private void addToCount(Group group, int delta) {
+        if (group == null || group.getReference() == null) {
+            return;
+        }
+        GroupName reference = group.getReference();
+        Integer count = numberStudents.merge(reference, delta, Integer::sum);
+        group.setNumberStudent(count);
+        for (Group saved : listGroups) {
+            if (saved.getReference() == reference) {
+                saved.setNumberStudent(count);
+            }
         }
-        return null;
     }
 
 }
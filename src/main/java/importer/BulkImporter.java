@@ -0,0 +1,348 @@
+package importer;
+
+import exception.BatchException;
+import group.Group;
+import group.GroupName;
+import group.GroupRepository;
+import mark.Mark;
+import mark.MarkRepository;
+import mark.MarkService;
+import module.Module;
+import module.ModuleName;
+import module.ModuleRepository;
+import student.Student;
+import student.StudentRepository;
+import student.StudentService;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherRepository;
+import teacher.TeacherService;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Loads students, teachers and marks from CSV or JSON-lines files of any size.
+ * The file is read in chunks of lines, each chunk is parsed and validated on the fork-join pool
+ * with the same rules as saveStudent, saveTeacher and createMark, then saved in file order with
+ * one saveAll or createMarks call. At most two chunks per worker are held in memory at a time.
+ * Rows that cannot be parsed or that the repository rejects are written to the reject file as
+ * "line number TAB reason TAB line", the other rows of their chunk are still saved.
+ * <pre>
+ * students : id, fullName, dateOfBirth (yyyy-MM-dd), group
+ * teachers : id, fullName, grade, modules, groups   (lists separated with ';')
+ * marks    : studentId, mark, module
+ * </pre>
+ * Groups, modules and, for marks, students are looked up in the repositories, so they have
+ * to be saved before the rows referring to them are imported.
+ */
+public class BulkImporter {
+    private static final int DEFAULT_CHUNK_SIZE = 10_000;
+    private static final String[] STUDENT_COLUMNS = {"id", "fullName", "dateOfBirth", "group"};
+    private static final String[] TEACHER_COLUMNS = {"id", "fullName", "grade", "modules", "groups"};
+    private static final String[] MARK_COLUMNS = {"studentId", "mark", "module"};
+
+    private final GroupRepository groupRepository;
+    private final ModuleRepository moduleRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final MarkRepository markRepository;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public BulkImporter(GroupRepository groupRepository, ModuleRepository moduleRepository,
+                        StudentRepository studentRepository, TeacherRepository teacherRepository,
+                        MarkRepository markRepository) {
+        this(groupRepository, moduleRepository, studentRepository, teacherRepository, markRepository,
+                ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BulkImporter(GroupRepository groupRepository, ModuleRepository moduleRepository,
+                        StudentRepository studentRepository, TeacherRepository teacherRepository,
+                        MarkRepository markRepository, ForkJoinPool pool, int chunkSize) {
+        if (groupRepository == null || moduleRepository == null || studentRepository == null
+                || teacherRepository == null || markRepository == null || pool == null) {
+            throw new IllegalArgumentException("Repositories and pool cannot be null");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.groupRepository = groupRepository;
+        this.moduleRepository = moduleRepository;
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.markRepository = markRepository;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importStudents(Path file, Format format, Path rejectFile) {
+        return run(file, format, rejectFile, STUDENT_COLUMNS, this::student, studentRepository::saveAll);
+    }
+
+    public ImportResult importTeachers(Path file, Format format, Path rejectFile) {
+        return run(file, format, rejectFile, TEACHER_COLUMNS, this::teacher, teacherRepository::saveAll);
+    }
+
+    public ImportResult importMarks(Path file, Format format, Path rejectFile) {
+        return run(file, format, rejectFile, MARK_COLUMNS, this::mark, markRepository::createMarks);
+    }
+
+    private Student student(String[] fields) {
+        Integer id = integer(fields[0], "id");
+        LocalDate dateOfBirth = date(fields[2]);
+        Group group = group(fields[3]);
+        check(StudentService.validate(id, fields[1], dateOfBirth, group));
+        return new Student(id, fields[1], dateOfBirth, group);
+    }
+
+    private Teacher teacher(String[] fields) {
+        Integer id = integer(fields[0], "id");
+        Grade grade = grade(fields[2]);
+        check(TeacherService.validate(id, fields[1], grade));
+        List<Module> modules = new ArrayList<>();
+        for (String reference : list(fields[3])) {
+            modules.add(module(reference));
+        }
+        List<Group> groups = new ArrayList<>();
+        for (String reference : list(fields[4])) {
+            groups.add(group(reference));
+        }
+        return new Teacher(id, fields[1], grade, modules, groups);
+    }
+
+    private Mark mark(String[] fields) {
+        Integer studentId = integer(fields[0], "studentId");
+        Integer value = integer(fields[1], "mark");
+        Module module = module(fields[2]);
+        Student student = null;
+        if (studentId != null) {
+            try {
+                student = studentRepository.findById(studentId);
+            } catch (IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Student with ID " + studentId + " not found");
+            }
+        }
+        check(MarkService.validate(student, value, module));
+        return new Mark(student, value, module);
+    }
+
+    private static void check(String error) {
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private static Integer integer(String value, String column) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private static LocalDate date(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date of birth '" + value + "'");
+        }
+    }
+
+    private static Grade grade(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (Grade grade : Grade.values()) {
+            if (grade.name().equalsIgnoreCase(value.trim())) {
+                return grade;
+            }
+        }
+        throw new IllegalArgumentException("Unknown grade '" + value + "'");
+    }
+
+    private Group group(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        GroupName reference = GroupName.fromReference(value.trim());
+        Group group = groupRepository.findByGroupName(reference);
+        if (group == null) {
+            throw new IllegalArgumentException("Group '" + value + "' is not saved");
+        }
+        return group;
+    }
+
+    private Module module(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        ModuleName reference = ModuleName.fromReference(value.trim());
+        Module module = moduleRepository.findByModuleName(reference);
+        if (module == null) {
+            throw new IllegalArgumentException("Module '" + value + "' is not saved");
+        }
+        return module;
+    }
+
+    private static List<String> list(String value) {
+        if (value == null || value.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>();
+        for (String element : value.split(";")) {
+            if (!element.isBlank()) {
+                values.add(element);
+            }
+        }
+        return values;
+    }
+
+    private <T> ImportResult run(Path file, Format format, Path rejectFile, String[] columns,
+                                 Function<String[], T> mapper, Consumer<List<T>> saver) {
+        if (file == null || format == null) {
+            throw new IllegalArgumentException("File and format cannot be null");
+        }
+        // two chunks per worker: one being parsed while the previous one is saved
+        int maxInFlight = 2 * pool.getParallelism();
+        Deque<ForkJoinTask<Chunk<T>>> inFlight = new ArrayDeque<>();
+        long[] totals = new long[2];
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter rejects = rejectFile != null
+                     ? Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8) : null) {
+            long lineNumber = 0;
+            String header = null;
+            if (format.hasHeader()) {
+                header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return new ImportResult(0, 0);
+                }
+            }
+            Function<String, String[]> parser = format.parser(columns, header);
+
+            List<String> lines = new ArrayList<>(chunkSize);
+            List<Long> lineNumbers = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines.add(line);
+                lineNumbers.add(lineNumber);
+                if (lines.size() == chunkSize) {
+                    if (inFlight.size() == maxInFlight) {
+                        save(inFlight.poll().join(), saver, rejects, totals);
+                    }
+                    inFlight.add(pool.submit(parseTask(lines, lineNumbers, parser, mapper)));
+                    lines = new ArrayList<>(chunkSize);
+                    lineNumbers = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!lines.isEmpty()) {
+                inFlight.add(pool.submit(parseTask(lines, lineNumbers, parser, mapper)));
+            }
+            while (!inFlight.isEmpty()) {
+                save(inFlight.poll().join(), saver, rejects, totals);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot import " + file, e);
+        } finally {
+            // chunks still parsing when the import failed are dropped
+            inFlight.forEach(task -> task.cancel(false));
+        }
+        return new ImportResult(totals[0], totals[1]);
+    }
+
+    private static <T> ForkJoinTask<Chunk<T>> parseTask(List<String> lines, List<Long> lineNumbers,
+                                                        Function<String, String[]> parser,
+                                                        Function<String[], T> mapper) {
+        return ForkJoinTask.adapt(() -> {
+            Chunk<T> chunk = new Chunk<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                try {
+                    chunk.rows.add(mapper.apply(parser.apply(line)));
+                    chunk.lines.add(line);
+                    chunk.lineNumbers.add(lineNumbers.get(i));
+                } catch (IllegalArgumentException e) {
+                    chunk.rejects.add(lineNumbers.get(i) + "\t" + e.getMessage() + "\t" + line);
+                }
+            }
+            return chunk;
+        });
+    }
+
+    // saves the valid rows of the chunk, dropping the rows the repository rejects and trying again
+    private static <T> void save(Chunk<T> chunk, Consumer<List<T>> saver, BufferedWriter rejects, long[] totals)
+            throws IOException {
+        List<String> rejected = chunk.rejects;
+        while (!chunk.rows.isEmpty()) {
+            try {
+                saver.accept(chunk.rows);
+                break;
+            } catch (BatchException e) {
+                Map<Integer, String> rejectedRows = e.getRejectedRows();
+                Chunk<T> remaining = new Chunk<>(chunk.rows.size() - rejectedRows.size());
+                for (int row = 0; row < chunk.rows.size(); row++) {
+                    String reason = rejectedRows.get(row);
+                    if (reason != null) {
+                        rejected.add(chunk.lineNumbers.get(row) + "\t" + reason + "\t" + chunk.lines.get(row));
+                    } else {
+                        remaining.rows.add(chunk.rows.get(row));
+                        remaining.lines.add(chunk.lines.get(row));
+                        remaining.lineNumbers.add(chunk.lineNumbers.get(row));
+                    }
+                }
+                chunk = remaining;
+            }
+        }
+        totals[0] += chunk.rows.size();
+        totals[1] += rejected.size();
+        if (rejects != null) {
+            for (String reject : rejected) {
+                rejects.write(reject);
+                rejects.newLine();
+            }
+        }
+    }
+
+    // parsed rows of a chunk with their original line, and the lines that could not be parsed
+    private static class Chunk<T> {
+        final List<T> rows;
+        final List<String> lines;
+        final List<Long> lineNumbers;
+        final List<String> rejects = new ArrayList<>();
+
+        Chunk(int size) {
+            this.rows = new ArrayList<>(size);
+            this.lines = new ArrayList<>(size);
+            this.lineNumbers = new ArrayList<>(size);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package importer;
+
+import java.util.Map;
+import java.util.function.Function;
+
+// layout of an imported file, CSV with a header line or one flat JSON object per line
+public enum Format {
+    CSV {
+        @Override
+        Function<String, String[]> parser(String[] columns, String header) {
+            String[] names = CsvLine.split(header);
+            int[] positions = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                positions[i] = -1;
+                for (int j = 0; j < names.length; j++) {
+                    if (names[j].trim().equalsIgnoreCase(columns[i])) {
+                        positions[i] = j;
+                    }
+                }
+            }
+            return line -> {
+                String[] values = CsvLine.split(line);
+                String[] fields = new String[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    fields[i] = positions[i] >= 0 && positions[i] < values.length ? values[positions[i]] : null;
+                }
+                return fields;
+            };
+        }
+    },
+    JSON_LINES {
+        @Override
+        boolean hasHeader() {
+            return false;
+        }
+
+        @Override
+        Function<String, String[]> parser(String[] columns, String header) {
+            return line -> {
+                Map<String, String> object = JsonLine.parse(line);
+                String[] fields = new String[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    fields[i] = object.get(columns[i]);
+                }
+                return fields;
+            };
+        }
+    };
+
+    boolean hasHeader() {
+        return true;
+    }
+
+    // returns the function splitting a line into the values of the columns, in the order of the columns
+    abstract Function<String, String[]> parser(String[] columns, String header);
+}
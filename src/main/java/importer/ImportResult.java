@@ -0,0 +1,28 @@
+package importer;
+
+// number of rows saved and rejected by one import
+public class ImportResult {
+    private final long imported;
+    private final long rejected;
+
+    ImportResult(long imported, long rejected) {
+        this.imported = imported;
+        this.rejected = rejected;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "imported=" + imported +
+                ", rejected=" + rejected +
+                '}';
+    }
+}
@@ -0,0 +1,162 @@
+package importer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Reads one flat JSON object, the values can be strings, numbers, booleans, null
+ * or arrays of those. Numbers and booleans are kept as their text, arrays are joined with ';'
+ * like the list columns of the CSV files.
+ */
+final class JsonLine {
+    private final String line;
+    private int position;
+
+    private JsonLine(String line) {
+        this.line = line;
+    }
+
+    static Map<String, String> parse(String line) {
+        return new JsonLine(line).object();
+    }
+
+    private Map<String, String> object() {
+        Map<String, String> object = new HashMap<>();
+        expect('{');
+        if (peek() == '}') {
+            position++;
+        } else {
+            do {
+                String name = string();
+                expect(':');
+                object.put(name, value());
+            } while (next(',', '}') == ',');
+        }
+        if (skipSpaces() < line.length()) {
+            throw error("Unexpected text after the object");
+        }
+        return object;
+    }
+
+    private String value() {
+        char c = peek();
+        if (c == '"') {
+            return string();
+        }
+        if (c == '[') {
+            position++;
+            StringJoiner values = new StringJoiner(";");
+            if (peek() == ']') {
+                position++;
+                return "";
+            }
+            do {
+                if (peek() == '[' || peek() == '{') {
+                    throw error("Nested values are not supported");
+                }
+                String value = value();
+                values.add(value != null ? value : "");
+            } while (next(',', ']') == ',');
+            return values.toString();
+        }
+        if (c == '{') {
+            throw error("Nested values are not supported");
+        }
+        int start = position;
+        while (position < line.length() && ",}] \t".indexOf(line.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = line.substring(start, position);
+        if (literal.isEmpty()) {
+            throw error("Missing value");
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (position < line.length()) {
+            char c = line.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(position++);
+            switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    if (position + 4 > line.length()) {
+                        throw error("Invalid unicode escape");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(line.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private char peek() {
+        skipSpaces();
+        if (position >= line.length()) {
+            throw error("Unexpected end of line");
+        }
+        return line.charAt(position);
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        position++;
+    }
+
+    // reads the separator or the closing character of an object or an array
+    private char next(char separator, char end) {
+        char c = peek();
+        if (c != separator && c != end) {
+            throw error("Expected '" + separator + "' or '" + end + "'");
+        }
+        position++;
+        return c;
+    }
+
+    private int skipSpaces() {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at column " + (position + 1));
+    }
+}
@@ -0,0 +1,177 @@
+package jdbc;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Embedded H2 database shared by the jdbc repositories, reached through a pool of connections.
+ * The tables and their indexes are created when it is opened, if they do not exist yet:
+ * marks are indexed by student id, and by module reference then mark so the best mark of a
+ * module is the first entry of the index.
+ */
+public final class Database implements AutoCloseable {
+    private static final int DEFAULT_MAX_CONNECTIONS = 16;
+    // rows sent to the database in one executeBatch call
+    static final int BATCH_SIZE = 1000;
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS study_groups ("
+                    + "reference VARCHAR(16) PRIMARY KEY, "
+                    + "number_student INT NOT NULL DEFAULT 0, "
+                    + "position BIGINT AUTO_INCREMENT UNIQUE)",
+            "CREATE TABLE IF NOT EXISTS modules ("
+                    + "reference VARCHAR(16) PRIMARY KEY, "
+                    + "name VARCHAR(255) NOT NULL, "
+                    + "number_hours INT NOT NULL, "
+                    + "position BIGINT AUTO_INCREMENT UNIQUE)",
+            "CREATE TABLE IF NOT EXISTS students ("
+                    + "id INT PRIMARY KEY, "
+                    + "full_name VARCHAR(255) NOT NULL, "
+                    + "date_of_birth DATE NOT NULL, "
+                    + "group_ref VARCHAR(16), "
+                    + "position BIGINT AUTO_INCREMENT UNIQUE)",
+            "CREATE TABLE IF NOT EXISTS marks ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "student_id INT NOT NULL REFERENCES students(id) ON DELETE CASCADE, "
+                    + "module_ref VARCHAR(16) NOT NULL REFERENCES modules(reference), "
+                    + "mark TINYINT NOT NULL)",
+            // covering indexes: the mark queries read them alone, without looking up each row
+            "CREATE INDEX IF NOT EXISTS marks_by_student ON marks(student_id, id, module_ref, mark)",
+            "CREATE INDEX IF NOT EXISTS marks_by_module ON marks(module_ref, mark DESC, id, student_id)",
+            "CREATE TABLE IF NOT EXISTS teachers ("
+                    + "id INT PRIMARY KEY, "
+                    + "full_name VARCHAR(255) NOT NULL, "
+                    + "grade VARCHAR(8) NOT NULL, "
+                    + "position BIGINT AUTO_INCREMENT UNIQUE)",
+            "CREATE TABLE IF NOT EXISTS teacher_modules ("
+                    + "teacher_id INT NOT NULL REFERENCES teachers(id) ON DELETE CASCADE, "
+                    + "position INT NOT NULL, "
+                    + "module_ref VARCHAR(16), "
+                    + "module_name VARCHAR(255), "
+                    + "number_hours INT, "
+                    + "PRIMARY KEY (teacher_id, position))",
+            "CREATE INDEX IF NOT EXISTS teacher_modules_by_module ON teacher_modules(module_ref, teacher_id)",
+            "CREATE TABLE IF NOT EXISTS teacher_groups ("
+                    + "teacher_id INT NOT NULL REFERENCES teachers(id) ON DELETE CASCADE, "
+                    + "position INT NOT NULL, "
+                    + "group_ref VARCHAR(16), "
+                    + "PRIMARY KEY (teacher_id, position))",
+            "CREATE INDEX IF NOT EXISTS teacher_groups_by_group ON teacher_groups(group_ref, teacher_id)",
+            "CREATE INDEX IF NOT EXISTS students_by_group ON students(group_ref)",
+    };
+
+    private final JdbcConnectionPool pool;
+    private final List<StudentCascade> cascades = new CopyOnWriteArrayList<>();
+
+    public Database(String url, int maxConnections) {
+        if (url == null) {
+            throw new IllegalArgumentException("URL cannot be null");
+        }
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Pool needs at least one connection");
+        }
+        this.pool = JdbcConnectionPool.create(url, "sa", "");
+        pool.setMaxConnections(maxConnections);
+        try {
+            inTransaction(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    for (String ddl : SCHEMA) {
+                        statement.execute(ddl);
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // nobody gets the database to close it
+            pool.dispose();
+            throw e;
+        }
+    }
+
+    // private to the JVM, dropped when closed
+    public static Database inMemory(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name cannot be null");
+        }
+        return new Database("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", DEFAULT_MAX_CONNECTIONS);
+    }
+
+    // kept in the file, H2 adds the .mv.db extension
+    public static Database file(Path path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        return new Database("jdbc:h2:" + path.toAbsolutePath(), DEFAULT_MAX_CONNECTIONS);
+    }
+
+    interface Work<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    // runs the work on a pooled connection in auto-commit mode
+    <T> T withConnection(Work<T> work) {
+        try (Connection connection = pool.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new JdbcException(e.getMessage(), e);
+        }
+    }
+
+    // runs the work in one transaction, rolled back if it throws
+    <T> T inTransaction(Work<T> work) {
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new JdbcException(e.getMessage(), e);
+        }
+    }
+
+    // deletes the rows of other tables that depend on students, in the transaction deleting them
+    interface StudentCascade {
+        // returns what to tell the listeners once the transaction is committed
+        Runnable delete(Connection connection, Collection<Integer> studentIds) throws SQLException;
+    }
+
+    void addCascade(StudentCascade cascade) {
+        cascades.add(cascade);
+    }
+
+    // runs every cascade before the students are deleted, the ON DELETE CASCADE then finds nothing left
+    List<Runnable> cascade(Connection connection, Collection<Integer> studentIds) throws SQLException {
+        List<Runnable> notifications = new ArrayList<>(cascades.size());
+        for (StudentCascade cascade : cascades) {
+            notifications.add(cascade.delete(connection, studentIds));
+        }
+        return notifications;
+    }
+
+    // shuts the database down, an in-memory one is dropped
+    @Override
+    public void close() {
+        withConnection(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+            return null;
+        });
+        pool.dispose();
+    }
+}
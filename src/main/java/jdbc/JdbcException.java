@@ -0,0 +1,17 @@
+package jdbc;
+
+import java.sql.SQLException;
+
+// unchecked wrapper of the SQLException thrown by the database
+public class JdbcException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JdbcException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    // SQLSTATE of the wrapped exception, null without one
+    public String getSQLState() {
+        return getCause() instanceof SQLException ? ((SQLException) getCause()).getSQLState() : null;
+    }
+}
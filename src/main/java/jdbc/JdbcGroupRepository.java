@@ -0,0 +1,169 @@
+package jdbc;
+
+import group.Group;
+import group.GroupName;
+import group.GroupRepository;
+import student.Student;
+import student.StudentListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * GroupRepository stored in the study_groups table. A reference is saved once, saving it
+ * again keeps the first group like findByGroupName does in GroupService.
+ * Register it on the StudentRepository to keep the number of students of each group up to
+ * date with one UPDATE per event, as GroupService does in memory.
+ */
+public class JdbcGroupRepository implements GroupRepository, StudentListener {
+    private static final String SELECT = "SELECT reference, number_student FROM study_groups";
+
+    private final Database database;
+
+    public JdbcGroupRepository(Database database) {
+        if (database == null) {
+            throw new IllegalArgumentException("Database cannot be null");
+        }
+        this.database = database;
+    }
+
+    // a group saved after its students counts them
+    @Override
+    public void saveGroup(GroupName reference) {
+        if (reference == null) {
+            throw new IllegalArgumentException("Group reference cannot be null");
+        }
+        database.withConnection(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO study_groups(reference, number_student) "
+                            + "SELECT ?, (SELECT COUNT(*) FROM students WHERE group_ref = ?) "
+                            + "WHERE NOT EXISTS (SELECT 1 FROM study_groups WHERE reference = ?)")) {
+                insert.setString(1, reference.name());
+                insert.setString(2, reference.name());
+                insert.setString(3, reference.name());
+                return insert.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public List<Group> allGroups() {
+        return database.withConnection(connection -> {
+            List<Group> groups = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(SELECT + " ORDER BY position");
+                 ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    groups.add(group(rows));
+                }
+            }
+            return groups;
+        });
+    }
+
+    // the rows are read into a list first, a result set cannot outlive its pooled connection
+    @Override
+    public Stream<Group> streamGroups() {
+        return allGroups().stream();
+    }
+
+    @Override
+    public Group findByReference(String reference) {
+        return findByGroupName(GroupName.fromReference(reference));
+    }
+
+    @Override
+    public Group findByGroupName(GroupName reference) {
+        if (reference == null) {
+            return null;
+        }
+        return database.withConnection(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(SELECT + " WHERE reference = ?")) {
+                select.setString(1, reference.name());
+                try (ResultSet rows = select.executeQuery()) {
+                    return rows.next() ? group(rows) : null;
+                }
+            }
+        });
+    }
+
+    private static Group group(ResultSet row) throws SQLException {
+        Group group = new Group(GroupName.valueOf(row.getString("reference")));
+        group.setNumberStudent(row.getInt("number_student"));
+        return group;
+    }
+
+    @Override
+    public void updateNumberOfStudent(List<Student> listStudents) {
+        Map<GroupName, Integer> numberStudents = new EnumMap<>(GroupName.class);
+        if (listStudents != null) {
+            for (Student student : listStudents) {
+                if (student.getGroup() != null && student.getGroup().getReference() != null) {
+                    numberStudents.merge(student.getGroup().getReference(), 1, Integer::sum);
+                }
+            }
+        }
+        database.inTransaction(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE study_groups SET number_student = ? WHERE reference = ?")) {
+                for (GroupName name : GroupName.values()) {
+                    update.setInt(1, numberStudents.getOrDefault(name, 0));
+                    update.setString(2, name.name());
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void studentSaved(Student student) {
+        addToCount(student.getGroup(), 1);
+    }
+
+    @Override
+    public void studentGroupChanged(Student student, Group previousGroup) {
+        addToCount(previousGroup, -1);
+        addToCount(student.getGroup(), 1);
+    }
+
+    @Override
+    public void studentDeleted(Student student) {
+        addToCount(student.getGroup(), -1);
+    }
+
+    // one UPDATE per group of the cohort instead of one per student
+    @Override
+    public void studentsDeleted(List<Student> students) {
+        Map<GroupName, Integer> deltas = new EnumMap<>(GroupName.class);
+        for (Student student : students) {
+            if (student.getGroup() != null && student.getGroup().getReference() != null) {
+                deltas.merge(student.getGroup().getReference(), -1, Integer::sum);
+            }
+        }
+        deltas.forEach((reference, delta) -> addToCount(reference, delta));
+    }
+
+    private void addToCount(Group group, int delta) {
+        if (group != null && group.getReference() != null) {
+            addToCount(group.getReference(), delta);
+        }
+    }
+
+    private void addToCount(GroupName reference, int delta) {
+        database.withConnection(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE study_groups SET number_student = number_student + ? WHERE reference = ?")) {
+                update.setInt(1, delta);
+                update.setString(2, reference.name());
+                return update.executeUpdate();
+            }
+        });
+    }
+}
@@ -0,0 +1,329 @@
+package jdbc;
+
+import exception.BatchException;
+import mark.Mark;
+import mark.MarkListener;
+import mark.MarkRepository;
+import mark.MarkService;
+import mark.exception.MarkException;
+import module.Module;
+import module.ModuleName;
+import student.Student;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * MarkRepository stored in the marks table. As with DurableMarkService the student and the
+ * module of a mark have to be saved first, in the database. findMarksByStudent reads the
+ * student index, findMarkByModule and bestMarkByModule the module index, so the best mark of
+ * a module is a single index lookup. Marks read back hold new Student and Module objects,
+ * one per student and per module in the result.
+ * The marks deleted with their students through a JdbcStudentRepository of the same database
+ * are told to the listeners too.
+ */
+public class JdbcMarkRepository implements MarkRepository {
+    private static final String SELECT = "SELECT m.student_id, m.mark, m.module_ref FROM marks m";
+    private static final String INSERT = "INSERT INTO marks(student_id, module_ref, mark) VALUES (?, ?, ?)";
+
+    private final Database database;
+    private final List<MarkListener> listeners;
+
+    public JdbcMarkRepository(Database database) {
+        if (database == null) {
+            throw new IllegalArgumentException("Database cannot be null");
+        }
+        this.database = database;
+        this.listeners = new CopyOnWriteArrayList<>();
+        database.addCascade((connection, studentIds) -> {
+            List<Mark> deleted = delete(connection, studentIds);
+            return () -> publish(deleted);
+        });
+    }
+
+    @Override
+    public void createMark(Student student, Integer mark, Module module) {
+        String error = MarkService.validate(student, mark, module);
+        if (error == null) {
+            error = checkIds(student, module);
+        }
+        if (error != null) {
+            throw new MarkException(error);
+        }
+
+        try {
+            database.withConnection(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                    bind(insert, student, mark, module);
+                    return insert.executeUpdate();
+                }
+            });
+        } catch (JdbcException e) {
+            if (Rows.MISSING_REFERENCE.equals(e.getSQLState())) {
+                throw new MarkException("Student with ID " + student.getId() + " or module "
+                        + module.getReference() + " is not saved");
+            }
+            throw e;
+        }
+        Mark markObj = new Mark(student, mark, module);
+        for (MarkListener listener : listeners) {
+            listener.markCreated(markObj);
+        }
+    }
+
+    private static String checkIds(Student student, Module module) {
+        if (student.getId() == null) {
+            return "Student ID cannot be null";
+        }
+        if (module.getReference() == null) {
+            return "Module reference cannot be null";
+        }
+        return null;
+    }
+
+    private static void bind(PreparedStatement insert, Student student, Integer mark, Module module)
+            throws SQLException {
+        insert.setInt(1, student.getId());
+        insert.setString(2, module.getReference().name());
+        insert.setInt(3, mark);
+    }
+
+    // one round trip for the saved students and modules of the batch, then the rows in batches
+    @Override
+    public void createMarks(Collection<Mark> marks) {
+        MarkService.checkBatch(marks);
+        database.inTransaction(connection -> {
+            Set<Integer> savedStudents = new HashSet<>();
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT id FROM students WHERE id = ANY(?)")) {
+                select.setArray(1, Rows.ids(connection, marks.stream()
+                        .map(mark -> mark.getStudent().getId()).filter(id -> id != null).distinct().toList()));
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        savedStudents.add(rows.getInt(1));
+                    }
+                }
+            }
+            Set<String> savedModules = new HashSet<>();
+            try (PreparedStatement select = connection.prepareStatement("SELECT reference FROM modules");
+                 ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    savedModules.add(rows.getString(1));
+                }
+            }
+            Map<Integer, String> rejectedRows = new HashMap<>();
+            int row = 0;
+            for (Mark mark : marks) {
+                String error = checkIds(mark.getStudent(), mark.getModule());
+                if (error == null && !savedStudents.contains(mark.getStudent().getId())) {
+                    error = "Student with ID " + mark.getStudent().getId() + " is not saved";
+                }
+                if (error == null && !savedModules.contains(mark.getModule().getReference().name())) {
+                    error = "Module " + mark.getModule().getReference() + " is not saved";
+                }
+                if (error != null) {
+                    rejectedRows.put(row, error);
+                }
+                row++;
+            }
+            if (!rejectedRows.isEmpty()) {
+                throw new BatchException(rejectedRows, marks.size());
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                int queued = 0;
+                for (Mark mark : marks) {
+                    bind(insert, mark.getStudent(), mark.getMark(), mark.getModule());
+                    Rows.addBatch(insert, ++queued);
+                }
+                insert.executeBatch();
+            }
+            return null;
+        });
+        for (Mark mark : marks) {
+            for (MarkListener listener : listeners) {
+                listener.markCreated(mark);
+            }
+        }
+    }
+
+    @Override
+    public List<Mark> allMarks() {
+        return select(" ORDER BY m.id", statement -> {
+        });
+    }
+
+    // the rows are read into a list first, a result set cannot outlive its pooled connection
+    @Override
+    public Stream<Mark> streamMarks() {
+        return allMarks().stream();
+    }
+
+    @Override
+    public List<Mark> findMarkByModule(Module module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        if (module.getReference() == null) {
+            return new ArrayList<>();
+        }
+        return select(" WHERE m.module_ref = ? ORDER BY m.id",
+                statement -> statement.setString(1, module.getReference().name()));
+    }
+
+    // the first entry of the module index, among equal marks the one created first
+    @Override
+    public Student bestMarkByModule(Module module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        if (module.getReference() == null) {
+            return null;
+        }
+        // read from marks_by_module in key order, H2 stops at its first row instead of sorting
+        // every mark of the module; left alone it picks the index of the foreign key
+        return database.withConnection(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT " + Rows.STUDENT_COLUMNS + " FROM " + Rows.STUDENTS
+                            + " WHERE s.id = (SELECT student_id FROM marks USE INDEX (marks_by_module) WHERE module_ref = ?"
+                            + " ORDER BY module_ref, mark DESC, id FETCH FIRST ROW ONLY)")) {
+                select.setString(1, module.getReference().name());
+                try (ResultSet rows = select.executeQuery()) {
+                    return rows.next() ? Rows.student(rows) : null;
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<Mark> findMarksByStudent(Integer studentId) {
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student ID cannot be null");
+        }
+        return select(" USE INDEX (marks_by_student) WHERE m.student_id = ? ORDER BY m.student_id, m.id",
+                statement -> statement.setInt(1, studentId));
+    }
+
+    // reads and deletes the marks of the students in one transaction
+    @Override
+    public List<Mark> deleteMarksByStudents(Collection<Integer> studentIds) {
+        if (studentIds == null) {
+            throw new IllegalArgumentException("Student IDs cannot be null");
+        }
+        List<Mark> deleted = database.inTransaction(connection -> delete(connection, studentIds));
+        publish(deleted);
+        return deleted;
+    }
+
+    private List<Mark> delete(Connection connection, Collection<Integer> studentIds) throws SQLException {
+        List<Integer> ids = studentIds.stream().filter(id -> id != null).toList();
+        List<Mark> marks;
+        try (PreparedStatement select = connection.prepareStatement(
+                SELECT + " WHERE m.student_id = ANY(?) ORDER BY m.id")) {
+            select.setArray(1, Rows.ids(connection, ids));
+            marks = read(connection, select);
+        }
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM marks WHERE student_id = ANY(?)")) {
+            delete.setArray(1, Rows.ids(connection, ids));
+            delete.executeUpdate();
+        }
+        return marks;
+    }
+
+    private void publish(List<Mark> deleted) {
+        if (!deleted.isEmpty()) {
+            for (MarkListener listener : listeners) {
+                listener.marksDeleted(deleted);
+            }
+        }
+    }
+
+    @Override
+    public void addListener(MarkListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private List<Mark> select(String condition, Binder binder) {
+        return database.withConnection(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(SELECT + condition)) {
+                binder.bind(select);
+                return read(connection, select);
+            }
+        });
+    }
+
+    // the marks alone, then their students in one query: joining the students on every row
+    // costs about as much again as reading the marks
+    private static List<Mark> read(Connection connection, PreparedStatement select) throws SQLException {
+        Map<ModuleName, Module> modules = modules(connection);
+        List<Integer> studentIds = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        List<Module> markModules = new ArrayList<>();
+        try (ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                studentIds.add(rows.getInt(1));
+                values.add(rows.getInt(2));
+                markModules.add(modules.get(ModuleName.valueOf(rows.getString(3))));
+            }
+        }
+        Map<Integer, Student> students = students(connection, studentIds);
+        List<Mark> marks = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            marks.add(new Mark(students.get(studentIds.get(i)), values.get(i), markModules.get(i)));
+        }
+        return marks;
+    }
+
+    // one Student object per id
+    private static Map<Integer, Student> students(Connection connection, List<Integer> ids) throws SQLException {
+        Map<Integer, Student> students = new HashMap<>();
+        if (ids.isEmpty()) {
+            return students;
+        }
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT " + Rows.STUDENT_COLUMNS + " FROM " + Rows.STUDENTS + " WHERE s.id = ANY(?)")) {
+            select.setArray(1, Rows.ids(connection, new HashSet<>(ids)));
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    Student student = Rows.student(rows);
+                    students.put(student.getId(), student);
+                }
+            }
+        }
+        return students;
+    }
+
+    // a handful of rows, read once per query instead of joined on every mark
+    private static Map<ModuleName, Module> modules(Connection connection) throws SQLException {
+        Map<ModuleName, Module> modules = new EnumMap<>(ModuleName.class);
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT " + Rows.MODULE_COLUMNS + " FROM modules");
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                Module module = Rows.module(rows);
+                modules.put(module.getReference(), module);
+            }
+        }
+        return modules;
+    }
+}
@@ -0,0 +1,168 @@
+package jdbc;
+
+import exception.BatchException;
+import module.Module;
+import module.ModuleListener;
+import module.ModuleName;
+import module.ModuleRepository;
+import module.ModuleService;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * ModuleRepository stored in the modules table. A reference is saved once, saving it again
+ * keeps the first module like findByModuleName does in ModuleService.
+ */
+public class JdbcModuleRepository implements ModuleRepository {
+    private static final String SELECT = "SELECT " + Rows.MODULE_COLUMNS + " FROM modules";
+    private static final String INSERT = "INSERT INTO modules(reference, name, number_hours) "
+            + "SELECT ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM modules WHERE reference = ?)";
+
+    private final Database database;
+    private final List<ModuleListener> listeners;
+
+    public JdbcModuleRepository(Database database) {
+        if (database == null) {
+            throw new IllegalArgumentException("Database cannot be null");
+        }
+        this.database = database;
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void saveModule(ModuleName reference, String name, Integer numberHours) {
+        String error = ModuleService.validate(reference, name, numberHours);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        database.withConnection(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                bind(insert, reference, name, numberHours);
+                return insert.executeUpdate();
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement insert, ModuleName reference, String name, Integer numberHours)
+            throws SQLException {
+        insert.setString(1, reference.name());
+        insert.setString(2, name);
+        insert.setInt(3, numberHours);
+        insert.setString(4, reference.name());
+    }
+
+    @Override
+    public void saveAll(Collection<Module> modules) {
+        if (modules == null) {
+            throw new IllegalArgumentException("Modules cannot be null");
+        }
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        int row = 0;
+        for (Module module : modules) {
+            String error = module == null ? "Module cannot be null"
+                    : ModuleService.validate(module.getReference(), module.getName(), module.getNumberHours());
+            if (error != null) {
+                rejectedRows.put(row, error);
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, modules.size());
+        }
+
+        database.inTransaction(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                int queued = 0;
+                for (Module module : modules) {
+                    bind(insert, module.getReference(), module.getName(), module.getNumberHours());
+                    Rows.addBatch(insert, ++queued);
+                }
+                insert.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<Module> allModules() {
+        return database.withConnection(connection -> {
+            List<Module> modules = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(SELECT + " ORDER BY position");
+                 ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    modules.add(Rows.module(rows));
+                }
+            }
+            return modules;
+        });
+    }
+
+    // the rows are read into a list first, a result set cannot outlive its pooled connection
+    @Override
+    public Stream<Module> streamModules() {
+        return allModules().stream();
+    }
+
+    @Override
+    public Module findByReference(String reference) {
+        return findByModuleName(ModuleName.fromReference(reference));
+    }
+
+    @Override
+    public Module findByModuleName(ModuleName reference) {
+        if (reference == null) {
+            return null;
+        }
+        return database.withConnection(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(SELECT + " WHERE reference = ?")) {
+                select.setString(1, reference.name());
+                try (ResultSet rows = select.executeQuery()) {
+                    return rows.next() ? Rows.module(rows) : null;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void updateNumberHours(ModuleName reference, Integer numberHours) {
+        if (numberHours == null || numberHours < 0) {
+            throw new IllegalArgumentException("Number of hours must be non-null and non-negative");
+        }
+        Module module = findByModuleName(reference);
+        if (module == null) {
+            throw new IllegalArgumentException("Module " + reference + " not found");
+        }
+        database.withConnection(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE modules SET number_hours = ? WHERE reference = ?")) {
+                update.setInt(1, numberHours);
+                update.setString(2, reference.name());
+                return update.executeUpdate();
+            }
+        });
+        Integer previousHours = module.getNumberHours();
+        if (!numberHours.equals(previousHours)) {
+            module.setNumberHours(numberHours);
+            for (ModuleListener listener : listeners) {
+                listener.moduleHoursChanged(module, previousHours);
+            }
+        }
+    }
+
+    @Override
+    public void addListener(ModuleListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,294 @@
+package jdbc;
+
+import exception.BatchException;
+import group.Group;
+import student.Student;
+import student.StudentListener;
+import student.StudentRepository;
+import student.StudentService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * StudentRepository stored in the students table, with the same checks and exceptions as
+ * StudentService. Every read builds new Student and Group objects from the rows.
+ * Deleting a student deletes its marks in the database too, in the same transaction, and each
+ * JdbcMarkRepository of the database then tells its listeners with marksDeleted.
+ */
+public class JdbcStudentRepository implements StudentRepository {
+    private static final String SELECT = "SELECT " + Rows.STUDENT_COLUMNS + " FROM " + Rows.STUDENTS;
+    private static final String INSERT =
+            "INSERT INTO students(id, full_name, date_of_birth, group_ref) VALUES (?, ?, ?, ?)";
+
+    private final Database database;
+    private final List<StudentListener> listeners;
+
+    public JdbcStudentRepository(Database database) {
+        if (database == null) {
+            throw new IllegalArgumentException("Database cannot be null");
+        }
+        this.database = database;
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void saveStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        String error = StudentService.validate(id, fullName, dateOfBirth, group);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        Student student = new Student(id, fullName, dateOfBirth, group);
+        try {
+            database.withConnection(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                    bind(insert, student);
+                    return insert.executeUpdate();
+                }
+            });
+        } catch (JdbcException e) {
+            if (Rows.DUPLICATE_KEY.equals(e.getSQLState())) {
+                throw new IllegalArgumentException("Student with ID " + id + " already exists");
+            }
+            throw e;
+        }
+        for (StudentListener listener : listeners) {
+            listener.studentSaved(student);
+        }
+    }
+
+    private static void bind(PreparedStatement insert, Student student) throws SQLException {
+        insert.setInt(1, student.getId());
+        insert.setString(2, student.getFullName());
+        insert.setObject(3, student.getDateBirth());
+        insert.setString(4, Rows.name(student.getGroup().getReference()));
+    }
+
+    // one round trip for the saved ids of the batch, then the rows in batches of Database.BATCH_SIZE
+    @Override
+    public void saveAll(Collection<Student> students) {
+        if (students == null) {
+            throw new IllegalArgumentException("Students cannot be null");
+        }
+        database.inTransaction(connection -> {
+            Set<Integer> savedIds = savedIds(connection, students.stream()
+                    .filter(student -> student != null && student.getId() != null)
+                    .map(Student::getId).toList());
+            Map<Integer, String> rejectedRows = new HashMap<>();
+            Set<Integer> batchIds = new HashSet<>(students.size() * 2);
+            int row = 0;
+            for (Student student : students) {
+                String error = student == null ? "Student cannot be null"
+                        : StudentService.validate(student.getId(), student.getFullName(),
+                        student.getDateBirth(), student.getGroup());
+                if (error == null && (savedIds.contains(student.getId()) || !batchIds.add(student.getId()))) {
+                    error = "Student with ID " + student.getId() + " already exists";
+                }
+                if (error != null) {
+                    rejectedRows.put(row, error);
+                }
+                row++;
+            }
+            if (!rejectedRows.isEmpty()) {
+                throw new BatchException(rejectedRows, students.size());
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                int queued = 0;
+                for (Student student : students) {
+                    bind(insert, student);
+                    Rows.addBatch(insert, ++queued);
+                }
+                insert.executeBatch();
+            }
+            return null;
+        });
+        for (Student student : students) {
+            for (StudentListener listener : listeners) {
+                listener.studentSaved(student);
+            }
+        }
+    }
+
+    private static Set<Integer> savedIds(Connection connection, Collection<Integer> ids) throws SQLException {
+        Set<Integer> saved = new HashSet<>();
+        try (PreparedStatement select = connection.prepareStatement("SELECT id FROM students WHERE id = ANY(?)")) {
+            select.setArray(1, Rows.ids(connection, ids));
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    saved.add(rows.getInt(1));
+                }
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteStudent(Integer idStudent) {
+        StudentService.checkId(idStudent);
+
+        List<Runnable> notifications = new ArrayList<>();
+        Student student = database.inTransaction(connection -> {
+            Student found = find(connection, idStudent);
+            if (found != null) {
+                notifications.addAll(database.cascade(connection, Collections.singletonList(idStudent)));
+                try (PreparedStatement delete = connection.prepareStatement("DELETE FROM students WHERE id = ?")) {
+                    delete.setInt(1, idStudent);
+                    delete.executeUpdate();
+                }
+            }
+            return found;
+        });
+        if (student == null) {
+            throw new IndexOutOfBoundsException("Student with ID " + idStudent + " not found");
+        }
+        notifications.forEach(Runnable::run);
+        for (StudentListener listener : listeners) {
+            listener.studentDeleted(student);
+        }
+    }
+
+    // one SELECT and one DELETE for the whole batch
+    @Override
+    public void deleteAll(Collection<Integer> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        List<Runnable> notifications = new ArrayList<>();
+        List<Student> students = database.inTransaction(connection -> {
+            Map<Integer, Student> saved = new HashMap<>();
+            try (PreparedStatement select = connection.prepareStatement(SELECT + " WHERE s.id = ANY(?)")) {
+                select.setArray(1, Rows.ids(connection, ids.stream().filter(id -> id != null).toList()));
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        Student student = Rows.student(rows);
+                        saved.put(student.getId(), student);
+                    }
+                }
+            }
+            Map<Integer, String> rejectedRows = new HashMap<>();
+            Map<Integer, Student> deleted = new LinkedHashMap<>();
+            int row = 0;
+            for (Integer id : ids) {
+                if (id == null) {
+                    rejectedRows.put(row, "Student ID cannot be null");
+                } else if (!saved.containsKey(id)) {
+                    rejectedRows.put(row, "Student with ID " + id + " not found");
+                } else if (deleted.putIfAbsent(id, saved.get(id)) != null) {
+                    rejectedRows.put(row, "Student ID " + id + " appears twice in the batch");
+                }
+                row++;
+            }
+            if (!rejectedRows.isEmpty()) {
+                throw new BatchException(rejectedRows, ids.size());
+            }
+
+            notifications.addAll(database.cascade(connection, deleted.keySet()));
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM students WHERE id = ANY(?)")) {
+                delete.setArray(1, Rows.ids(connection, deleted.keySet()));
+                delete.executeUpdate();
+            }
+            return new ArrayList<>(deleted.values());
+        });
+        notifications.forEach(Runnable::run);
+        for (StudentListener listener : listeners) {
+            listener.studentsDeleted(students);
+        }
+    }
+
+    @Override
+    public Student findById(Integer id) {
+        StudentService.checkId(id);
+        Student student = database.withConnection(connection -> find(connection, id));
+        if (student == null) {
+            throw new IndexOutOfBoundsException("Student with ID " + id + " not found");
+        }
+        return student;
+    }
+
+    private static Student find(Connection connection, Integer id) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT + " WHERE s.id = ?")) {
+            select.setInt(1, id);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? Rows.student(rows) : null;
+            }
+        }
+    }
+
+    @Override
+    public void updateStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        String error = StudentService.validateUpdate(id, fullName, dateOfBirth, group);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        Student previous = database.inTransaction(connection -> {
+            Student found = find(connection, id);
+            if (found != null) {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE students SET full_name = ?, date_of_birth = ?, group_ref = ? WHERE id = ?")) {
+                    update.setString(1, fullName);
+                    update.setObject(2, dateOfBirth);
+                    update.setString(3, Rows.name(group.getReference()));
+                    update.setInt(4, id);
+                    update.executeUpdate();
+                }
+            }
+            return found;
+        });
+        if (previous == null) {
+            throw new IndexOutOfBoundsException("Student with ID " + id + " not found");
+        }
+        // the groups are rebuilt on each read, they are compared by reference
+        Group previousGroup = previous.getGroup();
+        if (previousGroup == null || previousGroup.getReference() != group.getReference()) {
+            Student student = new Student(id, fullName, dateOfBirth, group);
+            for (StudentListener listener : listeners) {
+                listener.studentGroupChanged(student, previousGroup);
+            }
+        }
+    }
+
+    @Override
+    public List<Student> allStudents() {
+        return database.withConnection(connection -> {
+            List<Student> students = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(SELECT + " ORDER BY s.position");
+                 ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    students.add(Rows.student(rows));
+                }
+            }
+            return students;
+        });
+    }
+
+    // the rows are read into a list first, a result set cannot outlive its pooled connection
+    @Override
+    public Stream<Student> streamStudents() {
+        return allStudents().stream();
+    }
+
+    @Override
+    public void addListener(StudentListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,283 @@
+package jdbc;
+
+import exception.BatchException;
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherRepository;
+import teacher.TeacherService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * TeacherRepository stored in the teachers table, the module and group lists in their own
+ * tables indexed by reference so findByModule and findByGroup are answered by the database.
+ * The modules and groups are kept as they were given, saved in their repositories or not.
+ */
+public class JdbcTeacherRepository implements TeacherRepository {
+    private static final String SELECT = "SELECT id, full_name, grade FROM teachers";
+
+    private final Database database;
+
+    public JdbcTeacherRepository(Database database) {
+        if (database == null) {
+            throw new IllegalArgumentException("Database cannot be null");
+        }
+        this.database = database;
+    }
+
+    @Override
+    public void saveTeacher(Integer id, String fullName, Grade grade,
+                            List<Module> listModules, List<Group> listGroup) {
+        String error = TeacherService.validate(id, fullName, grade);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        List<Module> modules = listModules != null ? listModules : new ArrayList<>();
+        List<Group> groups = listGroup != null ? listGroup : new ArrayList<>();
+        try {
+            insert(List.of(new Teacher(id, fullName, grade, modules, groups)));
+        } catch (JdbcException e) {
+            if (Rows.DUPLICATE_KEY.equals(e.getSQLState())) {
+                throw new IllegalArgumentException("Teacher with ID " + id + " already exists");
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Teacher> teachers) {
+        if (teachers == null) {
+            throw new IllegalArgumentException("Teachers cannot be null");
+        }
+        Set<Integer> savedIds = database.withConnection(connection -> {
+            Set<Integer> saved = new HashSet<>();
+            try (PreparedStatement select = connection.prepareStatement("SELECT id FROM teachers WHERE id = ANY(?)")) {
+                select.setArray(1, Rows.ids(connection, teachers.stream()
+                        .filter(teacher -> teacher != null && teacher.getId() != null)
+                        .map(Teacher::getId).toList()));
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        saved.add(rows.getInt(1));
+                    }
+                }
+            }
+            return saved;
+        });
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        Set<Integer> batchIds = new HashSet<>(teachers.size() * 2);
+        List<Teacher> batch = new ArrayList<>(teachers.size());
+        int row = 0;
+        for (Teacher teacher : teachers) {
+            String error = teacher == null ? "Teacher cannot be null"
+                    : TeacherService.validate(teacher.getId(), teacher.getFullName(), teacher.getGrade());
+            if (error == null && (savedIds.contains(teacher.getId()) || !batchIds.add(teacher.getId()))) {
+                error = "Teacher with ID " + teacher.getId() + " already exists";
+            }
+            if (error != null) {
+                rejectedRows.put(row, error);
+            } else {
+                List<Module> modules = teacher.getListModules() != null ? teacher.getListModules() : new ArrayList<>();
+                List<Group> groups = teacher.getListGroup() != null ? teacher.getListGroup() : new ArrayList<>();
+                batch.add(new Teacher(teacher.getId(), teacher.getFullName(), teacher.getGrade(), modules, groups));
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, teachers.size());
+        }
+        insert(batch);
+    }
+
+    // the teachers, their modules and their groups in three batched statements of one transaction
+    private void insert(List<Teacher> teachers) {
+        database.inTransaction(connection -> {
+            try (PreparedStatement insertTeacher = connection.prepareStatement(
+                    "INSERT INTO teachers(id, full_name, grade) VALUES (?, ?, ?)");
+                 PreparedStatement insertModule = connection.prepareStatement(
+                         "INSERT INTO teacher_modules(teacher_id, position, module_ref, module_name, number_hours) "
+                                 + "VALUES (?, ?, ?, ?, ?)");
+                 PreparedStatement insertGroup = connection.prepareStatement(
+                         "INSERT INTO teacher_groups(teacher_id, position, group_ref) VALUES (?, ?, ?)")) {
+                int queued = 0;
+                for (Teacher teacher : teachers) {
+                    insertTeacher.setInt(1, teacher.getId());
+                    insertTeacher.setString(2, teacher.getFullName());
+                    insertTeacher.setString(3, teacher.getGrade().name());
+                    Rows.addBatch(insertTeacher, ++queued);
+                }
+                insertTeacher.executeBatch();
+
+                queued = 0;
+                for (Teacher teacher : teachers) {
+                    List<Module> modules = teacher.getListModules();
+                    for (int position = 0; position < modules.size(); position++) {
+                        Module module = modules.get(position);
+                        insertModule.setInt(1, teacher.getId());
+                        insertModule.setInt(2, position);
+                        insertModule.setString(3, module != null ? Rows.name(module.getReference()) : null);
+                        insertModule.setString(4, module != null ? module.getName() : null);
+                        if (module != null && module.getNumberHours() != null) {
+                            insertModule.setInt(5, module.getNumberHours());
+                        } else {
+                            insertModule.setNull(5, Types.INTEGER);
+                        }
+                        Rows.addBatch(insertModule, ++queued);
+                    }
+                }
+                insertModule.executeBatch();
+
+                queued = 0;
+                for (Teacher teacher : teachers) {
+                    List<Group> groups = teacher.getListGroup();
+                    for (int position = 0; position < groups.size(); position++) {
+                        Group group = groups.get(position);
+                        insertGroup.setInt(1, teacher.getId());
+                        insertGroup.setInt(2, position);
+                        insertGroup.setString(3, group != null ? Rows.name(group.getReference()) : null);
+                        Rows.addBatch(insertGroup, ++queued);
+                    }
+                }
+                insertGroup.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<Teacher> allTeachers() {
+        return select("", statement -> {
+        });
+    }
+
+    // the rows are read into a list first, a result set cannot outlive its pooled connection
+    @Override
+    public Stream<Teacher> streamTeachers() {
+        return allTeachers().stream();
+    }
+
+    @Override
+    public Teacher findById(Integer id) {
+        TeacherService.checkId(id);
+        List<Teacher> teachers = select(" WHERE id = ?", statement -> statement.setInt(1, id));
+        if (teachers.isEmpty()) {
+            throw new IllegalArgumentException("Teacher with ID " + id + " not found");
+        }
+        return teachers.get(0);
+    }
+
+    @Override
+    public List<Teacher> findByModule(ModuleName module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module reference cannot be null");
+        }
+        return select(" WHERE id IN (SELECT teacher_id FROM teacher_modules WHERE module_ref = ?)",
+                statement -> statement.setString(1, module.name()));
+    }
+
+    @Override
+    public List<Teacher> findByGroup(GroupName group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group reference cannot be null");
+        }
+        return select(" WHERE id IN (SELECT teacher_id FROM teacher_groups WHERE group_ref = ?)",
+                statement -> statement.setString(1, group.name()));
+    }
+
+    @Override
+    public List<Teacher> findByModuleAndGroup(ModuleName module, GroupName group) {
+        if (module == null || group == null) {
+            throw new IllegalArgumentException("Module and group references cannot be null");
+        }
+        return select(" WHERE id IN (SELECT teacher_id FROM teacher_modules WHERE module_ref = ?)"
+                        + " AND id IN (SELECT teacher_id FROM teacher_groups WHERE group_ref = ?)",
+                statement -> {
+                    statement.setString(1, module.name());
+                    statement.setString(2, group.name());
+                });
+    }
+
+    @Override
+    public void deleteTeacher(Integer id) {
+        TeacherService.checkId(id);
+        int deleted = database.withConnection(connection -> {
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM teachers WHERE id = ?")) {
+                delete.setInt(1, id);
+                return delete.executeUpdate();
+            }
+        });
+        if (deleted == 0) {
+            throw new IllegalArgumentException("Teacher with ID " + id + " not found");
+        }
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    // the teachers matching the condition in the order they were saved, with their lists
+    private List<Teacher> select(String where, Binder binder) {
+        return database.withConnection(connection -> {
+            Map<Integer, Teacher> teachers = new LinkedHashMap<>();
+            try (PreparedStatement select = connection.prepareStatement(SELECT + where + " ORDER BY position")) {
+                binder.bind(select);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        teachers.put(rows.getInt("id"), new Teacher(rows.getInt("id"), rows.getString("full_name"),
+                                Grade.valueOf(rows.getString("grade")), new ArrayList<>(), new ArrayList<>()));
+                    }
+                }
+            }
+            if (!teachers.isEmpty()) {
+                readLists(connection, teachers);
+            }
+            return new ArrayList<>(teachers.values());
+        });
+    }
+
+    private static void readLists(Connection connection, Map<Integer, Teacher> teachers) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT teacher_id, module_ref, module_name, number_hours FROM teacher_modules "
+                        + "WHERE teacher_id = ANY(?) ORDER BY teacher_id, position")) {
+            select.setArray(1, Rows.ids(connection, teachers.keySet()));
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    String name = rows.getString("module_name");
+                    Integer hours = rows.getObject("number_hours", Integer.class);
+                    ModuleName reference = ModuleName.fromReference(rows.getString("module_ref"));
+                    teachers.get(rows.getInt("teacher_id")).getListModules().add(
+                            reference == null && name == null && hours == null ? null
+                                    : new Module(reference, name, hours));
+                }
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT teacher_id, group_ref FROM teacher_groups "
+                        + "WHERE teacher_id = ANY(?) ORDER BY teacher_id, position")) {
+            select.setArray(1, Rows.ids(connection, teachers.keySet()));
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    GroupName reference = GroupName.fromReference(rows.getString("group_ref"));
+                    teachers.get(rows.getInt("teacher_id")).getListGroup().add(
+                            reference != null ? new Group(reference) : null);
+                }
+            }
+        }
+    }
+}
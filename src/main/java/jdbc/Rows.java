@@ -0,0 +1,65 @@
+package jdbc;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+import student.Student;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+
+// builds the entities from the rows, the same columns are selected by every repository
+final class Rows {
+    static final String STUDENT_COLUMNS = "s.id, s.full_name, s.date_of_birth, s.group_ref, g.number_student";
+    static final String STUDENTS = "students s LEFT JOIN study_groups g ON g.reference = s.group_ref";
+    static final String MODULE_COLUMNS = "reference, name, number_hours";
+    // SQLState of a duplicate primary key and of a missing referenced row
+    static final String DUPLICATE_KEY = "23505";
+    static final String MISSING_REFERENCE = "23506";
+
+    private Rows() {
+    }
+
+    static Student student(ResultSet row) throws SQLException {
+        return new Student(row.getInt("id"), row.getString("full_name"),
+                row.getObject("date_of_birth", LocalDate.class), group(row));
+    }
+
+    // a group not saved yet counts no student
+    static Group group(ResultSet row) throws SQLException {
+        GroupName reference = GroupName.fromReference(row.getString("group_ref"));
+        if (reference == null) {
+            return null;
+        }
+        Group group = new Group(reference);
+        group.setNumberStudent(row.getInt("number_student"));
+        return group;
+    }
+
+    static Module module(ResultSet row) throws SQLException {
+        return new Module(ModuleName.fromReference(row.getString("reference")), row.getString("name"),
+                row.getInt("number_hours"));
+    }
+
+    static Array ids(Connection connection, Collection<Integer> ids) throws SQLException {
+        return connection.createArrayOf("INTEGER", ids.toArray());
+    }
+
+    static String name(Enum<?> reference) {
+        return reference != null ? reference.name() : null;
+    }
+
+    // sends the pending rows once BATCH_SIZE of them are queued
+    static void addBatch(PreparedStatement statement, int queued) throws SQLException {
+        statement.addBatch();
+        if (queued % Database.BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package mark;
+
+import group.GroupName;
+import module.ModuleName;
+
+/**
+ * Totals of the marks by group and module computed by ReportEngine, read once it is built.
+ * A mark counts for the group its student is in when the report runs, the marks of students
+ * without a group only count in the totals of the module. A mark fails below PASS_MARK, a
+ * student fails when the mean of all its marks is below it.
+ */
+public class CohortReport {
+    private static final int MODULES = ModuleName.values().length;
+    // slot of the students without a group, after the groups
+    static final int NO_GROUP = GroupName.values().length;
+    static final int SLOTS = NO_GROUP + 1;
+
+    private final Totals totals;
+
+    CohortReport(Totals totals) {
+        this.totals = totals;
+    }
+
+    // number of marks of the students of the group in the module
+    public long marks(GroupName group, ModuleName module) {
+        return totals.counts[index(slot(group), module)];
+    }
+
+    // number of marks in the module, whatever the group of the students
+    public long marks(ModuleName module) {
+        return sum(totals.counts, module);
+    }
+
+    // number of marks below PASS_MARK of the students of the group in the module
+    public long failedMarks(GroupName group, ModuleName module) {
+        return totals.failed[index(slot(group), module)];
+    }
+
+    // NaN when the students of the group have no mark in the module
+    public double average(GroupName group, ModuleName module) {
+        int index = index(slot(group), module);
+        long count = totals.counts[index];
+        return count > 0 ? (double) totals.sums[index] / count : Double.NaN;
+    }
+
+    // NaN when the module has no mark
+    public double average(ModuleName module) {
+        long count = sum(totals.counts, module);
+        return count > 0 ? (double) sum(totals.sums, module) / count : Double.NaN;
+    }
+
+    // number of students of the group with at least one mark
+    public long students(GroupName group) {
+        return totals.students[slot(group)];
+    }
+
+    // number of students of the group whose marks average below PASS_MARK
+    public long failingStudents(GroupName group) {
+        return totals.failingStudents[slot(group)];
+    }
+
+    private static int slot(GroupName group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group cannot be null");
+        }
+        return group.ordinal();
+    }
+
+    private static int index(int slot, ModuleName module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        return slot * MODULES + module.ordinal();
+    }
+
+    private static long sum(long[] column, ModuleName module) {
+        long total = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            total += column[index(slot, module)];
+        }
+        return total;
+    }
+
+    // counters filled by one task of ReportEngine, only merged once the task is done
+    static final class Totals {
+        final long[] counts = new long[SLOTS * MODULES];
+        final long[] sums = new long[SLOTS * MODULES];
+        final long[] failed = new long[SLOTS * MODULES];
+        final long[] students = new long[SLOTS];
+        final long[] failingStudents = new long[SLOTS];
+
+        void addMark(int slot, int module, int mark) {
+            int index = slot * MODULES + module;
+            counts[index]++;
+            sums[index] += mark;
+            failed[index] += mark < MarkHistogram.PASS_MARK ? 1 : 0;
+        }
+
+        void addStudent(int slot, long sum, int count) {
+            students[slot]++;
+            failingStudents[slot] += sum < (long) MarkHistogram.PASS_MARK * count ? 1 : 0;
+        }
+
+        Totals merge(Totals other) {
+            add(counts, other.counts);
+            add(sums, other.sums);
+            add(failed, other.failed);
+            add(students, other.students);
+            add(failingStudents, other.failingStudents);
+            return this;
+        }
+
+        private static void add(long[] to, long[] from) {
+            for (int i = 0; i < to.length; i++) {
+                to[i] += from[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package mark;
+
+import exception.BatchException;
+import mark.exception.MarkException;
+import module.Module;
+import module.ModuleName;
+import student.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Mark store keeping one primitive column per field instead of one Mark object per mark:
+ * the student id as an int, the module as its ordinal and the value as a byte.
+ * Mark objects are only built when a query returns them.
+ * Students and modules are kept once in small dictionaries, the last object given
+ * for an id or a reference is the one returned in the built marks.
+ * Deleted rows are found through the student index and only marked dead, like the marks of
+ * MarkService, until half of the rows are dead.
+ */
+public class ColumnarMarkService implements MarkRepository {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+    // rows scanned at a time by streamMarks(module, minMark, maxMark)
+    private static final int SCAN_BLOCK = 1024;
+    // value of a deleted row until the columns are compacted, below any valid mark
+    private static final byte DEAD = 0;
+
+    private int[] studentIds;
+    private byte[] moduleOrdinals;
+    private byte[] values;
+    // rows used in the columns, dead ones included
+    private int size;
+    private int dead;
+
+    private Map<Integer, Student> students;
+    private Module[] modules;
+    // row of the best mark of each module, -1 when the module has no mark
+    private int[] bestRows;
+    // rows of each student id, in creation order
+    private Map<Integer, Rows> rowsByStudent;
+    private List<MarkListener> listeners;
+
+    public ColumnarMarkService() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ColumnarMarkService(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+        this.studentIds = new int[initialCapacity];
+        this.moduleOrdinals = new byte[initialCapacity];
+        this.values = new byte[initialCapacity];
+        this.students = new HashMap<>();
+        this.modules = new Module[MODULE_NAMES.length];
+        this.bestRows = new int[MODULE_NAMES.length];
+        Arrays.fill(bestRows, -1);
+        this.rowsByStudent = new HashMap<>();
+        this.listeners = new ArrayList<>();
+    }
+
+    @Override
+    public void createMark(Student student, Integer mark, Module module) {
+        String error = MarkService.validate(student, mark, module);
+        if (error != null) {
+            throw new MarkException(error);
+        }
+        if (student.getId() == null) {
+            throw new MarkException("Student ID cannot be null");
+        }
+
+        ensureCapacity(size + 1);
+        add(student, mark, module);
+    }
+
+    @Override
+    public void createMarks(Collection<Mark> marks) {
+        MarkService.checkBatch(marks);
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        int row = 0;
+        for (Mark mark : marks) {
+            if (mark.getStudent().getId() == null) {
+                rejectedRows.put(row, "Student ID cannot be null");
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, marks.size());
+        }
+
+        ensureCapacity(size + marks.size());
+        for (Mark mark : marks) {
+            add(mark.getStudent(), mark.getMark(), mark.getModule());
+        }
+    }
+
+    private void add(Student student, Integer mark, Module module) {
+        int ordinal = module.getReference().ordinal();
+        studentIds[size] = student.getId();
+        moduleOrdinals[size] = (byte) ordinal;
+        values[size] = mark.byteValue();
+        students.put(student.getId(), student);
+        rowsByStudent.computeIfAbsent(student.getId(), id -> new Rows()).add(size);
+        modules[ordinal] = module;
+
+        if (bestRows[ordinal] < 0 || mark > values[bestRows[ordinal]]) {
+            bestRows[ordinal] = size;
+        }
+        size++;
+        // the Mark object is only built when someone listens
+        if (!listeners.isEmpty()) {
+            Mark markObj = markAt(size - 1);
+            for (MarkListener listener : listeners) {
+                listener.markCreated(markObj);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            int newCapacity = Math.max(capacity, values.length + (values.length >> 1) + 1);
+            studentIds = Arrays.copyOf(studentIds, newCapacity);
+            moduleOrdinals = Arrays.copyOf(moduleOrdinals, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+    // builds the Mark object of a row
+    private Mark markAt(int row) {
+        return new Mark(students.get(studentIds[row]), (int) values[row], modules[moduleOrdinals[row]]);
+    }
+
+    public int size() {
+        return size - dead;
+    }
+
+    // read-only view of the marks of each student id, read in place by ReportEngine
+    Map<Integer, StudentMarks> studentMarks() {
+        return Collections.unmodifiableMap(rowsByStudent);
+    }
+
+    Student student(Integer studentId) {
+        return students.get(studentId);
+    }
+
+    @Override
+    public List<Mark> allMarks() {
+        List<Mark> marks = new ArrayList<>(size - dead);
+        for (int row = 0; row < size; row++) {
+            if (values[row] != DEAD) {
+                marks.add(markAt(row));
+            }
+        }
+        return marks;
+    }
+
+    @Override
+    public Stream<Mark> streamMarks() {
+        return IntStream.range(0, size).filter(row -> values[row] != DEAD).mapToObj(this::markAt);
+    }
+
+    @Override
+    public List<Mark> findMarkByModule(Module module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        List<Mark> marks = new ArrayList<>();
+        if (module.getReference() == null) {
+            return marks;
+        }
+        byte ordinal = (byte) module.getReference().ordinal();
+        for (int row = 0; row < size; row++) {
+            if (moduleOrdinals[row] == ordinal && values[row] != DEAD) {
+                marks.add(markAt(row));
+            }
+        }
+        return marks;
+    }
+
+    @Override
+    public Student bestMarkByModule(Module module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        if (module.getReference() == null) {
+            return null;
+        }
+        int row = bestRows[module.getReference().ordinal()];
+        return row >= 0 ? students.get(studentIds[row]) : null;
+    }
+
+    @Override
+    public List<Mark> findMarksByStudent(Integer studentId) {
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student ID cannot be null");
+        }
+        Rows rows = rowsByStudent.get(studentId);
+        if (rows == null) {
+            return new ArrayList<>();
+        }
+        List<Mark> marks = new ArrayList<>(rows.size);
+        for (int i = 0; i < rows.size; i++) {
+            marks.add(markAt(rows.rows[i]));
+        }
+        return marks;
+    }
+
+    // number of marks of the module, or of every module when null, with a value in [minMark, maxMark]
+    public long count(ModuleName module, int minMark, int maxMark) {
+        int ordinal = module != null ? module.ordinal() : -1;
+        // the dead rows are below the lowest mark
+        int from = Math.max(minMark, MarkHistogram.MIN_MARK);
+        long count = 0;
+        for (int row = 0; row < size; row++) {
+            int value = values[row];
+            count += (value >= from & value <= maxMark & (ordinal < 0 | moduleOrdinals[row] == ordinal)) ? 1 : 0;
+        }
+        return count;
+    }
+
+    // the marks counted by count(module, minMark, maxMark) in creation order, the Mark objects
+    // are only built for the matching rows, as the stream is read
+    public Stream<Mark> streamMarks(ModuleName module, int minMark, int maxMark) {
+        int ordinal = module != null ? module.ordinal() : -1;
+        int from = Math.max(minMark, MarkHistogram.MIN_MARK);
+        int end = size;
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<Mark>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final int[] rows = new int[SCAN_BLOCK];
+            private int next;
+            private int found;
+            private int read;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Mark> action) {
+                while (read == found) {
+                    if (next >= end) {
+                        return false;
+                    }
+                    int to = Math.min(end, next + SCAN_BLOCK);
+                    found = scan(next, to, ordinal, from, maxMark, rows);
+                    read = 0;
+                    next = to;
+                }
+                action.accept(markAt(rows[read++]));
+                return true;
+            }
+        }, false);
+    }
+
+    // writes the matching rows of [from, to) into rows and returns their number; every row is
+    // written and the count only moves on a match, so the loop has no branch on the data
+    private int scan(int from, int to, int ordinal, int minMark, int maxMark, int[] rows) {
+        int found = 0;
+        for (int row = from; row < to; row++) {
+            int value = values[row];
+            rows[found] = row;
+            found += (value >= minMark & value <= maxMark & (ordinal < 0 | moduleOrdinals[row] == ordinal)) ? 1 : 0;
+        }
+        return found;
+    }
+
+    // the rows of the students are only marked dead, the columns are compacted in one pass once
+    // half of their rows are dead
+    @Override
+    public List<Mark> deleteMarksByStudents(Collection<Integer> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Student IDs cannot be null");
+        }
+        List<Mark> deleted = new ArrayList<>();
+        boolean bestDeleted = false;
+        for (Integer studentId : ids) {
+            Rows rows = rowsByStudent.remove(studentId);
+            if (rows == null) {
+                continue;
+            }
+            for (int i = 0; i < rows.size; i++) {
+                int row = rows.rows[i];
+                deleted.add(markAt(row));
+                bestDeleted |= bestRows[moduleOrdinals[row]] == row;
+                values[row] = DEAD;
+            }
+            dead += rows.size;
+            students.remove(studentId);
+        }
+        if (deleted.isEmpty()) {
+            return deleted;
+        }
+
+        if (dead > size / 2) {
+            compact();
+        } else if (bestDeleted) {
+            findBestRows();
+        }
+        for (MarkListener listener : listeners) {
+            listener.marksDeleted(deleted);
+        }
+        return deleted;
+    }
+
+    // finds the best row again, in one scan, of each module whose best row is dead
+    private void findBestRows() {
+        boolean[] lost = new boolean[MODULE_NAMES.length];
+        for (int ordinal = 0; ordinal < bestRows.length; ordinal++) {
+            if (bestRows[ordinal] >= 0 && values[bestRows[ordinal]] == DEAD) {
+                lost[ordinal] = true;
+                bestRows[ordinal] = -1;
+            }
+        }
+        for (int row = 0; row < size; row++) {
+            int ordinal = moduleOrdinals[row];
+            if (lost[ordinal] && values[row] != DEAD
+                    && (bestRows[ordinal] < 0 || values[row] > values[bestRows[ordinal]])) {
+                bestRows[ordinal] = row;
+            }
+        }
+    }
+
+    // drops the dead rows in one pass, the student index and the best rows move with the rows kept
+    private void compact() {
+        int[] moved = new int[size];
+        Arrays.fill(bestRows, -1);
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (values[row] == DEAD) {
+                continue;
+            }
+            studentIds[kept] = studentIds[row];
+            moduleOrdinals[kept] = moduleOrdinals[row];
+            values[kept] = values[row];
+            moved[row] = kept;
+            int ordinal = moduleOrdinals[kept];
+            if (bestRows[ordinal] < 0 || values[kept] > values[bestRows[ordinal]]) {
+                bestRows[ordinal] = kept;
+            }
+            kept++;
+        }
+        for (Rows rows : rowsByStudent.values()) {
+            for (int i = 0; i < rows.size; i++) {
+                rows.rows[i] = moved[rows.rows[i]];
+            }
+        }
+        size = kept;
+        dead = 0;
+    }
+
+    @Override
+    public void addListener(MarkListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    // the marks of one student in creation order, read from the columns
+    interface StudentMarks {
+        int size();
+
+        int moduleOrdinal(int i);
+
+        int value(int i);
+    }
+
+    // growable list of row numbers, without boxing them
+    private class Rows implements StudentMarks {
+        int[] rows = new int[4];
+        int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int moduleOrdinal(int i) {
+            return moduleOrdinals[rows[i]];
+        }
+
+        @Override
+        public int value(int i) {
+            return values[rows[i]];
+        }
+    }
+}
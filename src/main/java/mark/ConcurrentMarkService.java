@@ -0,0 +1,220 @@
+package mark;
+
+import mark.exception.MarkException;
+import module.Module;
+import module.ModuleName;
+import student.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe MarkRepository. Marks are appended to lock-free queues, one log for all
+ * marks and one per module, and the best mark of each module is kept with a CAS loop.
+ * Among equal best marks the one whose CAS succeeded first wins. A deleted best mark counts as
+ * no mark: a created mark replaces it, and the purge replaces the best marks it drops.
+ * Marks of a student are deleted as one batch, no mark must be created for it meanwhile.
+ */
+public class ConcurrentMarkService implements MarkRepository {
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+
+    private final Queue<Mark> listMarks;
+    private final List<Queue<Mark>> marksByModule;
+    private final AtomicReferenceArray<Mark> bestMarks;
+    private final ConcurrentMap<Integer, Queue<Mark>> marksByStudent;
+    // deleted marks still in the log and the module queues, skipped by the queries until purged
+    private final Set<Mark> deletedMarks;
+    private final AtomicInteger liveMarks;
+    private final List<MarkListener> listeners;
+
+    public ConcurrentMarkService() {
+        this.listMarks = new ConcurrentLinkedQueue<>();
+        this.marksByModule = new ArrayList<>(MODULE_NAMES.length);
+        for (int i = 0; i < MODULE_NAMES.length; i++) {
+            marksByModule.add(new ConcurrentLinkedQueue<>());
+        }
+        this.bestMarks = new AtomicReferenceArray<>(MODULE_NAMES.length);
+        this.marksByStudent = new ConcurrentHashMap<>();
+        this.deletedMarks = ConcurrentHashMap.newKeySet();
+        this.liveMarks = new AtomicInteger();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void createMark(Student student, Integer mark, Module module) {
+        String error = MarkService.validate(student, mark, module);
+        if (error != null) {
+            throw new MarkException(error);
+        }
+
+        add(new Mark(student, mark, module));
+    }
+
+    @Override
+    public void createMarks(Collection<Mark> marks) {
+        MarkService.checkBatch(marks);
+        for (Mark mark : marks) {
+            add(mark);
+        }
+    }
+
+    private void add(Mark markObj) {
+        int ordinal = markObj.getModule().getReference().ordinal();
+        // a deleted mark given again must not be skipped as deleted
+        if (!deletedMarks.isEmpty() && deletedMarks.contains(markObj)) {
+            purge();
+        }
+        listMarks.add(markObj);
+        liveMarks.incrementAndGet();
+        marksByModule.get(ordinal).add(markObj);
+        // students without an id are only in the log, a ConcurrentHashMap has no null key
+        Integer studentId = markObj.getStudent().getId();
+        if (studentId != null) {
+            marksByStudent.computeIfAbsent(studentId, id -> new ConcurrentLinkedQueue<>()).add(markObj);
+        }
+
+        Mark best = bestMarks.get(ordinal);
+        while (best == null || deletedMarks.contains(best) || markObj.getMark() > best.getMark()) {
+            if (bestMarks.compareAndSet(ordinal, best, markObj)) {
+                break;
+            }
+            best = bestMarks.get(ordinal);
+        }
+        for (MarkListener listener : listeners) {
+            listener.markCreated(markObj);
+        }
+    }
+
+    @Override
+    public List<Mark> allMarks() {
+        return live(listMarks);
+    }
+
+    @Override
+    public Stream<Mark> streamMarks() {
+        return deletedMarks.isEmpty() ? listMarks.stream() : listMarks.stream().filter(mark -> !deletedMarks.contains(mark));
+    }
+
+    // copy of the marks not deleted yet
+    private List<Mark> live(Queue<Mark> marks) {
+        List<Mark> live = new ArrayList<>();
+        for (Mark mark : marks) {
+            if (!deletedMarks.contains(mark)) {
+                live.add(mark);
+            }
+        }
+        return live;
+    }
+
+    @Override
+    public List<Mark> findMarkByModule(Module module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        if (module.getReference() == null) {
+            return new ArrayList<>();
+        }
+        return live(marksByModule.get(module.getReference().ordinal()));
+    }
+
+    @Override
+    public Student bestMarkByModule(Module module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        if (module.getReference() == null) {
+            return null;
+        }
+        Mark best = bestMarks.get(module.getReference().ordinal());
+        return best != null ? best.getStudent() : null;
+    }
+
+    @Override
+    public List<Mark> findMarksByStudent(Integer studentId) {
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student ID cannot be null");
+        }
+        Queue<Mark> marks = marksByStudent.get(studentId);
+        return marks != null ? new ArrayList<>(marks) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Mark> deleteMarksByStudents(Collection<Integer> studentIds) {
+        if (studentIds == null) {
+            throw new IllegalArgumentException("Student IDs cannot be null");
+        }
+        List<Mark> deleted = new ArrayList<>();
+        for (Integer studentId : studentIds) {
+            Queue<Mark> marks = studentId != null ? marksByStudent.remove(studentId) : null;
+            if (marks != null) {
+                deleted.addAll(marks);
+            }
+        }
+        if (deleted.isEmpty()) {
+            return deleted;
+        }
+
+        // the marks are only flagged, the queues are purged in one pass once half of their marks are deleted
+        deletedMarks.addAll(deleted);
+        liveMarks.addAndGet(-deleted.size());
+        boolean[] touched = new boolean[MODULE_NAMES.length];
+        for (Mark mark : deleted) {
+            touched[mark.getModule().getReference().ordinal()] = true;
+        }
+        for (int ordinal = 0; ordinal < MODULE_NAMES.length; ordinal++) {
+            if (touched[ordinal]) {
+                replaceBest(ordinal, deletedMarks);
+            }
+        }
+        if (deletedMarks.size() > liveMarks.get()) {
+            purge();
+        }
+        for (MarkListener listener : listeners) {
+            listener.marksDeleted(deleted);
+        }
+        return deleted;
+    }
+
+    // replaces the best mark of the module until it is not in removed, a mark created meanwhile
+    // makes the CAS fail and is checked in turn
+    private void replaceBest(int ordinal, Set<Mark> removed) {
+        Mark best = bestMarks.get(ordinal);
+        while (best != null && removed.contains(best)) {
+            bestMarks.compareAndSet(ordinal, best, MarkService.best(marksByModule.get(ordinal), deletedMarks));
+            best = bestMarks.get(ordinal);
+        }
+    }
+
+    // a mark flagged while the queues are purged waits for the next purge. A purged best mark is
+    // no longer flagged, so it is replaced here before anyone could take it for a live one
+    private synchronized void purge() {
+        Set<Mark> purged = new HashSet<>(deletedMarks);
+        listMarks.removeIf(purged::contains);
+        for (Queue<Mark> marks : marksByModule) {
+            marks.removeIf(purged::contains);
+        }
+        for (int ordinal = 0; ordinal < MODULE_NAMES.length; ordinal++) {
+            replaceBest(ordinal, purged);
+        }
+        deletedMarks.removeAll(purged);
+    }
+
+    @Override
+    public void addListener(MarkListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+}
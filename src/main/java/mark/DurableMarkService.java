@@ -0,0 +1,326 @@
+package mark;
+
+import exception.BatchException;
+import mark.exception.MarkException;
+import module.Module;
+import module.ModuleName;
+import module.ModuleRepository;
+import student.Student;
+import student.StudentRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Mark store writing every created mark to an append-only log file before keeping it in memory.
+ * A record takes 6 bytes: the student id as an int, the module ordinal and the value as bytes.
+ * Deleting the marks of a student writes a record with the module ordinal -1, the marks of
+ * the student written before it are skipped when the log is read back.
+ * The log is only forced to disk once every {@code groupCommit} marks, at the end of each
+ * createMarks call and on sync() or close(): a crash loses at most the marks created since.
+ * When the service is opened the log is read back through a memory mapping and every mark
+ * is created again in the in-memory store, so the students and modules of the marks have
+ * to be saved in the given repositories first.
+ * Like MarkService it is not thread-safe.
+ */
+public class DurableMarkService implements MarkRepository, Closeable {
+    static final int RECORD_SIZE = Integer.BYTES + 2;
+    private static final int DEFAULT_GROUP_COMMIT = 256;
+    private static final int BUFFERED_RECORDS = 8192;
+    // marks handed to createMarks at once during the replay
+    private static final int REPLAY_BATCH = 8192;
+    // largest part of the log mapped at once, a whole number of records
+    private static final long MAX_MAPPING = Integer.MAX_VALUE / RECORD_SIZE * RECORD_SIZE;
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+    // module ordinal of the record deleting the marks of a student
+    static final byte DELETED = -1;
+
+    private final MarkRepository marks;
+    private final StudentRepository studentRepository;
+    private final ModuleRepository moduleRepository;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int groupCommit;
+    // marks written since the last force to disk
+    private int unsynced;
+
+    public DurableMarkService(Path log, StudentRepository studentRepository, ModuleRepository moduleRepository) {
+        this(log, studentRepository, moduleRepository, new MarkService(), DEFAULT_GROUP_COMMIT);
+    }
+
+    public DurableMarkService(Path log, StudentRepository studentRepository, ModuleRepository moduleRepository,
+                              MarkRepository marks, int groupCommit) {
+        if (log == null || studentRepository == null || moduleRepository == null || marks == null) {
+            throw new IllegalArgumentException("Log, repositories and mark store cannot be null");
+        }
+        if (groupCommit < 1) {
+            throw new IllegalArgumentException("Group commit size must be at least 1");
+        }
+        this.marks = marks;
+        this.studentRepository = studentRepository;
+        this.moduleRepository = moduleRepository;
+        this.groupCommit = groupCommit;
+        this.buffer = ByteBuffer.allocateDirect(BUFFERED_RECORDS * RECORD_SIZE);
+        try {
+            this.channel = FileChannel.open(log,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open mark log " + log, e);
+        }
+        try {
+            replay();
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException("Cannot replay mark log " + log, e);
+        } catch (RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    private void replay() throws IOException {
+        long size = channel.size();
+        // a record cut by a crash in the middle of a write is dropped
+        long complete = size - size % RECORD_SIZE;
+        if (complete != size) {
+            channel.truncate(complete);
+        }
+
+        // last deletion of each student, the marks written before it are not created again
+        Map<Integer, Long> deletions = new HashMap<>();
+        forEachRecord(complete, (record, studentId, ordinal, value) -> {
+            if (ordinal == DELETED) {
+                deletions.put(studentId, record);
+            }
+        });
+
+        Module[] modules = new Module[MODULE_NAMES.length];
+        List<Mark> batch = new ArrayList<>(REPLAY_BATCH);
+        forEachRecord(complete, (record, studentId, ordinal, value) -> {
+            Long deletion = deletions.get(studentId);
+            if (ordinal == DELETED || deletion != null && record < deletion) {
+                return;
+            }
+            batch.add(new Mark(replayedStudent(studentId, record),
+                    value, replayedModule(modules, ordinal, record)));
+            if (batch.size() == REPLAY_BATCH) {
+                marks.createMarks(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            marks.createMarks(batch);
+        }
+        channel.position(complete);
+    }
+
+    private void forEachRecord(long complete, RecordVisitor visitor) throws IOException {
+        long record = 0;
+        for (long position = 0; position < complete; position += MAX_MAPPING) {
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(MAX_MAPPING, complete - position));
+            while (mapping.hasRemaining()) {
+                visitor.visit(record++, mapping.getInt(), mapping.get(), mapping.get());
+            }
+        }
+    }
+
+    private interface RecordVisitor {
+        void visit(long record, int studentId, int ordinal, int value);
+    }
+
+    private Student replayedStudent(int studentId, long record) {
+        try {
+            return studentRepository.findById(studentId);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Mark " + record + " of the log refers to unknown student " + studentId);
+        }
+    }
+
+    private Module replayedModule(Module[] modules, int ordinal, long record) {
+        if (ordinal < 0 || ordinal >= modules.length) {
+            throw new IllegalStateException("Mark " + record + " of the log has an invalid module " + ordinal);
+        }
+        if (modules[ordinal] == null) {
+            modules[ordinal] = moduleRepository.findByModuleName(MODULE_NAMES[ordinal]);
+            if (modules[ordinal] == null) {
+                throw new IllegalStateException("Mark " + record + " of the log refers to unknown module "
+                        + MODULE_NAMES[ordinal]);
+            }
+        }
+        return modules[ordinal];
+    }
+
+    @Override
+    public void createMark(Student student, Integer mark, Module module) {
+        String error = MarkService.validate(student, mark, module);
+        if (error == null) {
+            error = checkReplayable(student, module);
+        }
+        if (error != null) {
+            throw new MarkException(error);
+        }
+
+        append(student, mark, module);
+        marks.createMark(student, mark, module);
+        if (++unsynced >= groupCommit) {
+            sync();
+        }
+    }
+
+    @Override
+    public void createMarks(Collection<Mark> batch) {
+        MarkService.checkBatch(batch);
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        int row = 0;
+        for (Mark mark : batch) {
+            String error = checkReplayable(mark.getStudent(), mark.getModule());
+            if (error != null) {
+                rejectedRows.put(row, error);
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, batch.size());
+        }
+
+        for (Mark mark : batch) {
+            append(mark.getStudent(), mark.getMark(), mark.getModule());
+        }
+        marks.createMarks(batch);
+        sync();
+    }
+
+    // a mark can only be read back if its student and module can be found again
+    private String checkReplayable(Student student, Module module) {
+        if (student.getId() == null) {
+            return "Student ID cannot be null";
+        }
+        if (module.getReference() == null) {
+            return "Module reference cannot be null";
+        }
+        try {
+            studentRepository.findById(student.getId());
+        } catch (IndexOutOfBoundsException e) {
+            return "Student with ID " + student.getId() + " is not saved";
+        }
+        if (moduleRepository.findByModuleName(module.getReference()) == null) {
+            return "Module " + module.getReference() + " is not saved";
+        }
+        return null;
+    }
+
+    private void append(Student student, Integer mark, Module module) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            writeBuffer();
+        }
+        buffer.putInt(student.getId())
+                .put((byte) module.getReference().ordinal())
+                .put(mark.byteValue());
+    }
+
+    private void writeBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write to mark log", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    // writes the buffered marks and forces the log to disk
+    public void sync() {
+        writeBuffer();
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot force mark log to disk", e);
+        }
+        unsynced = 0;
+    }
+
+    @Override
+    public void close() {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing left to write
+        }
+    }
+
+    @Override
+    public List<Mark> allMarks() {
+        return marks.allMarks();
+    }
+
+    @Override
+    public Stream<Mark> streamMarks() {
+        return marks.streamMarks();
+    }
+
+    @Override
+    public List<Mark> findMarkByModule(Module module) {
+        return marks.findMarkByModule(module);
+    }
+
+    @Override
+    public Student bestMarkByModule(Module module) {
+        return marks.bestMarkByModule(module);
+    }
+
+    @Override
+    public List<Mark> findMarksByStudent(Integer studentId) {
+        return marks.findMarksByStudent(studentId);
+    }
+
+    // writes one deletion record per student with marks and forces it to disk before returning
+    @Override
+    public List<Mark> deleteMarksByStudents(Collection<Integer> studentIds) {
+        if (studentIds == null) {
+            throw new IllegalArgumentException("Student IDs cannot be null");
+        }
+        for (Integer studentId : studentIds) {
+            if (studentId != null && !marks.findMarksByStudent(studentId).isEmpty()) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    writeBuffer();
+                }
+                buffer.putInt(studentId).put(DELETED).put((byte) 0);
+            }
+        }
+        List<Mark> deleted = marks.deleteMarksByStudents(studentIds);
+        sync();
+        return deleted;
+    }
+
+    @Override
+    public void addListener(MarkListener listener) {
+        marks.addListener(listener);
+    }
+}
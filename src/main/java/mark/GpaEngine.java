@@ -0,0 +1,199 @@
+package mark;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleListener;
+import module.ModuleName;
+import module.ModuleRepository;
+import student.Student;
+import student.StudentListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Average of each student weighted by the number of hours of the modules, kept up to date
+ * as marks are created. For each student it keeps the sum and the count of its marks in each
+ * module, and the weighted sum and total hours computed from them.
+ * When the hours of a module change only the students with a mark in it are computed again,
+ * in parallel. As a StudentListener it follows the students from one group to another.
+ * Safe to use with the concurrent repositories.
+ */
+public class GpaEngine implements MarkListener, ModuleListener, StudentListener {
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+
+    private final AtomicIntegerArray hours;
+    private final ConcurrentMap<Integer, Grades> grades;
+    // ids of the students with a mark in each module
+    private final Map<ModuleName, Set<Integer>> studentsByModule;
+    private final Map<GroupName, Set<Integer>> studentsByGroup;
+
+    public GpaEngine() {
+        this.hours = new AtomicIntegerArray(MODULE_NAMES.length);
+        for (int i = 0; i < MODULE_NAMES.length; i++) {
+            hours.set(i, Grades.UNKNOWN);
+        }
+        this.grades = new ConcurrentHashMap<>();
+        Map<ModuleName, Set<Integer>> modules = new EnumMap<>(ModuleName.class);
+        for (ModuleName name : MODULE_NAMES) {
+            modules.put(name, ConcurrentHashMap.newKeySet());
+        }
+        Map<GroupName, Set<Integer>> groups = new EnumMap<>(GroupName.class);
+        for (GroupName name : GroupName.values()) {
+            groups.put(name, ConcurrentHashMap.newKeySet());
+        }
+        this.studentsByModule = Collections.unmodifiableMap(modules);
+        this.studentsByGroup = Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * Takes the hours of the saved modules, counts the marks already in the repository and
+     * registers for the next marks and hour changes. Register it on the StudentRepository
+     * too for the group queries to follow students changing group.
+     */
+    public static GpaEngine attach(MarkRepository markRepository, ModuleRepository moduleRepository) {
+        if (markRepository == null || moduleRepository == null) {
+            throw new IllegalArgumentException("Mark and module repositories cannot be null");
+        }
+        GpaEngine engine = new GpaEngine();
+        engine.takeHours(moduleRepository);
+        moduleRepository.addListener(engine);
+        markRepository.streamMarks().forEach(engine::markCreated);
+        markRepository.addListener(engine);
+        return engine;
+    }
+
+    // takes the hours of the modules saved in the repository
+    void takeHours(ModuleRepository moduleRepository) {
+        for (ModuleName name : MODULE_NAMES) {
+            Module module = moduleRepository.findByModuleName(name);
+            if (module != null && module.getNumberHours() != null) {
+                hours.set(name.ordinal(), module.getNumberHours());
+            }
+        }
+    }
+
+    boolean knowsHours(ModuleName module) {
+        return hours.get(module.ordinal()) != Grades.UNKNOWN;
+    }
+
+    @Override
+    public void markCreated(Mark mark) {
+        Student student = mark.getStudent();
+        if (student.getId() == null) {
+            return;
+        }
+        Module module = mark.getModule();
+        int ordinal = module.getReference().ordinal();
+        // the first mark of a module not saved in the repository gives its hours
+        boolean hoursFound = module.getNumberHours() != null
+                && hours.compareAndSet(ordinal, Grades.UNKNOWN, module.getNumberHours());
+
+        Grades studentGrades = grades.computeIfAbsent(student.getId(), id -> new Grades());
+        synchronized (studentGrades) {
+            studentGrades.add(ordinal, mark.getMark(), hours.get(ordinal));
+        }
+        studentsByModule.get(module.getReference()).add(student.getId());
+        moveToGroup(student.getId(), student.getGroup());
+        if (hoursFound) {
+            recompute(module.getReference());
+        }
+    }
+
+    @Override
+    public void moduleHoursChanged(Module module, Integer previousHours) {
+        int ordinal = module.getReference().ordinal();
+        hours.set(ordinal, Grades.hours(module));
+        recompute(module.getReference());
+    }
+
+    // computes again, in parallel, the students with a mark in the module
+    private void recompute(ModuleName module) {
+        studentsByModule.get(module).parallelStream().forEach(id -> {
+            Grades studentGrades = grades.get(id);
+            if (studentGrades != null) {
+                synchronized (studentGrades) {
+                    studentGrades.recompute(hours::get);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void studentSaved(Student student) {
+        // a student counts once it has a mark
+    }
+
+    @Override
+    public void studentGroupChanged(Student student, Group previousGroup) {
+        if (grades.containsKey(student.getId())) {
+            moveToGroup(student.getId(), student.getGroup());
+        }
+    }
+
+    // the marks of a student are deleted all together, so its grades go with them
+    @Override
+    public void marksDeleted(List<Mark> marks) {
+        for (Mark mark : marks) {
+            remove(mark.getStudent().getId());
+        }
+    }
+
+    @Override
+    public void studentDeleted(Student student) {
+        remove(student.getId());
+    }
+
+    private void remove(Integer id) {
+        Grades studentGrades = id != null ? grades.remove(id) : null;
+        if (studentGrades != null) {
+            studentsByModule.values().forEach(ids -> ids.remove(id));
+            studentsByGroup.values().forEach(ids -> ids.remove(id));
+        }
+    }
+
+    private void moveToGroup(Integer id, Group group) {
+        GroupName reference = group != null ? group.getReference() : null;
+        for (Map.Entry<GroupName, Set<Integer>> ids : studentsByGroup.entrySet()) {
+            if (ids.getKey() == reference) {
+                ids.getValue().add(id);
+            } else {
+                ids.getValue().remove(id);
+            }
+        }
+    }
+
+    // null when the student has no mark in a module with hours
+    public Double weightedAverage(Integer studentId) {
+        Grades studentGrades = studentId != null ? grades.get(studentId) : null;
+        if (studentGrades == null) {
+            return null;
+        }
+        synchronized (studentGrades) {
+            return studentGrades.average();
+        }
+    }
+
+    // weighted average of each student of the group with a mark, by student id
+    public Map<Integer, Double> weightedAverages(GroupName group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group cannot be null");
+        }
+        Map<Integer, Double> averages = new HashMap<>();
+        for (Integer id : studentsByGroup.get(group)) {
+            Double average = weightedAverage(id);
+            if (average != null) {
+                averages.put(id, average);
+            }
+        }
+        return averages;
+    }
+}
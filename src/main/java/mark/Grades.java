@@ -0,0 +1,58 @@
+package mark;
+
+import module.Module;
+import module.ModuleName;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Sum and count of the marks of one student in each module, and the average weighted by
+ * the number of hours of the modules computed from them. Shared by GpaEngine, which Leaderboard
+ * reads, and TranscriptWriter so that they all weigh the marks the same way: a module whose hours
+ * are not known is left out, and the average is null when no mark is in a module with hours.
+ * Not thread-safe, the callers guard it.
+ */
+final class Grades {
+    // hours of a module whose hours are not known yet
+    static final int UNKNOWN = -1;
+    private static final int MODULES = ModuleName.values().length;
+
+    private final int[] sums = new int[MODULES];
+    private final int[] counts = new int[MODULES];
+    private long weightedSum;
+    private long totalHours;
+
+    // the hours of the module as counted in the averages
+    static int hours(Module module) {
+        Integer hours = module.getNumberHours();
+        return hours != null ? hours : UNKNOWN;
+    }
+
+    void add(int module, int mark, int hours) {
+        sums[module] += mark;
+        counts[module]++;
+        if (hours != UNKNOWN) {
+            weightedSum += (long) mark * hours;
+            totalHours += hours;
+        }
+    }
+
+    // computes the weighted sum again with the current hours of each module
+    void recompute(IntUnaryOperator hoursOf) {
+        long sum = 0;
+        long total = 0;
+        for (int i = 0; i < MODULES; i++) {
+            int hours = hoursOf.applyAsInt(i);
+            if (hours != UNKNOWN) {
+                sum += (long) sums[i] * hours;
+                total += (long) counts[i] * hours;
+            }
+        }
+        weightedSum = sum;
+        totalHours = total;
+    }
+
+    Double average() {
+        return totalHours > 0 ? (double) weightedSum / totalHours : null;
+    }
+}
@@ -0,0 +1,269 @@
+package mark;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleListener;
+import module.ModuleName;
+import module.ModuleRepository;
+import student.Student;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Rankings of the students kept up to date as a MarkListener, every query reads sorted sets
+ * instead of sorting the marks.
+ * In a module the students are ranked by their best mark, among equal marks the one given
+ * first comes first. Overall and in a group they are ranked by their average weighted by the
+ * number of hours of each module, then by id. The averages are read from a GpaEngine of its
+ * own, given the same events, so both agree. A student is ranked in the group of its last mark.
+ * As a ModuleListener the students of a module are ranked again when its hours change.
+ * Marks of students without an id, and of modules without a number of hours for the averages,
+ * are left out. Safe to register on ConcurrentMarkService.
+ */
+public class Leaderboard implements MarkListener, ModuleListener {
+    private static final Comparator<BestMark> BY_MARK = Comparator
+            .comparing((BestMark best) -> best.mark.getMark(), Comparator.reverseOrder())
+            .thenComparingLong(best -> best.sequence);
+    private static final Comparator<Score> BY_AVERAGE = Comparator
+            .comparingDouble((Score score) -> score.average).reversed()
+            .thenComparing(score -> score.student.getId());
+
+    private final Map<ModuleName, NavigableSet<BestMark>> byModule;
+    private final Map<ModuleName, Map<Integer, BestMark>> bestMarks;
+    private final Map<Integer, Score> scores;
+    private final NavigableSet<Score> ranking;
+    private final Map<GroupName, NavigableSet<Score>> rankingByGroup;
+    private final GpaEngine averages;
+    // ids of the students with a mark in each module
+    private final Map<ModuleName, Set<Integer>> studentsByModule;
+    private long sequence;
+
+    public Leaderboard() {
+        this.byModule = new EnumMap<>(ModuleName.class);
+        this.bestMarks = new EnumMap<>(ModuleName.class);
+        for (ModuleName name : ModuleName.values()) {
+            byModule.put(name, new TreeSet<>(BY_MARK));
+            bestMarks.put(name, new HashMap<>());
+        }
+        this.scores = new HashMap<>();
+        this.ranking = new TreeSet<>(BY_AVERAGE);
+        this.rankingByGroup = new EnumMap<>(GroupName.class);
+        for (GroupName name : GroupName.values()) {
+            rankingByGroup.put(name, new TreeSet<>(BY_AVERAGE));
+        }
+        this.averages = new GpaEngine();
+        this.studentsByModule = new EnumMap<>(ModuleName.class);
+        for (ModuleName name : ModuleName.values()) {
+            studentsByModule.put(name, new HashSet<>());
+        }
+    }
+
+    // ranks the marks already in the repository and registers for the next ones
+    public static Leaderboard attach(MarkRepository markRepository) {
+        if (markRepository == null) {
+            throw new IllegalArgumentException("Mark repository cannot be null");
+        }
+        Leaderboard leaderboard = new Leaderboard();
+        markRepository.streamMarks().forEach(leaderboard::markCreated);
+        markRepository.addListener(leaderboard);
+        return leaderboard;
+    }
+
+    // takes the hours of the saved modules and follows their changes, then ranks the marks
+    public static Leaderboard attach(MarkRepository markRepository, ModuleRepository moduleRepository) {
+        if (markRepository == null || moduleRepository == null) {
+            throw new IllegalArgumentException("Mark and module repositories cannot be null");
+        }
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.averages.takeHours(moduleRepository);
+        moduleRepository.addListener(leaderboard);
+        markRepository.streamMarks().forEach(leaderboard::markCreated);
+        markRepository.addListener(leaderboard);
+        return leaderboard;
+    }
+
+    @Override
+    public synchronized void markCreated(Mark mark) {
+        Student student = mark.getStudent();
+        if (student.getId() == null) {
+            return;
+        }
+        long order = sequence++;
+
+        ModuleName module = mark.getModule().getReference();
+        BestMark best = bestMarks.get(module).get(student.getId());
+        if (best == null || mark.getMark() > best.mark.getMark()) {
+            if (best != null) {
+                byModule.get(module).remove(best);
+            }
+            best = new BestMark(mark, order);
+            bestMarks.get(module).put(student.getId(), best);
+            byModule.get(module).add(best);
+        }
+
+        // the first mark of a module not saved in the repository gives its hours
+        boolean hoursUnknown = !averages.knowsHours(module);
+        averages.markCreated(mark);
+        Score score = scores.get(student.getId());
+        if (score == null) {
+            score = new Score();
+            scores.put(student.getId(), score);
+        } else {
+            remove(score);
+        }
+        score.student = student;
+        Group group = student.getGroup();
+        score.group = group != null ? group.getReference() : null;
+        rank(score);
+        studentsByModule.get(module).add(student.getId());
+        if (hoursUnknown && averages.knowsHours(module)) {
+            rankAgain(module);
+        }
+    }
+
+    @Override
+    public synchronized void moduleHoursChanged(Module module, Integer previousHours) {
+        averages.moduleHoursChanged(module, previousHours);
+        rankAgain(module.getReference());
+    }
+
+    // ranks again the students with a mark in the module, with their new averages
+    private void rankAgain(ModuleName module) {
+        for (Integer id : studentsByModule.get(module)) {
+            Score score = scores.get(id);
+            remove(score);
+            rank(score);
+        }
+    }
+
+    // a score is only ranked once it has an average
+    private void rank(Score score) {
+        Double average = averages.weightedAverage(score.student.getId());
+        score.ranked = average != null;
+        if (!score.ranked) {
+            return;
+        }
+        score.average = average;
+        ranking.add(score);
+        if (score.group != null) {
+            rankingByGroup.get(score.group).add(score);
+        }
+    }
+
+    // the marks of a student are deleted all together, so the student leaves every ranking
+    @Override
+    public synchronized void marksDeleted(List<Mark> marks) {
+        averages.marksDeleted(marks);
+        for (Mark mark : marks) {
+            Integer studentId = mark.getStudent().getId();
+            if (studentId == null) {
+                continue;
+            }
+            ModuleName module = mark.getModule().getReference();
+            BestMark best = bestMarks.get(module).remove(studentId);
+            if (best != null) {
+                byModule.get(module).remove(best);
+            }
+            Score score = scores.remove(studentId);
+            if (score != null) {
+                remove(score);
+            }
+            studentsByModule.get(module).remove(studentId);
+        }
+    }
+
+    private void remove(Score score) {
+        if (!score.ranked) {
+            return;
+        }
+        ranking.remove(score);
+        if (score.group != null) {
+            rankingByGroup.get(score.group).remove(score);
+        }
+    }
+
+    // best mark of each of the k best students of the module, best first
+    public synchronized List<Mark> topByModule(ModuleName module, int k) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        checkK(k);
+        List<Mark> top = new ArrayList<>(Math.min(k, byModule.get(module).size()));
+        Iterator<BestMark> iterator = byModule.get(module).iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next().mark);
+        }
+        return top;
+    }
+
+    // the k students of the group with the highest weighted average, best first
+    public synchronized List<Student> topByGroup(GroupName group, int k) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group cannot be null");
+        }
+        checkK(k);
+        return page(rankingByGroup.get(group), 0, k);
+    }
+
+    // one page of the overall ranking by weighted average, the first student has offset 0
+    public synchronized List<Student> ranking(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        checkK(limit);
+        return page(ranking, offset, limit);
+    }
+
+    // null when the student has no mark in a module with hours
+    public Double weightedAverage(Integer studentId) {
+        return averages.weightedAverage(studentId);
+    }
+
+    private static List<Student> page(NavigableSet<Score> scores, int offset, int limit) {
+        List<Student> page = new ArrayList<>(Math.max(0, Math.min(limit, scores.size() - offset)));
+        Iterator<Score> iterator = scores.iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next().student);
+        }
+        return page;
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+    }
+
+    // best mark of a student in a module, with the order in which it was given
+    private static class BestMark {
+        final Mark mark;
+        final long sequence;
+
+        BestMark(Mark mark, long sequence) {
+            this.mark = mark;
+            this.sequence = sequence;
+        }
+    }
+
+    // weighted average of a student, only changed while out of the sorted sets
+    private static class Score {
+        Student student;
+        GroupName group;
+        boolean ranked;
+        double average;
+    }
+}
@@ -0,0 +1,61 @@
+package mark;
+
+import group.Group;
+import student.Student;
+import student.StudentListener;
+import student.StudentRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Deletes the marks of the deleted students, read from the student index of the mark repository.
+ * A bulk delete through StudentRepository.deleteAll removes the marks of the whole cohort in a
+ * single deleteMarksByStudents call. Register GroupService on the same StudentRepository to keep
+ * the group counts in step.
+ */
+public class MarkCascade implements StudentListener {
+    private final MarkRepository markRepository;
+
+    public MarkCascade(MarkRepository markRepository) {
+        if (markRepository == null) {
+            throw new IllegalArgumentException("Mark repository cannot be null");
+        }
+        this.markRepository = markRepository;
+    }
+
+    // registers a cascade from the student repository to the mark repository
+    public static MarkCascade attach(StudentRepository studentRepository, MarkRepository markRepository) {
+        if (studentRepository == null) {
+            throw new IllegalArgumentException("Student repository cannot be null");
+        }
+        MarkCascade cascade = new MarkCascade(markRepository);
+        studentRepository.addListener(cascade);
+        return cascade;
+    }
+
+    @Override
+    public void studentSaved(Student student) {
+        // a new student has no mark yet
+    }
+
+    @Override
+    public void studentGroupChanged(Student student, Group previousGroup) {
+        // marks keep their student, whatever its group
+    }
+
+    @Override
+    public void studentDeleted(Student student) {
+        markRepository.deleteMarksByStudents(Collections.singletonList(student.getId()));
+    }
+
+    @Override
+    public void studentsDeleted(List<Student> students) {
+        List<Integer> ids = new ArrayList<>(students.size());
+        for (Student student : students) {
+            ids.add(student.getId());
+        }
+        markRepository.deleteMarksByStudents(ids);
+    }
+}
@@ -0,0 +1,131 @@
+package mark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Number of marks of each value of the 5..20 scale, one bucket per value.
+ * Every statistic is read from the 16 counters, whatever the number of marks.
+ * Marks can be added and removed from several threads, a query reads a copy of the counters.
+ */
+public class MarkHistogram {
+    public static final int MIN_MARK = 5;
+    public static final int MAX_MARK = 20;
+    public static final int PASS_MARK = 10;
+    static final int BUCKETS = MAX_MARK - MIN_MARK + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void add(int mark) {
+        counts.incrementAndGet(mark - MIN_MARK);
+    }
+
+    void remove(int mark) {
+        counts.decrementAndGet(mark - MIN_MARK);
+    }
+
+    private long[] counts() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    private static long total(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long count() {
+        return total(counts());
+    }
+
+    // number of marks equal to the given value
+    public long count(int mark) {
+        if (mark < MIN_MARK || mark > MAX_MARK) {
+            return 0;
+        }
+        return counts.get(mark - MIN_MARK);
+    }
+
+    // NaN when there is no mark
+    public double mean() {
+        long[] counts = counts();
+        long total = 0;
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts[i];
+            sum += counts[i] * (MIN_MARK + i);
+        }
+        return total > 0 ? (double) sum / total : Double.NaN;
+    }
+
+    public Integer median() {
+        return percentile(50);
+    }
+
+    // smallest mark such that at least the given percent of the marks are lower or equal, null when there is no mark
+    public Integer percentile(double percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] counts = counts();
+        long total = total(counts);
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return MIN_MARK + i;
+            }
+        }
+        return MAX_MARK;
+    }
+
+    // share of the marks at or above PASS_MARK, 0 when there is no mark
+    public double passRate() {
+        long[] counts = counts();
+        long total = total(counts);
+        if (total == 0) {
+            return 0;
+        }
+        long passed = 0;
+        for (int i = PASS_MARK - MIN_MARK; i < BUCKETS; i++) {
+            passed += counts[i];
+        }
+        return (double) passed / total;
+    }
+
+    // the k highest marks, highest first, a value appears as many times as it was given
+    public List<Integer> topMarks(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        long[] counts = counts();
+        List<Integer> top = new ArrayList<>((int) Math.min(k, total(counts)));
+        for (int i = BUCKETS - 1; i >= 0 && top.size() < k; i--) {
+            for (long n = counts[i]; n > 0 && top.size() < k; n--) {
+                top.add(MIN_MARK + i);
+            }
+        }
+        return top;
+    }
+
+    @Override
+    public String toString() {
+        return "MarkHistogram{" +
+                "count=" + count() +
+                ", mean=" + mean() +
+                ", median=" + median() +
+                ", passRate=" + passRate() +
+                '}';
+    }
+}
@@ -0,0 +1,11 @@
+package mark;
+
+import java.util.List;
+
+// notified by a MarkRepository after each created mark and after each batch of deleted marks
+public interface MarkListener {
+    void markCreated(Mark mark);
+
+    // marks are only deleted together with all the other marks of their student
+    void marksDeleted(List<Mark> marks);
+}
@@ -0,0 +1,45 @@
+package mark;
+
+import mark.exception.MarkException;
+import module.ModuleName;
+
+/**
+ * Immutable mark holding the id of its student and the name of its module instead of the
+ * objects, with the value in a byte. A mark has no id of its own, so records are equal when
+ * all three fields are, as two marks given to the same student in the same module are.
+ */
+public record MarkRecord(int studentId, byte mark, ModuleName module) {
+
+    public MarkRecord {
+        if (module == null) {
+            throw new MarkException("All parameters are required. Student, mark, and module cannot be null");
+        }
+        check(mark);
+    }
+
+    // checks the value before narrowing it to a byte
+    public static MarkRecord of(int studentId, int mark, ModuleName module) {
+        check(mark);
+        return new MarkRecord(studentId, (byte) mark, module);
+    }
+
+    public static MarkRecord from(Mark mark) {
+        if (mark == null) {
+            throw new IllegalArgumentException("Mark cannot be null");
+        }
+        String error = MarkService.validate(mark.getStudent(), mark.getMark(), mark.getModule());
+        if (error == null && (mark.getStudent().getId() == null || mark.getModule().getReference() == null)) {
+            error = "Student ID and module reference cannot be null";
+        }
+        if (error != null) {
+            throw new MarkException(error);
+        }
+        return of(mark.getStudent().getId(), mark.getMark(), mark.getModule().getReference());
+    }
+
+    private static void check(int mark) {
+        if (mark < 5 || mark > 20) {
+            throw new MarkException("invalid mark , it should be between 5 and 20");
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package mark;
 
 import student.Student;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 import module.Module;
 public interface MarkRepository {
     //give a mark for a student in a specific module
     void createMark(Student student,Integer mark,Module module);
+    // creates every mark or none of them, throws exception.BatchException listing the invalid rows
+    void createMarks(Collection<Mark> marks);
     List<Mark> allMarks();
+    // reads the marks in place, without copying them into a new list
+    Stream<Mark> streamMarks();
     // get all marks for a specific module
     List<Mark> findMarkByModule(Module module);
     Student bestMarkByModule(Module module);
+    // marks of one student in creation order, read from an index instead of scanning all marks
+    List<Mark> findMarksByStudent(Integer studentId);
+    // deletes every mark of the given students in one pass and returns them, ids without marks are ignored
+    List<Mark> deleteMarksByStudents(Collection<Integer> studentIds);
+    // the listener is told about every mark created later
+    void addListener(MarkListener listener);
 }
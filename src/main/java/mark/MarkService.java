@@ -1,43 +1,147 @@
 package mark;
 
+import exception.BatchException;
 import mark.exception.MarkException;
 import student.Student;
 import module.Module;
+import module.ModuleName;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
 public class MarkService implements MarkRepository {
-    List<Mark> listMarks;
+    ArrayList<Mark> listMarks;
+    // marks of each module, in creation order
+    private Map<ModuleName, List<Mark>> marksByModule;
+    // first mark holding the highest value of each module
+    private Map<ModuleName, Mark> bestMarks;
+    // marks of each student id, in creation order
+    private Map<Integer, List<Mark>> marksByStudent;
+    // deleted marks still in listMarks and marksByModule, skipped by the queries until purged
+    private Set<Mark> deletedMarks;
+    private List<MarkListener> listeners;
 
     public MarkService() {
         this.listMarks = new ArrayList();
+        this.marksByModule = new EnumMap<>(ModuleName.class);
+        this.bestMarks = new EnumMap<>(ModuleName.class);
+        this.marksByStudent = new HashMap<>();
+        this.deletedMarks = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.listeners = new ArrayList<>();
     }
 
     @Override
     public void createMark(Student student, Integer mark, Module module) {
+        String error = validate(student, mark, module);
+        if (error != null) {
+            throw new MarkException(error);
+        }
+
+        add(new Mark(student, mark, module));
+    }
+
+    @Override
+    public void createMarks(Collection<Mark> marks) {
+        checkBatch(marks);
+
+        listMarks.ensureCapacity(listMarks.size() + marks.size());
+        for (Mark mark : marks) {
+            add(mark);
+        }
+    }
+
+    private void add(Mark markObj) {
+        // a deleted mark given again must not be skipped as deleted
+        if (!deletedMarks.isEmpty() && deletedMarks.contains(markObj)) {
+            purge();
+        }
+        listMarks.add(markObj);
+
+        ModuleName reference = markObj.getModule().getReference();
+        marksByModule.computeIfAbsent(reference, r -> new ArrayList<>()).add(markObj);
+        marksByStudent.computeIfAbsent(markObj.getStudent().getId(), id -> new ArrayList<>()).add(markObj);
+        Mark best = bestMarks.get(reference);
+        if (best == null || markObj.getMark() > best.getMark()) {
+            bestMarks.put(reference, markObj);
+        }
+        for (MarkListener listener : listeners) {
+            listener.markCreated(markObj);
+        }
+    }
+
+    // validates a whole batch in one pass
+    public static void checkBatch(Collection<Mark> marks) {
+        if (marks == null) {
+            throw new IllegalArgumentException("Marks cannot be null");
+        }
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        int row = 0;
+        for (Mark mark : marks) {
+            String error = mark == null ? "Mark cannot be null"
+                    : validate(mark.getStudent(), mark.getMark(), mark.getModule());
+            if (error != null) {
+                rejectedRows.put(row, error);
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, marks.size());
+        }
+    }
+
+    // returns the reason a mark would be rejected, or null if it is valid
+    public static String validate(Student student, Integer mark, Module module) {
         // Check for null parameters first
         if (student == null || mark == null || module == null) {
-            throw new MarkException("All parameters are required. Student, mark, and module cannot be null");
+            return "All parameters are required. Student, mark, and module cannot be null";
+        }
+        // the marks are indexed by the reference of their module
+        if (module.getReference() == null) {
+            return "Module reference cannot be null";
         }
 
         // Then check if mark is valid
         if (!isValid(mark)) {
-            throw new MarkException("invalid mark , it should be between 5 and 20");
+            return "invalid mark , it should be between 5 and 20";
         }
-
-        Mark markObj = new Mark(student, mark, module);
-        listMarks.add(markObj);
+        return null;
     }
 
-    private boolean isValid(Integer mark) {
+    private static boolean isValid(Integer mark) {
         return mark >= 5 && mark <= 20;
     }
 
     @Override
     public List<Mark> allMarks() {
-        return new ArrayList<>(listMarks); // Return a copy instead of the original list
+        return live(listMarks); // Return a copy instead of the original list
+    }
+
+    @Override
+    public Stream<Mark> streamMarks() {
+        return deletedMarks.isEmpty() ? listMarks.stream() : listMarks.stream().filter(mark -> !deletedMarks.contains(mark));
+    }
+
+    // copy of the marks not deleted yet
+    private List<Mark> live(List<Mark> marks) {
+        if (deletedMarks.isEmpty()) {
+            return new ArrayList<>(marks);
+        }
+        List<Mark> live = new ArrayList<>(marks.size());
+        for (Mark mark : marks) {
+            if (!deletedMarks.contains(mark)) {
+                live.add(mark);
+            }
+        }
+        return live;
     }
 
     @Override
@@ -45,30 +149,102 @@ public class MarkService implements MarkRepository {
         if (module == null) {
             throw new IllegalArgumentException("Module cannot be null");
         }
-        return listMarks.stream()
-                .filter(m -> m.getModule().getReference()
-                        .toString().equalsIgnoreCase(module.getReference().toString()))
-                .collect(Collectors.toList());
+        List<Mark> marks = marksByModule.get(module.getReference());
+        return marks != null ? live(marks) : new ArrayList<>();
     }
+
     @Override
     public Student bestMarkByModule(Module module) {
         if (module == null) {
             throw new IllegalArgumentException("Module cannot be null");
         }
+        Mark best = bestMarks.get(module.getReference());
+        return best != null ? best.getStudent() : null;
+    }
+
+    @Override
+    public List<Mark> findMarksByStudent(Integer studentId) {
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student ID cannot be null");
+        }
+        List<Mark> marks = marksByStudent.get(studentId);
+        return marks != null ? new ArrayList<>(marks) : new ArrayList<>();
+    }
+
+    // read-only view of the marks of each student, read in place by ReportEngine which only
+    // reads the lists
+    Collection<List<Mark>> studentMarks() {
+        return Collections.unmodifiableCollection(marksByStudent.values());
+    }
+
+    @Override
+    public List<Mark> deleteMarksByStudents(Collection<Integer> studentIds) {
+        if (studentIds == null) {
+            throw new IllegalArgumentException("Student IDs cannot be null");
+        }
+        List<Mark> deleted = new ArrayList<>();
+        for (Integer studentId : studentIds) {
+            List<Mark> marks = marksByStudent.remove(studentId);
+            if (marks != null) {
+                deleted.addAll(marks);
+            }
+        }
+        if (deleted.isEmpty()) {
+            return deleted;
+        }
 
-        Integer val = 0;
-        Integer index = null;
+        // the marks are only flagged, the lists are purged in one pass once half of their marks are deleted
+        deletedMarks.addAll(deleted);
+        Set<ModuleName> modules = EnumSet.noneOf(ModuleName.class);
+        for (Mark mark : deleted) {
+            modules.add(mark.getModule().getReference());
+        }
+        for (ModuleName reference : modules) {
+            if (deletedMarks.contains(bestMarks.get(reference))) {
+                Mark best = best(marksByModule.get(reference), deletedMarks);
+                if (best != null) {
+                    bestMarks.put(reference, best);
+                } else {
+                    bestMarks.remove(reference);
+                }
+            }
+        }
+        if (deletedMarks.size() > listMarks.size() / 2) {
+            purge();
+        }
+        for (MarkListener listener : listeners) {
+            listener.marksDeleted(deleted);
+        }
+        return deleted;
+    }
 
-        for (int i = 0; i < listMarks.size(); i++) {
-            if (listMarks.get(i).getMark() > val
-                    && listMarks.get(i).getModule()
-                    .getReference().toString()
-                    .equalsIgnoreCase(module.getReference().toString())) {
-                val = listMarks.get(i).getMark();
-                index = i;
+    private void purge() {
+        listMarks.removeIf(deletedMarks::contains);
+        for (List<Mark> marks : marksByModule.values()) {
+            marks.removeIf(deletedMarks::contains);
+        }
+        deletedMarks.clear();
+    }
+
+    // first mark holding the highest value not in deleted, null when there is none
+    static Mark best(Iterable<Mark> marks, Set<Mark> deleted) {
+        Mark best = null;
+        for (Mark mark : marks) {
+            if (deleted.contains(mark)) {
+                continue;
+            }
+            if (best == null || mark.getMark() > best.getMark()) {
+                best = mark;
             }
         }
+        return best;
+    }
 
-        return index != null ? listMarks.get(index).getStudent() : null;
+    @Override
+    public void addListener(MarkListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
     }
 }
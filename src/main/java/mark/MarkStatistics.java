@@ -0,0 +1,133 @@
+package mark;
+
+import group.Group;
+import group.GroupName;
+import module.ModuleName;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Mark histograms of each module and of each group, kept up to date as a MarkListener.
+ * A mark counts for the group its student belonged to when the mark was created, and is
+ * taken off that same group when the mark is deleted, whatever group the student is in by then.
+ * Safe to register on ConcurrentMarkService, the histograms are created up front.
+ */
+public class MarkStatistics implements MarkListener {
+    private static final GroupName[] GROUPS = GroupName.values();
+
+    private final Map<ModuleName, MarkHistogram> byModule;
+    private final Map<GroupName, MarkHistogram> byGroup;
+    // number of marks of each value counted in each group, by student id, at GROUPS[g] * BUCKETS + value - MIN_MARK
+    private final ConcurrentMap<Integer, int[]> countedByStudent;
+
+    public MarkStatistics() {
+        Map<ModuleName, MarkHistogram> modules = new EnumMap<>(ModuleName.class);
+        for (ModuleName name : ModuleName.values()) {
+            modules.put(name, new MarkHistogram());
+        }
+        Map<GroupName, MarkHistogram> groups = new EnumMap<>(GroupName.class);
+        for (GroupName name : GroupName.values()) {
+            groups.put(name, new MarkHistogram());
+        }
+        this.byModule = Collections.unmodifiableMap(modules);
+        this.byGroup = Collections.unmodifiableMap(groups);
+        this.countedByStudent = new ConcurrentHashMap<>();
+    }
+
+    // counts the marks already in the repository and registers for the next ones
+    public static MarkStatistics attach(MarkRepository markRepository) {
+        if (markRepository == null) {
+            throw new IllegalArgumentException("Mark repository cannot be null");
+        }
+        MarkStatistics statistics = new MarkStatistics();
+        markRepository.streamMarks().forEach(statistics::markCreated);
+        markRepository.addListener(statistics);
+        return statistics;
+    }
+
+    @Override
+    public void markCreated(Mark mark) {
+        byModule.get(mark.getModule().getReference()).add(mark.getMark());
+        Group group = mark.getStudent().getGroup();
+        if (group == null || group.getReference() == null) {
+            return;
+        }
+        byGroup.get(group.getReference()).add(mark.getMark());
+        Integer studentId = mark.getStudent().getId();
+        if (studentId != null) {
+            int[] counted = countedByStudent.computeIfAbsent(studentId, id -> new int[GROUPS.length * MarkHistogram.BUCKETS]);
+            synchronized (counted) {
+                counted[group.getReference().ordinal() * MarkHistogram.BUCKETS + mark.getMark() - MarkHistogram.MIN_MARK]++;
+            }
+        }
+    }
+
+    @Override
+    public void marksDeleted(List<Mark> marks) {
+        for (Mark mark : marks) {
+            byModule.get(mark.getModule().getReference()).remove(mark.getMark());
+            Integer studentId = mark.getStudent().getId();
+            if (studentId == null) {
+                // without an id the mark cannot be told apart, it leaves the current group of its student
+                Group group = mark.getStudent().getGroup();
+                if (group != null && group.getReference() != null) {
+                    byGroup.get(group.getReference()).remove(mark.getMark());
+                }
+                continue;
+            }
+            int[] counted = countedByStudent.get(studentId);
+            if (counted == null) {
+                continue;
+            }
+            synchronized (counted) {
+                GroupName group = takeCounted(counted, mark.getMark());
+                if (group != null) {
+                    byGroup.get(group).remove(mark.getMark());
+                }
+                if (isEmpty(counted)) {
+                    countedByStudent.remove(studentId, counted);
+                }
+            }
+        }
+    }
+
+    // takes one mark of the value off the first group that counted one, null when none did
+    private static GroupName takeCounted(int[] counted, int mark) {
+        for (GroupName group : GROUPS) {
+            int index = group.ordinal() * MarkHistogram.BUCKETS + mark - MarkHistogram.MIN_MARK;
+            if (counted[index] > 0) {
+                counted[index]--;
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(int[] counted) {
+        for (int count : counted) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public MarkHistogram byModule(ModuleName module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        return byModule.get(module);
+    }
+
+    public MarkHistogram byGroup(GroupName group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group cannot be null");
+        }
+        return byGroup.get(group);
+    }
+}
@@ -0,0 +1,118 @@
+package mark;
+
+import group.Group;
+import student.Student;
+
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+
+/**
+ * Builds a CohortReport in parallel on a fork-join pool. The students of the mark store are
+ * split into chunks, each chunk adds the marks of its students up in its own primitive
+ * counters and the counters are merged as the tasks join, the threads share nothing while
+ * they count. Going through the marks of each student, its group is looked up once and
+ * whether it fails is known in the same pass.
+ * ColumnarMarkService and MarkService are read in place, any other repository is first
+ * copied with allMarks(). The repository must not change while a report runs.
+ */
+public class ReportEngine {
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ReportEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    // chunkSize is the number of students counted by one task
+    public ReportEngine(ForkJoinPool pool, int chunkSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public CohortReport report(MarkRepository markRepository) {
+        if (markRepository == null) {
+            throw new IllegalArgumentException("Mark repository cannot be null");
+        }
+        if (markRepository instanceof ColumnarMarkService) {
+            return report((ColumnarMarkService) markRepository);
+        }
+        if (markRepository instanceof MarkService) {
+            return report((MarkService) markRepository);
+        }
+        MarkService copy = new MarkService();
+        copy.createMarks(markRepository.allMarks());
+        return report(copy);
+    }
+
+    private CohortReport report(ColumnarMarkService marks) {
+        return new CohortReport(aggregate(marks.studentMarks().entrySet().spliterator(), (totals, student) -> {
+            int slot = slot(marks.student(student.getKey()));
+            ColumnarMarkService.StudentMarks studentMarks = student.getValue();
+            long sum = 0;
+            for (int i = 0; i < studentMarks.size(); i++) {
+                int value = studentMarks.value(i);
+                totals.addMark(slot, studentMarks.moduleOrdinal(i), value);
+                sum += value;
+            }
+            totals.addStudent(slot, sum, studentMarks.size());
+        }));
+    }
+
+    private CohortReport report(MarkService marks) {
+        return new CohortReport(aggregate(marks.studentMarks().spliterator(), (totals, studentMarks) -> {
+            long sum = 0;
+            for (Mark mark : studentMarks) {
+                totals.addMark(slot(mark.getStudent()), mark.getModule().getReference().ordinal(), mark.getMark());
+                sum += mark.getMark();
+            }
+            // a student is counted in the group of its last mark, like in Leaderboard
+            totals.addStudent(slot(studentMarks.get(studentMarks.size() - 1).getStudent()), sum, studentMarks.size());
+        }));
+    }
+
+    private static int slot(Student student) {
+        Group group = student.getGroup();
+        return group != null && group.getReference() != null ? group.getReference().ordinal() : CohortReport.NO_GROUP;
+    }
+
+    private <T> CohortReport.Totals aggregate(Spliterator<T> students, BiConsumer<CohortReport.Totals, T> student) {
+        return pool.invoke(new ChunkTask<>(students, student));
+    }
+
+    // splits its students in two until a part fits in one chunk, never serialized
+    private final class ChunkTask<T> extends RecursiveTask<CohortReport.Totals> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Spliterator<T> students;
+        private final transient BiConsumer<CohortReport.Totals, T> student;
+
+        ChunkTask(Spliterator<T> students, BiConsumer<CohortReport.Totals, T> student) {
+            this.students = students;
+            this.student = student;
+        }
+
+        @Override
+        protected CohortReport.Totals compute() {
+            Spliterator<T> prefix;
+            if (students.estimateSize() > chunkSize && (prefix = students.trySplit()) != null) {
+                ChunkTask<T> left = new ChunkTask<>(prefix, student);
+                left.fork();
+                CohortReport.Totals right = compute();
+                return right.merge(left.join());
+            }
+            CohortReport.Totals totals = new CohortReport.Totals();
+            students.forEachRemaining(each -> student.accept(totals, each));
+            return totals;
+        }
+    }
+}
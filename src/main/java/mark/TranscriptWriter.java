@@ -0,0 +1,89 @@
+package mark;
+
+import module.Module;
+import module.ModuleName;
+import student.Student;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes transcripts straight to an Appendable, one student at a time, so a whole cohort
+ * is written without building it in memory. Each transcript reads the marks of its student
+ * with findMarksByStudent, its weighted average is computed with the same Grades as GpaEngine.
+ * <pre>
+ * Student 1 - sofian gasb (MIAD)
+ *   BDA       base de donnée avancé           40h   15
+ *   weighted average: 15.00
+ * </pre>
+ */
+public class TranscriptWriter {
+    private final MarkRepository markRepository;
+
+    public TranscriptWriter(MarkRepository markRepository) {
+        if (markRepository == null) {
+            throw new IllegalArgumentException("Mark repository cannot be null");
+        }
+        this.markRepository = markRepository;
+    }
+
+    public void write(Student student, Appendable out) {
+        if (student == null || student.getId() == null || out == null) {
+            throw new IllegalArgumentException("Student, student ID and output cannot be null");
+        }
+        try {
+            out.append("Student ").append(String.valueOf(student.getId()))
+                    .append(" - ").append(student.getFullName());
+            if (student.getGroup() != null) {
+                out.append(" (").append(String.valueOf(student.getGroup().getReference())).append(')');
+            }
+            out.append('\n');
+
+            Grades grades = new Grades();
+            // like GpaEngine, a module weighs the hours of the first of its marks that has some
+            int[] hours = new int[ModuleName.values().length];
+            Arrays.fill(hours, Grades.UNKNOWN);
+            for (Mark mark : markRepository.findMarksByStudent(student.getId())) {
+                Module module = mark.getModule();
+                Integer moduleHours = module.getNumberHours();
+                out.append(String.format(Locale.ROOT, "  %-8s  %-30s  %3sh  %3d\n",
+                        module.getReference(), module.getName(),
+                        moduleHours != null ? moduleHours : "-", mark.getMark()));
+                int ordinal = module.getReference().ordinal();
+                if (hours[ordinal] == Grades.UNKNOWN) {
+                    hours[ordinal] = Grades.hours(module);
+                }
+                grades.add(ordinal, mark.getMark(), Grades.UNKNOWN);
+            }
+            grades.recompute(i -> hours[i]);
+            Double average = grades.average();
+            out.append(average != null
+                    ? String.format(Locale.ROOT, "  weighted average: %.2f\n", average)
+                    : "  weighted average: -\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write transcript of student " + student.getId(), e);
+        }
+    }
+
+    // writes the transcripts one after the other, separated by a blank line
+    public void writeAll(Stream<Student> students, Appendable out) {
+        if (students == null) {
+            throw new IllegalArgumentException("Students cannot be null");
+        }
+        boolean[] first = {true};
+        students.forEachOrdered(student -> {
+            if (!first[0]) {
+                try {
+                    out.append('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot write transcripts", e);
+                }
+            }
+            first[0] = false;
+            write(student, out);
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registers one MXBean per method, named {@code metrics:type=Repository,name=<method>}.
+ * The beans read the live counters, report() only registers the methods called since the last one.
+ */
+public class JmxReporter implements MetricsReporter, AutoCloseable {
+    private final MBeanServer server;
+    private final String domain;
+    private final Map<String, ObjectName> registered = new ConcurrentHashMap<>();
+
+    public JmxReporter() {
+        this(ManagementFactory.getPlatformMBeanServer(), "metrics");
+    }
+
+    public JmxReporter(MBeanServer server, String domain) {
+        if (server == null || domain == null) {
+            throw new IllegalArgumentException("MBean server and domain cannot be null");
+        }
+        this.server = server;
+        this.domain = domain;
+    }
+
+    @Override
+    public void report(List<MethodMetrics> methods) {
+        for (MethodMetrics method : methods) {
+            registered.computeIfAbsent(method.getName(), name -> register(method));
+        }
+    }
+
+    private ObjectName register(MethodMetrics method) {
+        try {
+            ObjectName name = new ObjectName(domain + ":type=Repository,name=" + ObjectName.quote(method.getName()));
+            try {
+                server.registerMBean(new Bean(method), name);
+            } catch (InstanceAlreadyExistsException e) {
+                // registered by an earlier reporter on the same domain, it reads the same counters
+            }
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics of " + method.getName(), e);
+        }
+    }
+
+    // unregisters every bean registered by this reporter
+    @Override
+    public void close() {
+        for (ObjectName name : registered.values()) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException ignored) {
+                // already unregistered
+            }
+        }
+        registered.clear();
+    }
+
+    private static class Bean implements MethodMetricsMXBean {
+        private final MethodMetrics method;
+
+        Bean(MethodMetrics method) {
+            this.method = method;
+        }
+
+        @Override
+        public long getCalls() {
+            return method.getCalls();
+        }
+
+        @Override
+        public long getErrors() {
+            return method.getErrors();
+        }
+
+        @Override
+        public Map<String, Long> getErrorsByType() {
+            return method.getErrorsByType();
+        }
+
+        @Override
+        public long getTimedCalls() {
+            return method.getTimedCalls();
+        }
+
+        @Override
+        public double getMeanNanos() {
+            return method.getMeanNanos();
+        }
+
+        @Override
+        public long getP50Nanos() {
+            return method.percentileNanos(50);
+        }
+
+        @Override
+        public long getP99Nanos() {
+            return method.percentileNanos(99);
+        }
+
+        @Override
+        public long getP999Nanos() {
+            return method.percentileNanos(99.9);
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return method.getMaxNanos();
+        }
+    }
+}
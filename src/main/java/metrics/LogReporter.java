@@ -0,0 +1,44 @@
+package metrics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// writes one line per called method to a java.util.logging logger
+public class LogReporter implements MetricsReporter {
+    private final Logger logger;
+    private final Level level;
+
+    public LogReporter() {
+        this(Logger.getLogger("metrics"), Level.INFO);
+    }
+
+    public LogReporter(Logger logger, Level level) {
+        if (logger == null || level == null) {
+            throw new IllegalArgumentException("Logger and level cannot be null");
+        }
+        this.logger = logger;
+        this.level = level;
+    }
+
+    @Override
+    public void report(List<MethodMetrics> methods) {
+        if (!logger.isLoggable(level)) {
+            return;
+        }
+        for (MethodMetrics method : methods) {
+            if (method.getCalls() > 0) {
+                logger.log(level, format(method));
+            }
+        }
+    }
+
+    static String format(MethodMetrics method) {
+        return String.format(Locale.ROOT,
+                "%s calls=%d errors=%d %s timed=%d mean=%.0fns p50=%dns p99=%dns p999=%dns max=%dns",
+                method.getName(), method.getCalls(), method.getErrors(), method.getErrorsByType(),
+                method.getTimedCalls(), method.getMeanNanos(), method.percentileNanos(50),
+                method.percentileNanos(99), method.percentileNanos(99.9), method.getMaxNanos());
+    }
+}
@@ -0,0 +1,112 @@
+package metrics;
+
+import group.Group;
+import group.GroupName;
+import group.GroupRepository;
+import student.Student;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// GroupRepository recording the calls, errors and latency of each method in a MetricRegistry
+// the stream methods only time the creation of the stream, not its traversal
+public class MeteredGroupRepository implements GroupRepository {
+    private final GroupRepository repository;
+    private final MethodMetrics saveGroup;
+    private final MethodMetrics allGroups;
+    private final MethodMetrics streamGroups;
+    private final MethodMetrics findByReference;
+    private final MethodMetrics findByGroupName;
+    private final MethodMetrics updateNumberOfStudent;
+
+    public MeteredGroupRepository(GroupRepository repository, MetricRegistry registry) {
+        if (repository == null || registry == null) {
+            throw new IllegalArgumentException("Repository and registry cannot be null");
+        }
+        this.repository = repository;
+        this.saveGroup = registry.method("GroupRepository.saveGroup");
+        this.allGroups = registry.method("GroupRepository.allGroups");
+        this.streamGroups = registry.method("GroupRepository.streamGroups");
+        this.findByReference = registry.method("GroupRepository.findByReference");
+        this.findByGroupName = registry.method("GroupRepository.findByGroupName");
+        this.updateNumberOfStudent = registry.method("GroupRepository.updateNumberOfStudent");
+    }
+
+    @Override
+    public void saveGroup(GroupName group) {
+        long start = saveGroup.start();
+        try {
+            repository.saveGroup(group);
+        } catch (RuntimeException e) {
+            saveGroup.error(e);
+            throw e;
+        } finally {
+            saveGroup.stop(start);
+        }
+    }
+
+    @Override
+    public List<Group> allGroups() {
+        long start = allGroups.start();
+        try {
+            return repository.allGroups();
+        } catch (RuntimeException e) {
+            allGroups.error(e);
+            throw e;
+        } finally {
+            allGroups.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<Group> streamGroups() {
+        long start = streamGroups.start();
+        try {
+            return repository.streamGroups();
+        } catch (RuntimeException e) {
+            streamGroups.error(e);
+            throw e;
+        } finally {
+            streamGroups.stop(start);
+        }
+    }
+
+    @Override
+    public Group findByReference(String reference) {
+        long start = findByReference.start();
+        try {
+            return repository.findByReference(reference);
+        } catch (RuntimeException e) {
+            findByReference.error(e);
+            throw e;
+        } finally {
+            findByReference.stop(start);
+        }
+    }
+
+    @Override
+    public Group findByGroupName(GroupName reference) {
+        long start = findByGroupName.start();
+        try {
+            return repository.findByGroupName(reference);
+        } catch (RuntimeException e) {
+            findByGroupName.error(e);
+            throw e;
+        } finally {
+            findByGroupName.stop(start);
+        }
+    }
+
+    @Override
+    public void updateNumberOfStudent(List<Student> listStudents) {
+        long start = updateNumberOfStudent.start();
+        try {
+            repository.updateNumberOfStudent(listStudents);
+        } catch (RuntimeException e) {
+            updateNumberOfStudent.error(e);
+            throw e;
+        } finally {
+            updateNumberOfStudent.stop(start);
+        }
+    }
+}
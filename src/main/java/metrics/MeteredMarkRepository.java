@@ -0,0 +1,149 @@
+package metrics;
+
+import mark.Mark;
+import mark.MarkListener;
+import mark.MarkRepository;
+import module.Module;
+import student.Student;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// MarkRepository recording the calls, errors and latency of each method in a MetricRegistry
+// the stream methods only time the creation of the stream, not its traversal
+public class MeteredMarkRepository implements MarkRepository {
+    private final MarkRepository repository;
+    private final MethodMetrics createMark;
+    private final MethodMetrics createMarks;
+    private final MethodMetrics allMarks;
+    private final MethodMetrics streamMarks;
+    private final MethodMetrics findMarkByModule;
+    private final MethodMetrics bestMarkByModule;
+    private final MethodMetrics findMarksByStudent;
+    private final MethodMetrics deleteMarksByStudents;
+
+    public MeteredMarkRepository(MarkRepository repository, MetricRegistry registry) {
+        if (repository == null || registry == null) {
+            throw new IllegalArgumentException("Repository and registry cannot be null");
+        }
+        this.repository = repository;
+        this.createMark = registry.method("MarkRepository.createMark");
+        this.createMarks = registry.method("MarkRepository.createMarks");
+        this.allMarks = registry.method("MarkRepository.allMarks");
+        this.streamMarks = registry.method("MarkRepository.streamMarks");
+        this.findMarkByModule = registry.method("MarkRepository.findMarkByModule");
+        this.bestMarkByModule = registry.method("MarkRepository.bestMarkByModule");
+        this.findMarksByStudent = registry.method("MarkRepository.findMarksByStudent");
+        this.deleteMarksByStudents = registry.method("MarkRepository.deleteMarksByStudents");
+    }
+
+    @Override
+    public void createMark(Student student, Integer mark, Module module) {
+        long start = createMark.start();
+        try {
+            repository.createMark(student, mark, module);
+        } catch (RuntimeException e) {
+            createMark.error(e);
+            throw e;
+        } finally {
+            createMark.stop(start);
+        }
+    }
+
+    @Override
+    public void createMarks(Collection<Mark> marks) {
+        long start = createMarks.start();
+        try {
+            repository.createMarks(marks);
+        } catch (RuntimeException e) {
+            createMarks.error(e);
+            throw e;
+        } finally {
+            createMarks.stop(start);
+        }
+    }
+
+    @Override
+    public List<Mark> allMarks() {
+        long start = allMarks.start();
+        try {
+            return repository.allMarks();
+        } catch (RuntimeException e) {
+            allMarks.error(e);
+            throw e;
+        } finally {
+            allMarks.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<Mark> streamMarks() {
+        long start = streamMarks.start();
+        try {
+            return repository.streamMarks();
+        } catch (RuntimeException e) {
+            streamMarks.error(e);
+            throw e;
+        } finally {
+            streamMarks.stop(start);
+        }
+    }
+
+    @Override
+    public List<Mark> findMarkByModule(Module module) {
+        long start = findMarkByModule.start();
+        try {
+            return repository.findMarkByModule(module);
+        } catch (RuntimeException e) {
+            findMarkByModule.error(e);
+            throw e;
+        } finally {
+            findMarkByModule.stop(start);
+        }
+    }
+
+    @Override
+    public Student bestMarkByModule(Module module) {
+        long start = bestMarkByModule.start();
+        try {
+            return repository.bestMarkByModule(module);
+        } catch (RuntimeException e) {
+            bestMarkByModule.error(e);
+            throw e;
+        } finally {
+            bestMarkByModule.stop(start);
+        }
+    }
+
+    @Override
+    public List<Mark> findMarksByStudent(Integer studentId) {
+        long start = findMarksByStudent.start();
+        try {
+            return repository.findMarksByStudent(studentId);
+        } catch (RuntimeException e) {
+            findMarksByStudent.error(e);
+            throw e;
+        } finally {
+            findMarksByStudent.stop(start);
+        }
+    }
+
+    @Override
+    public List<Mark> deleteMarksByStudents(Collection<Integer> studentIds) {
+        long start = deleteMarksByStudents.start();
+        try {
+            return repository.deleteMarksByStudents(studentIds);
+        } catch (RuntimeException e) {
+            deleteMarksByStudents.error(e);
+            throw e;
+        } finally {
+            deleteMarksByStudents.stop(start);
+        }
+    }
+
+    @Override
+    public void addListener(MarkListener listener) {
+        repository.addListener(listener);
+    }
+}
@@ -0,0 +1,133 @@
+package metrics;
+
+import module.Module;
+import module.ModuleListener;
+import module.ModuleName;
+import module.ModuleRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// ModuleRepository recording the calls, errors and latency of each method in a MetricRegistry
+// the stream methods only time the creation of the stream, not its traversal
+public class MeteredModuleRepository implements ModuleRepository {
+    private final ModuleRepository repository;
+    private final MethodMetrics saveModule;
+    private final MethodMetrics saveAll;
+    private final MethodMetrics allModules;
+    private final MethodMetrics streamModules;
+    private final MethodMetrics findByReference;
+    private final MethodMetrics findByModuleName;
+    private final MethodMetrics updateNumberHours;
+
+    public MeteredModuleRepository(ModuleRepository repository, MetricRegistry registry) {
+        if (repository == null || registry == null) {
+            throw new IllegalArgumentException("Repository and registry cannot be null");
+        }
+        this.repository = repository;
+        this.saveModule = registry.method("ModuleRepository.saveModule");
+        this.saveAll = registry.method("ModuleRepository.saveAll");
+        this.allModules = registry.method("ModuleRepository.allModules");
+        this.streamModules = registry.method("ModuleRepository.streamModules");
+        this.findByReference = registry.method("ModuleRepository.findByReference");
+        this.findByModuleName = registry.method("ModuleRepository.findByModuleName");
+        this.updateNumberHours = registry.method("ModuleRepository.updateNumberHours");
+    }
+
+    @Override
+    public void saveModule(ModuleName reference, String name, Integer numberHours) {
+        long start = saveModule.start();
+        try {
+            repository.saveModule(reference, name, numberHours);
+        } catch (RuntimeException e) {
+            saveModule.error(e);
+            throw e;
+        } finally {
+            saveModule.stop(start);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Module> modules) {
+        long start = saveAll.start();
+        try {
+            repository.saveAll(modules);
+        } catch (RuntimeException e) {
+            saveAll.error(e);
+            throw e;
+        } finally {
+            saveAll.stop(start);
+        }
+    }
+
+    @Override
+    public List<Module> allModules() {
+        long start = allModules.start();
+        try {
+            return repository.allModules();
+        } catch (RuntimeException e) {
+            allModules.error(e);
+            throw e;
+        } finally {
+            allModules.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<Module> streamModules() {
+        long start = streamModules.start();
+        try {
+            return repository.streamModules();
+        } catch (RuntimeException e) {
+            streamModules.error(e);
+            throw e;
+        } finally {
+            streamModules.stop(start);
+        }
+    }
+
+    @Override
+    public Module findByReference(String reference) {
+        long start = findByReference.start();
+        try {
+            return repository.findByReference(reference);
+        } catch (RuntimeException e) {
+            findByReference.error(e);
+            throw e;
+        } finally {
+            findByReference.stop(start);
+        }
+    }
+
+    @Override
+    public Module findByModuleName(ModuleName reference) {
+        long start = findByModuleName.start();
+        try {
+            return repository.findByModuleName(reference);
+        } catch (RuntimeException e) {
+            findByModuleName.error(e);
+            throw e;
+        } finally {
+            findByModuleName.stop(start);
+        }
+    }
+
+    @Override
+    public void updateNumberHours(ModuleName reference, Integer numberHours) {
+        long start = updateNumberHours.start();
+        try {
+            repository.updateNumberHours(reference, numberHours);
+        } catch (RuntimeException e) {
+            updateNumberHours.error(e);
+            throw e;
+        } finally {
+            updateNumberHours.stop(start);
+        }
+    }
+
+    @Override
+    public void addListener(ModuleListener listener) {
+        repository.addListener(listener);
+    }
+}
@@ -0,0 +1,149 @@
+package metrics;
+
+import group.Group;
+import student.Student;
+import student.StudentListener;
+import student.StudentRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// StudentRepository recording the calls, errors and latency of each method in a MetricRegistry
+// the stream methods only time the creation of the stream, not its traversal
+public class MeteredStudentRepository implements StudentRepository {
+    private final StudentRepository repository;
+    private final MethodMetrics saveStudent;
+    private final MethodMetrics saveAll;
+    private final MethodMetrics deleteStudent;
+    private final MethodMetrics deleteAll;
+    private final MethodMetrics findById;
+    private final MethodMetrics updateStudent;
+    private final MethodMetrics allStudents;
+    private final MethodMetrics streamStudents;
+
+    public MeteredStudentRepository(StudentRepository repository, MetricRegistry registry) {
+        if (repository == null || registry == null) {
+            throw new IllegalArgumentException("Repository and registry cannot be null");
+        }
+        this.repository = repository;
+        this.saveStudent = registry.method("StudentRepository.saveStudent");
+        this.saveAll = registry.method("StudentRepository.saveAll");
+        this.deleteStudent = registry.method("StudentRepository.deleteStudent");
+        this.deleteAll = registry.method("StudentRepository.deleteAll");
+        this.findById = registry.method("StudentRepository.findById");
+        this.updateStudent = registry.method("StudentRepository.updateStudent");
+        this.allStudents = registry.method("StudentRepository.allStudents");
+        this.streamStudents = registry.method("StudentRepository.streamStudents");
+    }
+
+    @Override
+    public void saveStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        long start = saveStudent.start();
+        try {
+            repository.saveStudent(id, fullName, dateOfBirth, group);
+        } catch (RuntimeException e) {
+            saveStudent.error(e);
+            throw e;
+        } finally {
+            saveStudent.stop(start);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Student> students) {
+        long start = saveAll.start();
+        try {
+            repository.saveAll(students);
+        } catch (RuntimeException e) {
+            saveAll.error(e);
+            throw e;
+        } finally {
+            saveAll.stop(start);
+        }
+    }
+
+    @Override
+    public void deleteStudent(Integer idStudent) {
+        long start = deleteStudent.start();
+        try {
+            repository.deleteStudent(idStudent);
+        } catch (RuntimeException e) {
+            deleteStudent.error(e);
+            throw e;
+        } finally {
+            deleteStudent.stop(start);
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<Integer> ids) {
+        long start = deleteAll.start();
+        try {
+            repository.deleteAll(ids);
+        } catch (RuntimeException e) {
+            deleteAll.error(e);
+            throw e;
+        } finally {
+            deleteAll.stop(start);
+        }
+    }
+
+    @Override
+    public Student findById(Integer id) {
+        long start = findById.start();
+        try {
+            return repository.findById(id);
+        } catch (RuntimeException e) {
+            findById.error(e);
+            throw e;
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public void updateStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        long start = updateStudent.start();
+        try {
+            repository.updateStudent(id, fullName, dateOfBirth, group);
+        } catch (RuntimeException e) {
+            updateStudent.error(e);
+            throw e;
+        } finally {
+            updateStudent.stop(start);
+        }
+    }
+
+    @Override
+    public List<Student> allStudents() {
+        long start = allStudents.start();
+        try {
+            return repository.allStudents();
+        } catch (RuntimeException e) {
+            allStudents.error(e);
+            throw e;
+        } finally {
+            allStudents.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<Student> streamStudents() {
+        long start = streamStudents.start();
+        try {
+            return repository.streamStudents();
+        } catch (RuntimeException e) {
+            streamStudents.error(e);
+            throw e;
+        } finally {
+            streamStudents.stop(start);
+        }
+    }
+
+    @Override
+    public void addListener(StudentListener listener) {
+        repository.addListener(listener);
+    }
+}
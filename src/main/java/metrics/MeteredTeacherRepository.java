@@ -0,0 +1,161 @@
+package metrics;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// TeacherRepository recording the calls, errors and latency of each method in a MetricRegistry
+// the stream methods only time the creation of the stream, not its traversal
+public class MeteredTeacherRepository implements TeacherRepository {
+    private final TeacherRepository repository;
+    private final MethodMetrics saveTeacher;
+    private final MethodMetrics saveAll;
+    private final MethodMetrics allTeachers;
+    private final MethodMetrics streamTeachers;
+    private final MethodMetrics findById;
+    private final MethodMetrics findByModule;
+    private final MethodMetrics findByGroup;
+    private final MethodMetrics findByModuleAndGroup;
+    private final MethodMetrics deleteTeacher;
+
+    public MeteredTeacherRepository(TeacherRepository repository, MetricRegistry registry) {
+        if (repository == null || registry == null) {
+            throw new IllegalArgumentException("Repository and registry cannot be null");
+        }
+        this.repository = repository;
+        this.saveTeacher = registry.method("TeacherRepository.saveTeacher");
+        this.saveAll = registry.method("TeacherRepository.saveAll");
+        this.allTeachers = registry.method("TeacherRepository.allTeachers");
+        this.streamTeachers = registry.method("TeacherRepository.streamTeachers");
+        this.findById = registry.method("TeacherRepository.findById");
+        this.findByModule = registry.method("TeacherRepository.findByModule");
+        this.findByGroup = registry.method("TeacherRepository.findByGroup");
+        this.findByModuleAndGroup = registry.method("TeacherRepository.findByModuleAndGroup");
+        this.deleteTeacher = registry.method("TeacherRepository.deleteTeacher");
+    }
+
+    @Override
+    public void saveTeacher(Integer id, String fullName, Grade grade, List<Module> listModules, List<Group> listGroup) {
+        long start = saveTeacher.start();
+        try {
+            repository.saveTeacher(id, fullName, grade, listModules, listGroup);
+        } catch (RuntimeException e) {
+            saveTeacher.error(e);
+            throw e;
+        } finally {
+            saveTeacher.stop(start);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Teacher> teachers) {
+        long start = saveAll.start();
+        try {
+            repository.saveAll(teachers);
+        } catch (RuntimeException e) {
+            saveAll.error(e);
+            throw e;
+        } finally {
+            saveAll.stop(start);
+        }
+    }
+
+    @Override
+    public List<Teacher> allTeachers() {
+        long start = allTeachers.start();
+        try {
+            return repository.allTeachers();
+        } catch (RuntimeException e) {
+            allTeachers.error(e);
+            throw e;
+        } finally {
+            allTeachers.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<Teacher> streamTeachers() {
+        long start = streamTeachers.start();
+        try {
+            return repository.streamTeachers();
+        } catch (RuntimeException e) {
+            streamTeachers.error(e);
+            throw e;
+        } finally {
+            streamTeachers.stop(start);
+        }
+    }
+
+    @Override
+    public Teacher findById(Integer id) {
+        long start = findById.start();
+        try {
+            return repository.findById(id);
+        } catch (RuntimeException e) {
+            findById.error(e);
+            throw e;
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public List<Teacher> findByModule(ModuleName module) {
+        long start = findByModule.start();
+        try {
+            return repository.findByModule(module);
+        } catch (RuntimeException e) {
+            findByModule.error(e);
+            throw e;
+        } finally {
+            findByModule.stop(start);
+        }
+    }
+
+    @Override
+    public List<Teacher> findByGroup(GroupName group) {
+        long start = findByGroup.start();
+        try {
+            return repository.findByGroup(group);
+        } catch (RuntimeException e) {
+            findByGroup.error(e);
+            throw e;
+        } finally {
+            findByGroup.stop(start);
+        }
+    }
+
+    @Override
+    public List<Teacher> findByModuleAndGroup(ModuleName module, GroupName group) {
+        long start = findByModuleAndGroup.start();
+        try {
+            return repository.findByModuleAndGroup(module, group);
+        } catch (RuntimeException e) {
+            findByModuleAndGroup.error(e);
+            throw e;
+        } finally {
+            findByModuleAndGroup.stop(start);
+        }
+    }
+
+    @Override
+    public void deleteTeacher(Integer id) {
+        long start = deleteTeacher.start();
+        try {
+            repository.deleteTeacher(id);
+        } catch (RuntimeException e) {
+            deleteTeacher.error(e);
+            throw e;
+        } finally {
+            deleteTeacher.stop(start);
+        }
+    }
+}
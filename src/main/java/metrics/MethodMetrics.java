@@ -0,0 +1,98 @@
+package metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls, errors and latencies in nanoseconds of one repository method.
+ * Calls and errors are exact, counted with striped LongAdders so threads calling the same
+ * method do not contend. Reading the clock costs more than most in-memory calls, so only one
+ * call in {@code sampling} is timed, picked at random; the latencies describe those calls.
+ * <pre>
+ * long start = metrics.start();
+ * try {
+ *     return repository.findById(id);
+ * } catch (RuntimeException e) {
+ *     metrics.error(e);
+ *     throw e;
+ * } finally {
+ *     metrics.stop(start);
+ * }
+ * </pre>
+ */
+public class MethodMetrics {
+    // start of a call that is not timed
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final String name;
+    private final int samplingMask;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentMap<Class<?>, LongAdder> errorsByType = new ConcurrentHashMap<>();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    MethodMetrics(String name, int sampling) {
+        this.name = name;
+        this.samplingMask = sampling - 1;
+    }
+
+    // counts the call and returns the time it starts at, or NOT_TIMED when it is not sampled
+    public long start() {
+        calls.increment();
+        if (samplingMask != 0 && (ThreadLocalRandom.current().nextInt() & samplingMask) != 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    public void stop(long start) {
+        if (start != NOT_TIMED) {
+            latencies.record(System.nanoTime() - start);
+        }
+    }
+
+    public void error(Throwable error) {
+        errors.increment();
+        errorsByType.computeIfAbsent(error.getClass(), type -> new LongAdder()).increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    // number of errors of each exception class, by simple name
+    public Map<String, Long> getErrorsByType() {
+        Map<String, Long> byType = new TreeMap<>();
+        errorsByType.forEach((type, count) -> byType.merge(type.getSimpleName(), count.sum(), Long::sum));
+        return byType;
+    }
+
+    public long getTimedCalls() {
+        return latencies.count();
+    }
+
+    // NaN when no call was timed
+    public double getMeanNanos() {
+        return latencies.mean();
+    }
+
+    public long getMaxNanos() {
+        return latencies.max();
+    }
+
+    public long percentileNanos(double percent) {
+        return latencies.percentile(percent);
+    }
+}
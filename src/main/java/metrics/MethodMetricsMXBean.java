@@ -0,0 +1,16 @@
+package metrics;
+
+import java.util.Map;
+
+// read-only view of one method registered by JmxReporter, latencies in nanoseconds
+public interface MethodMetricsMXBean {
+    long getCalls();
+    long getErrors();
+    Map<String, Long> getErrorsByType();
+    long getTimedCalls();
+    double getMeanNanos();
+    long getP50Nanos();
+    long getP99Nanos();
+    long getP999Nanos();
+    long getMaxNanos();
+}
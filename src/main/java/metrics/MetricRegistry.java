@@ -0,0 +1,55 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Metrics of every instrumented method, by name such as "StudentRepository.findById".
+ * One call in {@code sampling} is timed, 16 by default, 1 times every call.
+ */
+public class MetricRegistry {
+    private static final int DEFAULT_SAMPLING = 16;
+
+    private final int sampling;
+    private final ConcurrentMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    public MetricRegistry() {
+        this(DEFAULT_SAMPLING);
+    }
+
+    public MetricRegistry(int sampling) {
+        if (sampling < 1 || Integer.bitCount(sampling) != 1) {
+            throw new IllegalArgumentException("Sampling must be a power of two");
+        }
+        this.sampling = sampling;
+    }
+
+    public MethodMetrics method(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name cannot be null");
+        }
+        return methods.computeIfAbsent(name, key -> new MethodMetrics(key, sampling));
+    }
+
+    // null when no method has this name
+    public MethodMetrics find(String name) {
+        return name != null ? methods.get(name) : null;
+    }
+
+    // sorted by name
+    public List<MethodMetrics> methods() {
+        List<MethodMetrics> sorted = new ArrayList<>(methods.values());
+        sorted.sort(Comparator.comparing(MethodMetrics::getName));
+        return sorted;
+    }
+
+    public void report(MetricsReporter reporter) {
+        if (reporter == null) {
+            throw new IllegalArgumentException("Reporter cannot be null");
+        }
+        reporter.report(methods());
+    }
+}
@@ -0,0 +1,8 @@
+package metrics;
+
+import java.util.List;
+
+// publishes the metrics somewhere, called by MetricRegistry.report, e.g. on a schedule
+public interface MetricsReporter {
+    void report(List<MethodMetrics> methods);
+}
@@ -0,0 +1,97 @@
+package module;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe ModuleRepository. Modules are few and rarely written,
+ * so they are kept in a copy-on-write list that readers never lock.
+ */
+public class ConcurrentModuleService implements ModuleRepository {
+    private final List<Module> listModules;
+    // first module saved with each reference
+    private final ConcurrentMap<ModuleName, Module> modulesByReference;
+    private final List<ModuleListener> listeners;
+
+    public ConcurrentModuleService() {
+        this.listModules = new CopyOnWriteArrayList<>();
+        this.modulesByReference = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void saveModule(ModuleName reference, String name, Integer numberHours) {
+        String error = ModuleService.validate(reference, name, numberHours);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        Module module = new Module(reference, name, numberHours);
+        listModules.add(module);
+        modulesByReference.putIfAbsent(reference, module);
+    }
+
+    @Override
+    public void saveAll(Collection<Module> modules) {
+        ModuleService.checkBatch(modules);
+        listModules.addAll(modules);
+        for (Module module : modules) {
+            modulesByReference.putIfAbsent(module.getReference(), module);
+        }
+    }
+
+    @Override
+    public List<Module> allModules() {
+        return new ArrayList<>(listModules);
+    }
+
+    @Override
+    public Stream<Module> streamModules() {
+        return listModules.stream();
+    }
+
+    @Override
+    public Module findByReference(String reference) {
+        ModuleName name = ModuleName.fromReference(reference);
+        return name != null ? modulesByReference.get(name) : null;
+    }
+
+    @Override
+    public Module findByModuleName(ModuleName reference) {
+        return reference != null ? modulesByReference.get(reference) : null;
+    }
+
+    @Override
+    public synchronized void updateNumberHours(ModuleName reference, Integer numberHours) {
+        if (numberHours == null || numberHours < 0) {
+            throw new IllegalArgumentException("Number of hours must be non-null and non-negative");
+        }
+        Module module = findByModuleName(reference);
+        if (module == null) {
+            throw new IllegalArgumentException("Module " + reference + " not found");
+        }
+        Integer previousHours = module.getNumberHours();
+        for (Module saved : listModules) {
+            if (saved.getReference() == reference) {
+                saved.setNumberHours(numberHours);
+            }
+        }
+        if (!numberHours.equals(previousHours)) {
+            for (ModuleListener listener : listeners) {
+                listener.moduleHoursChanged(module, previousHours);
+            }
+        }
+    }
+
+    @Override
+    public void addListener(ModuleListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+}
@@ -3,7 +3,7 @@ package module;
 public class Module {
 private ModuleName reference;
 private String name;
-private Integer numberHours;
+private volatile Integer numberHours;
 
     public Module(ModuleName reference, String name, Integer numberHours) {
         this.reference = reference;
@@ -28,6 +28,10 @@ private Integer numberHours;
         return numberHours;
     }
 
+    public void setNumberHours(Integer numberHours) {
+        this.numberHours = numberHours;
+    }
+
     public String getName() {
         return name;
     }
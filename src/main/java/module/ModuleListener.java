@@ -0,0 +1,6 @@
+package module;
+
+// notified by a ModuleRepository after each change of the number of hours of a module
+public interface ModuleListener {
+    void moduleHoursChanged(Module module, Integer previousHours);
+}
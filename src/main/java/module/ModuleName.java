@@ -1,5 +1,22 @@
 package module;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 public enum ModuleName {
-    BDA,CRY,RI,DEV_OPS,GL
+    BDA,CRY,RI,DEV_OPS,GL;
+
+    // case-insensitive name table, looked up without allocating
+    private static final Map<String, ModuleName> BY_REFERENCE = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        for (ModuleName name : values()) {
+            BY_REFERENCE.put(name.name(), name);
+        }
+    }
+
+    // returns the module name matching the reference whatever its case, or null if there is none
+    public static ModuleName fromReference(String reference) {
+        return reference != null ? BY_REFERENCE.get(reference) : null;
+    }
 }
@@ -0,0 +1,46 @@
+package module;
+
+/**
+ * Immutable module with its hours as a primitive, equal to any record of the same reference.
+ * The hash is the ordinal of the reference, the same from one run to the next.
+ */
+public record ModuleRecord(ModuleName reference, String name, int numberHours) {
+
+    public ModuleRecord {
+        if (reference == null) {
+            throw new IllegalArgumentException("Module reference cannot be null");
+        }
+        if (numberHours < 0) {
+            throw new IllegalArgumentException("Number of hours must be non-null and non-negative");
+        }
+    }
+
+    public static ModuleRecord from(Module module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        String error = ModuleService.validate(module.getReference(), module.getName(), module.getNumberHours());
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        return new ModuleRecord(module.getReference(), module.getName(), module.getNumberHours());
+    }
+
+    public ModuleRecord withNumberHours(int numberHours) {
+        return new ModuleRecord(reference, name, numberHours);
+    }
+
+    public Module toModule() {
+        return new Module(reference, name, numberHours);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ModuleRecord module && module.reference == reference;
+    }
+
+    @Override
+    public int hashCode() {
+        return reference.ordinal();
+    }
+}
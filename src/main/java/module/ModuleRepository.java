@@ -1,7 +1,18 @@
 package module;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 public interface ModuleRepository {
 void saveModule(ModuleName reference,String name,Integer numberHours);
+// saves every module or none of them, throws exception.BatchException listing the invalid rows
+void saveAll(Collection<Module> modules);
 List<Module> allModules();
+// reads the modules in place, without copying them into a new list
+Stream<Module> streamModules();
 Module findByReference(String reference);
+Module findByModuleName(ModuleName reference);
+// sets the hours of every saved module with this reference, then tells the listeners
+void updateNumberHours(ModuleName reference, Integer numberHours);
+// the listener is told about every later change of the number of hours
+void addListener(ModuleListener listener);
 }
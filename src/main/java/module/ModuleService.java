@@ -1,34 +1,48 @@
 package module;
 
+import exception.BatchException;
+
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class ModuleService implements ModuleRepository {
-    List<Module> listModules;
+    ArrayList<Module> listModules;
+    // first module saved with each reference
+    private Map<ModuleName, Module> modulesByReference;
+    private List<ModuleListener> listeners;
 
     public ModuleService() {
         this.listModules = new ArrayList<>();
+        this.modulesByReference = new EnumMap<>(ModuleName.class);
+        this.listeners = new ArrayList<>();
     }
 
     @Override
     public void saveModule(ModuleName reference, String name, Integer numberHours) {
-        // Validate reference
-        if (reference == null) {
-            throw new IllegalArgumentException("Module reference cannot be null");
-        }
-
-        // Validate name
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Module name cannot be null or empty");
-        }
-
-        // Validate hours
-        if (numberHours == null || numberHours < 0) {
-            throw new IllegalArgumentException("Number of hours must be non-null and non-negative");
+        String error = validate(reference, name, numberHours);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
 
         Module module = new Module(reference, name, numberHours);
         listModules.add(module);
+        modulesByReference.putIfAbsent(reference, module);
+    }
+
+    @Override
+    public void saveAll(Collection<Module> modules) {
+        checkBatch(modules);
+
+        listModules.ensureCapacity(listModules.size() + modules.size());
+        listModules.addAll(modules);
+        for (Module module : modules) {
+            modulesByReference.putIfAbsent(module.getReference(), module);
+        }
     }
 
     @Override
@@ -37,19 +51,88 @@ public class ModuleService implements ModuleRepository {
         return new ArrayList<>(listModules);
     }
 
+    @Override
+    public Stream<Module> streamModules() {
+        return listModules.stream();
+    }
+
     @Override
     public Module findByReference(String reference) {
-        Integer index = findIndex(reference);
-        if (index != null)
-            return listModules.get(index);
-        else return null;
+        ModuleName name = ModuleName.fromReference(reference);
+        return name != null ? modulesByReference.get(name) : null;
     }
 
-    private Integer findIndex(String reference) {
-        for (int i = 0; i < listModules.size(); i++) {
-            if (listModules.get(i).getReference().toString().equalsIgnoreCase(reference))
-                return i;
+    @Override
+    public Module findByModuleName(ModuleName reference) {
+        return reference != null ? modulesByReference.get(reference) : null;
+    }
+
+    @Override
+    public void updateNumberHours(ModuleName reference, Integer numberHours) {
+        if (numberHours == null || numberHours < 0) {
+            throw new IllegalArgumentException("Number of hours must be non-null and non-negative");
+        }
+        Module module = findByModuleName(reference);
+        if (module == null) {
+            throw new IllegalArgumentException("Module " + reference + " not found");
+        }
+        Integer previousHours = module.getNumberHours();
+        for (Module saved : listModules) {
+            if (saved.getReference() == reference) {
+                saved.setNumberHours(numberHours);
+            }
+        }
+        if (!numberHours.equals(previousHours)) {
+            for (ModuleListener listener : listeners) {
+                listener.moduleHoursChanged(module, previousHours);
+            }
+        }
+    }
+
+    @Override
+    public void addListener(ModuleListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    // validates a whole batch in one pass
+    static void checkBatch(Collection<Module> modules) {
+        if (modules == null) {
+            throw new IllegalArgumentException("Modules cannot be null");
+        }
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        int row = 0;
+        for (Module module : modules) {
+            String error = module == null ? "Module cannot be null"
+                    : validate(module.getReference(), module.getName(), module.getNumberHours());
+            if (error != null) {
+                rejectedRows.put(row, error);
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, modules.size());
+        }
+    }
+
+    // returns the reason a module would be rejected, or null if it is valid
+    public static String validate(ModuleName reference, String name, Integer numberHours) {
+        // Validate reference
+        if (reference == null) {
+            return "Module reference cannot be null";
+        }
+
+        // Validate name
+        if (name == null || name.trim().isEmpty()) {
+            return "Module name cannot be null or empty";
+        }
+
+        // Validate hours
+        if (numberHours == null || numberHours < 0) {
+            return "Number of hours must be non-null and non-negative";
         }
         return null;
     }
-}
\ No newline at end of file
+}
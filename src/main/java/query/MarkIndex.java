@@ -0,0 +1,121 @@
+package query;
+
+import mark.Mark;
+import mark.MarkHistogram;
+import mark.MarkListener;
+import mark.MarkRepository;
+import module.ModuleName;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Secondary index of the marks by module and by value, kept up to date as a MarkListener.
+ * Each module has one bucket per value from 5 to 20, so a value range of a module reads only
+ * its buckets, and its size is known before reading them. Marks of modules without a
+ * reference are left out. Safe to register on ConcurrentMarkService.
+ */
+public class MarkIndex implements MarkListener {
+    private static final int MIN = MarkHistogram.MIN_MARK;
+    private static final int VALUES = MarkHistogram.MAX_MARK - MarkHistogram.MIN_MARK + 1;
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+
+    // marks of each module and value in creation order, at ordinal * VALUES + mark - MIN
+    private final List<List<Mark>> buckets;
+
+    public MarkIndex() {
+        this.buckets = new ArrayList<>(MODULE_NAMES.length * VALUES);
+        for (int i = 0; i < MODULE_NAMES.length * VALUES; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    // indexes the marks already in the repository and registers for the next ones
+    public static MarkIndex attach(MarkRepository markRepository) {
+        if (markRepository == null) {
+            throw new IllegalArgumentException("Mark repository cannot be null");
+        }
+        MarkIndex index = new MarkIndex();
+        markRepository.streamMarks().forEach(index::markCreated);
+        markRepository.addListener(index);
+        return index;
+    }
+
+    private List<Mark> bucket(Mark mark) {
+        ModuleName module = mark.getModule().getReference();
+        int value = mark.getMark();
+        if (module == null || value < MIN || value >= MIN + VALUES) {
+            return null;
+        }
+        return buckets.get(module.ordinal() * VALUES + value - MIN);
+    }
+
+    @Override
+    public synchronized void markCreated(Mark mark) {
+        List<Mark> bucket = bucket(mark);
+        if (bucket != null) {
+            bucket.add(mark);
+        }
+    }
+
+    // each bucket holding a deleted mark is filtered once. The repositories may give new Mark
+    // objects to each listener, so a mark is matched by its student id, its module and its value,
+    // one entry per deleted mark
+    @Override
+    public synchronized void marksDeleted(List<Mark> marks) {
+        Map<List<Mark>, Map<Integer, Integer>> removed = new IdentityHashMap<>();
+        for (Mark mark : marks) {
+            List<Mark> bucket = bucket(mark);
+            if (bucket != null) {
+                removed.computeIfAbsent(bucket, b -> new HashMap<>()).merge(mark.getStudent().getId(), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<List<Mark>, Map<Integer, Integer>> entry : removed.entrySet()) {
+            Map<Integer, Integer> left = entry.getValue();
+            entry.getKey().removeIf(mark -> {
+                Integer id = mark.getStudent().getId();
+                Integer count = left.get(id);
+                if (count == null) {
+                    return false;
+                }
+                if (count == 1) {
+                    left.remove(id);
+                } else {
+                    left.put(id, count - 1);
+                }
+                return true;
+            });
+        }
+    }
+
+    // marks of the module, or of every module when null, with a value in [minMark, maxMark]
+    public synchronized int count(ModuleName module, int minMark, int maxMark) {
+        int[] count = {0};
+        forEachBucket(module, minMark, maxMark, bucket -> count[0] += bucket.size());
+        return count[0];
+    }
+
+    // the marks counted by count(module, minMark, maxMark), by module, then by value, then in
+    // creation order
+    public synchronized List<Mark> find(ModuleName module, int minMark, int maxMark) {
+        List<Mark> marks = new ArrayList<>(count(module, minMark, maxMark));
+        forEachBucket(module, minMark, maxMark, marks::addAll);
+        return marks;
+    }
+
+    private void forEachBucket(ModuleName module, int minMark, int maxMark, Consumer<List<Mark>> action) {
+        int from = Math.max(minMark, MIN) - MIN;
+        int to = Math.min(maxMark, MIN + VALUES - 1) - MIN;
+        for (ModuleName name : MODULE_NAMES) {
+            if (module == null || module == name) {
+                for (int value = from; value <= to; value++) {
+                    action.accept(buckets.get(name.ordinal() * VALUES + value));
+                }
+            }
+        }
+    }
+}
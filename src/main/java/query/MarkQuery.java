@@ -0,0 +1,211 @@
+package query;
+
+import group.Group;
+import group.GroupName;
+import mark.ColumnarMarkService;
+import mark.Mark;
+import mark.MarkHistogram;
+import mark.MarkRepository;
+import module.Module;
+import module.ModuleName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ad-hoc query over the marks of a MarkRepository, e.g. the marks in CRY of the group MIAD
+ * between 10 and 14:
+ * <pre>
+ * MarkQuery.from(markRepository).module(ModuleName.CRY).group(GroupName.MIAD).between(10, 14).list()
+ * </pre>
+ * The marks are read from the narrowest source available, in this order: the marks of the
+ * student, the buckets of a MarkIndex given with using(), the column scan of ColumnarMarkService,
+ * the marks of the module, and last streamMarks(). The conditions the source does not
+ * guarantee are then checked on each mark. None of them copies all the marks, but the
+ * streamMarks() of the jdbc repositories reads every row.
+ * The order of the results is the order of the source, explain() names the one used.
+ */
+public class MarkQuery {
+    private final MarkRepository repository;
+    private MarkIndex index;
+    private Integer studentId;
+    private ModuleName module;
+    private GroupName group;
+    private int minMark = MarkHistogram.MIN_MARK;
+    private int maxMark = MarkHistogram.MAX_MARK;
+
+    private MarkQuery(MarkRepository repository) {
+        this.repository = repository;
+    }
+
+    public static MarkQuery from(MarkRepository repository) {
+        if (repository == null) {
+            throw new IllegalArgumentException("Mark repository cannot be null");
+        }
+        return new MarkQuery(repository);
+    }
+
+    // lets the query read the MarkIndex, which must be attached to the same repository
+    public MarkQuery using(MarkIndex index) {
+        if (index == null) {
+            throw new IllegalArgumentException("Index cannot be null");
+        }
+        this.index = index;
+        return this;
+    }
+
+    public MarkQuery student(Integer studentId) {
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student ID cannot be null");
+        }
+        this.studentId = studentId;
+        return this;
+    }
+
+    public MarkQuery module(ModuleName module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module cannot be null");
+        }
+        this.module = module;
+        return this;
+    }
+
+    // the group the student of the mark is in now
+    public MarkQuery group(GroupName group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group cannot be null");
+        }
+        this.group = group;
+        return this;
+    }
+
+    // both bounds included
+    public MarkQuery between(int minMark, int maxMark) {
+        if (minMark > maxMark) {
+            throw new IllegalArgumentException("Minimum mark cannot be greater than maximum mark");
+        }
+        this.minMark = minMark;
+        this.maxMark = maxMark;
+        return this;
+    }
+
+    private enum Source {
+        STUDENT, MARK_INDEX, COLUMN_SCAN, MODULE, SCAN
+    }
+
+    private Source source() {
+        if (studentId != null) {
+            return Source.STUDENT;
+        }
+        if (index != null) {
+            return Source.MARK_INDEX;
+        }
+        // findMarkByModule of ColumnarMarkService reads every row too, the scan at least skips building the others
+        if (repository instanceof ColumnarMarkService) {
+            return Source.COLUMN_SCAN;
+        }
+        return module != null ? Source.MODULE : Source.SCAN;
+    }
+
+    private boolean ranged() {
+        return minMark > MarkHistogram.MIN_MARK || maxMark < MarkHistogram.MAX_MARK;
+    }
+
+    // the conditions left to check on each mark read from the source
+    private List<String> residual(Source source) {
+        List<String> conditions = new ArrayList<>();
+        if (module != null && (source == Source.STUDENT || source == Source.SCAN)) {
+            conditions.add("module = " + module);
+        }
+        if (ranged() && (source == Source.STUDENT || source == Source.MODULE || source == Source.SCAN)) {
+            conditions.add("mark between " + minMark + " and " + maxMark);
+        }
+        if (group != null) {
+            conditions.add("group = " + group);
+        }
+        return conditions;
+    }
+
+    private Predicate<Mark> filter(Source source) {
+        Predicate<Mark> filter = mark -> true;
+        if (module != null && (source == Source.STUDENT || source == Source.SCAN)) {
+            filter = filter.and(mark -> mark.getModule().getReference() == module);
+        }
+        if (ranged() && (source == Source.STUDENT || source == Source.MODULE || source == Source.SCAN)) {
+            filter = filter.and(mark -> mark.getMark() >= minMark && mark.getMark() <= maxMark);
+        }
+        if (group != null) {
+            filter = filter.and(mark -> {
+                Group studentGroup = mark.getStudent().getGroup();
+                return studentGroup != null && studentGroup.getReference() == group;
+            });
+        }
+        return filter;
+    }
+
+    // e.g. "findMarkByModule(CRY) where mark between 10 and 14 and group = MIAD"
+    public String explain() {
+        Source source = source();
+        String plan;
+        switch (source) {
+            case STUDENT:
+                plan = "findMarksByStudent(" + studentId + ")";
+                break;
+            case MARK_INDEX:
+                plan = "MarkIndex(" + (module != null ? module : "all modules") + ", " + minMark + ".." + maxMark + ")";
+                break;
+            case MODULE:
+                plan = "findMarkByModule(" + module + ")";
+                break;
+            case COLUMN_SCAN:
+                plan = "column scan(" + (module != null ? module : "all modules") + ", " + minMark + ".." + maxMark + ")";
+                break;
+            default:
+                plan = "streamMarks()";
+        }
+        List<String> conditions = residual(source);
+        return conditions.isEmpty() ? plan : plan + " where " + String.join(" and ", conditions);
+    }
+
+    public Stream<Mark> stream() {
+        Source source = source();
+        Stream<Mark> marks;
+        switch (source) {
+            case STUDENT:
+                marks = repository.findMarksByStudent(studentId).stream();
+                break;
+            case MARK_INDEX:
+                marks = index.find(module, minMark, maxMark).stream();
+                break;
+            case MODULE:
+                // the repositories only read the reference of the module
+                marks = repository.findMarkByModule(new Module(module, null, null)).stream();
+                break;
+            case COLUMN_SCAN:
+                marks = ((ColumnarMarkService) repository).streamMarks(module, minMark, maxMark);
+                break;
+            default:
+                marks = repository.streamMarks();
+        }
+        return residual(source).isEmpty() ? marks : marks.filter(filter(source));
+    }
+
+    public List<Mark> list() {
+        return stream().collect(Collectors.toList());
+    }
+
+    // the index and the column scan count without building the marks when no group is asked
+    public long count() {
+        Source source = source();
+        if (group == null && source == Source.MARK_INDEX) {
+            return index.count(module, minMark, maxMark);
+        }
+        if (group == null && source == Source.COLUMN_SCAN) {
+            return ((ColumnarMarkService) repository).count(module, minMark, maxMark);
+        }
+        return stream().count();
+    }
+}
@@ -0,0 +1,81 @@
+package query;
+
+import group.Group;
+import group.GroupName;
+import student.Student;
+import student.StudentListener;
+import student.StudentRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ids of the students of each group in the order they joined it, kept up to date as a
+ * StudentListener. Only ids are kept, the students themselves are read from the repository
+ * so a query never returns an outdated copy. Safe to register on ConcurrentStudentService.
+ */
+public class StudentIndex implements StudentListener {
+    private final Map<GroupName, Set<Integer>> idsByGroup;
+
+    public StudentIndex() {
+        Map<GroupName, Set<Integer>> groups = new EnumMap<>(GroupName.class);
+        for (GroupName name : GroupName.values()) {
+            groups.put(name, new LinkedHashSet<>());
+        }
+        this.idsByGroup = Collections.unmodifiableMap(groups);
+    }
+
+    // indexes the students already in the repository and registers for the next ones
+    public static StudentIndex attach(StudentRepository studentRepository) {
+        if (studentRepository == null) {
+            throw new IllegalArgumentException("Student repository cannot be null");
+        }
+        StudentIndex index = new StudentIndex();
+        studentRepository.streamStudents().forEach(index::studentSaved);
+        studentRepository.addListener(index);
+        return index;
+    }
+
+    private static GroupName reference(Group group) {
+        return group != null ? group.getReference() : null;
+    }
+
+    @Override
+    public synchronized void studentSaved(Student student) {
+        GroupName group = reference(student.getGroup());
+        if (group != null && student.getId() != null) {
+            idsByGroup.get(group).add(student.getId());
+        }
+    }
+
+    @Override
+    public synchronized void studentGroupChanged(Student student, Group previousGroup) {
+        GroupName previous = reference(previousGroup);
+        if (previous != null) {
+            idsByGroup.get(previous).remove(student.getId());
+        }
+        studentSaved(student);
+    }
+
+    @Override
+    public synchronized void studentDeleted(Student student) {
+        GroupName group = reference(student.getGroup());
+        if (group != null) {
+            idsByGroup.get(group).remove(student.getId());
+        }
+    }
+
+    public synchronized int count(GroupName group) {
+        return idsByGroup.get(group).size();
+    }
+
+    // a copy of the ids of the group, which is all the query reads under the lock
+    public synchronized List<Integer> ids(GroupName group) {
+        return new ArrayList<>(idsByGroup.get(group));
+    }
+}
@@ -0,0 +1,142 @@
+package query;
+
+import group.Group;
+import group.GroupName;
+import student.Student;
+import student.StudentRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ad-hoc query over the students of a StudentRepository, e.g. the students of MSIR born
+ * after 2000:
+ * <pre>
+ * StudentQuery.from(studentRepository).using(index).group(GroupName.MSIR).bornAfter(LocalDate.of(2000, 12, 31)).list()
+ * </pre>
+ * With a StudentIndex and a group the ids of the group are read from the index and each
+ * student from findById, a student deleted in between is left out. Otherwise the students
+ * are read from streamStudents(). The dates are checked on each student.
+ */
+public class StudentQuery {
+    private final StudentRepository repository;
+    private StudentIndex index;
+    private GroupName group;
+    private LocalDate bornAfter;
+    private LocalDate bornBefore;
+
+    private StudentQuery(StudentRepository repository) {
+        this.repository = repository;
+    }
+
+    public static StudentQuery from(StudentRepository repository) {
+        if (repository == null) {
+            throw new IllegalArgumentException("Student repository cannot be null");
+        }
+        return new StudentQuery(repository);
+    }
+
+    // lets the query read the StudentIndex, which must be attached to the same repository
+    public StudentQuery using(StudentIndex index) {
+        if (index == null) {
+            throw new IllegalArgumentException("Index cannot be null");
+        }
+        this.index = index;
+        return this;
+    }
+
+    public StudentQuery group(GroupName group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group cannot be null");
+        }
+        this.group = group;
+        return this;
+    }
+
+    // born strictly after the date
+    public StudentQuery bornAfter(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        this.bornAfter = date;
+        return this;
+    }
+
+    // born strictly before the date
+    public StudentQuery bornBefore(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        this.bornBefore = date;
+        return this;
+    }
+
+    private boolean indexed() {
+        return index != null && group != null;
+    }
+
+    // e.g. "StudentIndex(MSIR) where born after 2000-12-31"
+    public String explain() {
+        List<String> conditions = new ArrayList<>();
+        if (group != null && !indexed()) {
+            conditions.add("group = " + group);
+        }
+        if (bornAfter != null) {
+            conditions.add("born after " + bornAfter);
+        }
+        if (bornBefore != null) {
+            conditions.add("born before " + bornBefore);
+        }
+        String plan = indexed() ? "StudentIndex(" + group + ")" : "streamStudents()";
+        return conditions.isEmpty() ? plan : plan + " where " + String.join(" and ", conditions);
+    }
+
+    private Predicate<Student> filter() {
+        Predicate<Student> filter = student -> true;
+        if (group != null && !indexed()) {
+            filter = filter.and(student -> {
+                Group studentGroup = student.getGroup();
+                return studentGroup != null && studentGroup.getReference() == group;
+            });
+        }
+        if (bornAfter != null) {
+            filter = filter.and(student -> student.getDateBirth() != null && student.getDateBirth().isAfter(bornAfter));
+        }
+        if (bornBefore != null) {
+            filter = filter.and(student -> student.getDateBirth() != null && student.getDateBirth().isBefore(bornBefore));
+        }
+        return filter;
+    }
+
+    public Stream<Student> stream() {
+        Stream<Student> students = indexed()
+                ? index.ids(group).stream().map(this::findOrNull).filter(Objects::nonNull)
+                : repository.streamStudents();
+        return students.filter(filter());
+    }
+
+    private Student findOrNull(Integer id) {
+        try {
+            return repository.findById(id);
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    public List<Student> list() {
+        return stream().collect(Collectors.toList());
+    }
+
+    // the index counts the group alone without reading the students
+    public long count() {
+        if (indexed() && bornAfter == null && bornBefore == null) {
+            return index.count(group);
+        }
+        return stream().count();
+    }
+}
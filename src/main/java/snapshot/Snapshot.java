@@ -0,0 +1,266 @@
+package snapshot;
+
+import group.Group;
+import group.GroupName;
+import mark.Mark;
+import module.Module;
+import module.ModuleName;
+import student.Student;
+import teacher.Grade;
+import teacher.Teacher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static snapshot.SnapshotFormat.*;
+
+/**
+ * Read-only view of a snapshot file written by SnapshotWriter, mapped in memory when it is opened.
+ * Only the header, the groups and the modules are read at that time, a student or a teacher is
+ * decoded the first time it is asked for and then kept, so the same object is returned afterwards.
+ * Marks are decoded on every call, like in ColumnarMarkService.
+ * Students and teachers come in id order and are found by id with a binary search.
+ * It can be read from several threads.
+ */
+public class Snapshot {
+    private static final GroupName[] GROUP_NAMES = GroupName.values();
+    private static final ModuleName[] MODULE_NAMES = ModuleName.values();
+    private static final Grade[] GRADES = Grade.values();
+
+    private final ByteBuffer buffer;
+    private final int version;
+    private final int[] offsets = new int[SECTIONS];
+    private final int[] counts = new int[SECTIONS];
+
+    private final List<Group> groups;
+    private final List<Module> modules;
+    private final AtomicReferenceArray<Student> students;
+    private final AtomicReferenceArray<Teacher> teachers;
+    // groups and modules written by reference, the first one of each reference
+    private final Group[] groupsByOrdinal = new Group[GROUP_NAMES.length];
+    private final Module[] modulesByOrdinal = new Module[MODULE_NAMES.length];
+
+    private Snapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a snapshot file");
+        }
+        this.version = buffer.getShort(Integer.BYTES);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        }
+        int position = Integer.BYTES + 2 * Short.BYTES;
+        for (int section = 0; section < SECTIONS; section++) {
+            offsets[section] = buffer.getInt(position);
+            counts[section] = buffer.getInt(position + Integer.BYTES);
+            position += 2 * Integer.BYTES;
+            if (offsets[section] < HEADER_SIZE || counts[section] < 0
+                    || offsets[section] + (long) counts[section] * RECORD_SIZES[section] > buffer.limit()) {
+                throw new IllegalArgumentException("Snapshot file is truncated or corrupted");
+            }
+        }
+
+        this.groups = Collections.unmodifiableList(readGroups());
+        this.modules = Collections.unmodifiableList(readModules());
+        this.students = new AtomicReferenceArray<>(counts[STUDENTS]);
+        this.teachers = new AtomicReferenceArray<>(counts[TEACHERS]);
+    }
+
+    public static Snapshot open(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        // the mapping stays valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new Snapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open snapshot " + file, e);
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    private List<Group> readGroups() {
+        List<Group> list = new ArrayList<>(counts[GROUPS]);
+        for (int i = 0; i < counts[GROUPS]; i++) {
+            int record = offsets[GROUPS] + i * GROUP_SIZE;
+            GroupName reference = enumAt(GROUP_NAMES, buffer.get(record));
+            Group group = new Group(reference);
+            group.setNumberStudent(intAt(record + 1));
+            list.add(group);
+            if (reference != null && groupsByOrdinal[reference.ordinal()] == null) {
+                groupsByOrdinal[reference.ordinal()] = group;
+            }
+        }
+        return list;
+    }
+
+    private List<Module> readModules() {
+        List<Module> list = new ArrayList<>(counts[MODULES]);
+        for (int i = 0; i < counts[MODULES]; i++) {
+            int record = offsets[MODULES] + i * MODULE_SIZE;
+            ModuleName reference = enumAt(MODULE_NAMES, buffer.get(record));
+            Module module = new Module(reference, stringAt(buffer.getInt(record + 1)), intAt(record + 5));
+            list.add(module);
+            if (reference != null && modulesByOrdinal[reference.ordinal()] == null) {
+                modulesByOrdinal[reference.ordinal()] = module;
+            }
+        }
+        return list;
+    }
+
+    public List<Group> groups() {
+        return groups;
+    }
+
+    public Group findGroup(GroupName reference) {
+        return reference != null ? groupsByOrdinal[reference.ordinal()] : null;
+    }
+
+    public List<Module> modules() {
+        return modules;
+    }
+
+    public Module findModule(ModuleName reference) {
+        return reference != null ? modulesByOrdinal[reference.ordinal()] : null;
+    }
+
+    public int studentCount() {
+        return counts[STUDENTS];
+    }
+
+    public Student student(int index) {
+        Student student = students.get(index);
+        if (student == null) {
+            int record = offsets[STUDENTS] + index * STUDENT_SIZE;
+            int epochDay = buffer.getInt(record + 2 * Integer.BYTES);
+            student = new Student(buffer.getInt(record), stringAt(buffer.getInt(record + Integer.BYTES)),
+                    epochDay != NULL_INT ? LocalDate.ofEpochDay(epochDay) : null,
+                    findGroup(enumAt(GROUP_NAMES, buffer.get(record + 3 * Integer.BYTES))));
+            if (!students.compareAndSet(index, null, student)) {
+                student = students.get(index);
+            }
+        }
+        return student;
+    }
+
+    // returns null when no student has this id
+    public Student findStudentById(int id) {
+        int index = search(STUDENTS, STUDENT_SIZE, id);
+        return index >= 0 ? student(index) : null;
+    }
+
+    public Stream<Student> streamStudents() {
+        return IntStream.range(0, studentCount()).mapToObj(this::student);
+    }
+
+    public int teacherCount() {
+        return counts[TEACHERS];
+    }
+
+    public Teacher teacher(int index) {
+        Teacher teacher = teachers.get(index);
+        if (teacher == null) {
+            int record = offsets[TEACHERS] + index * TEACHER_SIZE;
+            int lists = offsets[HEAP] + buffer.getInt(record + 2 * Integer.BYTES + 1);
+            int moduleCount = buffer.getShort(lists);
+            List<Module> listModules = null;
+            if (moduleCount >= 0) {
+                listModules = new ArrayList<>(moduleCount);
+                for (int i = 0; i < moduleCount; i++) {
+                    listModules.add(findModule(enumAt(MODULE_NAMES, buffer.get(lists + Short.BYTES + i))));
+                }
+            }
+            lists += Short.BYTES + Math.max(moduleCount, 0);
+            int groupCount = buffer.getShort(lists);
+            List<Group> listGroups = null;
+            if (groupCount >= 0) {
+                listGroups = new ArrayList<>(groupCount);
+                for (int i = 0; i < groupCount; i++) {
+                    listGroups.add(findGroup(enumAt(GROUP_NAMES, buffer.get(lists + Short.BYTES + i))));
+                }
+            }
+            teacher = new Teacher(buffer.getInt(record), stringAt(buffer.getInt(record + Integer.BYTES)),
+                    enumAt(GRADES, buffer.get(record + 2 * Integer.BYTES)), listModules, listGroups);
+            if (!teachers.compareAndSet(index, null, teacher)) {
+                teacher = teachers.get(index);
+            }
+        }
+        return teacher;
+    }
+
+    // returns null when no teacher has this id
+    public Teacher findTeacherById(int id) {
+        int index = search(TEACHERS, TEACHER_SIZE, id);
+        return index >= 0 ? teacher(index) : null;
+    }
+
+    public Stream<Teacher> streamTeachers() {
+        return IntStream.range(0, teacherCount()).mapToObj(this::teacher);
+    }
+
+    public int markCount() {
+        return counts[MARKS];
+    }
+
+    public Mark mark(int index) {
+        int record = offsets[MARKS] + index * MARK_SIZE;
+        return new Mark(findStudentById(buffer.getInt(record)), (int) buffer.get(record + Integer.BYTES + 1),
+                findModule(enumAt(MODULE_NAMES, buffer.get(record + Integer.BYTES))));
+    }
+
+    public Stream<Mark> streamMarks() {
+        return IntStream.range(0, markCount()).mapToObj(this::mark);
+    }
+
+    // binary search on the id, the first int of each record of the section
+    private int search(int section, int recordSize, int id) {
+        int low = 0;
+        int high = counts[section] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = buffer.getInt(offsets[section] + middle * recordSize);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private Integer intAt(int position) {
+        int value = buffer.getInt(position);
+        return value != NULL_INT ? value : null;
+    }
+
+    private String stringAt(int heapOffset) {
+        if (heapOffset < 0) {
+            return null;
+        }
+        int position = offsets[HEAP] + heapOffset;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static <E> E enumAt(E[] values, byte ordinal) {
+        return ordinal >= 0 && ordinal < values.length ? values[ordinal] : null;
+    }
+}
@@ -0,0 +1,46 @@
+package snapshot;
+
+/**
+ * Layout of a snapshot file, every number is big-endian.
+ * The header holds the magic number, the format version and the offset and count of each section.
+ * Sections are arrays of fixed size records so record i is found without reading the ones before it,
+ * names and teacher lists are stored in a heap section and referenced by their offset in it.
+ * <pre>
+ * group   : byte reference ordinal, int number of students
+ * module  : byte reference ordinal, int name, int number of hours
+ * student : int id, int name, int date of birth as epoch day, byte group ordinal   (sorted by id)
+ * teacher : int id, int name, byte grade ordinal, int lists                        (sorted by id)
+ * mark    : int student id, byte module ordinal, byte mark
+ * heap    : names as int length + UTF-8 bytes,
+ *           teacher lists as short count + module ordinals, short count + group ordinals
+ * </pre>
+ * Missing values are written as -1, or NULL_INT for the numbers.
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x534E4150; // "SNAP"
+    static final short VERSION = 1;
+
+    static final int GROUPS = 0;
+    static final int MODULES = 1;
+    static final int STUDENTS = 2;
+    static final int TEACHERS = 3;
+    static final int MARKS = 4;
+    static final int HEAP = 5;
+    static final int SECTIONS = 6;
+
+    // magic, version, unused short, then an offset and a count per section
+    static final int HEADER_SIZE = Integer.BYTES + 2 * Short.BYTES + SECTIONS * 2 * Integer.BYTES;
+
+    static final int GROUP_SIZE = 1 + Integer.BYTES;
+    static final int MODULE_SIZE = 1 + 2 * Integer.BYTES;
+    static final int STUDENT_SIZE = 3 * Integer.BYTES + 1;
+    static final int TEACHER_SIZE = 3 * Integer.BYTES + 1;
+    static final int MARK_SIZE = Integer.BYTES + 2;
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    static final int[] RECORD_SIZES = {GROUP_SIZE, MODULE_SIZE, STUDENT_SIZE, TEACHER_SIZE, MARK_SIZE, 1};
+
+    private SnapshotFormat() {
+    }
+}
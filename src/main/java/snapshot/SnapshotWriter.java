@@ -0,0 +1,231 @@
+package snapshot;
+
+import group.Group;
+import group.GroupRepository;
+import mark.Mark;
+import mark.MarkRepository;
+import module.Module;
+import module.ModuleRepository;
+import student.Student;
+import student.StudentRepository;
+import teacher.Teacher;
+import teacher.TeacherRepository;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static snapshot.SnapshotFormat.*;
+
+/**
+ * Writes the content of the five repositories to a snapshot file, see SnapshotFormat.
+ * The file is written next to the target under a temporary name, forced to disk and then moved
+ * over the target in one step, so a reader sees either the previous snapshot or the new one.
+ * Groups, modules and students only referenced by a teacher or a mark are written too.
+ */
+public final class SnapshotWriter {
+
+    private SnapshotWriter() {
+    }
+
+    public static void write(Path target, GroupRepository groupRepository, ModuleRepository moduleRepository,
+                             StudentRepository studentRepository, TeacherRepository teacherRepository,
+                             MarkRepository markRepository) {
+        if (target == null || groupRepository == null || moduleRepository == null
+                || studentRepository == null || teacherRepository == null || markRepository == null) {
+            throw new IllegalArgumentException("Target and repositories cannot be null");
+        }
+
+        List<Group> groups = new ArrayList<>(groupRepository.allGroups());
+        List<Module> modules = new ArrayList<>(moduleRepository.allModules());
+        Map<Integer, Student> students = new HashMap<>();
+        studentRepository.streamStudents().forEach(student -> students.put(student.getId(), student));
+        List<Teacher> teachers = new ArrayList<>(teacherRepository.allTeachers());
+        List<Mark> marks = markRepository.allMarks();
+
+        for (Student student : students.values()) {
+            addGroup(groups, student.getGroup());
+        }
+        for (Teacher teacher : teachers) {
+            if (teacher.getId() == null) {
+                throw new IllegalArgumentException("Teacher ID cannot be null");
+            }
+            if (teacher.getListModules() != null) {
+                teacher.getListModules().forEach(module -> addModule(modules, module));
+            }
+            if (teacher.getListGroup() != null) {
+                teacher.getListGroup().forEach(group -> addGroup(groups, group));
+            }
+        }
+        for (Mark mark : marks) {
+            Student student = mark.getStudent();
+            if (student.getId() == null) {
+                throw new IllegalArgumentException("Student ID of a mark cannot be null");
+            }
+            if (students.putIfAbsent(student.getId(), student) == null) {
+                addGroup(groups, student.getGroup());
+            }
+            addModule(modules, mark.getModule());
+        }
+
+        List<Student> sortedStudents = new ArrayList<>(students.values());
+        sortedStudents.sort(Comparator.comparing(Student::getId));
+        teachers.sort(Comparator.comparing(Teacher::getId));
+
+        Path temporary = null;
+        try {
+            Path directory = target.toAbsolutePath().getParent();
+            temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+                writeSections(out, groups, modules, sortedStudents, teachers, marks);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        } finally {
+            deleteQuietly(temporary);
+        }
+    }
+
+    private static void addGroup(List<Group> groups, Group group) {
+        if (group != null && group.getReference() != null && groups.stream()
+                .noneMatch(saved -> saved.getReference() == group.getReference())) {
+            groups.add(group);
+        }
+    }
+
+    private static void addModule(List<Module> modules, Module module) {
+        if (module != null && module.getReference() != null && modules.stream()
+                .noneMatch(saved -> saved.getReference() == module.getReference())) {
+            modules.add(module);
+        }
+    }
+
+    private static void writeSections(DataOutputStream out, List<Group> groups, List<Module> modules,
+                                      List<Student> students, List<Teacher> teachers, List<Mark> marks)
+            throws IOException {
+        ByteArrayOutputStream heapBytes = new ByteArrayOutputStream();
+        DataOutputStream heap = new DataOutputStream(heapBytes);
+
+        int[] counts = {groups.size(), modules.size(), students.size(), teachers.size(), marks.size(), 0};
+        int[] offsets = new int[SECTIONS];
+        long offset = HEADER_SIZE;
+        for (int section = 0; section < HEAP; section++) {
+            offsets[section] = (int) offset;
+            offset += (long) counts[section] * RECORD_SIZES[section];
+        }
+        offsets[HEAP] = (int) offset;
+
+        // records are written after the header, the heap is filled on the way and written last
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream records = new DataOutputStream(recordBytes);
+        for (Group group : groups) {
+            records.writeByte(ordinal(group.getReference()));
+            records.writeInt(intOrNull(group.getNumberStudent()));
+        }
+        for (Module module : modules) {
+            records.writeByte(ordinal(module.getReference()));
+            records.writeInt(string(heap, module.getName()));
+            records.writeInt(intOrNull(module.getNumberHours()));
+        }
+        for (Student student : students) {
+            records.writeInt(student.getId());
+            records.writeInt(string(heap, student.getFullName()));
+            records.writeInt(student.getDateBirth() != null ? (int) student.getDateBirth().toEpochDay() : NULL_INT);
+            records.writeByte(student.getGroup() != null ? ordinal(student.getGroup().getReference()) : -1);
+        }
+        for (Teacher teacher : teachers) {
+            records.writeInt(teacher.getId());
+            records.writeInt(string(heap, teacher.getFullName()));
+            records.writeByte(ordinal(teacher.getGrade()));
+            records.writeInt(lists(heap, teacher));
+        }
+        for (Mark mark : marks) {
+            records.writeInt(mark.getStudent().getId());
+            records.writeByte(ordinal(mark.getModule().getReference()));
+            records.writeByte(mark.getMark());
+        }
+        counts[HEAP] = heap.size();
+        if (offset + heap.size() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Snapshot cannot be larger than 2 GB");
+        }
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(0);
+        for (int section = 0; section < SECTIONS; section++) {
+            out.writeInt(offsets[section]);
+            out.writeInt(counts[section]);
+        }
+        recordBytes.writeTo(out);
+        heapBytes.writeTo(out);
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value != null ? value.ordinal() : -1;
+    }
+
+    private static int intOrNull(Integer value) {
+        return value != null ? value : NULL_INT;
+    }
+
+    // writes the string to the heap and returns its offset, -1 for null
+    private static int string(DataOutputStream heap, String value) throws IOException {
+        if (value == null) {
+            return -1;
+        }
+        int offset = heap.size();
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        heap.writeInt(bytes.length);
+        heap.write(bytes);
+        return offset;
+    }
+
+    // writes the module and group ordinals of the teacher, a count of -1 stands for a null list
+    private static int lists(DataOutputStream heap, Teacher teacher) throws IOException {
+        int offset = heap.size();
+        List<Module> modules = teacher.getListModules();
+        heap.writeShort(modules != null ? modules.size() : -1);
+        if (modules != null) {
+            for (Module module : modules) {
+                heap.writeByte(module != null ? ordinal(module.getReference()) : -1);
+            }
+        }
+        List<Group> groups = teacher.getListGroup();
+        heap.writeShort(groups != null ? groups.size() : -1);
+        if (groups != null) {
+            for (Group group : groups) {
+                heap.writeByte(group != null ? ordinal(group.getReference()) : -1);
+            }
+        }
+        return offset;
+    }
+
+    private static void deleteQuietly(Path temporary) {
+        if (temporary == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporary);
+        } catch (IOException ignored) {
+            // only a leftover temporary file
+        }
+    }
+}
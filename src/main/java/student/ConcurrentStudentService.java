@@ -0,0 +1,153 @@
+package student;
+
+import exception.BatchException;
+import group.Group;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe StudentRepository. Reads never lock, writes only lock the map bin of the id.
+ * An update replaces the stored Student with a new object so a reader sees either the old
+ * or the new state, never a mix; references to the previous object keep the previous state.
+ * saveAll() validates the batch before inserting it; a concurrent insert of one of its ids
+ * rolls back the rows already inserted, so readers may briefly see part of a rejected batch.
+ * allStudents() returns the students in no particular order.
+ */
+public class ConcurrentStudentService implements StudentRepository {
+    private final ConcurrentMap<Integer, Student> students;
+    private final List<StudentListener> listeners;
+
+    public ConcurrentStudentService() {
+        this.students = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void saveStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        String error = StudentService.validate(id, fullName, dateOfBirth, group);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        Student student = new Student(id, fullName, dateOfBirth, group);
+        if (students.putIfAbsent(id, student) != null) {
+            throw new IllegalArgumentException("Student with ID " + id + " already exists");
+        }
+        for (StudentListener listener : listeners) {
+            listener.studentSaved(student);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Student> students) {
+        StudentService.checkBatch(students, this.students.keySet());
+
+        List<Student> inserted = new ArrayList<>(students.size());
+        int row = 0;
+        for (Student student : students) {
+            if (this.students.putIfAbsent(student.getId(), student) != null) {
+                for (Student saved : inserted) {
+                    this.students.remove(saved.getId(), saved);
+                }
+                throw new BatchException(Collections.singletonMap(row,
+                        "Student with ID " + student.getId() + " already exists"), students.size());
+            }
+            inserted.add(student);
+            row++;
+        }
+        for (Student student : inserted) {
+            for (StudentListener listener : listeners) {
+                listener.studentSaved(student);
+            }
+        }
+    }
+
+    @Override
+    public void deleteStudent(Integer idStudent) {
+        StudentService.checkId(idStudent);
+
+        Student student = students.remove(idStudent);
+        if (student == null) {
+            throw new IndexOutOfBoundsException("Student with ID " + idStudent + " not found");
+        }
+        for (StudentListener listener : listeners) {
+            listener.studentDeleted(student);
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<Integer> ids) {
+        StudentService.checkDeleteBatch(ids, students.keySet());
+
+        // a student deleted by another thread in the meantime is left out
+        List<Student> deleted = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Student student = students.remove(id);
+            if (student != null) {
+                deleted.add(student);
+            }
+        }
+        for (StudentListener listener : listeners) {
+            listener.studentsDeleted(deleted);
+        }
+    }
+
+    @Override
+    public Student findById(Integer id) {
+        StudentService.checkId(id);
+        Student student = students.get(id);
+        if (student == null) {
+            throw new IndexOutOfBoundsException("Student with ID " + id + " not found");
+        }
+        return student;
+    }
+
+    @Override
+    public void updateStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        String error = StudentService.validateUpdate(id, fullName, dateOfBirth, group);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        Student[] previous = new Student[1];
+        Student updated = students.computeIfPresent(id, (key, student) -> {
+            previous[0] = student;
+            return new Student(id, fullName, dateOfBirth, group);
+        });
+        if (updated == null) {
+            throw new IndexOutOfBoundsException("Student with ID " + id + " not found");
+        }
+        Group previousGroup = previous[0].getGroup();
+        if (previousGroup != group) {
+            for (StudentListener listener : listeners) {
+                listener.studentGroupChanged(updated, previousGroup);
+            }
+        }
+    }
+
+    @Override
+    public List<Student> allStudents() {
+        return new ArrayList<>(students.values());
+    }
+
+    @Override
+    public Stream<Student> streamStudents() {
+        return students.values().stream();
+    }
+
+    @Override
+    public void addListener(StudentListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,19 @@
+package student;
+
+import group.Group;
+
+import java.util.List;
+
+// notified by a StudentRepository after each change of its students
+public interface StudentListener {
+    void studentSaved(Student student);
+    void studentGroupChanged(Student student, Group previousGroup);
+    void studentDeleted(Student student);
+
+    // students deleted together by deleteAll, override it to handle them in one pass
+    default void studentsDeleted(List<Student> students) {
+        for (Student student : students) {
+            studentDeleted(student);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package student;
+
+import group.GroupName;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable student, safe to share between threads and to keep in hash structures.
+ * The id is a primitive and the group is held by its name, the head-count of a group
+ * changes with every save and stays on Group. Two records are equal when their ids are,
+ * whatever their other fields, and the id is the hash itself so there is nothing to recompute.
+ * Only the id is checked here, the other rules stay with StudentService.validate.
+ */
+public record StudentRecord(int id, String fullName, LocalDate dateBirth, GroupName group) {
+
+    public StudentRecord {
+        if (id < 0) {
+            throw new IllegalArgumentException("Student ID cannot be negative");
+        }
+    }
+
+    public static StudentRecord from(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("Student cannot be null");
+        }
+        StudentService.checkId(student.getId());
+        return new StudentRecord(student.getId(), student.getFullName(), student.getDateBirth(),
+                student.getGroup() != null ? student.getGroup().getReference() : null);
+    }
+
+    public StudentRecord withFullName(String fullName) {
+        return new StudentRecord(id, fullName, dateBirth, group);
+    }
+
+    public StudentRecord withGroup(GroupName group) {
+        return new StudentRecord(id, fullName, dateBirth, group);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof StudentRecord student && student.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+}
@@ -2,11 +2,21 @@ package student;
 
 import group.Group;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 public interface StudentRepository {
     void saveStudent(Integer id,String fullName, LocalDate dateOfBirth, Group group);
+    // saves every student or none of them, throws exception.BatchException listing the invalid rows
+    void saveAll(Collection<Student> students);
     void deleteStudent(Integer idStudent);
+    // deletes every student or none of them, throws exception.BatchException listing the unknown ids
+    void deleteAll(Collection<Integer> ids);
     Student findById(Integer id);
     void updateStudent(Integer id,String fullName, LocalDate dateOfBirth, Group group);
     List<Student> allStudents();
+    // reads the students in place, without copying them into a new list
+    Stream<Student> streamStudents();
+    // the listener is told about every later save, group change and delete
+    void addListener(StudentListener listener);
 }
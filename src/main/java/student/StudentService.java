@@ -1,92 +1,103 @@
 package student;
 
+import exception.BatchException;
 import group.Group;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class StudentService implements StudentRepository {
-    private List<Student> listStudent;
+    // students indexed by id, kept in insertion order for allStudents()
+    private Map<Integer, Student> studentsById;
+    private List<StudentListener> listeners;
 
     public StudentService() {
-        listStudent = new ArrayList<>();
+        studentsById = new LinkedHashMap<>();
+        listeners = new ArrayList<>();
     }
 
     @Override
     public void saveStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
-        // Validate ID
-        if (id == null) {
-            throw new IllegalArgumentException("Student ID cannot be null");
-        }
-        if (id < 0) {
-            throw new IllegalArgumentException("Student ID cannot be negative");
+        String error = validate(id, fullName, dateOfBirth, group);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
 
-        // Validate name
-        if (fullName == null || fullName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Student name cannot be null or empty");
+        // Check for duplicate ID
+        if (studentsById.containsKey(id)) {
+            throw new IllegalArgumentException("Student with ID " + id + " already exists");
         }
 
-        // Validate date of birth
-        if (dateOfBirth == null) {
-            throw new IllegalArgumentException("Date of birth cannot be null");
+        Student student = new Student(id, fullName, dateOfBirth, group);
+        studentsById.put(id, student);
+        for (StudentListener listener : listeners) {
+            listener.studentSaved(student);
         }
+    }
 
-        // Check if date is in the future
-        if (dateOfBirth.isAfter(LocalDate.now())) {
-            throw new IllegalArgumentException("Date of birth cannot be in the future");
-        }
+    @Override
+    public void saveAll(Collection<Student> students) {
+        checkBatch(students, studentsById.keySet());
 
-        // Check if date is too far in the past (more than 100 years)
-        if (dateOfBirth.isBefore(LocalDate.now().minusYears(80))) {
-            throw new IllegalArgumentException("Date of birth cannot be more than 80 years ago");
+        for (Student student : students) {
+            studentsById.put(student.getId(), student);
         }
-
-        // Validate group
-        if (group == null) {
-            throw new IllegalArgumentException("Student group cannot be null");
+        for (Student student : students) {
+            for (StudentListener listener : listeners) {
+                listener.studentSaved(student);
+            }
         }
-
-        Student student = new Student(id, fullName, dateOfBirth, group);
-        listStudent.add(student);
     }
 
     @Override
     public void deleteStudent(Integer idStudent) {
-        if (idStudent == null) {
-            throw new IllegalArgumentException("Student ID cannot be null");
-        }
-        if (idStudent < 0) {
-            throw new IllegalArgumentException("Student ID cannot be negative");
-        }
+        checkId(idStudent);
 
-        Integer index = findIndexById(idStudent);
-        if (index == null) {
+        Student student = studentsById.remove(idStudent);
+        if (student == null) {
             throw new IndexOutOfBoundsException("Student with ID " + idStudent + " not found");
         }
-        listStudent.remove(index.intValue());
+        for (StudentListener listener : listeners) {
+            listener.studentDeleted(student);
+        }
     }
 
     @Override
-    public Student findById(Integer id) {
-    	if (id == null) {
-            throw new IllegalArgumentException("Student ID cannot be null");
+    public void deleteAll(Collection<Integer> ids) {
+        checkDeleteBatch(ids, studentsById.keySet());
+
+        List<Student> students = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            students.add(studentsById.remove(id));
         }
-    	
-    	if (id < 0) {
-            throw new IllegalArgumentException("Student ID cannot be negative");
+        for (StudentListener listener : listeners) {
+            listener.studentsDeleted(students);
         }
-        for (Student student : listStudent) {
-            if (student.getId().equals(id)) {
-                return student;
-            }
+    }
+
+    @Override
+    public Student findById(Integer id) {
+        checkId(id);
+        Student student = studentsById.get(id);
+        if (student == null) {
+            throw new IndexOutOfBoundsException("Student with ID " + id + " not found");
         }
-        throw new IndexOutOfBoundsException("Student with ID " + id + " not found");
+        return student;
     }
 
+    // position of the student in allStudents(), not used by lookups anymore
     public Integer findIndexById(Integer id) {
-        for (int i = 0; i < listStudent.size(); i++) {
-            if (listStudent.get(i).getId().equals(id)) {
+        Iterator<Integer> ids = studentsById.keySet().iterator();
+        for (int i = 0; ids.hasNext(); i++) {
+            if (ids.next().equals(id)) {
                 return i;
             }
         }
@@ -95,54 +106,170 @@ public class StudentService implements StudentRepository {
 
     @Override
     public void updateStudent(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
-        // Validate ID
+        String error = validateUpdate(id, fullName, dateOfBirth, group);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        Student student = findById(id);
+        Group previousGroup = student.getGroup();
+        student.setGroup(group);
+        student.setDateBirth(dateOfBirth);
+        student.setFullName(fullName);
+        if (previousGroup != group) {
+            for (StudentListener listener : listeners) {
+                listener.studentGroupChanged(student, previousGroup);
+            }
+        }
+    }
+
+    @Override
+    public List<Student> allStudents() {
+        return new ArrayList<>(studentsById.values());
+    }
+
+    @Override
+    public Stream<Student> streamStudents() {
+        return studentsById.values().stream();
+    }
+
+    @Override
+    public void addListener(StudentListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    // validates a delete batch in one pass, ids must be saved and appear once in the batch
+    static void checkDeleteBatch(Collection<Integer> ids, Set<Integer> savedIds) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        Set<Integer> batchIds = new HashSet<>(ids.size() * 2);
+        int row = 0;
+        for (Integer id : ids) {
+            if (id == null) {
+                rejectedRows.put(row, "Student ID cannot be null");
+            } else if (!savedIds.contains(id)) {
+                rejectedRows.put(row, "Student with ID " + id + " not found");
+            } else if (!batchIds.add(id)) {
+                rejectedRows.put(row, "Student ID " + id + " appears twice in the batch");
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, ids.size());
+        }
+    }
+
+    // validates a whole batch in one pass, ids must be new to the saved ones and to the rest of the batch
+    static void checkBatch(Collection<Student> students, Set<Integer> savedIds) {
+        if (students == null) {
+            throw new IllegalArgumentException("Students cannot be null");
+        }
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        Set<Integer> batchIds = new HashSet<>(students.size() * 2);
+        int row = 0;
+        for (Student student : students) {
+            String error = student == null ? "Student cannot be null"
+                    : validate(student.getId(), student.getFullName(), student.getDateBirth(), student.getGroup());
+            if (error == null && (savedIds.contains(student.getId()) || !batchIds.add(student.getId()))) {
+                error = "Student with ID " + student.getId() + " already exists";
+            }
+            if (error != null) {
+                rejectedRows.put(row, error);
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, students.size());
+        }
+    }
+
+    public static void checkId(Integer id) {
         if (id == null) {
             throw new IllegalArgumentException("Student ID cannot be null");
         }
+        if (id < 0) {
+            throw new IllegalArgumentException("Student ID cannot be negative");
+        }
+    }
+
+    // returns the reason a new student would be rejected, or null if it is valid
+    public static String validate(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        // Validate ID
+        if (id == null) {
+            return "Student ID cannot be null";
+        }
+        if (id < 0) {
+            return "Student ID cannot be negative";
+        }
+
+        // Validate name
+        if (fullName == null || fullName.trim().isEmpty()) {
+            return "Student name cannot be null or empty";
+        }
+
+        // Validate date of birth
+        if (dateOfBirth == null) {
+            return "Date of birth cannot be null";
+        }
+
+        // Check if date is in the future
+        if (dateOfBirth.isAfter(LocalDate.now())) {
+            return "Date of birth cannot be in the future";
+        }
+
+        // Check if date is too far in the past (more than 100 years)
+        if (dateOfBirth.isBefore(LocalDate.now().minusYears(80))) {
+            return "Date of birth cannot be more than 80 years ago";
+        }
+
+        // Validate group
+        if (group == null) {
+            return "Student group cannot be null";
+        }
+        return null;
+    }
+
+    // returns the reason an update would be rejected, or null if it is valid
+    public static String validateUpdate(Integer id, String fullName, LocalDate dateOfBirth, Group group) {
+        // Validate ID
+        if (id == null) {
+            return "Student ID cannot be null";
+        }
 
         // Validate name
         if (fullName == null) {
-            throw new IllegalArgumentException("Student name cannot be null");
+            return "Student name cannot be null";
         }
-        
+
         // Validate name
         if (fullName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Student name cannot be empty");
+            return "Student name cannot be empty";
         }
 
         // Validate date of birth
         if (dateOfBirth == null) {
-            throw new IllegalArgumentException("Date of birth cannot be null");
+            return "Date of birth cannot be null";
         }
 
         // Check if date is in the future
         if (dateOfBirth.isAfter(LocalDate.now())) {
-            throw new IllegalArgumentException("Date of birth cannot be in the future");
+            return "Date of birth cannot be in the future";
         }
 
         // Check if date is too far in the past (more than 99 years)
         if (dateOfBirth.isBefore(LocalDate.now().minusYears(99))) {
-            throw new IllegalArgumentException("Date of birth cannot be more than 99 years ago");
+            return "Date of birth cannot be more than 99 years ago";
         }
 
         // Validate group
         if (group == null) {
-            throw new IllegalArgumentException("Student group cannot be null");
+            return "Student group cannot be null";
         }
-
-        Student student = findById(id);
-        student.setGroup(group);
-        student.setDateBirth(dateOfBirth);
-        student.setFullName(fullName);
-
-        Integer index = findIndexById(id);
-        if (index != null) {
-            listStudent.set(index, student);
-        }
-    }
-
-    @Override
-    public List<Student> allStudents() {
-        return new ArrayList<>(listStudent);
+        return null;
     }
-}
\ No newline at end of file
+}
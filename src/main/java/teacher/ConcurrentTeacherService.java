@@ -0,0 +1,168 @@
+package teacher;
+
+import exception.BatchException;
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe TeacherRepository backed by a ConcurrentHashMap keyed by id.
+ * A teacher is added to and removed from the reverse indexes while its id is locked,
+ * so a save and a delete of the same id cannot leave a stale index entry.
+ * saveAll() rolls back the rows it inserted if a concurrent insert takes one of its ids.
+ * allTeachers() returns the teachers in no particular order.
+ */
+public class ConcurrentTeacherService implements TeacherRepository {
+    private final ConcurrentMap<Integer, Teacher> teachers;
+    private final ConcurrentMap<ModuleName, Set<Teacher>> teachersByModule;
+    private final ConcurrentMap<GroupName, Set<Teacher>> teachersByGroup;
+
+    public ConcurrentTeacherService() {
+        this.teachers = new ConcurrentHashMap<>();
+        this.teachersByModule = new ConcurrentHashMap<>();
+        this.teachersByGroup = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void saveTeacher(Integer id, String fullName, Grade grade,
+                            List<Module> listModules, List<Group> listGroup) {
+        String error = TeacherService.validate(id, fullName, grade);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        // Initialize empty lists if null
+        List<Module> modules = listModules != null ? listModules : new ArrayList<>();
+        List<Group> groups = listGroup != null ? listGroup : new ArrayList<>();
+
+        if (!add(new Teacher(id, fullName, grade, modules, groups))) {
+            throw new IllegalArgumentException("Teacher with ID " + id + " already exists");
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Teacher> teachers) {
+        List<Teacher> batch = TeacherService.checkBatch(teachers, this.teachers.keySet());
+
+        for (int row = 0; row < batch.size(); row++) {
+            Teacher teacher = batch.get(row);
+            if (!add(teacher)) {
+                for (Teacher saved : batch.subList(0, row)) {
+                    remove(saved.getId());
+                }
+                throw new BatchException(Collections.singletonMap(row,
+                        "Teacher with ID " + teacher.getId() + " already exists"), batch.size());
+            }
+        }
+    }
+
+    // returns false if the id is already taken
+    private boolean add(Teacher teacher) {
+        boolean[] added = new boolean[1];
+        teachers.compute(teacher.getId(), (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            for (Module module : teacher.getListModules()) {
+                if (module != null && module.getReference() != null) {
+                    teachersByModule.computeIfAbsent(module.getReference(),
+                            m -> ConcurrentHashMap.newKeySet()).add(teacher);
+                }
+            }
+            for (Group group : teacher.getListGroup()) {
+                if (group != null && group.getReference() != null) {
+                    teachersByGroup.computeIfAbsent(group.getReference(),
+                            g -> ConcurrentHashMap.newKeySet()).add(teacher);
+                }
+            }
+            added[0] = true;
+            return teacher;
+        });
+        return added[0];
+    }
+
+    // returns false if no teacher has this id
+    private boolean remove(Integer id) {
+        boolean[] removed = new boolean[1];
+        teachers.computeIfPresent(id, (key, teacher) -> {
+            // only the entries add() put the teacher in
+            for (Module module : teacher.getListModules()) {
+                if (module != null && module.getReference() != null) {
+                    teachersByModule.getOrDefault(module.getReference(), Set.of()).remove(teacher);
+                }
+            }
+            for (Group group : teacher.getListGroup()) {
+                if (group != null && group.getReference() != null) {
+                    teachersByGroup.getOrDefault(group.getReference(), Set.of()).remove(teacher);
+                }
+            }
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public List<Teacher> allTeachers() {
+        return new ArrayList<>(teachers.values());
+    }
+
+    @Override
+    public Stream<Teacher> streamTeachers() {
+        return teachers.values().stream();
+    }
+
+    @Override
+    public Teacher findById(Integer id) {
+        TeacherService.checkId(id);
+        Teacher teacher = teachers.get(id);
+        if (teacher == null) {
+            throw new IllegalArgumentException("Teacher with ID " + id + " not found");
+        }
+        return teacher;
+    }
+
+    @Override
+    public List<Teacher> findByModule(ModuleName module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module reference cannot be null");
+        }
+        return new ArrayList<>(teachersByModule.getOrDefault(module, Set.of()));
+    }
+
+    @Override
+    public List<Teacher> findByGroup(GroupName group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group reference cannot be null");
+        }
+        return new ArrayList<>(teachersByGroup.getOrDefault(group, Set.of()));
+    }
+
+    @Override
+    public List<Teacher> findByModuleAndGroup(ModuleName module, GroupName group) {
+        if (module == null || group == null) {
+            throw new IllegalArgumentException("Module and group references cannot be null");
+        }
+        return TeacherService.intersect(teachersByModule.getOrDefault(module, Set.of()),
+                teachersByGroup.getOrDefault(group, Set.of()));
+    }
+
+    @Override
+    public void deleteTeacher(Integer id) {
+        TeacherService.checkId(id);
+
+        if (!remove(id)) {
+            throw new IllegalArgumentException("Teacher with ID " + id + " not found");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package teacher;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable teacher, safe to share between threads and to keep in hash structures.
+ * The modules and groups are held by their names in unmodifiable lists, their details stay
+ * in the module and group repositories. Equal when the ids are, the id is the hash.
+ */
+public record TeacherRecord(int id, String fullName, Grade grade, List<ModuleName> modules, List<GroupName> groups) {
+
+    public TeacherRecord {
+        if (id < 0) {
+            throw new IllegalArgumentException("Teacher ID cannot be negative");
+        }
+        modules = modules != null ? List.copyOf(modules) : List.of();
+        groups = groups != null ? List.copyOf(groups) : List.of();
+    }
+
+    // modules and groups without a reference are left out
+    public static TeacherRecord from(Teacher teacher) {
+        if (teacher == null) {
+            throw new IllegalArgumentException("Teacher cannot be null");
+        }
+        TeacherService.checkId(teacher.getId());
+        List<ModuleName> modules = new ArrayList<>();
+        if (teacher.getListModules() != null) {
+            for (Module module : teacher.getListModules()) {
+                if (module != null && module.getReference() != null) {
+                    modules.add(module.getReference());
+                }
+            }
+        }
+        List<GroupName> groups = new ArrayList<>();
+        if (teacher.getListGroup() != null) {
+            for (Group group : teacher.getListGroup()) {
+                if (group != null && group.getReference() != null) {
+                    groups.add(group.getReference());
+                }
+            }
+        }
+        return new TeacherRecord(teacher.getId(), teacher.getFullName(), teacher.getGrade(), modules, groups);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TeacherRecord teacher && teacher.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+}
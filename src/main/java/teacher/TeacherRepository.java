@@ -1,12 +1,26 @@
 package teacher;
 
 import group.Group;
+import group.GroupName;
 import module.Module;
+import module.ModuleName;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TeacherRepository {
     void saveTeacher(Integer id, String fullName,
                      Grade grade, List<Module> listModules, List<Group> listGroup);
+    // saves every teacher or none of them, throws exception.BatchException listing the invalid rows
+    void saveAll(Collection<Teacher> teachers);
     List<Teacher>allTeachers();
+    // reads the teachers in place, without copying them into a new list
+    Stream<Teacher> streamTeachers();
+    Teacher findById(Integer id);
+    // teachers whose module list, or group list, held the reference when they were saved
+    List<Teacher> findByModule(ModuleName module);
+    List<Teacher> findByGroup(GroupName group);
+    // e.g. who teaches CRY to MIAD
+    List<Teacher> findByModuleAndGroup(ModuleName module, GroupName group);
     void  deleteTeacher(Integer id);
 }
@@ -1,80 +1,216 @@
 package teacher;
 
+import exception.BatchException;
 import group.Group;
+import group.GroupName;
 import module.Module;
+import module.ModuleName;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class TeacherService implements TeacherRepository {
-    List<Teacher> listTeachers;
+    // teachers indexed by id, kept in insertion order for allTeachers()
+    Map<Integer, Teacher> teachersById;
+    // reverse indexes built from the module and group lists given when the teacher was saved
+    private Map<ModuleName, Set<Teacher>> teachersByModule;
+    private Map<GroupName, Set<Teacher>> teachersByGroup;
 
     public TeacherService() {
-        this.listTeachers = new ArrayList<>();
+        this.teachersById = new LinkedHashMap<>();
+        this.teachersByModule = new EnumMap<>(ModuleName.class);
+        this.teachersByGroup = new EnumMap<>(GroupName.class);
     }
 
     @Override
     public void saveTeacher(Integer id, String fullName, Grade grade,
                             List<Module> listModules, List<Group> listGroup) {
-        // Validate ID
-        if (id == null) {
-            throw new IllegalArgumentException("Teacher ID cannot be null");
-        }
-        if (id < 0) {
-            throw new IllegalArgumentException("Teacher ID cannot be negative");
+        String error = validate(id, fullName, grade);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
 
         // Check for duplicate ID
-        for (Teacher teacher : listTeachers) {
-            if (teacher.getId().equals(id)) {
-                throw new IllegalArgumentException("Teacher with ID " + id + " already exists");
-            }
-        }
-
-        // Validate name
-        if (fullName == null || fullName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Teacher name cannot be null or empty");
-        }
-
-        // Validate grade
-        if (grade == null) {
-            throw new IllegalArgumentException("Grade cannot be null");
+        if (teachersById.containsKey(id)) {
+            throw new IllegalArgumentException("Teacher with ID " + id + " already exists");
         }
 
         // Initialize empty lists if null
         List<Module> modules = listModules != null ? listModules : new ArrayList<>();
         List<Group> groups = listGroup != null ? listGroup : new ArrayList<>();
 
-        Teacher teacher = new Teacher(id, fullName, grade, modules, groups);
-        listTeachers.add(teacher);
+        add(new Teacher(id, fullName, grade, modules, groups));
+    }
+
+    @Override
+    public void saveAll(Collection<Teacher> teachers) {
+        List<Teacher> batch = checkBatch(teachers, teachersById.keySet());
+
+        for (Teacher teacher : batch) {
+            add(teacher);
+        }
+    }
+
+    private void add(Teacher teacher) {
+        teachersById.put(teacher.getId(), teacher);
+        for (Module module : teacher.getListModules()) {
+            if (module != null && module.getReference() != null) {
+                teachersByModule.computeIfAbsent(module.getReference(), m -> new LinkedHashSet<>()).add(teacher);
+            }
+        }
+        for (Group group : teacher.getListGroup()) {
+            if (group != null && group.getReference() != null) {
+                teachersByGroup.computeIfAbsent(group.getReference(), g -> new LinkedHashSet<>()).add(teacher);
+            }
+        }
     }
 
     @Override
     public List<Teacher> allTeachers() {
-        return new ArrayList<>(listTeachers); // Return a copy to prevent modification
+        return new ArrayList<>(teachersById.values()); // Return a copy to prevent modification
+    }
+
+    @Override
+    public Stream<Teacher> streamTeachers() {
+        return teachersById.values().stream();
+    }
+
+    @Override
+    public Teacher findById(Integer id) {
+        checkId(id);
+        Teacher teacher = teachersById.get(id);
+        if (teacher == null) {
+            throw new IllegalArgumentException("Teacher with ID " + id + " not found");
+        }
+        return teacher;
+    }
+
+    @Override
+    public List<Teacher> findByModule(ModuleName module) {
+        if (module == null) {
+            throw new IllegalArgumentException("Module reference cannot be null");
+        }
+        return new ArrayList<>(teachersByModule.getOrDefault(module, Set.of()));
+    }
+
+    @Override
+    public List<Teacher> findByGroup(GroupName group) {
+        if (group == null) {
+            throw new IllegalArgumentException("Group reference cannot be null");
+        }
+        return new ArrayList<>(teachersByGroup.getOrDefault(group, Set.of()));
+    }
+
+    @Override
+    public List<Teacher> findByModuleAndGroup(ModuleName module, GroupName group) {
+        if (module == null || group == null) {
+            throw new IllegalArgumentException("Module and group references cannot be null");
+        }
+        return intersect(teachersByModule.getOrDefault(module, Set.of()),
+                teachersByGroup.getOrDefault(group, Set.of()));
     }
 
     @Override
     public void deleteTeacher(Integer id) {
-        // Validate ID
+        checkId(id);
+
+        Teacher teacher = teachersById.remove(id);
+        if (teacher == null) {
+            throw new IllegalArgumentException("Teacher with ID " + id + " not found");
+        }
+        // only the entries add() put the teacher in
+        for (Module module : teacher.getListModules()) {
+            if (module != null && module.getReference() != null) {
+                teachersByModule.getOrDefault(module.getReference(), Set.of()).remove(teacher);
+            }
+        }
+        for (Group group : teacher.getListGroup()) {
+            if (group != null && group.getReference() != null) {
+                teachersByGroup.getOrDefault(group.getReference(), Set.of()).remove(teacher);
+            }
+        }
+    }
+
+    // walks the smaller set and keeps the teachers also found in the other one
+    static List<Teacher> intersect(Set<Teacher> byModule, Set<Teacher> byGroup) {
+        Set<Teacher> smaller = byModule.size() <= byGroup.size() ? byModule : byGroup;
+        Set<Teacher> larger = smaller == byModule ? byGroup : byModule;
+        List<Teacher> teachers = new ArrayList<>();
+        for (Teacher teacher : smaller) {
+            if (larger.contains(teacher)) {
+                teachers.add(teacher);
+            }
+        }
+        return teachers;
+    }
+
+    // validates a whole batch in one pass and returns the teachers to save, with empty lists instead of null
+    static List<Teacher> checkBatch(Collection<Teacher> teachers, Set<Integer> savedIds) {
+        if (teachers == null) {
+            throw new IllegalArgumentException("Teachers cannot be null");
+        }
+        Map<Integer, String> rejectedRows = new HashMap<>();
+        Set<Integer> batchIds = new HashSet<>(teachers.size() * 2);
+        List<Teacher> batch = new ArrayList<>(teachers.size());
+        int row = 0;
+        for (Teacher teacher : teachers) {
+            String error = teacher == null ? "Teacher cannot be null"
+                    : validate(teacher.getId(), teacher.getFullName(), teacher.getGrade());
+            if (error == null && (savedIds.contains(teacher.getId()) || !batchIds.add(teacher.getId()))) {
+                error = "Teacher with ID " + teacher.getId() + " already exists";
+            }
+            if (error != null) {
+                rejectedRows.put(row, error);
+            } else {
+                List<Module> modules = teacher.getListModules() != null ? teacher.getListModules() : new ArrayList<>();
+                List<Group> groups = teacher.getListGroup() != null ? teacher.getListGroup() : new ArrayList<>();
+                batch.add(new Teacher(teacher.getId(), teacher.getFullName(), teacher.getGrade(), modules, groups));
+            }
+            row++;
+        }
+        if (!rejectedRows.isEmpty()) {
+            throw new BatchException(rejectedRows, teachers.size());
+        }
+        return batch;
+    }
+
+    public static void checkId(Integer id) {
         if (id == null) {
             throw new IllegalArgumentException("Teacher ID cannot be null");
         }
         if (id < 0) {
             throw new IllegalArgumentException("Teacher ID cannot be negative");
         }
+    }
 
-        boolean found = false;
-        for (int i = 0; i < listTeachers.size(); i++) {
-            if (listTeachers.get(i).getId().equals(id)) {
-                listTeachers.remove(i);
-                found = true;
-                break;
-            }
+    // returns the reason a teacher would be rejected, or null if it is valid
+    public static String validate(Integer id, String fullName, Grade grade) {
+        // Validate ID
+        if (id == null) {
+            return "Teacher ID cannot be null";
+        }
+        if (id < 0) {
+            return "Teacher ID cannot be negative";
         }
 
-        if (!found) {
-            throw new IllegalArgumentException("Teacher with ID " + id + " not found");
+        // Validate name
+        if (fullName == null || fullName.trim().isEmpty()) {
+            return "Teacher name cannot be null or empty";
+        }
+
+        // Validate grade
+        if (grade == null) {
+            return "Grade cannot be null";
         }
+        return null;
     }
-}
\ No newline at end of file
+}
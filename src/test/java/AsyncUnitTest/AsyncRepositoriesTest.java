@@ -0,0 +1,129 @@
+package AsyncUnitTest;
+
+import async.AsyncRepositories;
+import group.ConcurrentGroupService;
+import group.Group;
+import group.GroupName;
+import mark.ConcurrentMarkService;
+import mark.Mark;
+import module.ConcurrentModuleService;
+import module.Module;
+import module.ModuleName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import student.ConcurrentStudentService;
+import student.Student;
+import student.StudentListener;
+import teacher.ConcurrentTeacherService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class AsyncRepositoriesTest {
+    private ConcurrentStudentService studentService;
+    private ConcurrentMarkService markService;
+    private ConcurrentGroupService groupService;
+    private ConcurrentModuleService moduleService;
+    private AsyncRepositories async;
+
+    @Before
+    public void setUp() {
+        studentService = new ConcurrentStudentService();
+        markService = new ConcurrentMarkService();
+        groupService = new ConcurrentGroupService();
+        moduleService = new ConcurrentModuleService();
+        async = new AsyncRepositories(studentService, markService, groupService, moduleService,
+                new ConcurrentTeacherService());
+    }
+
+    @After
+    public void tearDown() {
+        async.close();
+    }
+
+    // ============= Fan-out Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFanOut_PageQueriesJoinedOnce() {
+        async.groups().saveGroup(GroupName.MSIR).join();
+        async.modules().saveModule(ModuleName.BDA, "base de donnees", 30).join();
+        Group msir = groupService.findByGroupName(GroupName.MSIR);
+        Module bda = moduleService.findByModuleName(ModuleName.BDA);
+        CompletableFuture.allOf(IntStream.rangeClosed(1, 50)
+                .mapToObj(id -> async.students().saveStudent(id, "Student" + id, LocalDate.of(1999, 1, 1), msir)
+                        .thenCompose(saved -> async.marks().createMark(studentService.findById(id), 5 + id % 16, bda)))
+                .toArray(CompletableFuture[]::new)).join();
+
+        CompletableFuture<List<Mark>> transcript = async.marks().findMarksByStudent(7);
+        CompletableFuture<List<Student>> roster = async.students().allStudents()
+                .thenApply(students -> students.stream()
+                        .filter(student -> student.getGroup() == msir).collect(Collectors.toList()));
+        CompletableFuture<Student> best = async.marks().bestMarkByModule(bda);
+        CompletableFuture.allOf(transcript, roster, best).join();
+
+        assertEquals(Integer.valueOf(12), transcript.join().get(0).getMark());
+        assertEquals(50, roster.join().size());
+        assertEquals(15, best.join().getId() % 16);
+    }
+
+    @Test
+    public void testCalls_RunOnVirtualThreads() {
+        AtomicBoolean virtual = new AtomicBoolean();
+        studentService.addListener(new StudentListener() {
+            @Override
+            public void studentSaved(Student student) {
+                virtual.set(Thread.currentThread().isVirtual());
+            }
+
+            @Override
+            public void studentGroupChanged(Student student, Group previousGroup) {
+            }
+
+            @Override
+            public void studentDeleted(Student student) {
+            }
+        });
+
+        async.students().saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MIAD)).join();
+        assertTrue(virtual.get());
+    }
+
+    // ============= Error Tests (Decision Table Testing) =============
+
+    @Test
+    public void testFailure_CompletesExceptionally() {
+        try {
+            async.marks().findMarksByStudent(null).join();
+            fail("Expected CompletionException");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testClose_LeavesGivenExecutorOpen() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new AsyncRepositories(studentService, markService, groupService, moduleService,
+                    new ConcurrentTeacherService(), executor).close();
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NullRepository() {
+        new AsyncRepositories(null, markService, groupService, moduleService, new ConcurrentTeacherService());
+    }
+}
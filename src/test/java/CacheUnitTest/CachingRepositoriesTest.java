@@ -0,0 +1,197 @@
+package CacheUnitTest;
+
+import cache.CachingMarkRepository;
+import cache.CachingModuleRepository;
+import cache.CachingStudentRepository;
+import cache.CachingTeacherRepository;
+import group.Group;
+import group.GroupName;
+import jdbc.Database;
+import jdbc.JdbcMarkRepository;
+import jdbc.JdbcModuleRepository;
+import jdbc.JdbcStudentRepository;
+import mark.Mark;
+import mark.MarkCascade;
+import module.Module;
+import module.ModuleName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import student.Student;
+import teacher.Grade;
+import teacher.TeacherService;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+// runs on the jdbc repositories, which build new objects on each read, so a stale entry shows
+public class CachingRepositoriesTest {
+    private Database database;
+    private CachingStudentRepository students;
+    private CachingModuleRepository modules;
+    private CachingMarkRepository marks;
+    private Group msir;
+    private Module bda;
+
+    @Before
+    public void setUp() {
+        database = Database.inMemory(UUID.randomUUID().toString());
+        students = new CachingStudentRepository(new JdbcStudentRepository(database), 100);
+        modules = new CachingModuleRepository(new JdbcModuleRepository(database), 100);
+        marks = new CachingMarkRepository(new JdbcMarkRepository(database), 100);
+        msir = new Group(GroupName.MSIR);
+        students.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        students.saveStudent(2, "Siddik", LocalDate.of(1999, 1, 2), msir);
+        modules.saveModule(ModuleName.BDA, "base de donnees", 30);
+        bda = modules.findByModuleName(ModuleName.BDA);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    // ============= Student Tests (State Transition Testing) =============
+
+    @Test
+    public void testFindById_SecondReadIsAHit() {
+        Student first = students.findById(1);
+
+        assertSame(first, students.findById(1));
+        assertEquals(1, students.findByIdCache().hits());
+        assertEquals(1, students.findByIdCache().misses());
+    }
+
+    @Test
+    public void testUpdateStudent_DropsTheEntry() {
+        students.findById(1);
+        students.updateStudent(1, "Berat B", LocalDate.of(1999, 1, 1), msir);
+
+        assertEquals("Berat B", students.findById(1).getFullName());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDeleteStudent_NoLongerFound() {
+        students.findById(2);
+        students.deleteStudent(2);
+        students.findById(2);
+    }
+
+    @Test
+    public void testDeleteAll_DropsEachEntry() {
+        students.findById(1);
+        students.findById(2);
+        students.deleteAll(Arrays.asList(1, 2));
+
+        assertEquals(0, students.findByIdCache().size());
+    }
+
+    // ============= Module Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFindByReference_SharesTheEntryOfTheName() {
+        Module module = modules.findByReference("bda");
+
+        assertSame(module, modules.findByReference("BDA"));
+        assertSame(module, modules.findByModuleName(ModuleName.BDA));
+        assertNull(modules.findByReference("unknown"));
+    }
+
+    @Test
+    public void testUpdateNumberHours_DropsTheEntry() {
+        modules.findByReference("bda");
+        modules.updateNumberHours(ModuleName.BDA, 45);
+
+        assertEquals(Integer.valueOf(45), modules.findByReference("bda").getNumberHours());
+    }
+
+    @Test
+    public void testSaveModule_MissingReferenceLoadedOnceSaved() {
+        assertNull(modules.findByModuleName(ModuleName.RI));
+        modules.saveModule(ModuleName.RI, "reseaux", 10);
+
+        assertEquals("reseaux", modules.findByModuleName(ModuleName.RI).getName());
+    }
+
+    // ============= Mark Tests (Decision Table Testing) =============
+
+    @Test
+    public void testCreateMark_DropsModuleAndStudent() {
+        Student student = students.findById(1);
+        marks.createMark(student, 12, bda);
+        assertEquals(1, marks.findMarkByModule(bda).size());
+        assertEquals(1, marks.findMarksByStudent(1).size());
+
+        marks.createMark(student, 15, bda);
+        assertEquals(2, marks.findMarkByModule(bda).size());
+        assertEquals(2, marks.findMarksByStudent(1).size());
+        assertEquals(0, marks.findMarkByModuleCache().hits());
+    }
+
+    @Test
+    public void testFindMarkByModule_EachCallGetsItsOwnList() {
+        marks.createMark(students.findById(1), 12, bda);
+        List<Mark> first = marks.findMarkByModule(bda);
+        first.clear();
+
+        assertEquals(1, marks.findMarkByModule(bda).size());
+        assertEquals(1, marks.findMarkByModuleCache().hits());
+    }
+
+    @Test
+    public void testCreateMarks_DropsEveryModuleAndStudent() {
+        marks.findMarkByModule(bda);
+        marks.findMarksByStudent(2);
+        marks.createMarks(Arrays.asList(new Mark(students.findById(2), 14, bda)));
+
+        assertEquals(1, marks.findMarkByModule(bda).size());
+        assertEquals(1, marks.findMarksByStudent(2).size());
+    }
+
+    @Test
+    public void testStudentDelete_ThroughMarkCascade() {
+        MarkCascade.attach(students, marks);
+        marks.createMark(students.findById(1), 12, bda);
+        marks.createMark(students.findById(2), 18, bda);
+        assertEquals(2, marks.findMarkByModule(bda).size());
+
+        students.deleteStudent(2);
+
+        assertEquals(1, marks.findMarkByModule(bda).size());
+        assertTrue(marks.findMarksByStudent(2).isEmpty());
+    }
+
+    @Test
+    public void testStudentGroupChanged_DropsTheStudentMarks() {
+        students.addListener(marks);
+        marks.createMark(students.findById(1), 12, bda);
+        assertEquals(GroupName.MSIR, marks.findMarksByStudent(1).get(0).getStudent().getGroup().getReference());
+        assertEquals(GroupName.MSIR, marks.findMarkByModule(bda).get(0).getStudent().getGroup().getReference());
+
+        students.updateStudent(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MIAD));
+
+        assertEquals(GroupName.MIAD, marks.findMarksByStudent(1).get(0).getStudent().getGroup().getReference());
+        assertEquals(GroupName.MIAD, marks.findMarkByModule(bda).get(0).getStudent().getGroup().getReference());
+    }
+
+    // ============= Teacher Tests =============
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteTeacher_NoLongerFound() {
+        CachingTeacherRepository teachers = new CachingTeacherRepository(new TeacherService(), 10);
+        teachers.saveTeacher(1, "Amine", Grade.MCA, null, null);
+        assertSame(teachers.findById(1), teachers.findById(1));
+
+        teachers.deleteTeacher(1);
+        teachers.findById(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NullRepository() {
+        new CachingStudentRepository(null, 10);
+    }
+}
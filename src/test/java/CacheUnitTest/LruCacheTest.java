@@ -0,0 +1,98 @@
+package CacheUnitTest;
+
+import cache.LruCache;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LruCacheTest {
+
+    // ============= Read-through Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testGet_LoadsOnceThenHits() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("v1", cache.get(1, key -> "v" + key + (loads.incrementAndGet() > 1 ? "again" : "")));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(2.0 / 3, cache.hitRate(), 1e-9);
+    }
+
+    @Test
+    public void testGet_NullNotKept() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+
+        assertNull(cache.get(1, key -> null));
+        assertEquals("found", cache.get(1, key -> "found"));
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    public void testGet_LoaderExceptionNotKept() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+        try {
+            cache.get(1, key -> {
+                throw new IndexOutOfBoundsException("not found");
+            });
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals(0, cache.size());
+        }
+    }
+
+    // ============= Eviction Tests (Boundary Value Testing) =============
+
+    @Test
+    public void testEviction_LeastRecentlyRead() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        cache.get(1, key -> "a");
+        cache.get(2, key -> "b");
+        // reading 1 makes 2 the least recently read
+        cache.get(1, key -> "a");
+        cache.get(3, key -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals("a", cache.get(1, key -> "reloaded"));
+        assertEquals("reloaded", cache.get(2, key -> "reloaded"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_ZeroSize() {
+        new LruCache<Integer, String>(0);
+    }
+
+    // ============= Invalidation Tests (State Transition Testing) =============
+
+    @Test
+    public void testInvalidate_LoadsAgain() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+        cache.get(1, key -> "old");
+        cache.get(2, key -> "other");
+        cache.invalidate(1);
+
+        assertEquals("new", cache.get(1, key -> "new"));
+        assertEquals("other", cache.get(2, key -> "unused"));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidate_DuringLoadNotKept() {
+        LruCache<Integer, String> cache = new LruCache<>(10);
+
+        // the write lands while the old value is being read
+        assertEquals("old", cache.get(1, key -> {
+            cache.invalidate(1);
+            return "old";
+        }));
+        assertEquals("new", cache.get(1, key -> "new"));
+    }
+}
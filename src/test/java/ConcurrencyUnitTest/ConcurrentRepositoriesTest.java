@@ -0,0 +1,221 @@
+package ConcurrencyUnitTest;
+
+import group.ConcurrentGroupService;
+import group.Group;
+import group.GroupName;
+import mark.ConcurrentMarkService;
+import mark.Mark;
+import module.ConcurrentModuleService;
+import module.Module;
+import module.ModuleName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import student.ConcurrentStudentService;
+import student.Student;
+import teacher.ConcurrentTeacherService;
+import teacher.Grade;
+import teacher.Teacher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+// stress tests: every thread starts at the same time and the final state must match a serial run
+public class ConcurrentRepositoriesTest {
+    private static final int THREADS = 8;
+    private static final LocalDate TEST_DATE = LocalDate.of(1999, 1, 1);
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // runs the task on every thread at once and waits for all of them
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+    }
+
+    @Test
+    public void testSaveStudent_EachIdAcceptedOnce() throws Exception {
+        ConcurrentStudentService studentService = new ConcurrentStudentService();
+        Group group = new Group(GroupName.MSIR);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int id = 0; id < 1000; id++) {
+                try {
+                    studentService.saveStudent(id, "Student" + id, TEST_DATE, group);
+                    accepted.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertEquals(1000, accepted.get());
+        assertEquals(1000 * (THREADS - 1), rejected.get());
+        assertEquals(1000, studentService.allStudents().size());
+    }
+
+    @Test
+    public void testStudentEvents_GroupCountsMatchStudents() throws Exception {
+        ConcurrentGroupService groupService = new ConcurrentGroupService();
+        for (GroupName name : GroupName.values()) {
+            groupService.saveGroup(name);
+        }
+        ConcurrentStudentService studentService = new ConcurrentStudentService();
+        studentService.addListener(groupService);
+        AtomicInteger nextId = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 500; i++) {
+                int id = nextId.getAndIncrement();
+                GroupName name = GroupName.values()[id % GroupName.values().length];
+                studentService.saveStudent(id, "Student" + id, TEST_DATE, groupService.findByReference(name.toString()));
+                if (id % 2 == 0) {
+                    // move half of the students to MSIR, then delete a quarter of them
+                    studentService.updateStudent(id, "Student" + id, TEST_DATE, groupService.findByReference("MSIR"));
+                }
+                if (id % 4 == 0) {
+                    studentService.deleteStudent(id);
+                }
+            }
+            return null;
+        });
+
+        List<Student> students = studentService.allStudents();
+        for (Group group : groupService.allGroups()) {
+            long expected = students.stream().filter(s -> s.getGroup().getReference() == group.getReference()).count();
+            assertEquals(group.getReference().toString(), expected, group.getNumberStudent().longValue());
+        }
+    }
+
+    @Test
+    public void testCreateMark_NoLostMarksAndBestIsMaximum() throws Exception {
+        ConcurrentMarkService markService = new ConcurrentMarkService();
+        ConcurrentModuleService moduleService = new ConcurrentModuleService();
+        moduleService.saveModule(ModuleName.BDA, "base de donnée avancé", 40);
+        moduleService.saveModule(ModuleName.CRY, "cryptographie", 35);
+        Module bda = moduleService.findByReference("BDA");
+        Module cry = moduleService.findByReference("CRY");
+        Group group = new Group(GroupName.MIAD);
+        AtomicInteger nextId = new AtomicInteger();
+
+        runConcurrently(() -> {
+            Student student = new Student(nextId.getAndIncrement(), "Student", TEST_DATE, group);
+            for (int i = 0; i < 5000; i++) {
+                markService.createMark(student, 5 + (i * 7 + student.getId()) % 15, i % 2 == 0 ? bda : cry);
+            }
+            return null;
+        });
+        // a single 20 in CRY created while the others race
+        Student top = new Student(THREADS, "Top", TEST_DATE, group);
+        markService.createMark(top, 20, cry);
+
+        assertEquals(THREADS * 5000 + 1, markService.allMarks().size());
+        assertEquals(THREADS * 2500, markService.findMarkByModule(bda).size());
+        assertEquals(THREADS * 2500 + 1, markService.findMarkByModule(cry).size());
+        assertSame(top, markService.bestMarkByModule(cry));
+        // the best BDA student must own one of the 19s, the highest BDA mark
+        Student bestBda = markService.bestMarkByModule(bda);
+        assertTrue(markService.findMarkByModule(bda).stream()
+                .anyMatch(m -> m.getStudent() == bestBda && m.getMark() == 19));
+    }
+
+    @Test
+    public void testCreateAndDeleteMarks_BestIsLiveMaximum() throws Exception {
+        ConcurrentMarkService markService = new ConcurrentMarkService();
+        Module bda = new Module(ModuleName.BDA, "base de donnée avancé", 40);
+        Group group = new Group(GroupName.MIAD);
+        AtomicInteger nextId = new AtomicInteger();
+        int rounds = 1000;
+
+        // each round a 20 is created and deleted while a kept mark, rising with the rounds, races it
+        runConcurrently(() -> {
+            for (int round = 0; round < rounds; round++) {
+                Student deleted = new Student(nextId.getAndIncrement(), "Deleted", TEST_DATE, group);
+                Student kept = new Student(nextId.getAndIncrement(), "Kept", TEST_DATE, group);
+                markService.createMark(deleted, 20, bda);
+                markService.createMark(kept, 5 + round * 15 / rounds, bda);
+                markService.deleteMarksByStudents(List.of(deleted.getId()));
+            }
+            return null;
+        });
+
+        List<Mark> marks = markService.findMarkByModule(bda);
+        assertEquals(THREADS * rounds, marks.size());
+        Student best = markService.bestMarkByModule(bda);
+        assertEquals(1, markService.findMarksByStudent(best.getId()).size());
+        assertEquals(Integer.valueOf(19), markService.findMarksByStudent(best.getId()).get(0).getMark());
+    }
+
+    @Test
+    public void testSaveAndDeleteTeacher_StateMatchesAcceptedCalls() throws Exception {
+        ConcurrentTeacherService teacherService = new ConcurrentTeacherService();
+        AtomicIntegerArray saves = new AtomicIntegerArray(1000);
+        AtomicIntegerArray deletes = new AtomicIntegerArray(1000);
+
+        runConcurrently(() -> {
+            for (int id = 0; id < 1000; id++) {
+                try {
+                    teacherService.saveTeacher(id, "Teacher" + id, Grade.MCA, null, null);
+                    saves.incrementAndGet(id);
+                } catch (IllegalArgumentException e) {
+                    // another thread holds this id
+                }
+                if (id % 2 == 0) {
+                    try {
+                        teacherService.deleteTeacher(id);
+                        deletes.incrementAndGet(id);
+                    } catch (IllegalArgumentException e) {
+                        // another thread deleted it first
+                    }
+                }
+            }
+            return null;
+        });
+
+        Set<Integer> present = teacherService.allTeachers().stream()
+                .map(Teacher::getId).collect(Collectors.toSet());
+        assertEquals(present.size(), teacherService.allTeachers().size());
+        for (int id = 0; id < 1000; id++) {
+            int expected = present.contains(id) ? 1 : 0;
+            assertEquals("teacher " + id, expected, saves.get(id) - deletes.get(id));
+            if (id % 2 == 1) {
+                assertEquals(1, saves.get(id));
+            }
+        }
+    }
+}
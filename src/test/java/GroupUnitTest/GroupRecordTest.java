@@ -0,0 +1,37 @@
+package GroupUnitTest;
+
+import group.Group;
+import group.GroupName;
+import group.GroupRecord;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GroupRecordTest {
+
+    // ============= Snapshot Tests (State Transition Testing) =============
+
+    @Test
+    public void testFrom_CountAtThatTime() {
+        Group group = new Group(GroupName.MIAD);
+        group.setNumberStudent(12);
+        GroupRecord record = GroupRecord.from(group);
+        group.setNumberStudent(13);
+
+        assertEquals(12, record.numberStudent());
+        assertEquals(13, GroupRecord.from(group).numberStudent());
+    }
+
+    @Test
+    public void testEquals_KeyedOnReference() {
+        GroupRecord record = new GroupRecord(GroupName.MIAD, 12);
+
+        assertEquals(record, record.withNumberStudent(40));
+        assertNotEquals(record, new GroupRecord(GroupName.MSIR, 12));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NegativeCount() {
+        new GroupRecord(GroupName.MIAD, -1);
+    }
+}
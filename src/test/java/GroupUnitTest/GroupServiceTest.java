@@ -6,6 +6,7 @@ import group.GroupService;
 import org.junit.Before;
 import org.junit.Test;
 import student.Student;
+import student.StudentService;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -224,6 +225,41 @@ public class GroupServiceTest {
                 groupService.findByReference("MSIR").getNumberStudent());
     }
 
+    // ============= Student Event Tests (State Transition Testing) =============
+
+    @Test
+    public void testStudentEvents_SaveUpdateDelete() {
+        groupService.saveGroup(GroupName.MSIR);
+        groupService.saveGroup(GroupName.MIAD);
+        Group msir = groupService.findByReference("MSIR");
+        Group miad = groupService.findByReference("MIAD");
+        StudentService studentService = new StudentService();
+        studentService.addListener(groupService);
+
+        studentService.saveStudent(1, "Student1", TEST_DATE, msir);
+        studentService.saveStudent(2, "Student2", TEST_DATE_2, msir);
+        assertEquals(Integer.valueOf(2), msir.getNumberStudent());
+        assertEquals(Integer.valueOf(0), miad.getNumberStudent());
+
+        studentService.updateStudent(2, "Student2", TEST_DATE_2, miad);
+        assertEquals(Integer.valueOf(1), msir.getNumberStudent());
+        assertEquals(Integer.valueOf(1), miad.getNumberStudent());
+
+        studentService.deleteStudent(1);
+        assertEquals(Integer.valueOf(0), msir.getNumberStudent());
+        assertEquals(Integer.valueOf(1), miad.getNumberStudent());
+    }
+
+    @Test
+    public void testStudentEvents_GroupSavedAfterStudents() {
+        StudentService studentService = new StudentService();
+        studentService.addListener(groupService);
+        studentService.saveStudent(1, "Student1", TEST_DATE, new Group(GroupName.MSIA));
+
+        groupService.saveGroup(GroupName.MSIA);
+        assertEquals(Integer.valueOf(1), groupService.findByReference("MSIA").getNumberStudent());
+    }
+
     // ============= Group Display Tests =============
 
     @Test
@@ -251,4 +287,33 @@ public class GroupServiceTest {
         String expected = "Group{reference=MSIR}";
         assertEquals(expected, group.toString());
     }
-}
\ No newline at end of file
+
+    // ============= FindByGroupName Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFindByGroupName_Existing() {
+        groupService.saveGroup(GroupName.MSIR);
+        groupService.saveGroup(GroupName.MIAD);
+        assertSame(groupService.findByReference("miad"), groupService.findByGroupName(GroupName.MIAD));
+    }
+
+    @Test
+    public void testFindByGroupName_FirstOfDuplicates() {
+        groupService.saveGroup(GroupName.MSIR);
+        groupService.saveGroup(GroupName.MSIR);
+        assertSame(groupService.allGroups().get(0), groupService.findByGroupName(GroupName.MSIR));
+    }
+
+    @Test
+    public void testFindByGroupName_NonExistingAndNull() {
+        assertNull(groupService.findByGroupName(GroupName.MSIA));
+        assertNull(groupService.findByGroupName(null));
+    }
+
+    @Test
+    public void testGroupNameFromReference() {
+        assertEquals(GroupName.MSIA, GroupName.fromReference("mSiA"));
+        assertNull(GroupName.fromReference("UNKNOWN"));
+        assertNull(GroupName.fromReference(null));
+    }
+}
@@ -0,0 +1,229 @@
+package ImporterUnitTest;
+
+import group.GroupName;
+import group.GroupService;
+import importer.BulkImporter;
+import importer.Format;
+import importer.ImportResult;
+import mark.Mark;
+import mark.MarkService;
+import module.ModuleName;
+import module.ModuleService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import student.Student;
+import student.StudentService;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class BulkImporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ForkJoinPool pool;
+    private GroupService groupService;
+    private ModuleService moduleService;
+    private StudentService studentService;
+    private TeacherService teacherService;
+    private MarkService markService;
+    private BulkImporter importer;
+    private Path rejects;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(2);
+        groupService = new GroupService();
+        groupService.saveGroup(GroupName.MIAD);
+        groupService.saveGroup(GroupName.MSIR);
+        moduleService = new ModuleService();
+        moduleService.saveModule(ModuleName.BDA, "base de donnée avancé", 40);
+        moduleService.saveModule(ModuleName.CRY, "cryptographie", 35);
+        studentService = new StudentService();
+        studentService.addListener(groupService);
+        teacherService = new TeacherService();
+        markService = new MarkService();
+        // chunks of two lines so that every test goes through several chunks
+        importer = new BulkImporter(groupService, moduleService, studentService, teacherService, markService, pool, 2);
+        rejects = folder.getRoot().toPath().resolve("rejects.txt");
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private Path file(String name, String... lines) throws IOException {
+        return Files.write(folder.getRoot().toPath().resolve(name), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private List<String> rejectedLines() throws IOException {
+        return Files.readAllLines(rejects, StandardCharsets.UTF_8);
+    }
+
+    // ============= Student Import Tests =============
+
+    @Test
+    public void testImportStudents_Csv() throws IOException {
+        Path csv = file("students.csv",
+                "id,fullName,dateOfBirth,group",
+                "1,sofian gasb,2000-01-08,MIAD",
+                "2,\"kaci, amine\",1999-05-11,msir",
+                "",
+                "3,hamid jebri,1997-10-26,MIAD");
+
+        ImportResult result = importer.importStudents(csv, Format.CSV, rejects);
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertEquals("kaci, amine", studentService.findById(2).getFullName());
+        assertEquals(Integer.valueOf(2), groupService.findByGroupName(GroupName.MIAD).getNumberStudent());
+        assertTrue(rejectedLines().isEmpty());
+    }
+
+    @Test
+    public void testImportStudents_ColumnsInAnyOrder() throws IOException {
+        Path csv = file("students.csv",
+                "group,id,dateOfBirth,fullName",
+                "MIAD,1,2000-01-08,sofian gasb");
+
+        importer.importStudents(csv, Format.CSV, rejects);
+
+        Student student = studentService.findById(1);
+        assertEquals("sofian gasb", student.getFullName());
+        assertEquals(LocalDate.of(2000, 1, 8), student.getDateBirth());
+    }
+
+    @Test
+    public void testImportStudents_RejectsBadRows() throws IOException {
+        Path csv = file("students.csv",
+                "id,fullName,dateOfBirth,group",
+                "1,sofian gasb,2000-01-08,MIAD",
+                "x,amine kaci,1999-05-11,MSIR",
+                "3,hamid jebri,not a date,MIAD",
+                "4,,1995-10-26,MSIR",
+                "5,hanane safi,1995-10-26,MSIA",
+                "6,amine kaci,1999-05-11,MSIR");
+
+        ImportResult result = importer.importStudents(csv, Format.CSV, rejects);
+
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getRejected());
+        List<String> rejected = rejectedLines();
+        assertEquals(4, rejected.size());
+        assertTrue(rejected.get(0).startsWith("3\tInvalid id 'x'\t"));
+        assertTrue(rejected.get(1).startsWith("4\tInvalid date of birth"));
+        assertEquals("5\tStudent name cannot be null or empty\t4,,1995-10-26,MSIR", rejected.get(2));
+        assertTrue(rejected.get(3).startsWith("6\tGroup 'MSIA' is not saved"));
+    }
+
+    @Test
+    public void testImportStudents_RetriesChunkWithoutRowsRejectedByRepository() throws IOException {
+        studentService.saveStudent(2, "already saved", LocalDate.of(1999, 1, 1), groupService.findByGroupName(GroupName.MSIR));
+        Path csv = file("students.csv",
+                "id,fullName,dateOfBirth,group",
+                "1,sofian gasb,2000-01-08,MIAD",
+                "2,amine kaci,1999-05-11,MSIR",
+                "3,hamid jebri,1997-10-26,MIAD");
+
+        ImportResult result = importer.importStudents(csv, Format.CSV, rejects);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals("hamid jebri", studentService.findById(3).getFullName());
+        assertEquals("already saved", studentService.findById(2).getFullName());
+        assertTrue(rejectedLines().get(0).startsWith("3\t"));
+    }
+
+    @Test
+    public void testImportStudents_JsonLines() throws IOException {
+        Path json = file("students.jsonl",
+                "{\"id\": 1, \"fullName\": \"sofian \\\"gasb\\\"\", \"dateOfBirth\": \"2000-01-08\", \"group\": \"MIAD\"}",
+                "{\"id\": 2, \"fullName\": \"amine kaci\", \"dateOfBirth\": \"1999-05-11\", \"group\": \"MSIR\"",
+                "{\"fullName\": \"hamid jebri\", \"id\": 3, \"group\": \"MIAD\", \"dateOfBirth\": \"1997-10-26\"}");
+
+        ImportResult result = importer.importStudents(json, Format.JSON_LINES, rejects);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals("sofian \"gasb\"", studentService.findById(1).getFullName());
+        assertTrue(rejectedLines().get(0).startsWith("2\t"));
+    }
+
+    // ============= Teacher Import Tests =============
+
+    @Test
+    public void testImportTeachers_Lists() throws IOException {
+        Path csv = file("teachers.csv",
+                "id,fullName,grade,modules,groups",
+                "1,khalifa ahmed,MCA,BDA,MIAD;MSIR",
+                "2,brahim gasbi,mcb,,",
+                "3,unknown module,MCA,GL,MIAD");
+        Path json = file("teachers.jsonl",
+                "{\"id\": 4, \"fullName\": \"json teacher\", \"grade\": \"MCB\", \"modules\": [\"BDA\", \"CRY\"], \"groups\": []}");
+
+        assertEquals(2, importer.importTeachers(csv, Format.CSV, rejects).getImported());
+        assertEquals(1, importer.importTeachers(json, Format.JSON_LINES, null).getImported());
+
+        Teacher teacher = teacherService.findById(1);
+        assertEquals(Grade.MCA, teacher.getGrade());
+        assertEquals(2, teacher.getListGroup().size());
+        assertTrue(teacherService.findById(2).getListModules().isEmpty());
+        assertEquals(2, teacherService.findByModule(ModuleName.BDA).size());
+        assertEquals(1, teacherService.findByModule(ModuleName.CRY).size());
+    }
+
+    // ============= Mark Import Tests =============
+
+    @Test
+    public void testImportMarks() throws IOException {
+        studentService.saveStudent(1, "sofian gasb", LocalDate.of(2000, 1, 8), groupService.findByGroupName(GroupName.MIAD));
+        studentService.saveStudent(2, "amine kaci", LocalDate.of(1999, 5, 11), groupService.findByGroupName(GroupName.MSIR));
+        Path csv = file("marks.csv",
+                "studentId,mark,module",
+                "1,15,BDA",
+                "2,18,bda",
+                "3,12,BDA",
+                "1,21,CRY",
+                "2,11,CRY");
+
+        ImportResult result = importer.importMarks(csv, Format.CSV, rejects);
+
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getRejected());
+        List<Mark> marks = markService.allMarks();
+        assertEquals(Integer.valueOf(15), marks.get(0).getMark());
+        assertEquals(Integer.valueOf(11), marks.get(2).getMark());
+        assertEquals(studentService.findById(2), markService.bestMarkByModule(moduleService.findByModuleName(ModuleName.BDA)));
+        List<String> rejected = rejectedLines();
+        assertEquals("4\tStudent with ID 3 not found\t3,12,BDA", rejected.get(0));
+        assertTrue(rejected.get(1).startsWith("5\tinvalid mark"));
+    }
+
+    @Test
+    public void testImport_EmptyFile() throws IOException {
+        Path csv = file("empty.csv");
+        ImportResult result = importer.importMarks(csv, Format.CSV, rejects);
+        assertEquals(0, result.getImported());
+        assertEquals(0, result.getRejected());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImport_NullFormat() throws IOException {
+        importer.importStudents(file("students.csv", "id"), null, rejects);
+    }
+}
@@ -0,0 +1,232 @@
+package JdbcUnitTest;
+
+import exception.BatchException;
+import group.Group;
+import group.GroupName;
+import jdbc.Database;
+import jdbc.JdbcMarkRepository;
+import jdbc.JdbcModuleRepository;
+import jdbc.JdbcStudentRepository;
+import mark.Mark;
+import mark.MarkCascade;
+import mark.MarkListener;
+import mark.MarkStatistics;
+import mark.exception.MarkException;
+import module.Module;
+import module.ModuleName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class JdbcMarkRepositoryTest {
+    private Database database;
+    private JdbcStudentRepository studentRepository;
+    private JdbcModuleRepository moduleRepository;
+    private JdbcMarkRepository markRepository;
+    private Student student1;
+    private Student student2;
+    private Module bda;
+    private Module ri;
+
+    @Before
+    public void setUp() {
+        database = Database.inMemory(UUID.randomUUID().toString());
+        studentRepository = new JdbcStudentRepository(database);
+        moduleRepository = new JdbcModuleRepository(database);
+        markRepository = new JdbcMarkRepository(database);
+        Group msir = new Group(GroupName.MSIR);
+        studentRepository.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        studentRepository.saveStudent(2, "Siddik", LocalDate.of(1999, 1, 2), msir);
+        student1 = studentRepository.findById(1);
+        student2 = studentRepository.findById(2);
+        moduleRepository.saveModule(ModuleName.BDA, "base de donnees", 30);
+        moduleRepository.saveModule(ModuleName.RI, "reseaux", 10);
+        bda = moduleRepository.findByModuleName(ModuleName.BDA);
+        ri = moduleRepository.findByModuleName(ModuleName.RI);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    // ============= CreateMark Tests (Decision Table Testing) =============
+
+    @Test
+    public void testCreateMark_ReadBack() {
+        markRepository.createMark(student1, 12, bda);
+        markRepository.createMark(student2, 18, bda);
+        markRepository.createMark(student1, 15, ri);
+
+        List<Mark> marks = markRepository.allMarks();
+        assertEquals(3, marks.size());
+        assertEquals(Integer.valueOf(2), marks.get(1).getStudent().getId());
+        assertEquals(Integer.valueOf(18), marks.get(1).getMark());
+        assertEquals("reseaux", marks.get(2).getModule().getName());
+        assertSame(marks.get(0).getStudent(), marks.get(2).getStudent());
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_InvalidValue() {
+        markRepository.createMark(student1, 21, bda);
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_UnsavedStudent() {
+        markRepository.createMark(new Student(9, "Nobody", LocalDate.of(1999, 1, 1), null), 12, bda);
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_UnsavedModule() {
+        markRepository.createMark(student1, 12, new Module(ModuleName.GL, "genie logiciel", 20));
+    }
+
+    @Test
+    public void testCreateMarks_RejectsUnsavedRows() {
+        try {
+            markRepository.createMarks(Arrays.asList(
+                    new Mark(student1, 12, bda),
+                    new Mark(new Student(9, "Nobody", LocalDate.of(1999, 1, 1), null), 12, bda),
+                    new Mark(student2, 14, new Module(ModuleName.GL, "genie logiciel", 20))));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertEquals(2, e.getRejectedRows().size());
+            assertTrue(e.getRejectedRows().get(1).contains("not saved"));
+        }
+        assertTrue(markRepository.allMarks().isEmpty());
+    }
+
+    @Test
+    public void testCreateMarks_NotifiesListeners() {
+        MarkStatistics statistics = MarkStatistics.attach(markRepository);
+        List<Mark> batch = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            batch.add(new Mark(i % 2 == 0 ? student1 : student2, 5 + i % 16, i % 3 == 0 ? ri : bda));
+        }
+        markRepository.createMarks(batch);
+
+        assertEquals(1500, markRepository.allMarks().size());
+        assertEquals(500, statistics.byModule(ModuleName.RI).count());
+    }
+
+    // ============= Query Push-down Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testBestMarkByModule_FirstOfTheHighest() {
+        markRepository.createMark(student1, 15, bda);
+        markRepository.createMark(student2, 18, bda);
+        markRepository.createMark(student1, 18, bda);
+
+        assertEquals(Integer.valueOf(2), markRepository.bestMarkByModule(bda).getId());
+        assertNull(markRepository.bestMarkByModule(ri));
+    }
+
+    @Test
+    public void testFindMarkByModule_AndByStudent() {
+        markRepository.createMark(student1, 12, bda);
+        markRepository.createMark(student2, 18, ri);
+        markRepository.createMark(student1, 15, ri);
+
+        assertEquals(2, markRepository.findMarkByModule(ri).size());
+        assertEquals(Integer.valueOf(18), markRepository.findMarkByModule(ri).get(0).getMark());
+        List<Mark> marks = markRepository.findMarksByStudent(1);
+        assertEquals(2, marks.size());
+        assertEquals(ModuleName.RI, marks.get(1).getModule().getReference());
+        assertTrue(markRepository.findMarksByStudent(5).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindMarkByModule_NullModule() {
+        markRepository.findMarkByModule(null);
+    }
+
+    // ============= Delete Tests (State Transition Testing) =============
+
+    @Test
+    public void testDeleteMarksByStudents() {
+        markRepository.createMark(student1, 20, bda);
+        markRepository.createMark(student2, 12, bda);
+
+        assertEquals(1, markRepository.deleteMarksByStudents(Arrays.asList(1, 7)).size());
+        assertEquals(Integer.valueOf(2), markRepository.bestMarkByModule(bda).getId());
+    }
+
+    @Test
+    public void testDeleteStudent_CascadesToMarks() {
+        MarkCascade.attach(studentRepository, markRepository);
+        markRepository.createMark(student1, 20, bda);
+        markRepository.createMark(student2, 12, bda);
+
+        studentRepository.deleteStudent(1);
+
+        assertEquals(1, markRepository.allMarks().size());
+        assertEquals(Integer.valueOf(2), markRepository.bestMarkByModule(bda).getId());
+    }
+
+    @Test
+    public void testDeleteStudent_MarkListenersToldOnce() {
+        MarkStatistics statistics = MarkStatistics.attach(markRepository);
+        MarkCascade.attach(studentRepository, markRepository);
+        markRepository.createMark(student1, 20, bda);
+        markRepository.createMark(student1, 14, ri);
+        markRepository.createMark(student2, 12, bda);
+
+        studentRepository.deleteStudent(1);
+
+        assertEquals(1, statistics.byModule(ModuleName.BDA).count());
+        assertEquals(0, statistics.byModule(ModuleName.RI).count());
+        assertEquals(1, statistics.byGroup(GroupName.MSIR).count());
+    }
+
+    @Test
+    public void testDeleteAll_MarkListenersTold() {
+        List<Mark> deleted = new ArrayList<>();
+        markRepository.addListener(new MarkListener() {
+            @Override
+            public void markCreated(Mark mark) {
+            }
+
+            @Override
+            public void marksDeleted(List<Mark> marks) {
+                deleted.addAll(marks);
+            }
+        });
+        markRepository.createMark(student1, 20, bda);
+        markRepository.createMark(student2, 12, ri);
+
+        studentRepository.deleteAll(Arrays.asList(1, 2));
+
+        assertEquals(2, deleted.size());
+        assertTrue(markRepository.allMarks().isEmpty());
+    }
+
+    // ============= Module Tests =============
+
+    @Test
+    public void testUpdateNumberHours() {
+        List<Integer> previous = new ArrayList<>();
+        moduleRepository.addListener((module, previousHours) -> previous.add(previousHours));
+        moduleRepository.updateNumberHours(ModuleName.BDA, 45);
+        moduleRepository.updateNumberHours(ModuleName.BDA, 45);
+
+        assertEquals(Integer.valueOf(45), moduleRepository.findByReference("bda").getNumberHours());
+        assertEquals(Arrays.asList(30), previous);
+    }
+
+    @Test
+    public void testSaveModule_FirstOfAReferenceKept() {
+        moduleRepository.saveModule(ModuleName.BDA, "other name", 5);
+
+        assertEquals("base de donnees", moduleRepository.findByModuleName(ModuleName.BDA).getName());
+        assertEquals(2, moduleRepository.allModules().size());
+    }
+}
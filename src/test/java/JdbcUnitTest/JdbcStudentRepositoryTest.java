@@ -0,0 +1,193 @@
+package JdbcUnitTest;
+
+import exception.BatchException;
+import group.Group;
+import group.GroupName;
+import jdbc.Database;
+import jdbc.JdbcGroupRepository;
+import jdbc.JdbcStudentRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import student.Student;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class JdbcStudentRepositoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Database database;
+    private JdbcStudentRepository studentRepository;
+    private JdbcGroupRepository groupRepository;
+    private Group msir;
+    private Group miad;
+
+    @Before
+    public void setUp() {
+        database = Database.inMemory(UUID.randomUUID().toString());
+        studentRepository = new JdbcStudentRepository(database);
+        groupRepository = new JdbcGroupRepository(database);
+        studentRepository.addListener(groupRepository);
+        groupRepository.saveGroup(GroupName.MSIR);
+        groupRepository.saveGroup(GroupName.MIAD);
+        msir = groupRepository.findByGroupName(GroupName.MSIR);
+        miad = groupRepository.findByGroupName(GroupName.MIAD);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    // ============= Save and Find Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testSaveStudent_FindById() {
+        studentRepository.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+
+        Student student = studentRepository.findById(1);
+        assertEquals("Berat", student.getFullName());
+        assertEquals(LocalDate.of(1999, 1, 1), student.getDateBirth());
+        assertEquals(GroupName.MSIR, student.getGroup().getReference());
+        assertEquals(Integer.valueOf(1), student.getGroup().getNumberStudent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveStudent_DuplicateId() {
+        studentRepository.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        studentRepository.saveStudent(1, "Siddik", LocalDate.of(1999, 1, 2), msir);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveStudent_InvalidName() {
+        studentRepository.saveStudent(1, " ", LocalDate.of(1999, 1, 1), msir);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testFindById_NotFound() {
+        studentRepository.findById(7);
+    }
+
+    @Test
+    public void testAllStudents_InInsertionOrder() {
+        studentRepository.saveStudent(2, "Siddik", LocalDate.of(1999, 1, 2), msir);
+        studentRepository.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), miad);
+
+        List<Student> students = studentRepository.allStudents();
+        assertEquals(Integer.valueOf(2), students.get(0).getId());
+        assertEquals(2, studentRepository.streamStudents().count());
+    }
+
+    // ============= Batch Tests (Decision Table Testing) =============
+
+    @Test
+    public void testSaveAll_RejectsWholeBatch() {
+        studentRepository.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        try {
+            studentRepository.saveAll(Arrays.asList(
+                    new Student(2, "Siddik", LocalDate.of(1999, 1, 2), msir),
+                    new Student(1, "Duplicate", LocalDate.of(1999, 1, 2), msir),
+                    new Student(2, "Duplicate in batch", LocalDate.of(1999, 1, 2), msir)));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertEquals(2, e.getRejectedRows().size());
+        }
+        assertEquals(1, studentRepository.allStudents().size());
+    }
+
+    @Test
+    public void testSaveAll_LargeBatch() {
+        Student[] students = new Student[2500];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student(i, "Student" + i, LocalDate.of(1999, 1, 1), i % 2 == 0 ? msir : miad);
+        }
+        studentRepository.saveAll(Arrays.asList(students));
+
+        assertEquals(2500, studentRepository.allStudents().size());
+        assertEquals(Integer.valueOf(1250), groupRepository.findByGroupName(GroupName.MIAD).getNumberStudent());
+    }
+
+    // ============= Update and Delete Tests (State Transition Testing) =============
+
+    @Test
+    public void testUpdateStudent_MovesGroupCount() {
+        studentRepository.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        studentRepository.updateStudent(1, "Berat B", LocalDate.of(1999, 1, 1), miad);
+
+        assertEquals("Berat B", studentRepository.findById(1).getFullName());
+        assertEquals(Integer.valueOf(0), groupRepository.findByGroupName(GroupName.MSIR).getNumberStudent());
+        assertEquals(Integer.valueOf(1), groupRepository.findByGroupName(GroupName.MIAD).getNumberStudent());
+    }
+
+    @Test
+    public void testDeleteAll_OneBatch() {
+        for (int id = 1; id <= 4; id++) {
+            studentRepository.saveStudent(id, "Student" + id, LocalDate.of(1999, 1, id), msir);
+        }
+        studentRepository.deleteAll(Arrays.asList(1, 3));
+
+        assertEquals(2, studentRepository.allStudents().size());
+        assertEquals(Integer.valueOf(2), groupRepository.findByGroupName(GroupName.MSIR).getNumberStudent());
+    }
+
+    @Test
+    public void testDeleteAll_UnknownId() {
+        studentRepository.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        try {
+            studentRepository.deleteAll(Arrays.asList(1, 9));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertTrue(e.getRejectedRows().get(1).contains("not found"));
+        }
+        assertEquals(1, studentRepository.allStudents().size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDeleteStudent_NotFound() {
+        studentRepository.deleteStudent(3);
+    }
+
+    // ============= Group Tests =============
+
+    @Test
+    public void testSaveGroup_AfterStudentsCountsThem() {
+        studentRepository.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MSIA));
+        groupRepository.saveGroup(GroupName.MSIA);
+        groupRepository.saveGroup(GroupName.MSIA);
+
+        assertEquals(Integer.valueOf(1), groupRepository.findByReference("msia").getNumberStudent());
+        assertEquals(3, groupRepository.allGroups().size());
+    }
+
+    @Test
+    public void testUpdateNumberOfStudent() {
+        groupRepository.updateNumberOfStudent(Arrays.asList(
+                new Student(1, "Berat", LocalDate.of(1999, 1, 1), miad),
+                new Student(2, "Siddik", LocalDate.of(1999, 1, 2), miad)));
+
+        assertEquals(Integer.valueOf(2), groupRepository.findByGroupName(GroupName.MIAD).getNumberStudent());
+        assertEquals(Integer.valueOf(0), groupRepository.findByGroupName(GroupName.MSIR).getNumberStudent());
+    }
+
+    // ============= Persistence Tests =============
+
+    @Test
+    public void testFileDatabase_KeepsStudentsAcrossOpens() {
+        Path path = folder.getRoot().toPath().resolve("school");
+        try (Database file = Database.file(path)) {
+            new JdbcStudentRepository(file).saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        }
+        try (Database file = Database.file(path)) {
+            assertEquals("Berat", new JdbcStudentRepository(file).findById(1).getFullName());
+        }
+    }
+}
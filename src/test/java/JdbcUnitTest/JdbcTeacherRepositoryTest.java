@@ -0,0 +1,108 @@
+package JdbcUnitTest;
+
+import exception.BatchException;
+import group.Group;
+import group.GroupName;
+import jdbc.Database;
+import jdbc.JdbcTeacherRepository;
+import module.Module;
+import module.ModuleName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import teacher.Grade;
+import teacher.Teacher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class JdbcTeacherRepositoryTest {
+    private Database database;
+    private JdbcTeacherRepository teacherRepository;
+    private Module bda;
+    private Module cry;
+
+    @Before
+    public void setUp() {
+        database = Database.inMemory(UUID.randomUUID().toString());
+        teacherRepository = new JdbcTeacherRepository(database);
+        bda = new Module(ModuleName.BDA, "base de donnees", 30);
+        cry = new Module(ModuleName.CRY, "cryptographie", 20);
+        teacherRepository.saveTeacher(1, "Amine", Grade.MCA, Arrays.asList(bda, cry),
+                Arrays.asList(new Group(GroupName.MIAD)));
+        teacherRepository.saveTeacher(2, "Karim", Grade.MCB, Arrays.asList(cry),
+                Arrays.asList(new Group(GroupName.MSIR), new Group(GroupName.MIAD)));
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    private static List<Integer> ids(List<Teacher> teachers) {
+        return teachers.stream().map(Teacher::getId).collect(Collectors.toList());
+    }
+
+    // ============= Find Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFindById_WithItsLists() {
+        Teacher teacher = teacherRepository.findById(1);
+        assertEquals("Amine", teacher.getFullName());
+        assertEquals(Grade.MCA, teacher.getGrade());
+        assertEquals(2, teacher.getListModules().size());
+        assertEquals("cryptographie", teacher.getListModules().get(1).getName());
+        assertEquals(GroupName.MIAD, teacher.getListGroup().get(0).getReference());
+    }
+
+    @Test
+    public void testFindByModuleAndGroup() {
+        assertEquals(Arrays.asList(1, 2), ids(teacherRepository.findByModule(ModuleName.CRY)));
+        assertEquals(Arrays.asList(2), ids(teacherRepository.findByGroup(GroupName.MSIR)));
+        assertEquals(Arrays.asList(1, 2), ids(teacherRepository.findByModuleAndGroup(ModuleName.CRY, GroupName.MIAD)));
+        assertTrue(teacherRepository.findByModuleAndGroup(ModuleName.BDA, GroupName.MSIR).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindById_NotFound() {
+        teacherRepository.findById(9);
+    }
+
+    // ============= Save and Delete Tests (Decision Table Testing) =============
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveTeacher_DuplicateId() {
+        teacherRepository.saveTeacher(1, "Again", Grade.MCB, null, null);
+    }
+
+    @Test
+    public void testSaveAll_RejectsWholeBatch() {
+        try {
+            teacherRepository.saveAll(Arrays.asList(
+                    new Teacher(3, "Nadia", Grade.MCA, null, null),
+                    new Teacher(2, "Duplicate", Grade.MCA, null, null),
+                    new Teacher(4, "", Grade.MCA, null, null)));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertEquals(2, e.getRejectedRows().size());
+        }
+        assertEquals(2, teacherRepository.allTeachers().size());
+    }
+
+    @Test
+    public void testDeleteTeacher_RemovesItsLists() {
+        teacherRepository.deleteTeacher(1);
+
+        assertEquals(Arrays.asList(2), ids(teacherRepository.allTeachers()));
+        assertTrue(teacherRepository.findByModule(ModuleName.BDA).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteTeacher_NotFound() {
+        teacherRepository.deleteTeacher(9);
+    }
+}
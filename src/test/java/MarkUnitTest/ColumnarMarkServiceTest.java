@@ -0,0 +1,201 @@
+package MarkUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.ColumnarMarkService;
+import mark.Mark;
+import mark.exception.MarkException;
+import module.Module;
+import module.ModuleName;
+import org.junit.Before;
+import org.junit.Test;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ColumnarMarkServiceTest {
+    private ColumnarMarkService markService;
+    private Student student1;
+    private Student student2;
+    private Module module1;
+    private Module module2;
+
+    @Before
+    public void setUp() {
+        markService = new ColumnarMarkService(1);
+        Group msirGroup = new Group(GroupName.MSIR);
+        student1 = new Student(1, "Berat", LocalDate.of(1999, 1, 1), msirGroup);
+        student2 = new Student(2, "Siddik", LocalDate.of(1999, 1, 2), msirGroup);
+        module1 = new Module(ModuleName.BDA, "TestModule", 5);
+        module2 = new Module(ModuleName.RI, "TestModule2", 2);
+    }
+
+    // ============= CreateMark Tests =============
+
+    @Test
+    public void testCreateMark_BuildsMarkView() {
+        markService.createMark(student1, 15, module1);
+
+        Mark mark = markService.allMarks().get(0);
+        assertSame(student1, mark.getStudent());
+        assertSame(module1, mark.getModule());
+        assertEquals(Integer.valueOf(15), mark.getMark());
+    }
+
+    @Test
+    public void testCreateMark_GrowsColumns() {
+        for (int i = 0; i < 100; i++) {
+            markService.createMark(i % 2 == 0 ? student1 : student2, 5 + i % 16, module1);
+        }
+        assertEquals(100, markService.size());
+        List<Mark> marks = markService.allMarks();
+        assertEquals(100, marks.size());
+        assertEquals(Integer.valueOf(5 + 99 % 16), marks.get(99).getMark());
+        assertSame(student2, marks.get(99).getStudent());
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_InvalidMark() {
+        markService.createMark(student1, 21, module1);
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_NullModuleReference() {
+        markService.createMark(student1, 15, new Module(null, "No reference", 10));
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_NullStudent() {
+        markService.createMark(null, 15, module1);
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_NullStudentId() {
+        markService.createMark(new Student(null, "No id", LocalDate.of(1999, 1, 1), null), 15, module1);
+    }
+
+    // ============= Query Tests =============
+
+    @Test
+    public void testFindMarkByModule() {
+        markService.createMark(student1, 12, module1);
+        markService.createMark(student2, 15, module2);
+        markService.createMark(student2, 18, module1);
+
+        List<Mark> marks = markService.findMarkByModule(module1);
+        assertEquals(2, marks.size());
+        assertEquals(Integer.valueOf(12), marks.get(0).getMark());
+        assertEquals(Integer.valueOf(18), marks.get(1).getMark());
+        assertTrue(markService.findMarkByModule(new Module(ModuleName.GL, "GL", 3)).isEmpty());
+    }
+
+    @Test
+    public void testBestMarkByModule_FirstOfEqualMarks() {
+        markService.createMark(student1, 20, module1);
+        markService.createMark(student2, 20, module1);
+        markService.createMark(student2, 10, module2);
+
+        assertEquals(student1, markService.bestMarkByModule(module1));
+        assertEquals(student2, markService.bestMarkByModule(module2));
+        assertNull(markService.bestMarkByModule(new Module(ModuleName.GL, "GL", 3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBestMarkByModule_NullModule() {
+        markService.bestMarkByModule(null);
+    }
+
+    @Test
+    public void testStreamMarks_BuildsViewsInRowOrder() {
+        markService.createMark(student1, 12, module1);
+        markService.createMark(student2, 15, module2);
+
+        List<Mark> marks = markService.streamMarks().collect(Collectors.toList());
+        assertEquals(2, marks.size());
+        assertSame(student2, marks.get(1).getStudent());
+        assertEquals(Integer.valueOf(15), marks.get(1).getMark());
+    }
+
+    @Test
+    public void testFindMarksByStudent() {
+        for (int i = 0; i < 10; i++) {
+            markService.createMark(i % 2 == 0 ? student1 : student2, 10 + i, i < 5 ? module1 : module2);
+        }
+
+        List<Mark> marks = markService.findMarksByStudent(2);
+        assertEquals(5, marks.size());
+        assertEquals(Integer.valueOf(11), marks.get(0).getMark());
+        assertEquals(Integer.valueOf(19), marks.get(4).getMark());
+        assertSame(module2, marks.get(4).getModule());
+        assertTrue(markService.findMarksByStudent(3).isEmpty());
+    }
+
+    @Test
+    public void testDeleteMarksByStudents_CompactsColumns() {
+        for (int i = 0; i < 10; i++) {
+            markService.createMark(i % 2 == 0 ? student1 : student2, 10 + i, i < 5 ? module1 : module2);
+        }
+
+        List<Mark> deleted = markService.deleteMarksByStudents(List.of(2));
+
+        assertEquals(5, deleted.size());
+        assertEquals(5, markService.size());
+        assertTrue(markService.findMarksByStudent(2).isEmpty());
+        assertEquals(Integer.valueOf(18), markService.findMarksByStudent(1).get(4).getMark());
+        assertTrue(markService.streamMarks().allMatch(mark -> mark.getStudent() == student1));
+        assertEquals(student1, markService.bestMarkByModule(module2));
+        assertEquals(3, markService.findMarkByModule(module1).size());
+    }
+
+    @Test
+    public void testDeleteMarksByStudents_OneStudentAtATime() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Student student = new Student(i % 20, "Student " + i % 20, LocalDate.of(1999, 1, 1), null);
+            markService.createMark(student, 5 + i % 16, i % 3 == 0 ? module2 : module1);
+            expected.add(i % 20 + ":" + (5 + i % 16) + ":" + (i % 3 == 0 ? "RI" : "BDA"));
+        }
+
+        // every delete is checked against the marks left, across several compactions of the columns
+        for (int id = 0; id < 20; id++) {
+            String deletedId = id + ":";
+            markService.deleteMarksByStudents(List.of(id));
+            expected.removeIf(mark -> mark.startsWith(deletedId));
+
+            assertEquals(expected, marks(markService.allMarks()));
+            assertEquals(expected, marks(markService.streamMarks().collect(Collectors.toList())));
+            assertEquals(expected.size(), markService.size());
+            assertEquals(expected.size(), markService.count(null, 0, 20));
+            for (Module module : new Module[]{module1, module2}) {
+                List<String> ofModule = expected.stream()
+                        .filter(mark -> mark.endsWith(":" + module.getReference())).collect(Collectors.toList());
+                assertEquals(ofModule, marks(markService.findMarkByModule(module)));
+                assertEquals(ofModule, marks(markService.streamMarks(module.getReference(), 0, 20)
+                        .collect(Collectors.toList())));
+                // the student of the first of the highest marks
+                Integer bestId = null;
+                int bestMark = 0;
+                for (String mark : ofModule) {
+                    String[] fields = mark.split(":");
+                    if (Integer.parseInt(fields[1]) > bestMark) {
+                        bestMark = Integer.parseInt(fields[1]);
+                        bestId = Integer.valueOf(fields[0]);
+                    }
+                }
+                Student best = markService.bestMarkByModule(module);
+                assertEquals(bestId, best != null ? best.getId() : null);
+            }
+        }
+        assertEquals(0, markService.size());
+    }
+
+    private static List<String> marks(List<Mark> marks) {
+        return marks.stream().map(mark -> mark.getStudent().getId() + ":" + mark.getMark() + ":"
+                + mark.getModule().getReference()).collect(Collectors.toList());
+    }
+}
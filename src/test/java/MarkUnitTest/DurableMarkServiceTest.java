@@ -0,0 +1,203 @@
+package MarkUnitTest;
+
+import exception.BatchException;
+import group.Group;
+import group.GroupName;
+import mark.DurableMarkService;
+import mark.Mark;
+import mark.MarkService;
+import mark.exception.MarkException;
+import module.Module;
+import module.ModuleName;
+import module.ModuleService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import student.Student;
+import student.StudentService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DurableMarkServiceTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path log;
+    private StudentService studentService;
+    private ModuleService moduleService;
+    private DurableMarkService markService;
+    private Student student1;
+    private Student student2;
+    private Module module1;
+    private Module module2;
+
+    @Before
+    public void setUp() throws IOException {
+        log = folder.getRoot().toPath().resolve("marks.log");
+        studentService = new StudentService();
+        Group msirGroup = new Group(GroupName.MSIR);
+        studentService.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msirGroup);
+        studentService.saveStudent(2, "Siddik", LocalDate.of(1999, 1, 2), msirGroup);
+        student1 = studentService.findById(1);
+        student2 = studentService.findById(2);
+        moduleService = new ModuleService();
+        moduleService.saveModule(ModuleName.BDA, "TestModule", 5);
+        moduleService.saveModule(ModuleName.RI, "TestModule2", 2);
+        module1 = moduleService.findByModuleName(ModuleName.BDA);
+        module2 = moduleService.findByModuleName(ModuleName.RI);
+        markService = new DurableMarkService(log, studentService, moduleService);
+    }
+
+    @After
+    public void tearDown() {
+        markService.close();
+    }
+
+    private DurableMarkService reopen() {
+        markService.close();
+        markService = new DurableMarkService(log, studentService, moduleService);
+        return markService;
+    }
+
+    // ============= Replay Tests =============
+
+    @Test
+    public void testReplay_RestoresMarksAndIndexes() {
+        markService.createMark(student1, 12, module1);
+        markService.createMark(student2, 18, module1);
+        markService.createMark(student1, 15, module2);
+
+        DurableMarkService reopened = reopen();
+        List<Mark> marks = reopened.allMarks();
+        assertEquals(3, marks.size());
+        assertSame(student2, marks.get(1).getStudent());
+        assertEquals(Integer.valueOf(18), marks.get(1).getMark());
+        assertSame(module2, marks.get(2).getModule());
+        assertEquals(2, reopened.findMarkByModule(module1).size());
+        assertEquals(student2, reopened.bestMarkByModule(module1));
+    }
+
+    @Test
+    public void testReplay_AppendsAfterExistingMarks() {
+        markService.createMark(student1, 12, module1);
+        reopen().createMark(student2, 20, module1);
+
+        assertEquals(2, reopen().allMarks().size());
+        assertEquals(student2, markService.bestMarkByModule(module1));
+        assertEquals(2L * 6, log.toFile().length());
+    }
+
+    @Test
+    public void testReplay_DropsTornRecord() throws IOException {
+        markService.createMark(student1, 12, module1);
+        markService.close();
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0}));
+        }
+
+        assertEquals(1, reopen().allMarks().size());
+        assertEquals(6L, Files.size(log));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReplay_UnknownStudent() {
+        markService.createMark(student1, 12, module1);
+        markService.close();
+        new DurableMarkService(log, new StudentService(), moduleService);
+    }
+
+    // ============= Group Commit Tests =============
+
+    @Test
+    public void testGroupCommit_WritesOnlyFullGroups() throws IOException {
+        markService.close();
+        markService = new DurableMarkService(log, studentService, moduleService, new MarkService(), 2);
+
+        markService.createMark(student1, 12, module1);
+        assertEquals(0L, Files.size(log));
+        markService.createMark(student2, 14, module1);
+        assertEquals(12L, Files.size(log));
+        markService.createMark(student2, 16, module1);
+        markService.sync();
+        assertEquals(18L, Files.size(log));
+    }
+
+    @Test
+    public void testCreateMarks_SyncsWholeBatch() throws IOException {
+        markService.createMarks(Arrays.asList(
+                new Mark(student1, 12, module1),
+                new Mark(student2, 20, module2)));
+
+        assertEquals(12L, Files.size(log));
+        assertEquals(student2, reopen().bestMarkByModule(module2));
+    }
+
+    // ============= Validation Tests =============
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_InvalidMark() {
+        markService.createMark(student1, 21, module1);
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_UnsavedStudent() {
+        markService.createMark(new Student(3, "Unsaved", LocalDate.of(1999, 1, 3), null), 12, module1);
+    }
+
+    @Test(expected = MarkException.class)
+    public void testCreateMark_UnsavedModule() {
+        markService.createMark(student1, 12, new Module(ModuleName.GL, "GL", 3));
+    }
+
+    @Test
+    public void testCreateMarks_RejectsWholeBatch() throws IOException {
+        try {
+            markService.createMarks(Arrays.asList(
+                    new Mark(student1, 12, module1),
+                    new Mark(student1, 12, new Module(ModuleName.GL, "GL", 3))));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertTrue(e.getRejectedRows().containsKey(1));
+        }
+        markService.sync();
+        assertEquals(0L, Files.size(log));
+        assertTrue(markService.allMarks().isEmpty());
+    }
+
+    // ============= DeleteMarksByStudents Tests =============
+
+    @Test
+    public void testDeleteMarksByStudents_SurvivesReplay() {
+        markService.createMark(student1, 12, module1);
+        markService.createMark(student2, 18, module1);
+        markService.deleteMarksByStudents(Arrays.asList(2));
+        markService.createMark(student2, 9, module2);
+
+        DurableMarkService reopened = reopen();
+        assertEquals(2, reopened.allMarks().size());
+        assertEquals(student1, reopened.bestMarkByModule(module1));
+        assertEquals(Integer.valueOf(9), reopened.findMarksByStudent(2).get(0).getMark());
+    }
+
+    @Test
+    public void testDeleteMarksByStudents_DeletedStudentNotNeededOnReplay() {
+        markService.createMark(student2, 18, module1);
+        markService.deleteMarksByStudents(Arrays.asList(2));
+        markService.close();
+        studentService.deleteStudent(2);
+
+        assertTrue(reopen().allMarks().isEmpty());
+    }
+}
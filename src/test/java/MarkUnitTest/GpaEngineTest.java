@@ -0,0 +1,137 @@
+package MarkUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.GpaEngine;
+import mark.MarkService;
+import module.ModuleName;
+import module.ModuleService;
+import org.junit.Before;
+import org.junit.Test;
+import student.Student;
+import student.StudentService;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class GpaEngineTest {
+    private ModuleService moduleService;
+    private StudentService studentService;
+    private MarkService markService;
+    private GpaEngine gpaEngine;
+    private Group msir;
+    private Group miad;
+
+    @Before
+    public void setUp() {
+        moduleService = new ModuleService();
+        moduleService.saveModule(ModuleName.BDA, "base de donnees", 30);
+        moduleService.saveModule(ModuleName.RI, "reseaux", 10);
+        msir = new Group(GroupName.MSIR);
+        miad = new Group(GroupName.MIAD);
+        studentService = new StudentService();
+        studentService.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        studentService.saveStudent(2, "Siddik", LocalDate.of(1999, 1, 2), msir);
+        studentService.saveStudent(3, "Amine", LocalDate.of(1999, 1, 3), miad);
+        markService = new MarkService();
+        gpaEngine = GpaEngine.attach(markService, moduleService);
+        studentService.addListener(gpaEngine);
+    }
+
+    private void mark(int studentId, int mark, ModuleName module) {
+        markService.createMark(studentService.findById(studentId), mark, moduleService.findByModuleName(module));
+    }
+
+    // ============= WeightedAverage Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testWeightedAverage() {
+        mark(1, 10, ModuleName.BDA);
+        mark(1, 18, ModuleName.RI);
+
+        // (10 * 30 + 18 * 10) / 40
+        assertEquals(12.0, gpaEngine.weightedAverage(1), 1e-9);
+        assertNull(gpaEngine.weightedAverage(2));
+        assertNull(gpaEngine.weightedAverage(null));
+    }
+
+    @Test
+    public void testWeightedAverage_SeveralMarksInAModule() {
+        mark(1, 10, ModuleName.BDA);
+        mark(1, 14, ModuleName.BDA);
+        mark(1, 20, ModuleName.RI);
+
+        // (24 * 30 + 20 * 10) / 70
+        assertEquals(920.0 / 70, gpaEngine.weightedAverage(1), 1e-9);
+    }
+
+    @Test
+    public void testAttach_CountsExistingMarks() {
+        MarkService other = new MarkService();
+        other.createMark(studentService.findById(3), 16, moduleService.findByModuleName(ModuleName.RI));
+        GpaEngine attached = GpaEngine.attach(other, moduleService);
+
+        assertEquals(16.0, attached.weightedAverage(3), 1e-9);
+    }
+
+    // ============= Hours Change Tests (Decision Table Testing) =============
+
+    @Test
+    public void testModuleHoursChanged_RecomputesStudents() {
+        mark(1, 10, ModuleName.BDA);
+        mark(1, 18, ModuleName.RI);
+        mark(2, 20, ModuleName.RI);
+
+        moduleService.updateNumberHours(ModuleName.RI, 30);
+
+        // (10 * 30 + 18 * 30) / 60
+        assertEquals(14.0, gpaEngine.weightedAverage(1), 1e-9);
+        assertEquals(20.0, gpaEngine.weightedAverage(2), 1e-9);
+
+        mark(2, 10, ModuleName.BDA);
+        assertEquals(15.0, gpaEngine.weightedAverage(2), 1e-9);
+    }
+
+    @Test
+    public void testModuleHoursChanged_ZeroHours() {
+        mark(1, 10, ModuleName.BDA);
+        moduleService.updateNumberHours(ModuleName.BDA, 0);
+        assertNull(gpaEngine.weightedAverage(1));
+    }
+
+    // ============= WeightedAverages Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testWeightedAverages_ByGroup() {
+        mark(1, 12, ModuleName.BDA);
+        mark(2, 16, ModuleName.RI);
+        mark(3, 8, ModuleName.BDA);
+
+        Map<Integer, Double> averages = gpaEngine.weightedAverages(GroupName.MSIR);
+        assertEquals(2, averages.size());
+        assertEquals(12.0, averages.get(1), 1e-9);
+        assertEquals(16.0, averages.get(2), 1e-9);
+        assertEquals(1, gpaEngine.weightedAverages(GroupName.MIAD).size());
+        assertTrue(gpaEngine.weightedAverages(GroupName.MSIA).isEmpty());
+    }
+
+    @Test
+    public void testWeightedAverages_FollowsGroupChangeAndDelete() {
+        mark(1, 12, ModuleName.BDA);
+        mark(2, 16, ModuleName.RI);
+
+        studentService.updateStudent(1, "Berat", LocalDate.of(1999, 1, 1), miad);
+        studentService.deleteStudent(2);
+
+        assertTrue(gpaEngine.weightedAverages(GroupName.MSIR).isEmpty());
+        assertEquals(12.0, gpaEngine.weightedAverages(GroupName.MIAD).get(1), 1e-9);
+        assertNull(gpaEngine.weightedAverage(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWeightedAverages_NullGroup() {
+        gpaEngine.weightedAverages(null);
+    }
+}
@@ -0,0 +1,194 @@
+package MarkUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.GpaEngine;
+import mark.Leaderboard;
+import mark.Mark;
+import mark.MarkService;
+import module.Module;
+import module.ModuleName;
+import module.ModuleService;
+import org.junit.Before;
+import org.junit.Test;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class LeaderboardTest {
+    private MarkService markService;
+    private Leaderboard leaderboard;
+    private Student student1;
+    private Student student2;
+    private Student student3;
+    private Module bda;
+    private Module ri;
+
+    @Before
+    public void setUp() {
+        markService = new MarkService();
+        leaderboard = Leaderboard.attach(markService);
+        Group msir = new Group(GroupName.MSIR);
+        student1 = new Student(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        student2 = new Student(2, "Siddik", LocalDate.of(1999, 1, 2), msir);
+        student3 = new Student(3, "Amine", LocalDate.of(1999, 1, 3), new Group(GroupName.MIAD));
+        bda = new Module(ModuleName.BDA, "base de donnees", 30);
+        ri = new Module(ModuleName.RI, "reseaux", 10);
+    }
+
+    private static List<Integer> ids(List<Student> students) {
+        return students.stream().map(Student::getId).collect(Collectors.toList());
+    }
+
+    // ============= TopByModule Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testTopByModule_BestMarkOfEachStudent() {
+        markService.createMark(student1, 12, bda);
+        markService.createMark(student2, 15, bda);
+        markService.createMark(student1, 18, bda);
+        markService.createMark(student3, 9, bda);
+
+        List<Mark> top = leaderboard.topByModule(ModuleName.BDA, 2);
+        assertEquals(2, top.size());
+        assertSame(student1, top.get(0).getStudent());
+        assertEquals(Integer.valueOf(18), top.get(0).getMark());
+        assertSame(student2, top.get(1).getStudent());
+        assertEquals(3, leaderboard.topByModule(ModuleName.BDA, 10).size());
+        assertTrue(leaderboard.topByModule(ModuleName.GL, 3).isEmpty());
+    }
+
+    @Test
+    public void testTopByModule_TiesInOrderOfCreation() {
+        markService.createMark(student2, 20, bda);
+        markService.createMark(student1, 20, bda);
+        markService.createMark(student3, 20, bda);
+
+        List<Mark> top = leaderboard.topByModule(ModuleName.BDA, 3);
+        assertSame(student2, top.get(0).getStudent());
+        assertSame(student1, top.get(1).getStudent());
+        assertSame(student3, top.get(2).getStudent());
+    }
+
+    @Test
+    public void testTopByModule_LowerMarkKeepsBest() {
+        markService.createMark(student1, 16, bda);
+        markService.createMark(student1, 6, bda);
+
+        List<Mark> top = leaderboard.topByModule(ModuleName.BDA, 5);
+        assertEquals(1, top.size());
+        assertEquals(Integer.valueOf(16), top.get(0).getMark());
+    }
+
+    // ============= Weighted Average Tests (Decision Table Testing) =============
+
+    @Test
+    public void testWeightedAverage() {
+        markService.createMark(student1, 10, bda);
+        markService.createMark(student1, 18, ri);
+
+        // (10 * 30 + 18 * 10) / 40
+        assertEquals(12.0, leaderboard.weightedAverage(1), 1e-9);
+        assertNull(leaderboard.weightedAverage(2));
+    }
+
+    @Test
+    public void testRanking_ByWeightedAverageThenId() {
+        markService.createMark(student1, 10, bda);
+        markService.createMark(student1, 18, ri);
+        markService.createMark(student2, 12, ri);
+        markService.createMark(student3, 15, bda);
+
+        assertEquals(Arrays.asList(3, 1, 2), ids(leaderboard.ranking(0, 10)));
+        assertEquals(Arrays.asList(1, 2), ids(leaderboard.ranking(1, 5)));
+        assertTrue(leaderboard.ranking(3, 5).isEmpty());
+
+        // student 2 now has (12 * 10 + 20 * 30) / 40 = 18
+        markService.createMark(student2, 20, bda);
+        assertEquals(Arrays.asList(2, 3, 1), ids(leaderboard.ranking(0, 10)));
+    }
+
+    @Test
+    public void testTopByGroup() {
+        markService.createMark(student1, 11, bda);
+        markService.createMark(student2, 14, bda);
+        markService.createMark(student3, 20, bda);
+
+        assertEquals(Arrays.asList(2, 1), ids(leaderboard.topByGroup(GroupName.MSIR, 5)));
+        assertEquals(Arrays.asList(2), ids(leaderboard.topByGroup(GroupName.MSIR, 1)));
+        assertEquals(Arrays.asList(3), ids(leaderboard.topByGroup(GroupName.MIAD, 5)));
+        assertTrue(leaderboard.topByGroup(GroupName.MSIA, 5).isEmpty());
+    }
+
+    @Test
+    public void testTopByGroup_StudentMovesWithItsLastMark() {
+        markService.createMark(student1, 11, bda);
+        student1.setGroup(new Group(GroupName.MIAD));
+        markService.createMark(student1, 13, bda);
+
+        assertTrue(leaderboard.topByGroup(GroupName.MSIR, 5).isEmpty());
+        assertEquals(Arrays.asList(1), ids(leaderboard.topByGroup(GroupName.MIAD, 5)));
+    }
+
+    @Test
+    public void testModuleWithoutHours_LeftOutOfAverages() {
+        markService.createMark(student1, 15, new Module(ModuleName.GL, "genie logiciel", null));
+
+        assertNull(leaderboard.weightedAverage(1));
+        assertEquals(1, leaderboard.topByModule(ModuleName.GL, 1).size());
+    }
+
+    // ============= Module Hours Tests (State Transition Testing) =============
+
+    @Test
+    public void testModuleHoursChanged_RanksAgainLikeGpaEngine() {
+        ModuleService moduleService = new ModuleService();
+        moduleService.saveModule(ModuleName.BDA, "base de donnees", 30);
+        moduleService.saveModule(ModuleName.RI, "reseaux", 10);
+        MarkService other = new MarkService();
+        Leaderboard attached = Leaderboard.attach(other, moduleService);
+        GpaEngine gpaEngine = GpaEngine.attach(other, moduleService);
+        other.createMark(student1, 10, moduleService.findByModuleName(ModuleName.BDA));
+        other.createMark(student1, 18, moduleService.findByModuleName(ModuleName.RI));
+        other.createMark(student2, 13, moduleService.findByModuleName(ModuleName.BDA));
+
+        // (10 * 30 + 18 * 10) / 40 = 12 against 13
+        assertEquals(Arrays.asList(2, 1), ids(attached.ranking(0, 5)));
+
+        moduleService.updateNumberHours(ModuleName.RI, 30);
+
+        // (10 * 30 + 18 * 30) / 60 = 14 against 13
+        assertEquals(14.0, attached.weightedAverage(1), 1e-9);
+        assertEquals(gpaEngine.weightedAverage(1), attached.weightedAverage(1), 1e-9);
+        assertEquals(Arrays.asList(1, 2), ids(attached.ranking(0, 5)));
+        assertEquals(Arrays.asList(1, 2), ids(attached.topByGroup(GroupName.MSIR, 5)));
+
+        moduleService.updateNumberHours(ModuleName.BDA, 0);
+        assertEquals(Arrays.asList(1), ids(attached.ranking(0, 5)));
+        assertNull(attached.weightedAverage(2));
+    }
+
+    @Test
+    public void testAttach_RanksExistingMarks() {
+        MarkService other = new MarkService();
+        other.createMark(student1, 15, bda);
+        Leaderboard attached = Leaderboard.attach(other);
+
+        assertEquals(Arrays.asList(1), ids(attached.ranking(0, 5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRanking_NegativeOffset() {
+        leaderboard.ranking(-1, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTopByModule_NullModule() {
+        leaderboard.topByModule(null, 5);
+    }
+}
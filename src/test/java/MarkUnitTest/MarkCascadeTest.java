@@ -0,0 +1,114 @@
+package MarkUnitTest;
+
+import group.Group;
+import group.GroupName;
+import group.GroupService;
+import mark.ConcurrentMarkService;
+import mark.Leaderboard;
+import mark.Mark;
+import mark.MarkCascade;
+import mark.MarkListener;
+import mark.MarkRepository;
+import mark.MarkService;
+import module.Module;
+import module.ModuleName;
+import org.junit.Before;
+import org.junit.Test;
+import student.ConcurrentStudentService;
+import student.StudentService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class MarkCascadeTest {
+    private StudentService studentService;
+    private GroupService groupService;
+    private MarkService markService;
+    private Group msir;
+    private Module bda;
+
+    @Before
+    public void setUp() {
+        studentService = new StudentService();
+        groupService = new GroupService();
+        groupService.saveGroup(GroupName.MSIR);
+        msir = groupService.findByGroupName(GroupName.MSIR);
+        studentService.addListener(groupService);
+        markService = new MarkService();
+        MarkCascade.attach(studentService, markService);
+        bda = new Module(ModuleName.BDA, "base de donnees", 30);
+    }
+
+    // ============= Cascade Tests (State Transition Testing) =============
+
+    @Test
+    public void testDeleteStudent_DeletesItsMarks() {
+        studentService.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), msir);
+        studentService.saveStudent(2, "Siddik", LocalDate.of(1999, 1, 2), msir);
+        markService.createMark(studentService.findById(1), 18, bda);
+        markService.createMark(studentService.findById(2), 12, bda);
+
+        studentService.deleteStudent(1);
+
+        assertEquals(1, markService.allMarks().size());
+        assertTrue(markService.findMarksByStudent(1).isEmpty());
+        assertEquals(Integer.valueOf(2), markService.bestMarkByModule(bda).getId());
+        assertEquals(Integer.valueOf(1), msir.getNumberStudent());
+    }
+
+    @Test
+    public void testDeleteAll_DeletesCohortInOneBatch() {
+        Leaderboard leaderboard = Leaderboard.attach(markService);
+        for (int id = 1; id <= 6; id++) {
+            studentService.saveStudent(id, "Student" + id, LocalDate.of(1999, 1, id), msir);
+            markService.createMark(studentService.findById(id), 10 + id, bda);
+        }
+        List<Integer> batches = new ArrayList<>();
+        markService.addListener(new MarkListener() {
+            @Override
+            public void markCreated(Mark mark) {
+            }
+
+            @Override
+            public void marksDeleted(List<Mark> marks) {
+                batches.add(marks.size());
+            }
+        });
+
+        studentService.deleteAll(Arrays.asList(2, 4, 6));
+
+        assertEquals(Arrays.asList(3), batches);
+        assertEquals(3, markService.allMarks().size());
+        assertEquals(Integer.valueOf(3), msir.getNumberStudent());
+        assertEquals(Arrays.asList(5, 3, 1), leaderboard.ranking(0, 10).stream()
+                .map(student -> student.getId()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testDeleteAll_ConcurrentRepositories() {
+        ConcurrentStudentService students = new ConcurrentStudentService();
+        MarkRepository marks = new ConcurrentMarkService();
+        MarkCascade.attach(students, marks);
+        IntStream.rangeClosed(1, 100).parallel().forEach(id -> {
+            students.saveStudent(id, "Student" + id, LocalDate.of(1999, 1, 1), msir);
+            marks.createMark(students.findById(id), 5 + id % 16, bda);
+        });
+
+        students.deleteAll(IntStream.rangeClosed(1, 100).filter(id -> id % 16 == 15).boxed()
+                .collect(Collectors.toList()));
+
+        assertEquals(94, marks.allMarks().size());
+        assertTrue(marks.bestMarkByModule(bda).getId() % 16 == 14);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAttach_NullMarkRepository() {
+        MarkCascade.attach(studentService, null);
+    }
+}
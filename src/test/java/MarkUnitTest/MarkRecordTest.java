@@ -0,0 +1,66 @@
+package MarkUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.Mark;
+import mark.MarkRecord;
+import mark.exception.MarkException;
+import module.Module;
+import module.ModuleName;
+import org.junit.Test;
+import student.Student;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class MarkRecordTest {
+
+    // ============= Conversion Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFrom_KeepsIdsOnly() {
+        Student student = new Student(3, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MSIR));
+        MarkRecord record = MarkRecord.from(new Mark(student, 17, new Module(ModuleName.RI, "reseaux", 10)));
+
+        assertEquals(3, record.studentId());
+        assertEquals(17, record.mark());
+        assertEquals(ModuleName.RI, record.module());
+    }
+
+    @Test(expected = MarkException.class)
+    public void testFrom_StudentWithoutId() {
+        Student student = new Student(null, "Berat", LocalDate.of(1999, 1, 1), null);
+        MarkRecord.from(new Mark(student, 17, new Module(ModuleName.RI, "reseaux", 10)));
+    }
+
+    // ============= Boundary Value Tests =============
+
+    @Test
+    public void testOf_Bounds() {
+        assertEquals(5, MarkRecord.of(1, 5, ModuleName.BDA).mark());
+        assertEquals(20, MarkRecord.of(1, 20, ModuleName.BDA).mark());
+    }
+
+    @Test(expected = MarkException.class)
+    public void testOf_AboveTwentyNotNarrowed() {
+        // 261 would wrap to 5 in a byte
+        MarkRecord.of(1, 261, ModuleName.BDA);
+    }
+
+    @Test(expected = MarkException.class)
+    public void testConstructor_BelowFive() {
+        new MarkRecord(1, (byte) 4, ModuleName.BDA);
+    }
+
+    @Test(expected = MarkException.class)
+    public void testConstructor_NullModule() {
+        new MarkRecord(1, (byte) 12, null);
+    }
+
+    @Test
+    public void testEquals_AllFields() {
+        assertEquals(MarkRecord.of(1, 12, ModuleName.BDA), MarkRecord.of(1, 12, ModuleName.BDA));
+        assertNotEquals(MarkRecord.of(1, 12, ModuleName.BDA), MarkRecord.of(1, 13, ModuleName.BDA));
+    }
+}
@@ -1,8 +1,11 @@
 package MarkUnitTest;
 
+import exception.BatchException;
 import group.Group;
 import group.GroupName;
+import mark.ConcurrentMarkService;
 import mark.Mark;
+import mark.MarkRepository;
 import module.ModuleName;
 import org.junit.Test;
 import student.Student;
@@ -11,8 +14,14 @@ import static org.junit.Assert.*;
 import mark.exception.MarkException;
 import org.junit.Before;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 import mark.MarkService;
+import mark.MarkStatistics;
 
 public class MarkServiceTest {
     private MarkService markService;
@@ -99,6 +108,11 @@ public class MarkServiceTest {
         assertEquals(2, markService.allMarks().size());
     }
 
+    @Test(expected = MarkException.class)
+    public void testCreateMark_NullModuleReference() {
+        markService.createMark(student1, VALID_MARK, new Module(null, "No reference", 10));
+    }
+
     @Test(expected = MarkException.class)
     public void testCreateMark_NullStudent() {
         markService.createMark(null, VALID_MARK, module1);
@@ -232,6 +246,20 @@ public class MarkServiceTest {
         assertEquals(student1, bestStudent); // Should return first student with highest mark
     }
 
+    @Test
+    public void testBestMarkByModule_InterleavedModules() {
+        markService.createMark(student1, MIDDLE_MARK, module1);
+        markService.createMark(student1, MAX_MARK, module2);
+        markService.createMark(student2, VALID_MARK, module1);
+        markService.createMark(student2, MIN_MARK, module2);
+
+        assertEquals(student2, markService.bestMarkByModule(module1));
+        assertEquals(student1, markService.bestMarkByModule(module2));
+        List<Mark> marks = markService.findMarkByModule(module1);
+        assertEquals(Integer.valueOf(MIDDLE_MARK), marks.get(0).getMark());
+        assertEquals(Integer.valueOf(VALID_MARK), marks.get(1).getMark());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBestMarkByModule_NullModule() {
         markService.bestMarkByModule(null);
@@ -265,5 +293,173 @@ public class MarkServiceTest {
         assertTrue(markString.contains("mark=" + VALID_MARK));
         assertTrue(markString.contains("module=" + module1));
     }
-    
-}
\ No newline at end of file
+
+    // ============= CreateMarks Tests (Decision Table Testing) =============
+
+    @Test
+    public void testCreateMarks_ValidBatch() {
+        markService.createMarks(Arrays.asList(
+                new Mark(student1, MIDDLE_MARK, module1),
+                new Mark(student2, MAX_MARK, module1),
+                new Mark(student1, MIN_MARK, module2)));
+
+        assertEquals(3, markService.allMarks().size());
+        assertEquals(2, markService.findMarkByModule(module1).size());
+        assertEquals(student2, markService.bestMarkByModule(module1));
+    }
+
+    @Test
+    public void testCreateMarks_RejectsWholeBatch() {
+        try {
+            markService.createMarks(Arrays.asList(
+                    new Mark(student1, VALID_MARK, module1),
+                    new Mark(student1, INVALID_HIGH_MARK, module1),
+                    new Mark(null, VALID_MARK, module1)));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertEquals(2, e.getRejectedRows().size());
+            assertTrue(e.getRejectedRows().containsKey(1));
+            assertTrue(e.getRejectedRows().containsKey(2));
+        }
+        assertTrue(markService.allMarks().isEmpty());
+        assertNull(markService.bestMarkByModule(module1));
+    }
+
+    // ============= StreamMarks Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testStreamMarks_SameMarksAsAllMarks() {
+        markService.createMark(student1, VALID_MARK, module1);
+        markService.createMark(student2, MAX_MARK, module2);
+
+        assertEquals(markService.allMarks(), markService.streamMarks().collect(Collectors.toList()));
+    }
+
+    // ============= FindMarksByStudent Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFindMarksByStudent_InCreationOrder() {
+        markService.createMark(student1, MIDDLE_MARK, module1);
+        markService.createMark(student2, VALID_MARK, module1);
+        markService.createMarks(Arrays.asList(new Mark(student1, MAX_MARK, module2)));
+
+        List<Mark> marks = markService.findMarksByStudent(1);
+        assertEquals(2, marks.size());
+        assertEquals(Integer.valueOf(MIDDLE_MARK), marks.get(0).getMark());
+        assertEquals(module2, marks.get(1).getModule());
+        assertEquals(1, markService.findMarksByStudent(2).size());
+    }
+
+    @Test
+    public void testFindMarksByStudent_NoMarks() {
+        markService.createMark(student1, VALID_MARK, module1);
+        assertTrue(markService.findMarksByStudent(3).isEmpty());
+    }
+
+    @Test
+    public void testFindMarksByStudent_ModificationAttempt() {
+        markService.createMark(student1, VALID_MARK, module1);
+        markService.findMarksByStudent(1).clear();
+        assertEquals(1, markService.findMarksByStudent(1).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindMarksByStudent_NullId() {
+        markService.findMarksByStudent(null);
+    }
+
+    // ============= DeleteMarksByStudents Tests (Decision Table Testing) =============
+
+    @Test
+    public void testDeleteMarksByStudents_RemovesMarksAndIndexes() {
+        markService.createMark(student1, MAX_MARK, module1);
+        markService.createMark(student2, MIDDLE_MARK, module1);
+        markService.createMark(student2, VALID_MARK, module1);
+        markService.createMark(student1, VALID_MARK, module2);
+
+        List<Mark> deleted = markService.deleteMarksByStudents(Arrays.asList(1, 3));
+
+        assertEquals(2, deleted.size());
+        assertEquals(2, markService.allMarks().size());
+        assertTrue(markService.findMarksByStudent(1).isEmpty());
+        assertEquals(2, markService.findMarkByModule(module1).size());
+        assertTrue(markService.findMarkByModule(module2).isEmpty());
+        assertEquals(student2, markService.bestMarkByModule(module1));
+        assertNull(markService.bestMarkByModule(module2));
+    }
+
+    @Test
+    public void testDeleteMarksByStudents_NotifiesListeners() {
+        MarkStatistics statistics = MarkStatistics.attach(markService);
+        markService.createMark(student1, MAX_MARK, module1);
+        markService.createMark(student2, MIDDLE_MARK, module1);
+
+        markService.deleteMarksByStudents(Arrays.asList(1));
+
+        assertEquals(1, statistics.byModule(ModuleName.BDA).count());
+        assertEquals(Integer.valueOf(MIDDLE_MARK), statistics.byModule(ModuleName.BDA).percentile(100));
+    }
+
+    @Test
+    public void testDeleteMarksByStudents_NoMarks() {
+        markService.createMark(student1, VALID_MARK, module1);
+        assertTrue(markService.deleteMarksByStudents(Arrays.asList(2)).isEmpty());
+        assertEquals(1, markService.allMarks().size());
+    }
+
+    @Test
+    public void testDeleteMarksByStudents_OneStudentAtATime() {
+        for (MarkRepository repository : new MarkRepository[]{new MarkService(), new ConcurrentMarkService()}) {
+            List<Mark> expected = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                Student student = new Student(i % 20, "Student " + i % 20, LocalDate.of(1999, 1, 1), null);
+                repository.createMark(student, MIN_MARK + i % 16, i % 3 == 0 ? module2 : module1);
+                expected.add(repository.allMarks().get(i));
+            }
+
+            // every delete is checked against the marks left, across several purges of the lists
+            for (int id = 0; id < 20; id++) {
+                int deletedId = id;
+                repository.deleteMarksByStudents(Collections.singletonList(id));
+                expected.removeIf(mark -> mark.getStudent().getId() == deletedId);
+
+                assertEquals(expected, repository.allMarks());
+                assertEquals(expected.size(), repository.streamMarks().count());
+                for (Module module : new Module[]{module1, module2}) {
+                    List<Mark> ofModule = expected.stream()
+                            .filter(mark -> mark.getModule() == module).collect(Collectors.toList());
+                    assertEquals(ofModule, repository.findMarkByModule(module));
+                    Mark best = ofModule.stream().max(Comparator.comparing(Mark::getMark)).orElse(null);
+                    if (best == null) {
+                        assertNull(repository.bestMarkByModule(module));
+                    } else {
+                        assertEquals(best.getMark(), repository.findMarksByStudent(repository.bestMarkByModule(module).getId())
+                                .stream().filter(mark -> mark.getModule() == module)
+                                .map(Mark::getMark).max(Integer::compare).get());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeleteMarksByStudents_SameMarksGivenBack() {
+        for (MarkRepository repository : new MarkRepository[]{new MarkService(), new ConcurrentMarkService()}) {
+            repository.createMark(student1, MAX_MARK, module1);
+            repository.createMark(student2, MIDDLE_MARK, module1);
+            repository.createMark(student2, VALID_MARK, module1);
+
+            List<Mark> deleted = repository.deleteMarksByStudents(Arrays.asList(1));
+            repository.createMarks(deleted);
+
+            assertEquals(3, repository.allMarks().size());
+            assertEquals(3, repository.findMarkByModule(module1).size());
+            assertSame(deleted.get(0), repository.allMarks().get(2));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteMarksByStudents_NullIds() {
+        markService.deleteMarksByStudents(null);
+    }
+}
@@ -0,0 +1,162 @@
+package MarkUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.ColumnarMarkService;
+import mark.ConcurrentMarkService;
+import mark.Mark;
+import mark.MarkCascade;
+import mark.MarkHistogram;
+import mark.MarkRepository;
+import mark.MarkService;
+import mark.MarkStatistics;
+import module.Module;
+import module.ModuleName;
+import org.junit.Before;
+import org.junit.Test;
+import student.Student;
+import student.StudentService;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class MarkStatisticsTest {
+    private MarkService markService;
+    private MarkStatistics statistics;
+    private Student student1;
+    private Student student2;
+    private Module module1;
+    private Module module2;
+
+    @Before
+    public void setUp() {
+        markService = new MarkService();
+        statistics = MarkStatistics.attach(markService);
+        student1 = new Student(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MSIR));
+        student2 = new Student(2, "Siddik", LocalDate.of(1999, 1, 2), new Group(GroupName.MIAD));
+        module1 = new Module(ModuleName.BDA, "TestModule", 5);
+        module2 = new Module(ModuleName.RI, "TestModule2", 2);
+    }
+
+    // ============= Histogram Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testEmptyHistogram() {
+        MarkHistogram histogram = statistics.byModule(ModuleName.GL);
+        assertEquals(0, histogram.count());
+        assertTrue(Double.isNaN(histogram.mean()));
+        assertNull(histogram.median());
+        assertEquals(0.0, histogram.passRate(), 0.0);
+        assertTrue(histogram.topMarks(3).isEmpty());
+    }
+
+    @Test
+    public void testModuleStatistics() {
+        for (int mark : new int[]{8, 12, 15, 15, 20}) {
+            markService.createMark(student1, mark, module1);
+        }
+        markService.createMark(student2, 5, module2);
+
+        MarkHistogram histogram = statistics.byModule(ModuleName.BDA);
+        assertEquals(5, histogram.count());
+        assertEquals(2, histogram.count(15));
+        assertEquals(14.0, histogram.mean(), 1e-9);
+        assertEquals(Integer.valueOf(15), histogram.median());
+        assertEquals(Integer.valueOf(8), histogram.percentile(0));
+        assertEquals(Integer.valueOf(12), histogram.percentile(40));
+        assertEquals(Integer.valueOf(20), histogram.percentile(100));
+        assertEquals(0.8, histogram.passRate(), 1e-9);
+        assertEquals(Arrays.asList(20, 15, 15), histogram.topMarks(3));
+        assertEquals(1, statistics.byModule(ModuleName.RI).count());
+    }
+
+    @Test
+    public void testPassMarkBoundary() {
+        markService.createMark(student1, 9, module1);
+        markService.createMark(student1, 10, module1);
+        assertEquals(0.5, statistics.byModule(ModuleName.BDA).passRate(), 1e-9);
+    }
+
+    @Test
+    public void testGroupStatistics() {
+        markService.createMark(student1, 12, module1);
+        markService.createMark(student1, 16, module2);
+        markService.createMark(student2, 6, module1);
+        markService.createMark(new Student(3, "No group", LocalDate.of(1999, 1, 3), null), 18, module1);
+
+        assertEquals(14.0, statistics.byGroup(GroupName.MSIR).mean(), 1e-9);
+        assertEquals(1, statistics.byGroup(GroupName.MIAD).count());
+        assertEquals(0, statistics.byGroup(GroupName.MSIA).count());
+        assertEquals(4, statistics.byModule(ModuleName.BDA).count() + statistics.byModule(ModuleName.RI).count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentile_OutOfRange() {
+        statistics.byModule(ModuleName.BDA).percentile(101);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testByModule_Null() {
+        statistics.byModule(null);
+    }
+
+    // ============= Listener Tests (Decision Table Testing) =============
+
+    @Test
+    public void testAttach_CountsExistingMarks() {
+        MarkService other = new MarkService();
+        other.createMark(student1, 15, module1);
+        MarkStatistics attached = MarkStatistics.attach(other);
+        other.createMark(student2, 11, module1);
+
+        assertEquals(2, attached.byModule(ModuleName.BDA).count());
+    }
+
+    @Test
+    public void testBatchAndRejectedMarks() {
+        markService.createMarks(Arrays.asList(new Mark(student1, 12, module1), new Mark(student2, 14, module1)));
+        try {
+            markService.createMarks(Collections.singletonList(new Mark(student1, 21, module1)));
+        } catch (RuntimeException expected) {
+            // rejected batches are not counted
+        }
+        assertEquals(2, statistics.byModule(ModuleName.BDA).count());
+    }
+
+    @Test
+    public void testGroupChangedThenStudentDeleted() {
+        for (MarkRepository repository : new MarkRepository[]{new MarkService(), new ColumnarMarkService()}) {
+            StudentService studentService = new StudentService();
+            MarkCascade.attach(studentService, repository);
+            MarkStatistics attached = MarkStatistics.attach(repository);
+            studentService.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MSIR));
+            repository.createMark(studentService.findById(1), 12, module1);
+            studentService.updateStudent(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MIAD));
+            repository.createMark(studentService.findById(1), 16, module1);
+
+            assertEquals(1, attached.byGroup(GroupName.MSIR).count());
+            assertEquals(1, attached.byGroup(GroupName.MIAD).count());
+
+            studentService.deleteStudent(1);
+
+            assertEquals(0, attached.byGroup(GroupName.MSIR).count());
+            assertEquals(0, attached.byGroup(GroupName.MIAD).count());
+            assertEquals(0, attached.byModule(ModuleName.BDA).count());
+        }
+    }
+
+    @Test
+    public void testEveryImplementationNotifies() {
+        for (MarkRepository repository : new MarkRepository[]{new ColumnarMarkService(), new ConcurrentMarkService()}) {
+            MarkStatistics attached = MarkStatistics.attach(repository);
+            repository.createMark(student1, 13, module1);
+            repository.createMarks(Collections.singletonList(new Mark(student2, 17, module1)));
+
+            assertEquals(2, attached.byModule(ModuleName.BDA).count());
+            assertEquals(15.0, attached.byModule(ModuleName.BDA).mean(), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package MarkUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.CohortReport;
+import mark.ColumnarMarkService;
+import mark.ConcurrentMarkService;
+import mark.Mark;
+import mark.MarkRepository;
+import mark.MarkService;
+import mark.ReportEngine;
+import module.Module;
+import module.ModuleName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ReportEngineTest {
+    private ForkJoinPool pool;
+    private ReportEngine engine;
+    private Student student1;
+    private Student student2;
+    private Student student3;
+    private Module cry;
+    private Module bda;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        // chunks of 3 rows so that even the small data sets are split between tasks
+        engine = new ReportEngine(pool, 3);
+        student1 = new Student(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MIAD));
+        student2 = new Student(2, "Siddik", LocalDate.of(1999, 1, 2), new Group(GroupName.MIAD));
+        student3 = new Student(3, "Amine", LocalDate.of(1999, 1, 3), null);
+        cry = new Module(ModuleName.CRY, "cryptographie", 20);
+        bda = new Module(ModuleName.BDA, "base de donnees", 30);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static void fill(MarkRepository repository, Student s1, Student s2, Student s3, Module m1, Module m2) {
+        repository.createMark(s1, 12, m1);
+        repository.createMark(s1, 6, m2);
+        repository.createMark(s2, 8, m1);
+        repository.createMark(s2, 9, m1);
+        repository.createMark(s2, 15, m2);
+        repository.createMark(s3, 20, m1);
+        repository.createMark(s1, 16, m1);
+    }
+
+    // ============= Report Tests (Decision Table Testing) =============
+
+    @Test
+    public void testReport_EveryStore() {
+        for (MarkRepository repository : Arrays.asList(new MarkService(), new ColumnarMarkService(), new ConcurrentMarkService())) {
+            fill(repository, student1, student2, student3, cry, bda);
+            CohortReport report = engine.report(repository);
+
+            assertEquals(4, report.marks(GroupName.MIAD, ModuleName.CRY));
+            assertEquals(11.25, report.average(GroupName.MIAD, ModuleName.CRY), 1e-9);
+            assertEquals(2, report.failedMarks(GroupName.MIAD, ModuleName.CRY));
+            assertEquals(1, report.failedMarks(GroupName.MIAD, ModuleName.BDA));
+            // the student without a group only counts in the module totals
+            assertEquals(5, report.marks(ModuleName.CRY));
+            assertEquals(13.0, report.average(ModuleName.CRY), 1e-9);
+            assertEquals(2, report.students(GroupName.MIAD));
+            // student 1 averages 11.33, student 2 averages 10.67
+            assertEquals(0, report.failingStudents(GroupName.MIAD));
+            assertEquals(0, report.marks(GroupName.MSIR, ModuleName.CRY));
+            assertTrue(Double.isNaN(report.average(GroupName.MSIR, ModuleName.CRY)));
+        }
+    }
+
+    @Test
+    public void testReport_FailingStudents() {
+        MarkService markService = new MarkService();
+        markService.createMark(student1, 9, cry);
+        markService.createMark(student1, 10, bda);
+        markService.createMark(student2, 10, cry);
+
+        CohortReport report = engine.report(markService);
+        assertEquals(2, report.students(GroupName.MIAD));
+        assertEquals(1, report.failingStudents(GroupName.MIAD));
+    }
+
+    @Test
+    public void testReport_EmptyRepository() {
+        CohortReport report = engine.report(new ColumnarMarkService());
+
+        assertEquals(0, report.marks(ModuleName.BDA));
+        assertTrue(Double.isNaN(report.average(ModuleName.BDA)));
+        assertEquals(0, report.students(GroupName.MSIA));
+    }
+
+    // ============= Group Tests (State Transition Testing) =============
+
+    @Test
+    public void testReport_FollowsGroupChanges() {
+        ColumnarMarkService columnarService = new ColumnarMarkService();
+        fill(columnarService, student1, student2, student3, cry, bda);
+        student2.setGroup(new Group(GroupName.MSIR));
+
+        CohortReport report = engine.report(columnarService);
+        assertEquals(2, report.marks(GroupName.MIAD, ModuleName.CRY));
+        assertEquals(2, report.marks(GroupName.MSIR, ModuleName.CRY));
+        assertEquals(1, report.students(GroupName.MSIR));
+    }
+
+    @Test
+    public void testReport_AfterDelete() {
+        ColumnarMarkService columnarService = new ColumnarMarkService();
+        fill(columnarService, student1, student2, student3, cry, bda);
+        columnarService.deleteMarksByStudents(Arrays.asList(1));
+
+        CohortReport report = engine.report(columnarService);
+        assertEquals(2, report.marks(GroupName.MIAD, ModuleName.CRY));
+        assertEquals(1, report.students(GroupName.MIAD));
+    }
+
+    // ============= Parallel Tests (Equivalence Partitioning) =============
+
+    @Test
+    public void testReport_SameAsSequentialLoop() {
+        // ids far apart, so that the columnar report looks the groups up in a map
+        for (int step : new int[]{1, 100_000}) {
+            MarkService markService = new MarkService();
+            ColumnarMarkService columnarService = new ColumnarMarkService();
+            GroupName[] groups = GroupName.values();
+            Module[] modules = new Module[ModuleName.values().length];
+            for (ModuleName name : ModuleName.values()) {
+                modules[name.ordinal()] = new Module(name, name.toString(), 10);
+            }
+            Random random = new Random(7);
+            List<Mark> marks = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                int id = (i % 700) * step;
+                Group group = id % 11 == 0 ? null : new Group(groups[id % groups.length]);
+                marks.add(new Mark(new Student(id, "Student " + id, LocalDate.of(2000, 1, 1), group),
+                        5 + random.nextInt(16), modules[random.nextInt(modules.length)]));
+            }
+            markService.createMarks(marks);
+            columnarService.createMarks(marks);
+
+            Map<String, long[]> expected = new HashMap<>();
+            Map<Integer, long[]> byStudent = new HashMap<>();
+            for (Mark mark : marks) {
+                Group group = mark.getStudent().getGroup();
+                long[] totals = expected.computeIfAbsent((group != null ? group.getReference() : null)
+                        + "/" + mark.getModule().getReference(), key -> new long[2]);
+                totals[0]++;
+                totals[1] += mark.getMark();
+                long[] student = byStudent.computeIfAbsent(mark.getStudent().getId(), id -> new long[2]);
+                student[0]++;
+                student[1] += mark.getMark();
+            }
+
+            for (MarkRepository repository : Arrays.asList(markService, columnarService)) {
+                CohortReport report = new ReportEngine(pool, 64).report(repository);
+                for (GroupName group : groups) {
+                    for (ModuleName module : ModuleName.values()) {
+                        long[] totals = expected.getOrDefault(group + "/" + module, new long[2]);
+                        assertEquals(totals[0], report.marks(group, module));
+                        assertEquals((double) totals[1] / totals[0], report.average(group, module), 1e-9);
+                    }
+                    long failing = byStudent.entrySet().stream()
+                            .filter(student -> student.getKey() % 11 != 0 && student.getKey() % groups.length == group.ordinal())
+                            .filter(student -> student.getValue()[1] < 10 * student.getValue()[0]).count();
+                    assertEquals(failing, report.failingStudents(group));
+                }
+            }
+        }
+    }
+
+    // ============= Validation Tests =============
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReport_NullRepository() {
+        engine.report(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_ChunkSizeZero() {
+        new ReportEngine(pool, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAverage_NullGroup() {
+        engine.report(new MarkService()).average(null, ModuleName.CRY);
+    }
+}
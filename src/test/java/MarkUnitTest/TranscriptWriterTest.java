@@ -0,0 +1,101 @@
+package MarkUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.ConcurrentMarkService;
+import mark.GpaEngine;
+import mark.MarkService;
+import mark.TranscriptWriter;
+import module.Module;
+import module.ModuleName;
+import module.ModuleService;
+import org.junit.Before;
+import org.junit.Test;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class TranscriptWriterTest {
+    private MarkService markService;
+    private TranscriptWriter transcriptWriter;
+    private Student student1;
+    private Student student2;
+    private Module bda;
+    private Module ri;
+
+    @Before
+    public void setUp() {
+        markService = new MarkService();
+        transcriptWriter = new TranscriptWriter(markService);
+        student1 = new Student(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MSIR));
+        student2 = new Student(2, "Siddik", LocalDate.of(1999, 1, 2), null);
+        bda = new Module(ModuleName.BDA, "base de donnees", 30);
+        ri = new Module(ModuleName.RI, "reseaux", 10);
+    }
+
+    @Test
+    public void testWrite() {
+        markService.createMark(student1, 10, bda);
+        markService.createMark(student2, 20, bda);
+        markService.createMark(student1, 18, ri);
+
+        StringBuilder out = new StringBuilder();
+        transcriptWriter.write(student1, out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("Student 1 - Berat (MSIR)", lines[0]);
+        assertTrue(lines[1].trim().startsWith("BDA"));
+        assertTrue(lines[1].trim().endsWith("30h   10"));
+        assertTrue(lines[2].trim().startsWith("RI"));
+        assertEquals("  weighted average: 12.00", lines[3]);
+    }
+
+    @Test
+    public void testWrite_SameAverageAsGpaEngine() {
+        ModuleService moduleService = new ModuleService();
+        moduleService.saveModule(ModuleName.BDA, "base de donnees", 30);
+        GpaEngine gpaEngine = GpaEngine.attach(markService, moduleService);
+        markService.createMark(student1, 10, moduleService.findByModuleName(ModuleName.BDA));
+        markService.createMark(student1, 18, ri);
+        markService.createMark(student1, 15, new Module(ModuleName.GL, "genie logiciel", null));
+
+        StringBuilder out = new StringBuilder();
+        transcriptWriter.write(student1, out);
+
+        assertEquals(12.0, gpaEngine.weightedAverage(1), 1e-9);
+        assertTrue(out.toString().endsWith("  weighted average: 12.00\n"));
+    }
+
+    @Test
+    public void testWrite_NoMarks() {
+        StringBuilder out = new StringBuilder();
+        transcriptWriter.write(student2, out);
+        assertEquals("Student 2 - Siddik\n  weighted average: -\n", out.toString());
+    }
+
+    @Test
+    public void testWriteAll() {
+        ConcurrentMarkService concurrentMarkService = new ConcurrentMarkService();
+        concurrentMarkService.createMark(student1, 15, bda);
+        concurrentMarkService.createMark(student2, 11, ri);
+
+        StringBuilder out = new StringBuilder();
+        new TranscriptWriter(concurrentMarkService).writeAll(Stream.of(student1, student2), out);
+
+        String[] transcripts = out.toString().split("\n\n");
+        assertEquals(2, transcripts.length);
+        assertTrue(transcripts[0].startsWith("Student 1"));
+        assertTrue(transcripts[0].endsWith("weighted average: 15.00"));
+        assertTrue(transcripts[1].startsWith("Student 2"));
+        assertTrue(transcripts[1].contains("weighted average: 11.00"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrite_StudentWithoutId() {
+        transcriptWriter.write(new Student(null, "No id", LocalDate.of(1999, 1, 1), null), new StringBuilder());
+    }
+}
@@ -0,0 +1,80 @@
+package MetricsUnitTest;
+
+import metrics.LatencyHistogram;
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    // ============= Record Tests (Boundary Value Testing) =============
+
+    @Test
+    public void testRecord_SmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 8; value++) {
+            histogram.record(value);
+        }
+        assertEquals(8, histogram.count());
+        assertEquals(0, histogram.percentile(0));
+        assertEquals(3, histogram.percentile(50));
+        assertEquals(7, histogram.percentile(100));
+        assertEquals(3.5, histogram.mean(), 1e-9);
+    }
+
+    @Test
+    public void testRecord_LargeValuesWithin12Percent() {
+        for (long value : new long[]{9, 100, 1_000, 123_456, 10_000_000_000L, Long.MAX_VALUE}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(0);
+            long reported = histogram.percentile(100);
+            assertTrue(value + " reported as " + reported, reported <= value && reported >= value - value / 8);
+            assertEquals(value, histogram.max());
+        }
+    }
+
+    @Test
+    public void testRecord_NegativeAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.percentile(100));
+    }
+
+    @Test
+    public void testPercentile_NearestRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 1000).forEach(histogram::record);
+
+        // the highest value of the bucket, at most 12.5% above the exact percentile
+        long p50 = histogram.percentile(50);
+        assertTrue(p50 >= 500 && p50 <= 500 + 500 / 8);
+        long p99 = histogram.percentile(99);
+        assertTrue(p99 >= 990 && p99 <= 1000);
+        assertEquals(1000, histogram.percentile(100));
+    }
+
+    @Test
+    public void testRecord_ConcurrentThreads() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.range(0, 100_000).parallel().forEach(i -> histogram.record(i % 100));
+        assertEquals(100_000, histogram.count());
+        assertEquals(99, histogram.max());
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(99));
+        assertTrue(Double.isNaN(histogram.mean()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentile_OutOfRange() {
+        new LatencyHistogram().percentile(101);
+    }
+}
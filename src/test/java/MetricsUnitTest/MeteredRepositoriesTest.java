@@ -0,0 +1,148 @@
+package MetricsUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.MarkRepository;
+import mark.MarkService;
+import mark.exception.MarkException;
+import metrics.JmxReporter;
+import metrics.LogReporter;
+import metrics.MeteredMarkRepository;
+import metrics.MeteredStudentRepository;
+import metrics.MethodMetrics;
+import metrics.MetricRegistry;
+import module.Module;
+import module.ModuleName;
+import org.junit.Before;
+import org.junit.Test;
+import student.StudentRepository;
+import student.StudentService;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class MeteredRepositoriesTest {
+    private MetricRegistry registry;
+    private StudentRepository students;
+    private MarkRepository marks;
+    private Module bda;
+
+    @Before
+    public void setUp() {
+        // every call timed
+        registry = new MetricRegistry(1);
+        students = new MeteredStudentRepository(new StudentService(), registry);
+        marks = new MeteredMarkRepository(new MarkService(), registry);
+        bda = new Module(ModuleName.BDA, "base de donnees", 30);
+        students.saveStudent(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MSIR));
+    }
+
+    // ============= Decorator Tests (Decision Table Testing) =============
+
+    @Test
+    public void testCalls_CountedAndTimed() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(1), students.findById(1).getId());
+        }
+
+        MethodMetrics findById = registry.find("StudentRepository.findById");
+        assertEquals(10, findById.getCalls());
+        assertEquals(10, findById.getTimedCalls());
+        assertEquals(0, findById.getErrors());
+        assertTrue(findById.getMaxNanos() >= findById.percentileNanos(50));
+        assertEquals(1, registry.find("StudentRepository.saveStudent").getCalls());
+    }
+
+    @Test
+    public void testErrors_CountedByTypeAndRethrown() {
+        try {
+            marks.createMark(students.findById(1), 42, bda);
+            fail("Expected MarkException");
+        } catch (MarkException expected) {
+        }
+        try {
+            marks.findMarksByStudent(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        assertEquals(1, registry.find("MarkRepository.createMark").getErrors());
+        assertEquals(Long.valueOf(1), registry.find("MarkRepository.createMark").getErrorsByType().get("MarkException"));
+        assertEquals(Long.valueOf(1),
+                registry.find("MarkRepository.findMarksByStudent").getErrorsByType().get("IllegalArgumentException"));
+        assertEquals(1, registry.find("MarkRepository.createMark").getCalls());
+    }
+
+    @Test
+    public void testSampling_CountsEveryCallTimesSome() {
+        MetricRegistry sampled = new MetricRegistry(16);
+        StudentRepository repository = new MeteredStudentRepository(students, sampled);
+        for (int i = 0; i < 16_000; i++) {
+            repository.findById(1);
+        }
+
+        MethodMetrics findById = sampled.find("StudentRepository.findById");
+        assertEquals(16_000, findById.getCalls());
+        assertTrue(findById.getTimedCalls() > 500 && findById.getTimedCalls() < 1500);
+    }
+
+    // ============= Reporter Tests =============
+
+    @Test
+    public void testLogReporter_OneLinePerCalledMethod() {
+        students.findById(1);
+        Logger logger = Logger.getLogger("metrics.test");
+        logger.setUseParentHandlers(false);
+        List<String> lines = new ArrayList<>();
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                lines.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        registry.report(new LogReporter(logger, Level.INFO));
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("StudentRepository.findById calls=1 errors=0"));
+    }
+
+    @Test
+    public void testJmxReporter_ReadsLiveCounters() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        try (JmxReporter reporter = new JmxReporter(server, "metrics")) {
+            students.findById(1);
+            registry.report(reporter);
+            students.findById(1);
+
+            ObjectName name = new ObjectName("metrics:type=Repository,name=\"StudentRepository.findById\"");
+            assertEquals(2L, server.getAttribute(name, "Calls"));
+            assertEquals(0L, server.getAttribute(name, "Errors"));
+            reporter.close();
+            assertFalse(server.isRegistered(name));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegistry_SamplingNotPowerOfTwo() {
+        new MetricRegistry(10);
+    }
+}
@@ -0,0 +1,47 @@
+package ModuleUnitTest;
+
+import module.Module;
+import module.ModuleName;
+import module.ModuleRecord;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ModuleRecordTest {
+
+    // ============= Conversion Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFrom_AndBack() {
+        ModuleRecord record = ModuleRecord.from(new Module(ModuleName.BDA, "base de donnees", 30));
+        Module module = record.toModule();
+
+        assertEquals(30, record.numberHours());
+        assertEquals(ModuleName.BDA, module.getReference());
+        assertEquals("base de donnees", module.getName());
+        assertEquals(Integer.valueOf(30), module.getNumberHours());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFrom_NullHours() {
+        ModuleRecord.from(new Module(ModuleName.BDA, "base de donnees", null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NullReference() {
+        new ModuleRecord(null, "base de donnees", 30);
+    }
+
+    // ============= Identity Tests (Decision Table Testing) =============
+
+    @Test
+    public void testEquals_KeyedOnReference() {
+        ModuleRecord record = new ModuleRecord(ModuleName.BDA, "base de donnees", 30);
+        ModuleRecord longer = record.withNumberHours(45);
+
+        assertEquals(record, longer);
+        assertEquals(ModuleName.BDA.ordinal(), longer.hashCode());
+        assertEquals(30, record.numberHours());
+        assertNotEquals(record, new ModuleRecord(ModuleName.RI, "base de donnees", 30));
+    }
+}
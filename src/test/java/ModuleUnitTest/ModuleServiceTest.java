@@ -1,9 +1,13 @@
 package ModuleUnitTest;
 
+import exception.BatchException;
+import module.ModuleListener;
 import module.ModuleName;
 import module.ModuleService;
 import org.junit.Before;
 import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import static org.junit.Assert.*;
 import module.Module;
@@ -236,4 +240,91 @@ public class ModuleServiceTest {
                 .count();
         assertEquals(3, uniqueReferences);
     }
-}
\ No newline at end of file
+
+    // ============= SaveAll Tests (Decision Table Testing) =============
+
+    @Test
+    public void testSaveAll_ValidBatch() {
+        moduleService.saveAll(Arrays.asList(
+                new Module(ModuleName.BDA, "Big Data Analytics", 30),
+                new Module(ModuleName.CRY, "Cryptography", 24)));
+
+        assertEquals(2, moduleService.allModules().size());
+        assertNotNull(moduleService.findByReference("CRY"));
+    }
+
+    @Test
+    public void testSaveAll_RejectsWholeBatch() {
+        try {
+            moduleService.saveAll(Arrays.asList(
+                    new Module(ModuleName.BDA, "Big Data Analytics", 30),
+                    new Module(ModuleName.CRY, "Cryptography", -1)));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertEquals(1, e.getRejectedRows().size());
+            assertTrue(e.getRejectedRows().containsKey(1));
+        }
+        assertTrue(moduleService.allModules().isEmpty());
+    }
+
+    // ============= FindByModuleName Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFindByModuleName_Existing() {
+        moduleService.saveModule(ModuleName.BDA, "Big Data Analytics", 30);
+        moduleService.saveModule(ModuleName.DEV_OPS, "DevOps", 20);
+        assertSame(moduleService.findByReference("dev_ops"), moduleService.findByModuleName(ModuleName.DEV_OPS));
+    }
+
+    @Test
+    public void testFindByModuleName_NonExistingAndNull() {
+        assertNull(moduleService.findByModuleName(ModuleName.GL));
+        assertNull(moduleService.findByModuleName(null));
+    }
+
+    @Test
+    public void testModuleNameFromReference() {
+        assertEquals(ModuleName.DEV_OPS, ModuleName.fromReference("Dev_Ops"));
+        assertNull(ModuleName.fromReference(""));
+        assertNull(ModuleName.fromReference(null));
+    }
+
+    // ============= UpdateNumberHours Tests (Decision Table Testing) =============
+
+    @Test
+    public void testUpdateNumberHours_NotifiesListeners() {
+        moduleService.saveModule(ModuleName.BDA, VALID_NAME, VALID_HOURS);
+        moduleService.saveModule(ModuleName.BDA, "Second BDA", VALID_HOURS);
+        List<Integer> previousHours = new ArrayList<>();
+        ModuleListener listener = (module, previous) -> previousHours.add(previous);
+        moduleService.addListener(listener);
+
+        moduleService.updateNumberHours(ModuleName.BDA, 45);
+
+        assertEquals(Arrays.asList(VALID_HOURS), previousHours);
+        for (Module module : moduleService.allModules()) {
+            assertEquals(Integer.valueOf(45), module.getNumberHours());
+        }
+    }
+
+    @Test
+    public void testUpdateNumberHours_SameHoursNotNotified() {
+        moduleService.saveModule(ModuleName.BDA, VALID_NAME, VALID_HOURS);
+        List<Integer> previousHours = new ArrayList<>();
+        moduleService.addListener((module, previous) -> previousHours.add(previous));
+
+        moduleService.updateNumberHours(ModuleName.BDA, VALID_HOURS);
+        assertTrue(previousHours.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdateNumberHours_UnknownModule() {
+        moduleService.updateNumberHours(ModuleName.GL, VALID_HOURS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdateNumberHours_NegativeHours() {
+        moduleService.saveModule(ModuleName.BDA, VALID_NAME, VALID_HOURS);
+        moduleService.updateNumberHours(ModuleName.BDA, -1);
+    }
+}
@@ -0,0 +1,171 @@
+package QueryUnitTest;
+
+import group.Group;
+import group.GroupName;
+import mark.ColumnarMarkService;
+import mark.Mark;
+import mark.MarkRepository;
+import mark.MarkService;
+import module.Module;
+import module.ModuleName;
+import org.junit.Before;
+import org.junit.Test;
+import query.MarkIndex;
+import query.MarkQuery;
+import student.Student;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class MarkQueryTest {
+    private MarkService markService;
+    private ColumnarMarkService columnarService;
+    private Student student1;
+    private Student student2;
+    private Student student3;
+    private Module cry;
+    private Module bda;
+
+    @Before
+    public void setUp() {
+        markService = new MarkService();
+        columnarService = new ColumnarMarkService();
+        student1 = new Student(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MIAD));
+        student2 = new Student(2, "Siddik", LocalDate.of(1999, 1, 2), new Group(GroupName.MIAD));
+        student3 = new Student(3, "Amine", LocalDate.of(1999, 1, 3), new Group(GroupName.MSIR));
+        cry = new Module(ModuleName.CRY, "cryptographie", 20);
+        bda = new Module(ModuleName.BDA, "base de donnees", 30);
+        for (MarkRepository repository : Arrays.asList(markService, columnarService)) {
+            repository.createMark(student1, 12, cry);
+            repository.createMark(student2, 9, cry);
+            repository.createMark(student3, 13, cry);
+            repository.createMark(student1, 14, bda);
+            repository.createMark(student2, 14, cry);
+            repository.createMark(student1, 18, cry);
+        }
+    }
+
+    private static List<String> marks(List<Mark> marks) {
+        return marks.stream().map(mark -> mark.getStudent().getId() + ":" + mark.getMark())
+                .sorted().collect(Collectors.toList());
+    }
+
+    // ============= Source Selection Tests (Decision Table Testing) =============
+
+    @Test
+    public void testModuleGroupRange_ReadsTheModule() {
+        MarkQuery query = MarkQuery.from(markService).module(ModuleName.CRY).group(GroupName.MIAD).between(10, 14);
+
+        assertEquals("findMarkByModule(CRY) where mark between 10 and 14 and group = MIAD", query.explain());
+        assertEquals(Arrays.asList("1:12", "2:14"), marks(query.list()));
+        assertEquals(2, query.count());
+    }
+
+    @Test
+    public void testStudent_ReadsTheStudentFirst() {
+        MarkQuery query = MarkQuery.from(markService).using(MarkIndex.attach(markService))
+                .student(1).module(ModuleName.CRY);
+
+        assertEquals("findMarksByStudent(1) where module = CRY", query.explain());
+        assertEquals(Arrays.asList("1:12", "1:18"), marks(query.list()));
+    }
+
+    @Test
+    public void testMarkIndex_ReadsOnlyTheBuckets() {
+        MarkIndex index = MarkIndex.attach(markService);
+        MarkQuery query = MarkQuery.from(markService).using(index).module(ModuleName.CRY).between(10, 14);
+
+        assertEquals("MarkIndex(CRY, 10..14)", query.explain());
+        assertEquals(Arrays.asList("1:12", "2:14", "3:13"), marks(query.list()));
+        assertEquals(3, query.count());
+        assertEquals(3, MarkQuery.from(markService).using(index).between(14, 20).group(GroupName.MIAD).count());
+    }
+
+    @Test
+    public void testColumnScan_SameMarksInCreationOrder() {
+        MarkQuery query = MarkQuery.from(columnarService).between(13, 20);
+
+        assertEquals("column scan(all modules, 13..20)", query.explain());
+        List<Mark> marks = query.list();
+        assertEquals(4, marks.size());
+        assertEquals(Integer.valueOf(13), marks.get(0).getMark());
+        assertEquals(Integer.valueOf(18), marks.get(3).getMark());
+        assertEquals(4, query.count());
+        assertEquals(3, MarkQuery.from(columnarService).between(13, 20).module(ModuleName.CRY).count());
+        assertEquals("column scan(CRY, 13..20) where group = MIAD",
+                MarkQuery.from(columnarService).module(ModuleName.CRY).between(13, 20).group(GroupName.MIAD).explain());
+    }
+
+    @Test
+    public void testScan_Fallback() {
+        MarkQuery query = MarkQuery.from(markService).group(GroupName.MSIR);
+
+        assertEquals("streamMarks() where group = MSIR", query.explain());
+        assertEquals(Arrays.asList("3:13"), marks(query.list()));
+    }
+
+    @Test
+    public void testEverySource_SameAnswer() {
+        MarkIndex index = MarkIndex.attach(markService);
+        List<String> expected = marks(MarkQuery.from(markService).module(ModuleName.CRY).between(9, 13).list());
+
+        assertEquals(Arrays.asList("1:12", "2:9", "3:13"), expected);
+        assertEquals(expected, marks(MarkQuery.from(markService).using(index).module(ModuleName.CRY).between(9, 13).list()));
+        assertEquals(expected, marks(MarkQuery.from(columnarService).module(ModuleName.CRY).between(9, 13).list()));
+    }
+
+    // ============= Index Maintenance Tests (State Transition Testing) =============
+
+    @Test
+    public void testMarkIndex_FollowsCreatesAndDeletes() {
+        MarkIndex index = MarkIndex.attach(markService);
+        markService.createMark(student3, 11, cry);
+        assertEquals(4, index.count(ModuleName.CRY, 10, 14));
+
+        markService.deleteMarksByStudents(Arrays.asList(3));
+        assertEquals(2, index.count(ModuleName.CRY, 10, 14));
+        assertEquals(Arrays.asList("1:12", "2:14"), marks(index.find(ModuleName.CRY, 10, 14)));
+    }
+
+    @Test
+    public void testMarkIndex_DeletesFromColumnarMarkService() {
+        MarkIndex index = MarkIndex.attach(columnarService);
+        columnarService.createMark(student3, 12, cry);
+        assertEquals(4, index.count(ModuleName.CRY, 10, 14));
+
+        columnarService.deleteMarksByStudents(Arrays.asList(3));
+        assertEquals(2, index.count(ModuleName.CRY, 10, 14));
+        assertEquals(Arrays.asList("1:12", "2:14"), marks(index.find(ModuleName.CRY, 10, 14)));
+
+        columnarService.deleteMarksByStudents(Arrays.asList(1));
+        assertEquals(Arrays.asList("2:14", "2:9"), marks(index.find(null, 5, 20)));
+    }
+
+    @Test
+    public void testColumnScan_AcrossBlocks() {
+        ColumnarMarkService large = new ColumnarMarkService();
+        for (int i = 0; i < 5000; i++) {
+            large.createMark(i % 2 == 0 ? student1 : student3, 5 + i % 16, i % 3 == 0 ? cry : bda);
+        }
+
+        long expected = large.streamMarks().filter(mark -> mark.getModule() == cry && mark.getMark() >= 15).count();
+        assertEquals(expected, MarkQuery.from(large).module(ModuleName.CRY).between(15, 20).count());
+        assertEquals(expected, MarkQuery.from(large).module(ModuleName.CRY).between(15, 20).stream().count());
+    }
+
+    // ============= Validation Tests =============
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBetween_InvertedBounds() {
+        MarkQuery.from(markService).between(14, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFrom_NullRepository() {
+        MarkQuery.from(null);
+    }
+}
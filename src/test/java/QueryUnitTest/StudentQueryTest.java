@@ -0,0 +1,89 @@
+package QueryUnitTest;
+
+import group.Group;
+import group.GroupName;
+import org.junit.Before;
+import org.junit.Test;
+import query.StudentIndex;
+import query.StudentQuery;
+import student.Student;
+import student.StudentService;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class StudentQueryTest {
+    private StudentService studentService;
+    private Group msir;
+    private Group miad;
+
+    @Before
+    public void setUp() {
+        studentService = new StudentService();
+        msir = new Group(GroupName.MSIR);
+        miad = new Group(GroupName.MIAD);
+        studentService.saveStudent(1, "Berat", LocalDate.of(1999, 5, 1), msir);
+        studentService.saveStudent(2, "Siddik", LocalDate.of(2001, 3, 2), msir);
+        studentService.saveStudent(3, "Amine", LocalDate.of(2002, 7, 3), miad);
+        studentService.saveStudent(4, "Nadia", LocalDate.of(2003, 1, 4), msir);
+    }
+
+    private static List<Integer> ids(List<Student> students) {
+        return students.stream().map(Student::getId).collect(Collectors.toList());
+    }
+
+    // ============= Source Selection Tests (Decision Table Testing) =============
+
+    @Test
+    public void testGroupAndBirth_WithIndex() {
+        StudentQuery query = StudentQuery.from(studentService).using(StudentIndex.attach(studentService))
+                .group(GroupName.MSIR).bornAfter(LocalDate.of(2000, 12, 31));
+
+        assertEquals("StudentIndex(MSIR) where born after 2000-12-31", query.explain());
+        assertEquals(Arrays.asList(2, 4), ids(query.list()));
+    }
+
+    @Test
+    public void testGroupAndBirth_Scan() {
+        StudentQuery query = StudentQuery.from(studentService).group(GroupName.MSIR).bornAfter(LocalDate.of(2000, 12, 31));
+
+        assertEquals("streamStudents() where group = MSIR and born after 2000-12-31", query.explain());
+        assertEquals(Arrays.asList(2, 4), ids(query.list()));
+    }
+
+    @Test
+    public void testBornBetween() {
+        assertEquals(Arrays.asList(2, 3), ids(StudentQuery.from(studentService)
+                .bornAfter(LocalDate.of(2000, 1, 1)).bornBefore(LocalDate.of(2003, 1, 4)).list()));
+    }
+
+    @Test
+    public void testCount_FromTheIndex() {
+        StudentIndex index = StudentIndex.attach(studentService);
+
+        assertEquals(3, StudentQuery.from(studentService).using(index).group(GroupName.MSIR).count());
+        assertEquals(0, StudentQuery.from(studentService).using(index).group(GroupName.MSIA).count());
+    }
+
+    // ============= Index Maintenance Tests (State Transition Testing) =============
+
+    @Test
+    public void testStudentIndex_FollowsGroupChangesAndDeletes() {
+        StudentIndex index = StudentIndex.attach(studentService);
+        studentService.updateStudent(1, "Berat", LocalDate.of(1999, 5, 1), miad);
+        studentService.deleteStudent(4);
+        studentService.saveStudent(5, "Yanis", LocalDate.of(2002, 2, 2), msir);
+
+        assertEquals(Arrays.asList(2, 5), index.ids(GroupName.MSIR));
+        assertEquals(Arrays.asList(3, 1), ids(StudentQuery.from(studentService).using(index).group(GroupName.MIAD).list()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroup_Null() {
+        StudentQuery.from(studentService).group(null);
+    }
+}
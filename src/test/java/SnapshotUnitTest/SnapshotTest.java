@@ -0,0 +1,169 @@
+package SnapshotUnitTest;
+
+import group.Group;
+import group.GroupName;
+import group.GroupService;
+import mark.Mark;
+import mark.MarkService;
+import module.Module;
+import module.ModuleName;
+import module.ModuleService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import snapshot.Snapshot;
+import snapshot.SnapshotWriter;
+import student.Student;
+import student.StudentService;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class SnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private GroupService groupService;
+    private ModuleService moduleService;
+    private StudentService studentService;
+    private TeacherService teacherService;
+    private MarkService markService;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("school.snapshot");
+        groupService = new GroupService();
+        groupService.saveGroup(GroupName.MIAD);
+        groupService.saveGroup(GroupName.MSIR);
+        moduleService = new ModuleService();
+        moduleService.saveModule(ModuleName.BDA, "base de donnée avancé", 40);
+        moduleService.saveModule(ModuleName.CRY, "cryptographie", 35);
+        studentService = new StudentService();
+        studentService.addListener(groupService);
+        // saved out of id order on purpose
+        studentService.saveStudent(7, "hamid jebri", LocalDate.of(1997, 10, 26), groupService.findByGroupName(GroupName.MIAD));
+        studentService.saveStudent(3, "amine kaci", LocalDate.of(1999, 5, 11), groupService.findByGroupName(GroupName.MSIR));
+        studentService.saveStudent(5, "sofian gasb", LocalDate.of(2000, 1, 8), groupService.findByGroupName(GroupName.MIAD));
+        teacherService = new TeacherService();
+        teacherService.saveTeacher(2, "brahim gasbi", Grade.MCB,
+                Arrays.asList(moduleService.findByModuleName(ModuleName.CRY)),
+                Arrays.asList(groupService.findByGroupName(GroupName.MSIR), groupService.findByGroupName(GroupName.MIAD)));
+        teacherService.saveTeacher(1, "khalifa ahmed", Grade.MCA,
+                Arrays.asList(moduleService.findByModuleName(ModuleName.BDA)), null);
+        markService = new MarkService();
+        markService.createMark(studentService.findById(3), 15, moduleService.findByModuleName(ModuleName.BDA));
+        markService.createMark(studentService.findById(7), 18, moduleService.findByModuleName(ModuleName.CRY));
+    }
+
+    private Snapshot writeAndOpen() {
+        SnapshotWriter.write(file, groupService, moduleService, studentService, teacherService, markService);
+        return Snapshot.open(file);
+    }
+
+    // ============= Round Trip Tests =============
+
+    @Test
+    public void testGroupsAndModules() {
+        Snapshot snapshot = writeAndOpen();
+
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(2, snapshot.groups().size());
+        assertEquals(Integer.valueOf(2), snapshot.findGroup(GroupName.MIAD).getNumberStudent());
+        assertNull(snapshot.findGroup(GroupName.MSIA));
+        Module cry = snapshot.findModule(ModuleName.CRY);
+        assertEquals("cryptographie", cry.getName());
+        assertEquals(Integer.valueOf(35), cry.getNumberHours());
+    }
+
+    @Test
+    public void testStudents_InIdOrder() {
+        Snapshot snapshot = writeAndOpen();
+
+        assertEquals(3, snapshot.studentCount());
+        List<Integer> ids = snapshot.streamStudents().map(Student::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(3, 5, 7), ids);
+        Student student = snapshot.findStudentById(7);
+        assertEquals("hamid jebri", student.getFullName());
+        assertEquals(LocalDate.of(1997, 10, 26), student.getDateBirth());
+        assertSame(snapshot.findGroup(GroupName.MIAD), student.getGroup());
+        assertSame(student, snapshot.findStudentById(7));
+        assertNull(snapshot.findStudentById(4));
+    }
+
+    @Test
+    public void testTeachers() {
+        Snapshot snapshot = writeAndOpen();
+
+        assertEquals(2, snapshot.teacherCount());
+        Teacher teacher = snapshot.findTeacherById(2);
+        assertEquals("brahim gasbi", teacher.getFullName());
+        assertEquals(Grade.MCB, teacher.getGrade());
+        assertEquals(Arrays.asList(snapshot.findModule(ModuleName.CRY)), teacher.getListModules());
+        assertEquals(Arrays.asList(snapshot.findGroup(GroupName.MSIR), snapshot.findGroup(GroupName.MIAD)),
+                teacher.getListGroup());
+        assertTrue(snapshot.findTeacherById(1).getListGroup().isEmpty());
+    }
+
+    @Test
+    public void testMarks() {
+        Snapshot snapshot = writeAndOpen();
+
+        assertEquals(2, snapshot.markCount());
+        Mark mark = snapshot.mark(1);
+        assertSame(snapshot.findStudentById(7), mark.getStudent());
+        assertEquals(Integer.valueOf(18), mark.getMark());
+        assertSame(snapshot.findModule(ModuleName.CRY), mark.getModule());
+        assertEquals(2, snapshot.streamMarks().count());
+    }
+
+    @Test
+    public void testReferencedEntitiesAreWritten() {
+        Student unsaved = new Student(9, "hanane safi", LocalDate.of(1995, 10, 26), new Group(GroupName.MSIA));
+        markService.createMark(unsaved, 12, new Module(ModuleName.GL, "génie logiciel", 30));
+
+        Snapshot snapshot = writeAndOpen();
+        assertEquals("hanane safi", snapshot.findStudentById(9).getFullName());
+        assertNotNull(snapshot.findGroup(GroupName.MSIA));
+        assertEquals("génie logiciel", snapshot.findModule(ModuleName.GL).getName());
+    }
+
+    // ============= Atomic Write Tests =============
+
+    @Test
+    public void testWrite_ReplacesPreviousSnapshot() throws IOException {
+        writeAndOpen();
+        studentService.saveStudent(11, "new student", LocalDate.of(2001, 2, 3), groupService.findByGroupName(GroupName.MSIR));
+
+        assertEquals(4, writeAndOpen().studentCount());
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpen_NotASnapshot() throws IOException {
+        Files.write(file, new byte[]{1, 2, 3, 4});
+        Snapshot.open(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpen_Truncated() throws IOException {
+        writeAndOpen();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 20));
+        Snapshot.open(file);
+    }
+}
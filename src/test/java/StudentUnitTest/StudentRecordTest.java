@@ -0,0 +1,61 @@
+package StudentUnitTest;
+
+import group.Group;
+import group.GroupName;
+import org.junit.Test;
+import student.Student;
+import student.StudentRecord;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class StudentRecordTest {
+
+    // ============= Conversion Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFrom_KeepsTheGroupName() {
+        Student student = new Student(1, "Berat", LocalDate.of(1999, 1, 1), new Group(GroupName.MSIR));
+        StudentRecord record = StudentRecord.from(student);
+
+        assertEquals(1, record.id());
+        assertEquals("Berat", record.fullName());
+        assertEquals(LocalDate.of(1999, 1, 1), record.dateBirth());
+        assertEquals(GroupName.MSIR, record.group());
+    }
+
+    @Test
+    public void testFrom_WithoutGroup() {
+        assertNull(StudentRecord.from(new Student(1, "Berat", LocalDate.of(1999, 1, 1), null)).group());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFrom_NullId() {
+        StudentRecord.from(new Student(null, "Berat", LocalDate.of(1999, 1, 1), null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NegativeId() {
+        new StudentRecord(-1, "Berat", LocalDate.of(1999, 1, 1), GroupName.MSIR);
+    }
+
+    // ============= Identity Tests (Decision Table Testing) =============
+
+    @Test
+    public void testEquals_KeyedOnId() {
+        StudentRecord record = new StudentRecord(7, "Berat", LocalDate.of(1999, 1, 1), GroupName.MSIR);
+        StudentRecord moved = record.withGroup(GroupName.MIAD).withFullName("Berat B");
+
+        assertEquals(record, moved);
+        assertEquals(record.hashCode(), moved.hashCode());
+        assertEquals(GroupName.MSIR, record.group());
+        assertNotEquals(record, new StudentRecord(8, "Berat", LocalDate.of(1999, 1, 1), GroupName.MSIR));
+
+        Set<StudentRecord> students = new HashSet<>();
+        students.add(record);
+        assertTrue(students.contains(moved));
+    }
+}
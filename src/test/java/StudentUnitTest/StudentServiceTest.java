@@ -1,13 +1,17 @@
 package StudentUnitTest;
 
+import exception.BatchException;
 import group.Group;
 import group.GroupName;
 import org.junit.Before;
 import org.junit.Test;
 import student.Student;
+import student.StudentListener;
 import student.StudentService;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -57,6 +61,25 @@ public class StudentServiceTest {
         assertEquals(2, studentService.allStudents().size());
     }
     
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveStudent_DuplicateId() {
+        studentService.saveStudent(VALID_ID, VALID_NAME, date1, group1);
+        studentService.saveStudent(VALID_ID, "Jane Doe", date2, group2);
+    }
+
+    @Test
+    public void testDeleteStudent_KeepsOrderOfOthers() {
+        studentService.saveStudent(1, "First", date1, group1);
+        studentService.saveStudent(2, "Second", date1, group1);
+        studentService.saveStudent(3, "Third", date1, group1);
+        studentService.deleteStudent(2);
+
+        List<Student> students = studentService.allStudents();
+        assertEquals(2, students.size());
+        assertEquals(Integer.valueOf(1), students.get(0).getId());
+        assertEquals(Integer.valueOf(3), students.get(1).getId());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testSaveStudent_NegativeId() {
     	studentService.saveStudent(-1, VALID_NAME, date1, group1);
@@ -321,4 +344,112 @@ public class StudentServiceTest {
         assertEquals(expected, student.toString());
     }
 
-}
\ No newline at end of file
+    // ============= SaveAll Tests (Decision Table Testing) =============
+
+    @Test
+    public void testSaveAll_ValidBatch() {
+        studentService.saveAll(Arrays.asList(
+                new Student(1, "John", date1, group1),
+                new Student(2, "Jane", date2, group2)));
+
+        assertEquals(2, studentService.allStudents().size());
+        assertEquals("Jane", studentService.findById(2).getFullName());
+    }
+
+    @Test
+    public void testSaveAll_RejectsWholeBatchAndReportsEveryRow() {
+        studentService.saveStudent(1, "John", date1, group1);
+        try {
+            studentService.saveAll(Arrays.asList(
+                    new Student(2, "Jane", date2, group2),
+                    new Student(1, "Duplicate", date2, group2),
+                    new Student(3, "", date1, group1),
+                    new Student(2, "Duplicate in batch", date1, group1),
+                    null));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertEquals(4, e.getRejectedRows().size());
+            assertTrue(e.getRejectedRows().get(1).contains("already exists"));
+            assertTrue(e.getRejectedRows().get(2).contains("name"));
+            assertTrue(e.getRejectedRows().get(3).contains("already exists"));
+            assertTrue(e.getRejectedRows().containsKey(4));
+        }
+        assertEquals(1, studentService.allStudents().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveAll_NullBatch() {
+        studentService.saveAll(null);
+    }
+
+    // ============= StreamStudents Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testStreamStudents_InInsertionOrder() {
+        studentService.saveStudent(2, "Jane", date2, group2);
+        studentService.saveStudent(1, "John", date1, group1);
+
+        Object[] ids = studentService.streamStudents().map(Student::getId).toArray();
+        assertArrayEquals(new Object[]{2, 1}, ids);
+    }
+
+    @Test
+    public void testStreamStudents_Empty() {
+        assertEquals(0, studentService.streamStudents().count());
+    }
+
+    // ============= DeleteAll Tests (Decision Table Testing) =============
+
+    @Test
+    public void testDeleteAll_NotifiesListenersOnce() {
+        studentService.saveStudent(1, "John", date1, group1);
+        studentService.saveStudent(2, "Jane", date2, group2);
+        studentService.saveStudent(3, "Jack", date1, group1);
+        List<List<Student>> batches = new ArrayList<>();
+        studentService.addListener(new StudentListener() {
+            @Override
+            public void studentSaved(Student student) {
+            }
+
+            @Override
+            public void studentGroupChanged(Student student, Group previousGroup) {
+            }
+
+            @Override
+            public void studentDeleted(Student student) {
+                fail("Expected a single studentsDeleted call");
+            }
+
+            @Override
+            public void studentsDeleted(List<Student> students) {
+                batches.add(students);
+            }
+        });
+
+        studentService.deleteAll(Arrays.asList(3, 1));
+
+        assertEquals(1, studentService.allStudents().size());
+        assertEquals(1, batches.size());
+        assertEquals(Integer.valueOf(3), batches.get(0).get(0).getId());
+        assertEquals(Integer.valueOf(1), batches.get(0).get(1).getId());
+    }
+
+    @Test
+    public void testDeleteAll_RejectsWholeBatch() {
+        studentService.saveStudent(1, "John", date1, group1);
+        try {
+            studentService.deleteAll(Arrays.asList(1, 7, null, 1));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertEquals(3, e.getRejectedRows().size());
+            assertTrue(e.getRejectedRows().get(1).contains("not found"));
+            assertTrue(e.getRejectedRows().get(3).contains("twice"));
+        }
+        assertEquals(1, studentService.allStudents().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteAll_NullBatch() {
+        studentService.deleteAll(null);
+    }
+}
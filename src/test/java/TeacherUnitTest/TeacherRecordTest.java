@@ -0,0 +1,61 @@
+package TeacherUnitTest;
+
+import group.Group;
+import group.GroupName;
+import module.Module;
+import module.ModuleName;
+import org.junit.Test;
+import teacher.Grade;
+import teacher.Teacher;
+import teacher.TeacherRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TeacherRecordTest {
+
+    // ============= Conversion Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFrom_KeepsTheNames() {
+        Teacher teacher = new Teacher(1, "Amine", Grade.MCA,
+                Arrays.asList(new Module(ModuleName.BDA, "base de donnees", 30), null),
+                Arrays.asList(new Group(GroupName.MIAD)));
+        TeacherRecord record = TeacherRecord.from(teacher);
+
+        assertEquals(Arrays.asList(ModuleName.BDA), record.modules());
+        assertEquals(Arrays.asList(GroupName.MIAD), record.groups());
+        assertEquals(Grade.MCA, record.grade());
+    }
+
+    @Test
+    public void testConstructor_CopiesTheLists() {
+        List<ModuleName> modules = new ArrayList<>(Arrays.asList(ModuleName.CRY));
+        TeacherRecord record = new TeacherRecord(1, "Amine", Grade.MCA, modules, null);
+        modules.add(ModuleName.RI);
+
+        assertEquals(Arrays.asList(ModuleName.CRY), record.modules());
+        assertTrue(record.groups().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testModules_Unmodifiable() {
+        new TeacherRecord(1, "Amine", Grade.MCA, Arrays.asList(ModuleName.CRY), null).modules().add(ModuleName.RI);
+    }
+
+    @Test
+    public void testEquals_KeyedOnId() {
+        TeacherRecord record = new TeacherRecord(1, "Amine", Grade.MCA, null, null);
+
+        assertEquals(record, new TeacherRecord(1, "Other", Grade.MCB, null, null));
+        assertEquals(1, record.hashCode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFrom_NullId() {
+        TeacherRecord.from(new Teacher(null, "Amine", Grade.MCA, null, null));
+    }
+}
@@ -1,5 +1,6 @@
 package TeacherUnitTest;
 
+import exception.BatchException;
 import group.Group;
 import group.GroupName;
 import module.Module;
@@ -237,4 +238,93 @@ public class TeacherServiceTest {
                 
         assertEquals(expected, teacher.toString());
     }
-}
\ No newline at end of file
+
+    // ============= SaveAll Tests (Decision Table Testing) =============
+
+    @Test
+    public void testSaveAll_ValidBatch() {
+        teacherService.saveAll(Arrays.asList(
+                new Teacher(1, "John Doe", Grade.MCA, modules1, groups1),
+                new Teacher(2, "Jane Doe", Grade.MCB, null, null)));
+
+        List<Teacher> teachers = teacherService.allTeachers();
+        assertEquals(2, teachers.size());
+        assertNotNull(teachers.get(1).getListModules());
+        assertTrue(teachers.get(1).getListGroup().isEmpty());
+    }
+
+    @Test
+    public void testSaveAll_RejectsWholeBatch() {
+        teacherService.saveTeacher(VALID_ID, VALID_NAME, Grade.MCA, modules1, groups1);
+        try {
+            teacherService.saveAll(Arrays.asList(
+                    new Teacher(2, "Jane Doe", Grade.MCB, modules2, groups2),
+                    new Teacher(VALID_ID, "Duplicate", Grade.MCB, modules2, groups2),
+                    new Teacher(3, "No grade", null, modules2, groups2)));
+            fail("Expected BatchException");
+        } catch (BatchException e) {
+            assertEquals(2, e.getRejectedRows().size());
+            assertTrue(e.getRejectedRows().get(1).contains("already exists"));
+            assertTrue(e.getRejectedRows().get(2).contains("Grade"));
+        }
+        assertEquals(1, teacherService.allTeachers().size());
+    }
+
+    // ============= FindById and Reverse Index Tests (Equivalence Class Testing) =============
+
+    @Test
+    public void testFindById_ExistingTeacher() {
+        teacherService.saveTeacher(1, "John Doe", Grade.MCA, modules1, groups1);
+        teacherService.saveTeacher(2, "Jane Doe", Grade.MCB, modules2, groups2);
+        assertEquals("Jane Doe", teacherService.findById(2).getFullName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindById_NonExistingTeacher() {
+        teacherService.findById(999);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindById_DeletedTeacher() {
+        teacherService.saveTeacher(VALID_ID, VALID_NAME, Grade.MCA, modules1, groups1);
+        teacherService.deleteTeacher(VALID_ID);
+        teacherService.findById(VALID_ID);
+    }
+
+    @Test
+    public void testFindByModuleAndGroup() {
+        teacherService.saveTeacher(1, "John Doe", Grade.MCA, modules1, groups2); // BDA to MSIR, MIAD
+        teacherService.saveTeacher(2, "Jane Doe", Grade.MCB, modules2, groups1); // BDA, CRY to MSIR
+
+        assertEquals(2, teacherService.findByModule(ModuleName.BDA).size());
+        assertEquals(1, teacherService.findByModule(ModuleName.CRY).size());
+        assertTrue(teacherService.findByModule(ModuleName.GL).isEmpty());
+        assertEquals(1, teacherService.findByGroup(GroupName.MIAD).size());
+
+        List<Teacher> cryToMsir = teacherService.findByModuleAndGroup(ModuleName.CRY, GroupName.MSIR);
+        assertEquals(1, cryToMsir.size());
+        assertEquals(Integer.valueOf(2), cryToMsir.get(0).getId());
+        assertTrue(teacherService.findByModuleAndGroup(ModuleName.CRY, GroupName.MIAD).isEmpty());
+    }
+
+    @Test
+    public void testFindByModule_AfterDelete() {
+        teacherService.saveTeacher(1, "John Doe", Grade.MCA, modules2, groups2);
+        teacherService.deleteTeacher(1);
+
+        assertTrue(teacherService.findByModule(ModuleName.CRY).isEmpty());
+        assertTrue(teacherService.findByGroup(GroupName.MIAD).isEmpty());
+    }
+
+    @Test
+    public void testFindByModule_AfterDeleteOfAnotherTeacher() {
+        teacherService.saveTeacher(1, "John Doe", Grade.MCA, modules1, groups2); // BDA to MSIR, MIAD
+        teacherService.saveTeacher(2, "Jane Doe", Grade.MCB, modules2, groups1); // BDA, CRY to MSIR
+        teacherService.deleteTeacher(2);
+
+        assertEquals(1, teacherService.findByModule(ModuleName.BDA).size());
+        assertTrue(teacherService.findByModule(ModuleName.CRY).isEmpty());
+        assertEquals(Integer.valueOf(1), teacherService.findByGroup(GroupName.MSIR).get(0).getId());
+        assertEquals(1, teacherService.findByGroup(GroupName.MIAD).size());
+    }
+}